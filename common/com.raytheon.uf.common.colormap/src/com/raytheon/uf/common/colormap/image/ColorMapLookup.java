@@ -0,0 +1,364 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.colormap.image;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import javax.measure.UnitConverter;
+
+import com.raytheon.uf.common.colormap.image.ColorMapData.ColorMapDataType;
+import com.raytheon.uf.common.colormap.prefs.ColorMapParameters;
+
+/**
+ * Precomputed mapping from data values to ARGB pixels for
+ * {@link Colormapper#colorMap(ColorMapData, ColorMapParameters)}. Every pixel
+ * is mapped exactly as the per pixel calculation in {@link Colormapper} would
+ * map it, the work is just moved out of the per pixel loop:
+ * 
+ * <ul>
+ * <li>Byte and short data use a table with the pixel for every possible value.
+ * <li>Other data that maps to colors monotonically, which is every mapping
+ * except logarithmic, is mapped by searching a table of the data values where
+ * the color changes. Since the table is in data units any unit conversion is
+ * folded into the table.
+ * <li>Anything else is calculated per pixel.
+ * </ul>
+ * 
+ * Tables are only built when the data is large enough to pay for building
+ * them.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           kshrestha Initial creation
+ * 
+ * </pre>
+ * 
+ * @author kshrestha
+ */
+final class ColorMapLookup {
+
+    /**
+     * Number of pixels needed before building a table of color boundaries,
+     * each boundary costs about 64 calculations.
+     */
+    private static final int MIN_BOUNDARY_PIXELS = 16 * 1024;
+
+    /**
+     * Number of equal width buckets between the first and last boundary, a
+     * bucket with no boundaries in it maps directly to a color.
+     */
+    private static final int BUCKETS = 4096;
+
+    private final ColorMapDataType dataType;
+
+    private final ColorMapParameters parameters;
+
+    private final UnitConverter converter;
+
+    private final double noDataValue;
+
+    private final int[] colors;
+
+    private final int transparent;
+
+    /** Pixel for each raw value in byte or short data, or null */
+    private int[] table;
+
+    /** Data values where the color index changes, in increasing order */
+    private double[] boundaries;
+
+    /** Color index for values below the first boundary */
+    private int firstIndex;
+
+    /** Change in color index at each boundary, 1 or -1 */
+    private int step;
+
+    /**
+     * For each bucket the number of boundaries in lower buckets, with an extra
+     * entry at the end for the total.
+     */
+    private int[] bucketStarts;
+
+    private double bucketScale;
+
+    /**
+     * @param dataType
+     *            type of the data buffer
+     * @param parameters
+     *            parameters for mapping values to colors
+     * @param converter
+     *            converter from data units to colormap units or null
+     * @param colors
+     *            the ARGB value of each color in the color map
+     * @param transparent
+     *            the ARGB value for no data
+     * @param dataSize
+     *            the number of pixels that will be mapped
+     */
+    public ColorMapLookup(ColorMapDataType dataType,
+            ColorMapParameters parameters, UnitConverter converter,
+            int[] colors, int transparent, int dataSize) {
+        this.dataType = dataType;
+        this.parameters = parameters;
+        this.converter = converter;
+        this.noDataValue = parameters.getNoDataValue();
+        this.colors = colors;
+        this.transparent = transparent;
+        switch (dataType) {
+        case BYTE:
+            buildTable(256, 0);
+            break;
+        case SIGNED_BYTE:
+            buildTable(256, Byte.MIN_VALUE);
+            break;
+        case SHORT:
+            if (dataSize >= 65536) {
+                buildTable(65536, Short.MIN_VALUE);
+            }
+            break;
+        case UNSIGNED_SHORT:
+            if (dataSize >= 65536) {
+                buildTable(65536, 0);
+            }
+            break;
+        default:
+            if (dataSize >= MIN_BOUNDARY_PIXELS && isMonotonic()) {
+                buildBoundaries();
+            }
+        }
+    }
+
+    /**
+     * Map a range of the data buffer to pixels.
+     * 
+     * @param buffer
+     *            the data
+     * @param pixels
+     *            the ARGB pixels
+     * @param start
+     *            first index to map
+     * @param end
+     *            index after the last index to map
+     */
+    public void map(Buffer buffer, int[] pixels, int start, int end) {
+        if (table != null) {
+            int[] table = this.table;
+            switch (dataType) {
+            case BYTE: {
+                ByteBuffer bytes = (ByteBuffer) buffer;
+                for (int i = start; i < end; i += 1) {
+                    pixels[i] = table[bytes.get(i) & 0xFF];
+                }
+                return;
+            }
+            case SIGNED_BYTE: {
+                ByteBuffer bytes = (ByteBuffer) buffer;
+                for (int i = start; i < end; i += 1) {
+                    pixels[i] = table[bytes.get(i) - Byte.MIN_VALUE];
+                }
+                return;
+            }
+            case SHORT: {
+                ShortBuffer shorts = (ShortBuffer) buffer;
+                for (int i = start; i < end; i += 1) {
+                    pixels[i] = table[shorts.get(i) - Short.MIN_VALUE];
+                }
+                return;
+            }
+            case UNSIGNED_SHORT: {
+                ShortBuffer shorts = (ShortBuffer) buffer;
+                for (int i = start; i < end; i += 1) {
+                    pixels[i] = table[shorts.get(i) & 0xFFFF];
+                }
+                return;
+            }
+            default:
+                break;
+            }
+        }
+        if (dataType == ColorMapDataType.FLOAT) {
+            FloatBuffer floats = (FloatBuffer) buffer;
+            for (int i = start; i < end; i += 1) {
+                pixels[i] = getPixel(floats.get(i));
+            }
+        } else {
+            for (int i = start; i < end; i += 1) {
+                pixels[i] = getPixel(
+                        Colormapper.getDataValue(buffer, i, dataType));
+            }
+        }
+    }
+
+    private int getPixel(double dataValue) {
+        if (Double.isNaN(dataValue) || dataValue == noDataValue) {
+            return transparent;
+        }
+        if (boundaries == null || Double.isInfinite(dataValue)) {
+            return colors[getColorIndex(dataValue)];
+        }
+        /* count the boundaries that are less than or equal to the value */
+        double[] boundaries = this.boundaries;
+        int last = boundaries.length - 1;
+        if (last < 0 || dataValue < boundaries[0]) {
+            /* no boundaries when every value maps to the same color */
+            return colors[firstIndex];
+        } else if (dataValue >= boundaries[last]) {
+            return colors[firstIndex + step * boundaries.length];
+        }
+        int low = 0;
+        int high = boundaries.length;
+        if (bucketStarts != null) {
+            int bucket = bucket(dataValue);
+            low = bucketStarts[bucket];
+            high = bucketStarts[bucket + 1];
+            if (low == high) {
+                return colors[firstIndex + step * low];
+            }
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (boundaries[mid] <= dataValue) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return colors[firstIndex + step * low];
+    }
+
+    /**
+     * The per pixel calculation from {@link Colormapper}, every table is built
+     * from this.
+     */
+    private int getColorIndex(double dataValue) {
+        double cmapValue = dataValue;
+        if (converter != null) {
+            cmapValue = converter.convert(dataValue);
+        }
+        double index = Colormapper.getColorMappingIndex(cmapValue,
+                parameters);
+        index = Colormapper.capIndex(index);
+        return (int) Math.min(index * colors.length, colors.length - 1);
+    }
+
+    private void buildTable(int size, int minValue) {
+        table = new int[size];
+        for (int i = 0; i < size; i += 1) {
+            double dataValue = minValue + i;
+            if (dataValue == noDataValue) {
+                table[i] = transparent;
+            } else {
+                table[i] = colors[getColorIndex(dataValue)];
+            }
+        }
+    }
+
+    /**
+     * Linear and log factor mappings are monotonic as long as the unit
+     * conversion is, unit conversions that are linear are the only ones that
+     * are known to be.
+     */
+    private boolean isMonotonic() {
+        if (parameters.isLogarithmic()) {
+            return false;
+        }
+        if (converter == null) {
+            return true;
+        }
+        double c0 = converter.convert(0.0);
+        double c1 = converter.convert(1.0);
+        double c2 = converter.convert(1000.0);
+        double expected = c0 + 1000.0 * (c1 - c0);
+        return c1 != c0 && Double.isFinite(c2) && Double.isFinite(expected)
+                && Math.abs(c2 - expected) <= 1.0e-9
+                        * Math.max(1.0, Math.abs(c2));
+    }
+
+    /**
+     * Find every data value where the color index changes by bisecting the
+     * ordered bit patterns of doubles, so each boundary is exact.
+     */
+    private void buildBoundaries() {
+        long lowKey = toKey(-Double.MAX_VALUE);
+        long highKey = toKey(Double.MAX_VALUE);
+        firstIndex = getColorIndex(-Double.MAX_VALUE);
+        int lastIndex = getColorIndex(Double.MAX_VALUE);
+        step = lastIndex >= firstIndex ? 1 : -1;
+        double[] result = new double[Math.abs(lastIndex - firstIndex)];
+        for (int b = 0; b < result.length; b += 1) {
+            int target = firstIndex + step * (b + 1);
+            /* smallest key where the index has reached the target */
+            long low = b == 0 ? lowKey : toKey(result[b - 1]);
+            long high = highKey;
+            while (low < high) {
+                long mid = low + ((high - low) >>> 1);
+                int index = getColorIndex(fromKey(mid));
+                if (step > 0 ? index >= target : index <= target) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            result[b] = fromKey(low);
+        }
+        boundaries = result;
+
+        if (result.length > 1) {
+            double range = result[result.length - 1] - result[0];
+            bucketScale = BUCKETS / range;
+            if (range > 0 && Double.isFinite(bucketScale)) {
+                /*
+                 * bucket() is monotonic so every boundary in a lower bucket
+                 * than a value is less than the value and every boundary in a
+                 * higher bucket is greater.
+                 */
+                bucketStarts = new int[BUCKETS + 1];
+                int b = 0;
+                for (int k = 0; k <= BUCKETS; k += 1) {
+                    while (b < result.length && bucket(result[b]) < k) {
+                        b += 1;
+                    }
+                    bucketStarts[k] = b;
+                }
+            }
+        }
+    }
+
+    private int bucket(double dataValue) {
+        int bucket = (int) ((dataValue - boundaries[0]) * bucketScale);
+        return Math.min(Math.max(bucket, 0), BUCKETS - 1);
+    }
+
+    private static long toKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double fromKey(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+}
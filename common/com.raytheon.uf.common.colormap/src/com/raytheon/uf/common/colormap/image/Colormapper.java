@@ -21,6 +21,7 @@ package com.raytheon.uf.common.colormap.image;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.image.IndexColorModel;
 import java.awt.image.RenderedImage;
 import java.nio.Buffer;
@@ -29,7 +30,9 @@ import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import javax.measure.Unit;
 import javax.measure.UnitConverter;
@@ -63,6 +66,8 @@ import com.raytheon.uf.common.units.UnitConv;
  * Feb 07, 2018  6816     randerso  Implemented getLinearValue and
  *                                  getLogFactorValue functions.
  * Apr 17, 2018  6972     bsteffen  Add getLogValue
+ * Oct 19, 2026           kshrestha Map pixels with a ColorMapLookup in parallel
+ *                                  directly into the image raster.
  *
  * </pre>
  *
@@ -80,6 +85,12 @@ public class Colormapper {
 
     private static final int TRANSPARENT = new Color(0, 0, 0, 0).getRGB();
 
+    /** Images with fewer pixels than this are mapped on a single thread. */
+    private static final int PARALLEL_PIXELS = 256 * 1024;
+
+    /** Approximate number of pixels mapped by each parallel task. */
+    private static final int CHUNK_PIXELS = 64 * 1024;
+
     /**
      * This method will color map a Buffer to a RenderedImage given size and
      * parameters
@@ -90,12 +101,27 @@ public class Colormapper {
      */
     public static RenderedImage colorMap(ColorMapData cmapData,
             ColorMapParameters parameters) {
+        return colorMap(cmapData, parameters, null);
+    }
+
+    /**
+     * Color map a Buffer into an image, reusing an existing image if it is
+     * the correct size and type.
+     *
+     * @param cmapData
+     * @param parameters
+     * @param image
+     *            an image from a previous call to reuse, may be null
+     * @return the color mapped image, which is the image passed in if it could
+     *         be reused
+     */
+    public static BufferedImage colorMap(ColorMapData cmapData,
+            ColorMapParameters parameters, BufferedImage image) {
         int width = cmapData.getDimensions()[0];
         int height = cmapData.getDimensions()[1];
         Buffer buf = cmapData.getBuffer();
-        int dataSize = buf.capacity();
+        int dataSize = Math.min(buf.capacity(), width * height);
         ColorMapDataType dataType = cmapData.getDataType();
-        double noDataValue = parameters.getNoDataValue();
         Unit<?> dataUnit = cmapData.getDataUnit();
         if (dataUnit == null) {
             dataUnit = parameters.getDataUnit();
@@ -121,30 +147,30 @@ public class Colormapper {
                     color.getBlue(), color.getAlpha()).getRGB();
         }
 
-        int[] pixels = new int[dataSize];
-        for (int i = 0; i < dataSize; ++i) {
-            int rgbValue = TRANSPARENT;
-
-            double dataValue = getDataValue(buf, i, dataType);
-            if ((!Double.isNaN(dataValue)) && (dataValue != noDataValue)) {
-                double cmapValue = dataValue;
-                if (converter != null) {
-                    cmapValue = converter.convert(dataValue);
-                }
-
-                double index = getColorMappingIndex(cmapValue, parameters);
-                index = capIndex(index);
-                int cmapIndex = (int) Math.min(index * numColors,
-                        numColors - 1);
-                rgbValue = indexedColors[cmapIndex];
-            }
+        ColorMapLookup lookup = new ColorMapLookup(dataType, parameters,
+                converter, indexedColors, TRANSPARENT, dataSize);
 
-            pixels[i] = rgbValue;
+        BufferedImage bi = image;
+        if (bi == null || bi.getType() != BufferedImage.TYPE_INT_ARGB
+                || bi.getWidth() != width || bi.getHeight() != height) {
+            bi = new BufferedImage(width, height,
+                    BufferedImage.TYPE_INT_ARGB);
+        }
+        int[] pixels = ((DataBufferInt) bi.getRaster().getDataBuffer())
+                .getData();
+        if (dataSize < pixels.length) {
+            Arrays.fill(pixels, dataSize, pixels.length, 0);
+        }
+        if (dataSize < PARALLEL_PIXELS) {
+            lookup.map(buf, pixels, 0, dataSize);
+        } else {
+            /* chunks are whole rows so no two tasks share a row */
+            int chunkSize = Math.max(1, CHUNK_PIXELS / width) * width;
+            int chunks = (dataSize + chunkSize - 1) / chunkSize;
+            IntStream.range(0, chunks).parallel()
+                    .forEach(c -> lookup.map(buf, pixels, c * chunkSize,
+                            Math.min(dataSize, (c + 1) * chunkSize)));
         }
-
-        BufferedImage bi = new BufferedImage(width, height,
-                BufferedImage.TYPE_INT_ARGB);
-        bi.setRGB(0, 0, width, height, pixels, 0, width);
         return bi;
     }
 
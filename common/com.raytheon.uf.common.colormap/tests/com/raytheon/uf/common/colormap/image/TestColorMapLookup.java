@@ -0,0 +1,359 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.colormap.image;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.measure.UnitConverter;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.colormap.ColorMap;
+import com.raytheon.uf.common.colormap.image.ColorMapData.ColorMapDataType;
+import com.raytheon.uf.common.colormap.prefs.ColorMapParameters;
+
+import tec.uom.se.unit.Units;
+
+/**
+ * Unit tests for ColorMapLookup, checking every pixel against the per pixel
+ * calculation it replaces, both with and without the precomputed tables.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestColorMapLookup {
+
+    private static final double NO_DATA = -9999;
+
+    /** The pixel Colormapper uses for no data. */
+    private static final int TRANSPARENT = new Color(0, 0, 0, 0).getRGB();
+
+    /** Large enough for the lookup to build every kind of table. */
+    private static final int TABLE_SIZE = Integer.MAX_VALUE;
+
+    /** Small enough for the lookup to calculate every pixel. */
+    private static final int PER_PIXEL_SIZE = 1;
+
+    private final Random random = new Random(7);
+
+    private enum Mapping {
+        LINEAR, REVERSED, LOG_FACTOR, LOG, LOG_MIRROR
+    }
+
+    private ColorMapParameters parameters(Mapping mapping) {
+        ColorMapParameters parameters = new ColorMapParameters();
+        parameters.setNoDataValue(NO_DATA);
+        switch (mapping) {
+        case LINEAR:
+            parameters.setColorMapMin(-20);
+            parameters.setColorMapMax(45);
+            break;
+        case REVERSED:
+            parameters.setColorMapMin(45);
+            parameters.setColorMapMax(-20);
+            break;
+        case LOG_FACTOR:
+            parameters.setColorMapMin(-20);
+            parameters.setColorMapMax(45);
+            parameters.setLogFactor(2.5f);
+            break;
+        case LOG:
+            parameters.setColorMapMin(1);
+            parameters.setColorMapMax(1000);
+            parameters.setLogarithmic(true);
+            break;
+        case LOG_MIRROR:
+            parameters.setColorMapMin(1);
+            parameters.setColorMapMax(1000);
+            parameters.setLogarithmic(true);
+            parameters.setMirror(true);
+            break;
+        default:
+            throw new IllegalArgumentException(mapping.toString());
+        }
+        return parameters;
+    }
+
+    private int[] colors(int count) {
+        int[] colors = new int[count];
+        for (int i = 0; i < count; i += 1) {
+            colors[i] = random.nextInt() | 0xFF000000;
+        }
+        return colors;
+    }
+
+    /**
+     * The per pixel calculation the lookup must reproduce.
+     */
+    private static int expectedPixel(double dataValue,
+            ColorMapParameters parameters, UnitConverter converter,
+            int[] colors) {
+        if (Double.isNaN(dataValue) || dataValue == NO_DATA) {
+            return TRANSPARENT;
+        }
+        double cmapValue = dataValue;
+        if (converter != null) {
+            cmapValue = converter.convert(dataValue);
+        }
+        double index = Colormapper.capIndex(
+                Colormapper.getColorMappingIndex(cmapValue, parameters));
+        return colors[(int) Math.min(index * colors.length,
+                colors.length - 1)];
+    }
+
+    /**
+     * Values in data units at and next to each point the color changes, plus
+     * random and special values.
+     */
+    private List<Double> floatingValues(ColorMapParameters parameters,
+            UnitConverter converter, int colorCount) {
+        UnitConverter inverse = converter == null ? null
+                : converter.inverse();
+        double min = parameters.getColorMapMin();
+        double max = parameters.getColorMapMax();
+        List<Double> values = new ArrayList<>();
+        for (int k = 0; k <= colorCount; k += 1) {
+            double index = (double) k / colorCount;
+            double cmapValue;
+            if (parameters.isLogarithmic()) {
+                cmapValue = Colormapper.getLogValue(index, min, max,
+                        parameters.isMirror());
+            } else if (parameters.getLogFactor() > 0) {
+                cmapValue = Colormapper.getLogFactorValue(index, min, max,
+                        parameters.getLogFactor());
+            } else {
+                cmapValue = Colormapper.getLinearValue(index, min, max);
+            }
+            double value = inverse == null ? cmapValue
+                    : inverse.convert(cmapValue);
+            double down = value;
+            double up = value;
+            values.add(value);
+            for (int ulp = 0; ulp < 3; ulp += 1) {
+                down = Math.nextDown(down);
+                up = Math.nextUp(up);
+                values.add(down);
+                values.add(up);
+            }
+            values.add(-value);
+        }
+        double span = Math.max(Math.abs(min), Math.abs(max)) * 2;
+        for (int i = 0; i < 20_000; i += 1) {
+            values.add((random.nextDouble() * 2 - 1) * span
+                    + (inverse == null ? 0 : inverse.convert(0.0)));
+        }
+        double[] special = { 0.0, -0.0, NO_DATA, Double.NaN,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MAX_VALUE, -Double.MAX_VALUE, Double.MIN_VALUE, min,
+                max };
+        for (double value : special) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    private Buffer data(ColorMapDataType dataType,
+            ColorMapParameters parameters, UnitConverter converter,
+            int colorCount) {
+        switch (dataType) {
+        case BYTE:
+        case SIGNED_BYTE: {
+            ByteBuffer bytes = ByteBuffer.allocate(256);
+            for (int i = 0; i < 256; i += 1) {
+                bytes.put(i, (byte) i);
+            }
+            return bytes;
+        }
+        case SHORT:
+        case UNSIGNED_SHORT: {
+            ShortBuffer shorts = ShortBuffer.allocate(65536);
+            for (int i = 0; i < 65536; i += 1) {
+                shorts.put(i, (short) i);
+            }
+            return shorts;
+        }
+        case INT: {
+            IntBuffer ints = IntBuffer.allocate(50_000);
+            for (int i = 0; i < 40_000; i += 1) {
+                ints.put(i, i - 20_000);
+            }
+            for (int i = 40_000; i < 49_998; i += 1) {
+                ints.put(i, random.nextInt());
+            }
+            ints.put(49_998, Integer.MIN_VALUE);
+            ints.put(49_999, Integer.MAX_VALUE);
+            return ints;
+        }
+        case FLOAT: {
+            List<Double> values = floatingValues(parameters, converter,
+                    colorCount);
+            FloatBuffer floats = FloatBuffer.allocate(values.size() * 3);
+            for (int i = 0; i < values.size(); i += 1) {
+                float value = values.get(i).floatValue();
+                floats.put(i * 3, value);
+                floats.put(i * 3 + 1, Math.nextDown(value));
+                floats.put(i * 3 + 2, Math.nextUp(value));
+            }
+            return floats;
+        }
+        case DOUBLE: {
+            List<Double> values = floatingValues(parameters, converter,
+                    colorCount);
+            DoubleBuffer doubles = DoubleBuffer.allocate(values.size());
+            for (int i = 0; i < values.size(); i += 1) {
+                doubles.put(i, values.get(i));
+            }
+            return doubles;
+        }
+        default:
+            throw new IllegalArgumentException(dataType.toString());
+        }
+    }
+
+    private void assertMatchesPerPixel(UnitConverter converter) {
+        for (ColorMapDataType dataType : ColorMapDataType.values()) {
+            for (Mapping mapping : Mapping.values()) {
+                for (int colorCount : new int[] { 1, 16, 256 }) {
+                    ColorMapParameters parameters = parameters(mapping);
+                    int[] colors = colors(colorCount);
+                    Buffer data = data(dataType, parameters, converter,
+                            colorCount);
+                    int size = data.capacity();
+                    int[] expected = new int[size];
+                    for (int i = 0; i < size; i += 1) {
+                        expected[i] = expectedPixel(
+                                Colormapper.getDataValue(data, i, dataType),
+                                parameters, converter, colors);
+                    }
+                    for (int dataSize : new int[] { TABLE_SIZE,
+                            PER_PIXEL_SIZE }) {
+                        ColorMapLookup lookup = new ColorMapLookup(dataType,
+                                parameters, converter, colors, TRANSPARENT,
+                                dataSize);
+                        int[] pixels = new int[size];
+                        /* map in two ranges like the parallel chunks do */
+                        lookup.map(data, pixels, 0, size / 2);
+                        lookup.map(data, pixels, size / 2, size);
+                        for (int i = 0; i < size; i += 1) {
+                            if (expected[i] != pixels[i]) {
+                                assertEquals(dataType + " " + mapping + " "
+                                        + colorCount + " colors, size "
+                                        + dataSize + ", value "
+                                        + Colormapper.getDataValue(data, i,
+                                                dataType),
+                                        Integer.toHexString(expected[i]),
+                                        Integer.toHexString(pixels[i]));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Color map an image large enough to be mapped in parallel and compare
+     * every pixel with the per pixel calculation.
+     */
+    @Test
+    public void testColorMapImage() {
+        int numColors = 64;
+        float[][] rgba = new float[4][numColors];
+        for (float[] component : rgba) {
+            for (int i = 0; i < numColors; i += 1) {
+                component[i] = random.nextInt(256) / 255f;
+            }
+        }
+        ColorMapParameters parameters = parameters(Mapping.LINEAR);
+        parameters.setColorMap(
+                new ColorMap("test", rgba[0], rgba[1], rgba[2], rgba[3]));
+        parameters.setColorMapUnit(Units.CELSIUS);
+        int[] colors = new int[numColors];
+        for (int i = 0; i < numColors; i += 1) {
+            colors[i] = new Color(rgba[0][i], rgba[1][i], rgba[2][i],
+                    rgba[3][i]).getRGB();
+        }
+        UnitConverter converter = Units.KELVIN.getConverterTo(Units.CELSIUS);
+
+        int width = 700;
+        int height = 500;
+        FloatBuffer data = FloatBuffer.allocate(width * height);
+        for (int i = 0; i < data.capacity(); i += 1) {
+            float value = (float) (273.15 + random.nextGaussian() * 40);
+            if (i % 97 == 0) {
+                value = Float.NaN;
+            } else if (i % 101 == 0) {
+                value = (float) NO_DATA;
+            }
+            data.put(i, value);
+        }
+        BufferedImage image = Colormapper.colorMap(
+                new ColorMapData(data, new int[] { width, height },
+                        ColorMapDataType.FLOAT, Units.KELVIN),
+                parameters, null);
+        for (int y = 0; y < height; y += 1) {
+            for (int x = 0; x < width; x += 1) {
+                double value = data.get(y * width + x);
+                int expected = expectedPixel(value, parameters, converter,
+                        colors);
+                assertEquals("value " + value + " at " + x + "," + y,
+                        Integer.toHexString(expected),
+                        Integer.toHexString(image.getRGB(x, y)));
+            }
+        }
+    }
+
+    @Test
+    public void testWithoutConverter() {
+        assertMatchesPerPixel(null);
+    }
+
+    @Test
+    public void testWithOffsetConverter() {
+        assertMatchesPerPixel(Units.KELVIN.getConverterTo(Units.CELSIUS));
+    }
+
+    @Test
+    public void testWithScaleConverter() {
+        assertMatchesPerPixel(Units.METRE_PER_SECOND
+                .getConverterTo(Units.KILOMETRE_PER_HOUR));
+    }
+}
@@ -26,6 +26,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLContext;
 
@@ -34,6 +35,7 @@ import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLContextBuilder;
@@ -72,6 +74,9 @@ import com.raytheon.uf.common.util.app.AppInfo;
  * Jan 31, 2017  6083     bsteffen  Remove local trust strategy
  * Apr 02, 2020  8086     randerso  Use HttpClientBuilder.useSystemProperties() to
  *                                  handle proxy settings
+ * Oct 19, 2026           kshrestha Limit total pool size, evict idle
+ *                                  connections and time requests when stats
+ *                                  are provided.
  *
  * </pre>
  *
@@ -180,11 +185,8 @@ public class ApacheHttpClientCreator {
         SSLContext sslCtx = sslCtxBuilder.build();
         SSLConnectionSocketFactory ssf = new SSLConnectionSocketFactory(sslCtx,
                 SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
-        RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder
-                .create();
-        registryBuilder.register("https", ssf);
-        registryBuilder.register("http", new PlainConnectionSocketFactory());
-        Registry<ConnectionSocketFactory> registry = registryBuilder.build();
+        Registry<ConnectionSocketFactory> registry = createRegistry(ssf,
+                new PlainConnectionSocketFactory(), stats);
 
         HttpClientBuilder clientBuilder = HttpClientBuilder.create();
 
@@ -207,8 +209,7 @@ public class ApacheHttpClientCreator {
 
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
                 registry);
-        connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
-        clientBuilder.setConnectionManager(connectionManager);
+        configurePool(clientBuilder, connectionManager, config, stats);
         setUserAgent(clientBuilder);
 
         /*
@@ -258,9 +259,16 @@ public class ApacheHttpClientCreator {
         clientBuilder.setDefaultRequestConfig(reqConfigBuilder.build());
         clientBuilder.setDefaultSocketConfig(soConfigBuilder.build());
 
-        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-        connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
-        clientBuilder.setConnectionManager(connectionManager);
+        PoolingHttpClientConnectionManager connectionManager;
+        if (stats == null) {
+            connectionManager = new PoolingHttpClientConnectionManager();
+        } else {
+            connectionManager = new PoolingHttpClientConnectionManager(
+                    createRegistry(SSLConnectionSocketFactory.getSocketFactory(),
+                            PlainConnectionSocketFactory.getSocketFactory(),
+                            stats));
+        }
+        configurePool(clientBuilder, connectionManager, config, stats);
         setUserAgent(clientBuilder);
 
         /*
@@ -273,6 +281,64 @@ public class ApacheHttpClientCreator {
         return clientBuilder.build();
     }
 
+    /**
+     * @param https
+     * @param http
+     * @param stats
+     * @return a registry of the socket factories, which time connections when
+     *         stats are being collected
+     */
+    private static Registry<ConnectionSocketFactory> createRegistry(
+            LayeredConnectionSocketFactory https, ConnectionSocketFactory http,
+            NetworkStatistics stats) {
+        RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder
+                .create();
+        if (stats == null) {
+            registryBuilder.register("https", https);
+            registryBuilder.register("http", http);
+        } else {
+            registryBuilder.register("https",
+                    new RequestTimings.TimedLayeredSocketFactory(https));
+            registryBuilder.register("http",
+                    new RequestTimings.TimedSocketFactory(http));
+        }
+        return registryBuilder.build();
+    }
+
+    /**
+     * Apply the pool limits and idle connection handling from the config. The
+     * total limit caps connections across all hosts regardless of the per host
+     * limit, and falls back to the previous pool default when it is not set so
+     * the pool is never unbounded.
+     *
+     * @param clientBuilder
+     * @param connectionManager
+     * @param config
+     * @param stats
+     */
+    private static void configurePool(HttpClientBuilder clientBuilder,
+            PoolingHttpClientConnectionManager connectionManager,
+            HttpClientConfig config, NetworkStatistics stats) {
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+        int maxTotal = config.getMaxTotalConnections();
+        connectionManager.setMaxTotal(maxTotal > 0 ? maxTotal
+                : HttpClientConfigBuilder.DEFAULT_MAX_TOTAL_CONNECTIONS);
+        if (config.getValidateAfterInactivity() > 0) {
+            connectionManager.setValidateAfterInactivity(
+                    config.getValidateAfterInactivity());
+        }
+        clientBuilder.setConnectionManager(connectionManager);
+        if (config.getIdleConnectionTimeout() > 0) {
+            clientBuilder.evictExpiredConnections();
+            clientBuilder.evictIdleConnections(
+                    config.getIdleConnectionTimeout(), TimeUnit.MILLISECONDS);
+        }
+        if (stats != null) {
+            clientBuilder
+                    .setRequestExecutor(new RequestTimings.TimedRequestExecutor());
+        }
+    }
+
     private static void setUserAgent(HttpClientBuilder clientBuilder) {
         AppInfo appInfo = AppInfo.getInstance();
         if (appInfo == null || appInfo.getName() == null) {
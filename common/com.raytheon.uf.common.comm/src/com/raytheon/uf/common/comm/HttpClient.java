@@ -110,6 +110,8 @@ import com.raytheon.uf.common.util.rate.TokenBucket;
  * Feb 22, 2016  5306        njensen     Get new HttpClientContext if host or port change
  * Nov 29, 2016  5937        tgurney     Add optional rate limiting to postDynamicSerialize
  * Mar 24, 2017  DR 19830    D. Friedman Retry with delay on connection or 503 errors.
+ * Oct 19, 2026              kshrestha   Record connect, first byte and transfer
+ *                                        latency per endpoint.
  *
  * </pre>
  *
@@ -353,11 +355,14 @@ public class HttpClient {
      *
      * @param put
      *            the request to send
+     * @param timings
+     *            filled in with the latency of the request
      * @return the response from the server
      * @throws IOException
      * @throws CommunicationException
      */
-    private HttpResponse postRequest(HttpUriRequest put)
+    private HttpResponse postRequest(HttpUriRequest put,
+            RequestTimings timings)
             throws IOException, CommunicationException {
         HttpResponse resp = null;
 
@@ -370,6 +375,7 @@ public class HttpClient {
         int port = uri.getPort();
         String protocol = put.getURI().getScheme();
         HttpClientContext context = getHttpClientContext(protocol, host, port);
+        context.setAttribute(RequestTimings.ATTRIBUTE, timings);
 
         org.apache.http.client.HttpClient clientToUse = null;
         if (protocol.equalsIgnoreCase(HTTPS)) {
@@ -397,6 +403,7 @@ public class HttpClient {
             }
             this.setupCredentials(host, port, credentials[0], credentials[1]);
             context = getHttpClientContext(protocol, host, port);
+            context.setAttribute(RequestTimings.ATTRIBUTE, timings);
             /*
              * The context auth state gets set to FAILED on a 401 which causes
              * any future requests to abort prematurely. Therefore we set it to
@@ -446,6 +453,7 @@ public class HttpClient {
         boolean retry = true;
         HttpResponse resp = null;
         AtomicInteger ongoing = null;
+        RequestTimings timings = null;
 
         try {
             String host = put.getURI().getHost();
@@ -475,7 +483,8 @@ public class HttpClient {
                 String errorMsg = null;
                 Exception exc = null;
                 try {
-                    resp = postRequest(put);
+                    timings = new RequestTimings();
+                    resp = postRequest(put, timings);
                     if (resp.getStatusLine().getStatusCode() == 503) {
                         /* If EDEX starts a shutdown with in-flight requests, the
                          * port will not be closed immediately.  Instead, it
@@ -550,7 +559,12 @@ public class HttpClient {
                 handlerCallback = new DefaultInternalStreamHandler();
             }
 
+            long transferStart = System.nanoTime();
             processResponse(resp, handlerCallback);
+            if (resp.getEntity() != null) {
+                timings.setTransferNanos(System.nanoTime() - transferStart);
+            }
+            logLatency(put.getURI(), timings);
             byte[] byteResult = null;
             if (handlerCallback instanceof DefaultInternalStreamHandler) {
                 byteResult = ((DefaultInternalStreamHandler) handlerCallback).byteResult;
@@ -573,6 +587,24 @@ public class HttpClient {
         }
     }
 
+    /**
+     * Add the timings of a request to the latency stats of its endpoint.
+     *
+     * @param uri
+     * @param timings
+     */
+    private void logLatency(URI uri, RequestTimings timings) {
+        StringBuilder host = new StringBuilder(64);
+        host.append(uri.getScheme()).append("://").append(uri.getHost());
+        if (uri.getPort() >= 0) {
+            host.append(':').append(uri.getPort());
+        }
+        String path = uri.getRawPath();
+        String endpoint = host.toString()
+                + (path == null || path.isEmpty() ? "/" : path);
+        stats.logLatency(endpoint, host.toString(), timings);
+    }
+
     /**
      * Streams the response content to the handler callback and closes the http
      * connection once finished.
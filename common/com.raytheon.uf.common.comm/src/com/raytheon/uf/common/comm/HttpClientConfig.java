@@ -35,6 +35,8 @@ package com.raytheon.uf.common.comm;
  * Jul 06, 2015 4614       njensen      Add gzipEnabled
  * Dec 07, 2015 4834       njensen      Changes for rename of IHttpsHandler to HttpAuthHandler
  * Mar 24, 2017  DR 19830  D. Friedman  Add retryDelay
+ * Oct 19, 2026            kshrestha    Add connection pool limits and idle
+ *                                      eviction
  * 
  * </pre>
  * 
@@ -59,6 +61,12 @@ public class HttpClientConfig {
 
     private int retryDelay;
 
+    private final int maxTotalConnections;
+
+    private final int idleConnectionTimeout;
+
+    private final int validateAfterInactivity;
+
     /**
      * Protected constructor used by builder.
      * 
@@ -69,12 +77,17 @@ public class HttpClientConfig {
      * @param tcpNoDelay
      * @param expectContinueEnabled
      * @param gzipEnabled
+     * @param retryDelay
+     * @param maxTotalConnections
+     * @param idleConnectionTimeout
+     * @param validateAfterInactivity
      * 
      */
     protected HttpClientConfig(int socketTimeout, int connectionTimeout,
             int maxConnections, HttpAuthHandler handler, boolean tcpNoDelay,
             boolean expectContinueEnabled, boolean gzipEnabled,
-            int retryDelay) {
+            int retryDelay, int maxTotalConnections,
+            int idleConnectionTimeout, int validateAfterInactivity) {
         /*
          * This is protected to limit required changes if the arguments change
          * in the future. Callers should use the builder to construct configs.
@@ -87,6 +100,9 @@ public class HttpClientConfig {
         this.expectContinueEnabled = expectContinueEnabled;
         this.gzipEnabled = gzipEnabled;
         this.retryDelay = retryDelay;
+        this.maxTotalConnections = maxTotalConnections;
+        this.idleConnectionTimeout = idleConnectionTimeout;
+        this.validateAfterInactivity = validateAfterInactivity;
     }
 
     /**
@@ -139,4 +155,28 @@ public class HttpClientConfig {
         return retryDelay;
     }
 
+    /**
+     * @return the most pooled connections across all hosts, or 0 to use
+     *         {@link HttpClientConfigBuilder#DEFAULT_MAX_TOTAL_CONNECTIONS}
+     */
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * @return milliseconds a pooled connection may be idle before it is
+     *         closed, or 0 to keep idle connections open
+     */
+    public int getIdleConnectionTimeout() {
+        return idleConnectionTimeout;
+    }
+
+    /**
+     * @return milliseconds a pooled connection may be idle before it is
+     *         checked for having been closed by the server before reuse
+     */
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
 }
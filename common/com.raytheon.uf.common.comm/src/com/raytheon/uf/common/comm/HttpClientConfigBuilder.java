@@ -36,6 +36,8 @@ package com.raytheon.uf.common.comm;
  * Dec 07, 2015  4834      njensen      Changed for rename of IHttpsHandler to HttpAuthHandler
  * Mar 24, 2017  DR 19830  D. Friedman  Add retryDelay
  * Jan 1, 2022		   tiffanym@ucar.edu	increase maxConnections from 10 to 1000
+ * Oct 19, 2026            kshrestha    Add connection pool limits and idle
+ *                                      eviction
  * 
  * </pre>
  * 
@@ -44,6 +46,12 @@ package com.raytheon.uf.common.comm;
  */
 public class HttpClientConfigBuilder {
 
+    /**
+     * Connections allowed across all hosts when no total is configured, the
+     * same as the connection pool's own default
+     */
+    public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 20;
+
     private int socketTimeout = 330000;
 
     private int connectionTimeout = 10000;
@@ -60,6 +68,12 @@ public class HttpClientConfigBuilder {
 
     private int retryDelay = 6000;
 
+    private int maxTotalConnections = DEFAULT_MAX_TOTAL_CONNECTIONS;
+
+    private int idleConnectionTimeout = 60000;
+
+    private int validateAfterInactivity = 2000;
+
     /**
      * 
      */
@@ -79,6 +93,9 @@ public class HttpClientConfigBuilder {
         this.setTcpNoDelay(config.isTcpNoDelay());
         this.setExpectContinueEnabled(config.isExpectContinueEnabled());
         this.setRetryDelay(config.getRetryDelay());
+        this.setMaxTotalConnections(config.getMaxTotalConnections());
+        this.setIdleConnectionTimeout(config.getIdleConnectionTimeout());
+        this.setValidateAfterInactivity(config.getValidateAfterInactivity());
     }
 
     public static HttpClientConfig defaultConfig() {
@@ -91,7 +108,9 @@ public class HttpClientConfigBuilder {
     public HttpClientConfig build() {
         return new HttpClientConfig(socketTimeout, connectionTimeout,
                 maxConnections, httpAuthHandler, tcpNoDelay,
-                expectContinueEnabled, gzipEnabled, retryDelay);
+                expectContinueEnabled, gzipEnabled, retryDelay,
+                maxTotalConnections, idleConnectionTimeout,
+                validateAfterInactivity);
     }
 
     /**
@@ -149,6 +168,26 @@ public class HttpClientConfigBuilder {
         return this;
     }
 
+    /**
+     * @param maxTotalConnections
+     *            the maxTotalConnections to set
+     */
+    public HttpClientConfigBuilder withMaxTotalConnections(
+            int maxTotalConnections) {
+        this.maxTotalConnections = maxTotalConnections;
+        return this;
+    }
+
+    /**
+     * @param idleConnectionTimeout
+     *            the idleConnectionTimeout to set
+     */
+    public HttpClientConfigBuilder withIdleConnectionTimeout(
+            int idleConnectionTimeout) {
+        this.idleConnectionTimeout = idleConnectionTimeout;
+        return this;
+    }
+
     /**
      * @return the socketTimeout
      */
@@ -255,4 +294,43 @@ public class HttpClientConfigBuilder {
         this.retryDelay = retryDelay;
     }
 
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * @param maxTotalConnections
+     *            the most pooled connections across all hosts, 0 for
+     *            {@link #DEFAULT_MAX_TOTAL_CONNECTIONS}
+     */
+    public void setMaxTotalConnections(int maxTotalConnections) {
+        this.maxTotalConnections = maxTotalConnections;
+    }
+
+    public int getIdleConnectionTimeout() {
+        return idleConnectionTimeout;
+    }
+
+    /**
+     * @param idleConnectionTimeout
+     *            milliseconds a pooled connection may be idle before it is
+     *            closed, 0 to keep idle connections open
+     */
+    public void setIdleConnectionTimeout(int idleConnectionTimeout) {
+        this.idleConnectionTimeout = idleConnectionTimeout;
+    }
+
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * @param validateAfterInactivity
+     *            milliseconds a pooled connection may be idle before it is
+     *            checked before reuse
+     */
+    public void setValidateAfterInactivity(int validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+
 }
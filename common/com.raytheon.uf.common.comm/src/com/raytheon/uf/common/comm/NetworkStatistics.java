@@ -22,6 +22,10 @@ package com.raytheon.uf.common.comm;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Class for logging network sent/received amounts for various types
@@ -35,6 +39,7 @@ import java.util.Map;
  * Nov 1, 2011             mschenke    Initial creation
  * Jan 27, 2016 5170       tjensen     Improve network statistic to track messages,
  *                                      byte tracking only performed when configured
+ * Oct 19, 2026            kshrestha   Added per endpoint latency histograms
  * 
  * </pre>
  * 
@@ -127,6 +132,171 @@ public class NetworkStatistics {
         }
     }
 
+    /**
+     * Latency of the http requests sent to an endpoint, split into the time to
+     * open new connections, the time from sending a request until the response
+     * headers arrive and the time to read the response body. Each is kept as a
+     * histogram with the bucket limits in {@link #getBucketLimits()}.
+     */
+    public static class EndpointLatency {
+
+        /**
+         * Upper bounds in milliseconds of the histogram buckets, the last
+         * bucket holds everything longer.
+         */
+        private static final long[] BUCKET_LIMITS = { 1, 2, 5, 10, 20, 50,
+                100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000 };
+
+        private final String endpoint;
+
+        private final AtomicLong requestCount = new AtomicLong();
+
+        private final Histogram connect = new Histogram();
+
+        private final Histogram firstByte = new Histogram();
+
+        private final Histogram transfer = new Histogram();
+
+        private EndpointLatency(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void log(RequestTimings timings) {
+            requestCount.incrementAndGet();
+            connect.add(timings.getConnectNanos());
+            firstByte.add(timings.getFirstByteNanos());
+            transfer.add(timings.getTransferNanos());
+        }
+
+        /**
+         * @return the scheme, host, port and path requests were sent to
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getRequestCount() {
+            return requestCount.get();
+        }
+
+        /**
+         * @return the number of requests that had to open a new connection,
+         *         the rest reused a pooled connection
+         */
+        public long getConnectCount() {
+            return connect.getCount();
+        }
+
+        /**
+         * @return the count of new connections in each bucket, including the
+         *         tls handshake for https
+         */
+        public long[] getConnectHistogram() {
+            return connect.getCounts();
+        }
+
+        /**
+         * @return the count of requests in each bucket of time from starting
+         *         to send the request until the response headers arrived
+         */
+        public long[] getFirstByteHistogram() {
+            return firstByte.getCounts();
+        }
+
+        /**
+         * @return the count of requests in each bucket of time spent reading
+         *         the response body, which includes the time the stream handler
+         *         spent deserializing it
+         */
+        public long[] getTransferHistogram() {
+            return transfer.getCounts();
+        }
+
+        public double getMeanConnectMillis() {
+            return connect.getMeanMillis();
+        }
+
+        public double getMeanFirstByteMillis() {
+            return firstByte.getMeanMillis();
+        }
+
+        public double getMeanTransferMillis() {
+            return transfer.getMeanMillis();
+        }
+
+        /**
+         * @return the upper bound in milliseconds of each histogram bucket
+         *         except the last, which holds everything longer
+         */
+        public static long[] getBucketLimits() {
+            return BUCKET_LIMITS.clone();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "HTTP latency for '%s' : %d requests, %d connects averaging %.1fms, first byte averaging %.1fms, transfer averaging %.1fms",
+                    endpoint, getRequestCount(), getConnectCount(),
+                    getMeanConnectMillis(), getMeanFirstByteMillis(),
+                    getMeanTransferMillis());
+        }
+
+        private static class Histogram {
+
+            private final AtomicLongArray counts = new AtomicLongArray(
+                    BUCKET_LIMITS.length + 1);
+
+            private final AtomicLong count = new AtomicLong();
+
+            private final AtomicLong totalNanos = new AtomicLong();
+
+            /**
+             * @param nanos
+             *            the time to add, negative if it was not measured
+             */
+            private void add(long nanos) {
+                if (nanos < 0) {
+                    return;
+                }
+                long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+                int bucket = 0;
+                while (bucket < BUCKET_LIMITS.length
+                        && millis >= BUCKET_LIMITS[bucket]) {
+                    bucket += 1;
+                }
+                counts.incrementAndGet(bucket);
+                count.incrementAndGet();
+                totalNanos.addAndGet(nanos);
+            }
+
+            private long getCount() {
+                return count.get();
+            }
+
+            private long[] getCounts() {
+                long[] result = new long[counts.length()];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = counts.get(i);
+                }
+                return result;
+            }
+
+            private double getMeanMillis() {
+                long n = count.get();
+                return n == 0 ? 0 : totalNanos.get() / (n * 1_000_000.0);
+            }
+        }
+    }
+
+    /**
+     * Most endpoints to track latency for separately, requests to any other
+     * endpoints are combined under their host.
+     */
+    private static final int MAX_LATENCY_ENDPOINTS = Integer
+            .getInteger("http.latency.max.endpoints", 100);
+
+    private final Map<String, EndpointLatency> latency = new ConcurrentHashMap<>();
+
     private NetworkTraffic totalTraffic = new NetworkTraffic(null);
 
     private Map<String, NetworkTraffic> mappedTraffic = new LinkedHashMap<String, NetworkTraffic>();
@@ -233,6 +403,46 @@ public class NetworkStatistics {
         return traffic;
     }
 
+    /**
+     * Add the timings of a completed http request to the latency of its
+     * endpoint.
+     *
+     * @param endpoint
+     *            the scheme, host, port and path of the request
+     * @param host
+     *            the scheme, host and port of the request
+     * @param timings
+     */
+    void logLatency(String endpoint, String host, RequestTimings timings) {
+        EndpointLatency endpointLatency = latency.get(endpoint);
+        if (endpointLatency == null) {
+            if (latency.size() >= MAX_LATENCY_ENDPOINTS) {
+                endpoint = host + "/*";
+            }
+            endpointLatency = latency.computeIfAbsent(endpoint,
+                    EndpointLatency::new);
+        }
+        endpointLatency.log(timings);
+    }
+
+    /**
+     * @param endpoint
+     *            the scheme, host, port and path requests were sent to
+     * @return the latency of requests to the endpoint or null if none have
+     *         been sent
+     */
+    public EndpointLatency getEndpointLatencyStats(String endpoint) {
+        return latency.get(endpoint);
+    }
+
+    /**
+     * @return the latency of requests to every endpoint, the values continue
+     *         to update as requests complete
+     */
+    public EndpointLatency[] getEndpointLatencyStats() {
+        return latency.values().toArray(new EndpointLatency[0]);
+    }
+
     private static final long[] divisions = new long[] { 1, 1024, 1024 * 1024,
             1024 * 1024 * 1024 };
 
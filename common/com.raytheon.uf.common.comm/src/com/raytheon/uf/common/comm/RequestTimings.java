@@ -0,0 +1,203 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.comm;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * Times the phases of a single http request. An instance is put in the
+ * HttpContext of a request by {@link HttpClient} and filled in by the socket
+ * factories and request executor that {@link ApacheHttpClientCreator} installs
+ * when a client is created with {@link NetworkStatistics}. All of the phases
+ * run on the thread executing the request so no synchronization is needed.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+class RequestTimings {
+
+    static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private long connectNanos = -1;
+
+    private long sendStart;
+
+    private long firstByteNanos = -1;
+
+    private long transferNanos = -1;
+
+    private static RequestTimings get(HttpContext context) {
+        if (context == null) {
+            return null;
+        }
+        Object timings = context.getAttribute(ATTRIBUTE);
+        if (timings instanceof RequestTimings) {
+            return (RequestTimings) timings;
+        }
+        return null;
+    }
+
+    private void addConnect(long nanos) {
+        connectNanos = connectNanos < 0 ? nanos : connectNanos + nanos;
+    }
+
+    void setTransferNanos(long transferNanos) {
+        this.transferNanos = transferNanos;
+    }
+
+    /**
+     * @return the time spent opening new connections or -1 if a pooled
+     *         connection was used
+     */
+    long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * @return the time from starting to send the last attempt of the request
+     *         until the response headers were read or -1 if no response was
+     *         read
+     */
+    long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    /**
+     * @return the time spent reading the response body or -1 if there was no
+     *         body
+     */
+    long getTransferNanos() {
+        return transferNanos;
+    }
+
+    /**
+     * Socket factory that records the time to connect, and for https to
+     * complete the handshake, in the timings of the request.
+     */
+    static class TimedSocketFactory implements ConnectionSocketFactory {
+
+        private final ConnectionSocketFactory delegate;
+
+        TimedSocketFactory(ConnectionSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            return delegate.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket sock,
+                HttpHost host, InetSocketAddress remoteAddress,
+                InetSocketAddress localAddress, HttpContext context)
+                throws IOException {
+            long start = System.nanoTime();
+            Socket socket = delegate.connectSocket(connectTimeout, sock, host,
+                    remoteAddress, localAddress, context);
+            RequestTimings timings = get(context);
+            if (timings != null) {
+                timings.addConnect(System.nanoTime() - start);
+            }
+            return socket;
+        }
+    }
+
+    /**
+     * Layered socket factory that also times the handshake of https
+     * connections tunneled through a proxy.
+     */
+    static class TimedLayeredSocketFactory extends TimedSocketFactory
+            implements LayeredConnectionSocketFactory {
+
+        private final LayeredConnectionSocketFactory delegate;
+
+        TimedLayeredSocketFactory(LayeredConnectionSocketFactory delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target,
+                int port, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            Socket layered = delegate.createLayeredSocket(socket, target, port,
+                    context);
+            RequestTimings timings = get(context);
+            if (timings != null) {
+                timings.addConnect(System.nanoTime() - start);
+            }
+            return layered;
+        }
+    }
+
+    /**
+     * Request executor that records the time from sending a request until the
+     * response headers are read.
+     */
+    static class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request,
+                HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            RequestTimings timings = get(context);
+            if (timings != null) {
+                timings.sendStart = System.nanoTime();
+                timings.firstByteNanos = -1;
+            }
+            return super.doSendRequest(request, conn, context);
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request,
+                HttpClientConnection conn, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, conn,
+                    context);
+            RequestTimings timings = get(context);
+            if (timings != null) {
+                timings.firstByteNanos = System.nanoTime() - timings.sendStart;
+            }
+            return response;
+        }
+    }
+}
@@ -23,9 +23,11 @@ import java.io.File;
 import java.text.ParsePosition;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.measure.IncommensurableException;
 import javax.measure.UnconvertibleException;
@@ -63,6 +65,8 @@ import tec.uom.se.format.SimpleUnitFormat;
  * Jan 23, 2014  2711     bsteffen    Add getAllLevels.
  * Sep 09, 2014  3356     njensen     Always use default LevelRetrievalAdapter
  *                                     Remove CommunicationException
+ * Oct 19, 2026           kshrestha   Thread safe caches, primitive id index,
+ *                                     cache misses for unknown levels
  * 
  * </pre>
  * 
@@ -77,25 +81,39 @@ public class LevelFactory {
 
     private static final String MASTER_LEVEL_FILENAME = "/level/masterLevels.xml";
 
+    /** topic EDEX publishes to when a level or master level is created */
+    public static final String LEVEL_CREATED_TOPIC = "edex.alerts.level";
+
+    /** how long an unknown level id or master level name is remembered */
+    private static final long MISS_EXPIRATION = Long.getLong(
+            "level.cache.miss.expiration", TimeUnit.MINUTES.toMillis(1));
+
+    /** most unknown level ids or master level names remembered at once */
+    private static final int MISS_MAX = Integer
+            .getInteger("level.cache.miss.max", 1024);
+
     private static LevelFactory instance = new LevelFactory();
 
     // contains the master levels
-    private Map<String, MasterLevel> masterLevelCache = new HashMap<String, MasterLevel>();
+    private final Map<String, MasterLevel> masterLevelCache = new ConcurrentHashMap<>();
 
     // level stub to its full level
-    private Map<Level, Level> levelCache = new HashMap<Level, Level>();
+    private final Map<Level, Level> levelCache = new ConcurrentHashMap<>();
 
     // level id to its full level
-    private Map<Long, Level> levelCacheById = new HashMap<Long, Level>();
+    private final LevelIdIndex levelCacheById = new LevelIdIndex();
 
-    // level id String to its full level
-    private Map<String, Level> levelCacheByIdAsString = new HashMap<String, Level>();
+    // level id to the time the server last reported it unknown
+    private final Map<Long, Long> missingLevelIds = new ConcurrentHashMap<>();
+
+    // master level name to the time the server last reported it unknown
+    private final Map<String, Long> missingMasterLevels = new ConcurrentHashMap<>();
 
     private ILevelRetrievalAdapter retrievalAdapter = null;
 
-    private boolean hasRequestedAllLevels = false;
+    private volatile boolean hasRequestedAllLevels = false;
 
-    private boolean hasRequestedAllMasterLevels = false;
+    private volatile boolean hasRequestedAllMasterLevels = false;
 
     private static final double INVALID_LEVEL = Level.getInvalidLevelValue();
 
@@ -207,11 +225,44 @@ public class LevelFactory {
 
     public Collection<Level> getAllLevels() {
         if (hasRequestedAllLevels) {
-            loadAllLevels();
+            reloadAllLevels();
         }
         return new ArrayList<Level>(levelCacheById.values());
     }
 
+    /**
+     * Forget every level id and master level name the server has reported as
+     * unknown so they are requested again. Called when EDEX publishes to
+     * {@link #LEVEL_CREATED_TOPIC}, otherwise misses expire on their own.
+     */
+    public void clearMissingLevels() {
+        missingLevelIds.clear();
+        missingMasterLevels.clear();
+    }
+
+    /**
+     * Check whether the server recently reported a key unknown, an expired
+     * miss is removed so the map only holds live misses.
+     */
+    private static <K> boolean isMissing(Map<K, Long> missing, K key) {
+        Long missedTime = missing.get(key);
+        if (missedTime == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - missedTime < MISS_EXPIRATION) {
+            return true;
+        }
+        missing.remove(key, missedTime);
+        return false;
+    }
+
+    private static <K> void putMissing(Map<K, Long> missing, K key) {
+        if (missing.size() >= MISS_MAX) {
+            missing.clear();
+        }
+        missing.put(key, System.currentTimeMillis());
+    }
+
     private MasterLevel loadMasterLevel(MasterLevel level, boolean createFlag) {
         MasterLevel rval = null;
         String levelName = level.getName();
@@ -219,8 +270,12 @@ public class LevelFactory {
         if (!hasRequestedAllMasterLevels) {
             loadAllMasterLevels();
         }
-        if (masterLevelCache.containsKey(levelName)) {
-            rval = masterLevelCache.get(levelName);
+        rval = masterLevelCache.get(levelName);
+        if (rval != null) {
+            return rval;
+        } else if (!createFlag
+                && isMissing(missingMasterLevels, levelName)) {
+            return null;
         } else if (retrievalAdapter != null) {
             // create new requested level, so the incoming is not mangled
             MasterLevel requestedLevel = new MasterLevel(levelName);
@@ -241,6 +296,9 @@ public class LevelFactory {
             // if level was retrieved, post process it
             if (rval != null) {
                 cacheMasterLevel(rval);
+                missingMasterLevels.remove(levelName);
+            } else if (!createFlag) {
+                putMissing(missingMasterLevels, levelName);
             }
         } else {
             statusHandler.error("No level retrieval adapter defined");
@@ -296,7 +354,8 @@ public class LevelFactory {
         // check if we have already loaded level
         Level rval = levelCacheById.get(id);
 
-        if ((rval == null) && (retrievalAdapter != null)) {
+        if ((rval == null) && (retrievalAdapter != null)
+                && !isMissing(missingLevelIds, id)) {
             GetLevelByIdRequest request = new GetLevelByIdRequest();
             request.setId(id);
 
@@ -304,6 +363,9 @@ public class LevelFactory {
 
             if (rval != null) {
                 cacheLevel(rval);
+                missingLevelIds.remove(id);
+            } else {
+                putMissing(missingLevelIds, id);
             }
         }
 
@@ -311,31 +373,14 @@ public class LevelFactory {
     }
 
     private Level loadLevel(String id) {
-        if (!hasRequestedAllLevels) {
-            loadAllLevels();
-        }
-        // check if we have already loaded level
-        Level rval = levelCacheByIdAsString.get(id);
-
-        if ((rval == null) && (retrievalAdapter != null)) {
-            GetLevelByIdRequest request = new GetLevelByIdRequest();
-            try {
-                request.setId(Long.parseLong(id));
-
-                rval = retrievalAdapter.getLevel(request);
-
-                if (rval != null) {
-                    cacheLevel(rval);
-                }
-            } catch (NumberFormatException e) {
-                statusHandler
-                        .handle(Priority.PROBLEM,
-                                "Error occurred trying to lookup level information, received level id that was not a number.",
-                                e);
-            }
+        try {
+            return loadLevel(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            statusHandler.handle(Priority.PROBLEM,
+                    "Error occurred trying to lookup level information, received level id that was not a number.",
+                    e);
+            return null;
         }
-
-        return rval;
     }
 
     private void cacheMasterLevel(MasterLevel levelToCache) {
@@ -344,11 +389,17 @@ public class LevelFactory {
 
     private void cacheLevel(Level levelToCache) {
         levelCache.put(levelToCache, levelToCache);
-        levelCacheById.put(levelToCache.getId(), levelToCache);
-        levelCacheByIdAsString.put("" + levelToCache.getId(), levelToCache);
+        levelCacheById.put(levelToCache);
     }
 
-    private void loadAllLevels() {
+    private synchronized void loadAllLevels() {
+        if (hasRequestedAllLevels) {
+            return;
+        }
+        reloadAllLevels();
+    }
+
+    private synchronized void reloadAllLevels() {
         if (retrievalAdapter != null) {
             LevelContainer container = retrievalAdapter.getAllLevels();
             if (container != null) {
@@ -359,22 +410,26 @@ public class LevelFactory {
                         MasterLevel mLvl = lvl.getMasterLevel();
 
                         // use a single master level object for common levels
-                        if (masterLevelCache.containsKey(mLvl.getName())) {
-                            mLvl = masterLevelCache.get(mLvl.getName());
-                            lvl.setMasterLevel(mLvl);
-                        } else {
-                            cacheMasterLevel(mLvl);
+                        MasterLevel cached = masterLevelCache
+                                .putIfAbsent(mLvl.getName(), mLvl);
+                        if (cached != null) {
+                            lvl.setMasterLevel(cached);
                         }
 
-                        cacheLevel(lvl);
+                        levelCache.put(lvl, lvl);
                     }
+                    // index every level in one pass rather than per level
+                    levelCacheById.putAll(levels);
                 }
             }
             hasRequestedAllLevels = true;
         }
     }
 
-    private void loadAllMasterLevels() {
+    private synchronized void loadAllMasterLevels() {
+        if (hasRequestedAllMasterLevels) {
+            return;
+        }
         if (retrievalAdapter != null) {
             MasterLevelContainer container = retrievalAdapter
                     .getAllMasterLevels();
@@ -427,4 +482,115 @@ public class LevelFactory {
         statusHandler.debug("Successfully loaded master levels from "
                 + file.getAbsolutePath());
     }
+
+    /**
+     * Index of levels by id using open addressing on primitive long keys so
+     * lookups neither box the id nor lock. Levels are inserted in place, the
+     * id of a slot is written before its level so a reader that sees the level
+     * also sees the id. The table doubles when it would be more than half full
+     * and the larger copy is published with a single volatile write.
+     */
+    private static class LevelIdIndex {
+
+        private static final class Table {
+            final long[] ids;
+
+            final AtomicReferenceArray<Level> levels;
+
+            Table(int capacity) {
+                this.ids = new long[capacity];
+                this.levels = new AtomicReferenceArray<>(capacity);
+            }
+        }
+
+        private volatile Table table = new Table(16);
+
+        /** number of levels in the table, guarded by this */
+        private int size;
+
+        public Level get(long id) {
+            Table t = table;
+            int mask = t.ids.length - 1;
+            int i = hash(id) & mask;
+            Level level;
+            while ((level = t.levels.get(i)) != null) {
+                if (t.ids[i] == id) {
+                    return level;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        public synchronized void put(Level level) {
+            ensureCapacity(size + 1);
+            size += insert(table, level.getId(), level);
+        }
+
+        public synchronized void putAll(Collection<Level> levels) {
+            ensureCapacity(size + levels.size());
+            Table t = table;
+            for (Level level : levels) {
+                size += insert(t, level.getId(), level);
+            }
+        }
+
+        public List<Level> values() {
+            Table t = table;
+            List<Level> values = new ArrayList<>();
+            for (int i = 0; i < t.ids.length; i += 1) {
+                Level level = t.levels.get(i);
+                if (level != null) {
+                    values.add(level);
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Replace the table with a copy at least twice as large as count if it
+         * is not already.
+         */
+        private void ensureCapacity(int count) {
+            Table old = table;
+            int capacity = old.ids.length;
+            if (capacity >= count * 2) {
+                return;
+            }
+            while (capacity < count * 2) {
+                capacity *= 2;
+            }
+            Table t = new Table(capacity);
+            for (int i = 0; i < old.ids.length; i += 1) {
+                Level level = old.levels.get(i);
+                if (level != null) {
+                    insert(t, old.ids[i], level);
+                }
+            }
+            table = t;
+        }
+
+        /**
+         * @return 1 if a new id was added, 0 if an existing one was replaced
+         */
+        private static int insert(Table t, long id, Level level) {
+            int mask = t.ids.length - 1;
+            int i = hash(id) & mask;
+            while (t.levels.get(i) != null) {
+                if (t.ids[i] == id) {
+                    t.levels.set(i, level);
+                    return 0;
+                }
+                i = (i + 1) & mask;
+            }
+            t.ids[i] = id;
+            t.levels.set(i, level);
+            return 1;
+        }
+
+        private static int hash(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
 }
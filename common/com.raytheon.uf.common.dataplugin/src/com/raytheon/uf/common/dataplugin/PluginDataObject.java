@@ -106,6 +106,7 @@ import com.raytheon.uf.common.time.DataTime;
  * Apr 05, 2018  6696     randerso  Added FCSTTIME_ID
  * Apr 24, 2019  6140     tgurney   Remove Inheritance annotation
  *                                  (Hibernate 5.4 fix)
+ * Oct 19, 2026           kshrestha Parse dataURI times with DataTime.valueOf
  *
  * </pre>
  *
@@ -131,7 +132,7 @@ public abstract class PluginDataObject extends PersistableDataObject
 
         @Override
         public DataTime fromString(String string) {
-            return new DataTime(string);
+            return DataTime.valueOf(string);
         }
     }
 
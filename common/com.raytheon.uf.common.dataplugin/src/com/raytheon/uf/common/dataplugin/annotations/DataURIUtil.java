@@ -20,7 +20,12 @@
 
 package com.raytheon.uf.common.dataplugin.annotations;
 
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -31,7 +36,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 import org.apache.commons.beanutils.PropertyUtils;
 
@@ -62,6 +66,8 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  * Mar 11, 2016 5454       tgurney     Handle dataURI with trailing slash
  * Jul 27, 2016 2416       tgurney     Add getDataURIFields(Class<?>)
  * Sep 23, 2021 8608       mapeters    Add {@link #getPluginName(String)}
+ * Oct 19, 2026            kshrestha   Compiled field access, regex free
+ *                                     tokenizing, createPluginDataObjects
  *
  * </pre>
  *
@@ -73,26 +79,19 @@ public class DataURIUtil {
 
     private static final String FIELD_SEPARATOR = ".";
 
-    private static final Pattern FIELD_SEPARATOR_PATTERN = Pattern
-            .compile("[" + FIELD_SEPARATOR + "]");
+    private static final char SEPARATOR_CHAR = DataURI.SEPARATOR.charAt(0);
 
     private static final String DATAURI_SEPARATOR_ENCODED = "%2F";
 
-    private static final String DATAURI_SEPARATOR_ESCAPE_CHAR = "%";
+    private static final char DATAURI_SEPARATOR_ESCAPE_CHAR = '%';
 
     private static final String DATAURI_SEPARATOR_CHAR_ENCODED = "%25";
 
-    private static final Pattern DATAURI_SEPARATOR_ENCODED_PATTERN = Pattern
-            .compile(DATAURI_SEPARATOR_ENCODED);
+    private static final MethodType GETTER_TYPE = MethodType
+            .methodType(Object.class, Object.class);
 
-    private static final Pattern DATAURI_SEPARATOR_PATTERN = Pattern
-            .compile(DataURI.SEPARATOR);
-
-    private static final Pattern DATAURI_SEPARATED_ESCAPE_CHAR_PATTERN = Pattern
-            .compile(DATAURI_SEPARATOR_ESCAPE_CHAR);
-
-    private static final Pattern DATAURI_SEPARATOR_CHAR_ENCODED_PATTERN = Pattern
-            .compile(DATAURI_SEPARATOR_CHAR_ENCODED);
+    private static final MethodType SETTER_TYPE = MethodType
+            .methodType(void.class, Object.class, Object.class);
 
     private static IPluginClassMapper classMapper;
 
@@ -171,17 +170,23 @@ public class DataURIUtil {
      * Properly formats an arbitrary object into a dataURI.
      */
     private static void addToDataURI(StringBuilder uri, String property) {
-        // This is done so if the property actually contained '%2F' that
-        // wouldn't get converted to '/' when tokenized. %2F becomes %252F
-        // because the '%' is replaced with '%25'
-        String escapeCharEscaped = DATAURI_SEPARATED_ESCAPE_CHAR_PATTERN
-                .matcher(property).replaceAll(DATAURI_SEPARATOR_CHAR_ENCODED);
-        // Now replace any '/' with %2F to escape slashes in the property
-        String fullyEscapedProperty = DATAURI_SEPARATOR_PATTERN
-                .matcher(escapeCharEscaped)
-                .replaceAll(DATAURI_SEPARATOR_ENCODED);
-
-        uri.append(DataURI.SEPARATOR).append(fullyEscapedProperty);
+        uri.append(SEPARATOR_CHAR);
+        /*
+         * '%' is escaped as '%25' so if the property actually contained '%2F'
+         * it wouldn't get converted to '/' when tokenized, then any '/' is
+         * escaped as '%2F'.
+         */
+        int length = property.length();
+        for (int i = 0; i < length; i += 1) {
+            char c = property.charAt(i);
+            if (c == DATAURI_SEPARATOR_ESCAPE_CHAR) {
+                uri.append(DATAURI_SEPARATOR_CHAR_ENCODED);
+            } else if (c == SEPARATOR_CHAR) {
+                uri.append(DATAURI_SEPARATOR_ENCODED);
+            } else {
+                uri.append(c);
+            }
+        }
     }
 
     /**
@@ -266,19 +271,44 @@ public class DataURIUtil {
      */
     public static PluginDataObject createPluginDataObject(String dataURI)
             throws PluginException {
-        PluginDataObject pdo = null;
         String[] tokens = tokenizeURI(dataURI);
         Class<PluginDataObject> clazz = getPluginRecordClass(tokens[0]);
-        try {
-            pdo = clazz.newInstance();
-        } catch (Exception e) {
-            throw new PluginException(e);
-        }
-        populatePluginDataObject(pdo, tokens);
+        DataURIFieldAccessCache cache = getAccessCache(clazz);
+        PluginDataObject pdo = (PluginDataObject) cache.newInstance();
+        populatePluginDataObject(pdo, cache, tokens);
         pdo.setDataURI(dataURI);
         return pdo;
     }
 
+    /**
+     * Create a new PluginDataObject for each dataURI, equivalent to calling
+     * {@link #createPluginDataObject(String)} for each one but the plugin
+     * class and field access are only looked up once per plugin, which is
+     * significantly faster for large numbers of URIs.
+     *
+     * @param dataURIs
+     * @return the PluginDataObjects in the same order as the dataURIs
+     * @throws PluginException
+     */
+    public static PluginDataObject[] createPluginDataObjects(
+            String[] dataURIs) throws PluginException {
+        PluginDataObject[] pdos = new PluginDataObject[dataURIs.length];
+        Map<String, DataURIFieldAccessCache> caches = new HashMap<>(4);
+        for (int i = 0; i < dataURIs.length; i += 1) {
+            String[] tokens = tokenizeURI(dataURIs[i]);
+            DataURIFieldAccessCache cache = caches.get(tokens[0]);
+            if (cache == null) {
+                cache = getAccessCache(tokens[0]);
+                caches.put(tokens[0], cache);
+            }
+            PluginDataObject pdo = (PluginDataObject) cache.newInstance();
+            populatePluginDataObject(pdo, cache, tokens);
+            pdo.setDataURI(dataURIs[i]);
+            pdos[i] = pdo;
+        }
+        return pdos;
+    }
+
     /**
      * Create a new PluginDataObject based off the dataMap. The class of the
      * result object is based off the pluginName mapping and all dataURI fields
@@ -334,7 +364,13 @@ public class DataURIUtil {
      */
     private static void populatePluginDataObject(PluginDataObject pdo,
             String[] uriTokens) throws PluginException {
-        DataURIFieldAccessCache cache = getAccessCache(pdo.getClass());
+        populatePluginDataObject(pdo, getAccessCache(pdo.getClass()),
+                uriTokens);
+    }
+
+    private static void populatePluginDataObject(PluginDataObject pdo,
+            DataURIFieldAccessCache cache, String[] uriTokens)
+            throws PluginException {
         DataURIFieldAccess[] access = cache.getDataURIFields();
         for (int i = 0; i < access.length; i += 1) {
             access[i].setFieldValue(pdo,
@@ -368,19 +404,62 @@ public class DataURIUtil {
      * Split a URI on the separator and remove empty first element.
      */
     public static String[] tokenizeURI(String dataURI) {
-        // Limit of -1 keeps trailing empty string(s)
-        String[] tokens = DATAURI_SEPARATOR_PATTERN.split(dataURI, -1);
-        for (int i = 0; i < tokens.length; ++i) {
-            // Replace %2F with '/'
-            tokens[i] = DATAURI_SEPARATOR_ENCODED_PATTERN.matcher(tokens[i])
-                    .replaceAll(DataURI.SEPARATOR);
-            // Convert %25 to %
-            tokens[i] = DATAURI_SEPARATOR_CHAR_ENCODED_PATTERN
-                    .matcher(tokens[i])
-                    .replaceAll(DATAURI_SEPARATOR_ESCAPE_CHAR);
-        }
-        // Removes empty string in [0] due to starting with '/'
-        return Arrays.copyOfRange(tokens, 1, tokens.length);
+        int length = dataURI.length();
+        int count = 0;
+        for (int i = 0; i < length; i += 1) {
+            if (dataURI.charAt(i) == SEPARATOR_CHAR) {
+                count += 1;
+            }
+        }
+        /*
+         * Trailing empty strings are kept, the first token is always dropped
+         * since it is the empty string before the leading '/'
+         */
+        String[] tokens = new String[count];
+        StringBuilder token = new StringBuilder(32);
+        int start = dataURI.indexOf(SEPARATOR_CHAR) + 1;
+        for (int t = 0; t < count; t += 1) {
+            int end = dataURI.indexOf(SEPARATOR_CHAR, start);
+            if (end < 0) {
+                end = length;
+            }
+            tokens[t] = unescape(dataURI, start, end, token);
+            start = end + 1;
+        }
+        return tokens;
+    }
+
+    /*
+     * Replace %2F with '/' and %25 with '%', reusing the builder only when
+     * there is something to replace.
+     */
+    private static String unescape(String dataURI, int start, int end,
+            StringBuilder token) {
+        int escape = dataURI.indexOf(DATAURI_SEPARATOR_ESCAPE_CHAR, start);
+        if (escape < 0 || escape >= end) {
+            return dataURI.substring(start, end);
+        }
+        token.setLength(0);
+        int i = start;
+        while (i < end) {
+            char c = dataURI.charAt(i);
+            if (c == DATAURI_SEPARATOR_ESCAPE_CHAR && i + 2 < end
+                    && dataURI.charAt(i + 1) == '2') {
+                char next = dataURI.charAt(i + 2);
+                if (next == 'F') {
+                    token.append(SEPARATOR_CHAR);
+                    i += 3;
+                    continue;
+                } else if (next == '5') {
+                    token.append(DATAURI_SEPARATOR_ESCAPE_CHAR);
+                    i += 3;
+                    continue;
+                }
+            }
+            token.append(c);
+            i += 1;
+        }
+        return token.toString();
     }
 
     private static DataURIFieldAccessCache getAccessCache(String pluginName)
@@ -395,12 +474,17 @@ public class DataURIUtil {
                     "Cannot retrieve field access for null class");
         }
 
+        DataURIFieldAccessCache cache = uriFieldMap.get(clazz);
+        if (cache != null) {
+            return cache;
+        }
+
         /*
          * Suppressing squid:S2445. There is only one Class<?> instance per
          * class, so it is safe to use for synchronization.
          */
         synchronized (clazz) { // NOSONAR
-            DataURIFieldAccessCache cache = uriFieldMap.get(clazz);
+            cache = uriFieldMap.get(clazz);
             if (cache == null) {
                 cache = new DataURIFieldAccessCache(clazz);
                 uriFieldMap.put(clazz, cache);
@@ -435,22 +519,55 @@ public class DataURIUtil {
 
         };
 
+        private final Class<?> type;
+
         private final DataURIFieldAccess[] dataURIFields;
 
         private Map<String, DataURIFieldAccess> fieldMap;
 
+        /** no argument constructor, null if it cannot be compiled */
+        private final MethodHandle constructor;
+
         public DataURIFieldAccessCache(Class<?> type) throws PluginException {
+            this.type = type;
             this.fieldMap = new HashMap<>();
             this.dataURIFields = getDataURIAccessFields(type);
             for (DataURIFieldAccess access : dataURIFields) {
                 fieldMap.put(access.getFieldName(), access);
             }
+            MethodHandle constructor = null;
+            try {
+                constructor = MethodHandles.lookup()
+                        .findConstructor(type,
+                                MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // abstract or not public, newInstance() will fail as before
+            }
+            this.constructor = constructor;
         }
 
         public DataURIFieldAccess[] getDataURIFields() {
             return dataURIFields;
         }
 
+        /**
+         * @return a new instance of the type this cache was created for
+         * @throws PluginException
+         */
+        public Object newInstance() throws PluginException {
+            try {
+                if (constructor != null) {
+                    return constructor.invokeExact();
+                }
+                return type.newInstance();
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new PluginException(e);
+            }
+        }
+
         public DataURIFieldAccess getFieldAccess(String fieldName,
                 Object object) {
             DataURIFieldAccess access = fieldMap.get(fieldName);
@@ -460,8 +577,7 @@ public class DataURIUtil {
                             fieldMap);
 
                     access = new DataURIFieldAccess(
-                            Arrays.asList(
-                                    FIELD_SEPARATOR_PATTERN.split(fieldName)),
+                            Arrays.asList(fieldName.split("\\.")), type,
                             object.getClass(), null);
                     newFieldMap.put(fieldName, access);
                     fieldMap = newFieldMap;
@@ -477,12 +593,12 @@ public class DataURIUtil {
          */
         private static DataURIFieldAccess[] getDataURIAccessFields(
                 Class<?> clazz) throws PluginException {
-            return getAccess(clazz, Collections.<String> emptyList())
+            return getAccess(clazz, clazz, Collections.<String> emptyList())
                     .toArray(new DataURIFieldAccess[0]);
         }
 
-        private static List<DataURIFieldAccess> getAccess(Class<?> clazz,
-                List<String> parents) throws PluginException {
+        private static List<DataURIFieldAccess> getAccess(Class<?> rootClass,
+                Class<?> clazz, List<String> parents) throws PluginException {
             List<Field> fields = getOrderedDataURIFields(clazz);
             List<DataURIFieldAccess> accessors = new ArrayList<>();
             for (Field field : fields) {
@@ -491,7 +607,7 @@ public class DataURIUtil {
                 Class<?> type = field.getType();
                 DataURI dataURI = field.getAnnotation(DataURI.class);
                 if (dataURI.embedded()) {
-                    accessors.addAll(getAccess(type, names));
+                    accessors.addAll(getAccess(rootClass, type, names));
                 } else {
                     DataURIFieldConverter converter = null;
                     if (dataURI.converter() != DataURI.NO_CONVERTER) {
@@ -504,8 +620,8 @@ public class DataURIUtil {
                                     e);
                         }
                     }
-                    accessors.add(
-                            new DataURIFieldAccess(names, type, converter));
+                    accessors.add(new DataURIFieldAccess(names, rootClass,
+                            type, converter));
                 }
             }
             return accessors;
@@ -529,7 +645,9 @@ public class DataURIUtil {
 
     /*
      * Class which remembers the fieldNames and class of a dataURI field to make
-     * parsing faster.
+     * parsing faster. The bean property accessors along the path are compiled
+     * to MethodHandles when possible, PropertyUtils is only used as a
+     * fallback.
      */
     private static class DataURIFieldAccess {
 
@@ -551,8 +669,17 @@ public class DataURIUtil {
         /** URI field converter */
         private final DataURIFieldConverter fieldConverter;
 
-        public DataURIFieldAccess(List<String> fieldNames, Class<?> fieldClass,
-                DataURIFieldConverter fieldConverter) {
+        /** getter for each of the fieldNames, null if not compiled */
+        private final MethodHandle[] getters;
+
+        /** setter for each of the fieldNames, null if not compiled */
+        private final MethodHandle[] setters;
+
+        /** declared type of each of the fieldNames */
+        private final Class<?>[] propertyTypes;
+
+        public DataURIFieldAccess(List<String> fieldNames, Class<?> rootClass,
+                Class<?> fieldClass, DataURIFieldConverter fieldConverter) {
             this.fieldNames = fieldNames.toArray(new String[0]);
             StringBuilder fieldName = new StringBuilder(this.fieldNames[0]);
             for (int i = 1; i < this.fieldNames.length; i += 1) {
@@ -561,6 +688,53 @@ public class DataURIUtil {
             this.fieldName = fieldName.toString();
             this.fieldClass = fieldClass;
             this.fieldConverter = fieldConverter;
+
+            int length = this.fieldNames.length;
+            MethodHandle[] getters = new MethodHandle[length];
+            MethodHandle[] setters = new MethodHandle[length];
+            Class<?>[] propertyTypes = new Class<?>[length];
+            Class<?> currentClass = rootClass;
+            for (int i = 0; i < length && currentClass != null; i += 1) {
+                PropertyDescriptor descriptor = getDescriptor(currentClass,
+                        this.fieldNames[i]);
+                if (descriptor == null) {
+                    currentClass = null;
+                    break;
+                }
+                getters[i] = compile(descriptor.getReadMethod(), GETTER_TYPE);
+                setters[i] = compile(descriptor.getWriteMethod(),
+                        SETTER_TYPE);
+                propertyTypes[i] = descriptor.getPropertyType();
+                currentClass = propertyTypes[i];
+            }
+            boolean resolved = currentClass != null;
+            this.getters = resolved && !Arrays.asList(getters).contains(null)
+                    ? getters : null;
+            this.setters = resolved && !Arrays.asList(setters).contains(null)
+                    ? setters : null;
+            this.propertyTypes = propertyTypes;
+        }
+
+        private static PropertyDescriptor getDescriptor(Class<?> clazz,
+                String name) {
+            for (PropertyDescriptor descriptor : PropertyUtils
+                    .getPropertyDescriptors(clazz)) {
+                if (name.equals(descriptor.getName())) {
+                    return descriptor;
+                }
+            }
+            return null;
+        }
+
+        private static MethodHandle compile(Method method, MethodType type) {
+            if (method == null) {
+                return null;
+            }
+            try {
+                return MethodHandles.lookup().unreflect(method).asType(type);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
         }
 
         /**
@@ -611,6 +785,22 @@ public class DataURIUtil {
          */
         public Object getFieldValue(Object fieldContainer)
                 throws PluginException {
+            if (getters != null) {
+                try {
+                    Object object = fieldContainer;
+                    for (MethodHandle getter : getters) {
+                        object = getter.invokeExact(object);
+                        if (object == null) {
+                            break;
+                        }
+                    }
+                    return object;
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new PluginException(e);
+                }
+            }
             try {
                 Object object = fieldContainer;
                 for (String fieldName : fieldNames) {
@@ -649,6 +839,25 @@ public class DataURIUtil {
         public void setFieldValue(Object fieldContainer, Object fieldValue)
                 throws PluginException {
             Object source = fieldContainer;
+            if (getters != null && setters != null) {
+                try {
+                    int last = fieldNames.length - 1;
+                    for (int i = 0; i < last; i += 1) {
+                        Object obj = getters[i].invokeExact(source);
+                        if (obj == null) {
+                            obj = propertyTypes[i].newInstance();
+                            setters[i].invokeExact(source, obj);
+                        }
+                        source = obj;
+                    }
+                    setters[last].invokeExact(source, fieldValue);
+                    return;
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new PluginException(e);
+                }
+            }
             try {
                 for (int i = 0; i < fieldNames.length - 1; i += 1) {
                     Object obj = PropertyUtils.getProperty(source,
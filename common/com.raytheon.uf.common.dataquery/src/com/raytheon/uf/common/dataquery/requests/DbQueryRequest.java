@@ -39,6 +39,7 @@ import com.raytheon.uf.common.serialization.comm.IServerRequest;
  * Jan 21, 2010            mschenke    Initial creation
  * Mar 19, 2013 1807       rferrel     Added orderBy to the toString.
  * Feb 25, 2015 3353       rjpeter     Remove duplicate fields.
+ * Oct 19, 2026            kshrestha   Add columnar.
  * </pre>
  * 
  * @author mschenke
@@ -154,6 +155,13 @@ public class DbQueryRequest implements IServerRequest {
     @DynamicSerializeElement
     private Integer limit;
 
+    /**
+     * Return the results as columns, which is considerably smaller for
+     * requests returning many rows.
+     */
+    @DynamicSerializeElement
+    private boolean columnar = false;
+
     public DbQueryRequest() {
         // For serialization
     }
@@ -309,6 +317,14 @@ public class DbQueryRequest implements IServerRequest {
         this.limit = limit;
     }
 
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    public void setColumnar(boolean columnar) {
+        this.columnar = columnar;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -330,7 +346,8 @@ public class DbQueryRequest implements IServerRequest {
                 + (orderBy == null ? "null" : String.format(
                         "[field=%s, mode=%s]", orderBy.field,
                         orderBy.mode.toString()))
-                        + (limit == null ? "" : ", limit=" + limit) + "]";
+                        + (limit == null ? "" : ", limit=" + limit)
+                + (columnar ? ", columnar" : "") + "]";
     }
 
 }
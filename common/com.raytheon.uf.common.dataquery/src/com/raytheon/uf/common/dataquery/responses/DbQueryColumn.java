@@ -0,0 +1,509 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataquery.responses;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+import com.raytheon.uf.common.time.DataTime;
+
+/**
+ * One column of a columnar {@link DbQueryResponse}. Numbers and dates are held
+ * in primitive arrays and strings and {@link DataTime}s are dictionary encoded
+ * as indices into an array of the distinct values, so the field name and the
+ * type of each value are only sent once per column. Columns holding any other
+ * type, or a mix of types, hold the values as objects.
+ *
+ * Columns are filled on the server with {@link #add(Object)} and
+ * {@link #finish()}.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+@DynamicSerialize
+public class DbQueryColumn {
+
+    public static final byte OBJECT = 0;
+
+    public static final byte INTEGER = 1;
+
+    public static final byte SHORT = 2;
+
+    public static final byte BYTE = 3;
+
+    public static final byte BOOLEAN = 4;
+
+    public static final byte LONG = 5;
+
+    public static final byte FLOAT = 6;
+
+    public static final byte DOUBLE = 7;
+
+    public static final byte DATE = 8;
+
+    public static final byte TIMESTAMP = 9;
+
+    public static final byte STRING = 10;
+
+    public static final byte DATA_TIME = 11;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    @DynamicSerializeElement
+    private String name;
+
+    @DynamicSerializeElement
+    private byte type = OBJECT;
+
+    @DynamicSerializeElement
+    private int size;
+
+    /** integer, short, byte and boolean values and dictionary indices */
+    @DynamicSerializeElement
+    private int[] ints;
+
+    /** long values and the times of dates */
+    @DynamicSerializeElement
+    private long[] longs;
+
+    @DynamicSerializeElement
+    private float[] floats;
+
+    @DynamicSerializeElement
+    private double[] doubles;
+
+    /** dictionary of string values */
+    @DynamicSerializeElement
+    private String[] strings;
+
+    /** dictionary of data time values */
+    @DynamicSerializeElement
+    private DataTime[] dataTimes;
+
+    @DynamicSerializeElement
+    private List<Object> objects;
+
+    /** bit set of the rows that are null */
+    @DynamicSerializeElement
+    private byte[] nulls;
+
+    /** true until the first non null value determines the type */
+    private transient boolean untyped = true;
+
+    private transient BitSet nullRows;
+
+    private transient Map<Object, Integer> dictionary;
+
+    private transient List<Object> dictionaryValues;
+
+    public DbQueryColumn() {
+        // For serialization
+    }
+
+    /**
+     * @param name
+     *            the field the column holds, null for entities
+     */
+    public DbQueryColumn(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Append a value to the column.
+     *
+     * @param value
+     */
+    public void add(Object value) {
+        if (value == null) {
+            if (!untyped && type == OBJECT) {
+                objects.add(null);
+            } else {
+                if (nullRows == null) {
+                    nullRows = new BitSet();
+                }
+                nullRows.set(size);
+                if (!untyped) {
+                    ensureCapacity(size + 1);
+                }
+            }
+            size += 1;
+            return;
+        }
+        if (untyped) {
+            initialize(value);
+        } else if (type != OBJECT && typeOf(value) != type) {
+            toObjects();
+        }
+        ensureCapacity(size + 1);
+        switch (type) {
+        case INTEGER:
+            ints[size] = (Integer) value;
+            break;
+        case SHORT:
+            ints[size] = (Short) value;
+            break;
+        case BYTE:
+            ints[size] = (Byte) value;
+            break;
+        case BOOLEAN:
+            ints[size] = ((Boolean) value) ? 1 : 0;
+            break;
+        case LONG:
+            longs[size] = (Long) value;
+            break;
+        case FLOAT:
+            floats[size] = (Float) value;
+            break;
+        case DOUBLE:
+            doubles[size] = (Double) value;
+            break;
+        case DATE:
+        case TIMESTAMP:
+            longs[size] = ((Date) value).getTime();
+            break;
+        case STRING:
+        case DATA_TIME:
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = dictionaryValues.size();
+                dictionary.put(value, index);
+                dictionaryValues.add(value);
+            }
+            ints[size] = index;
+            break;
+        default:
+            objects.add(value);
+            break;
+        }
+        size += 1;
+    }
+
+    /**
+     * Trim the arrays to the number of rows, called after the last value is
+     * added.
+     */
+    public void finish() {
+        if (untyped) {
+            /* only nulls, or no rows at all */
+            untyped = false;
+            objects = new ArrayList<>(size);
+            for (int i = 0; i < size; i += 1) {
+                objects.add(null);
+            }
+            nullRows = null;
+        }
+        if (ints != null) {
+            ints = Arrays.copyOf(ints, size);
+        }
+        if (longs != null) {
+            longs = Arrays.copyOf(longs, size);
+        }
+        if (floats != null) {
+            floats = Arrays.copyOf(floats, size);
+        }
+        if (doubles != null) {
+            doubles = Arrays.copyOf(doubles, size);
+        }
+        if (type == STRING) {
+            strings = dictionaryValues.toArray(new String[0]);
+        } else if (type == DATA_TIME) {
+            dataTimes = dictionaryValues.toArray(new DataTime[0]);
+        }
+        dictionary = null;
+        dictionaryValues = null;
+        if (nullRows != null) {
+            nulls = nullRows.toByteArray();
+        }
+    }
+
+    /**
+     * @param row
+     * @return the value of the row, data times are copied so callers may
+     *         modify them
+     */
+    public Object get(int row) {
+        if (untyped) {
+            /* only nulls have been added */
+            return null;
+        }
+        if (type == OBJECT) {
+            return objects.get(row);
+        }
+        if (isNull(row)) {
+            return null;
+        }
+        switch (type) {
+        case INTEGER:
+            return ints[row];
+        case SHORT:
+            return (short) ints[row];
+        case BYTE:
+            return (byte) ints[row];
+        case BOOLEAN:
+            return ints[row] != 0;
+        case LONG:
+            return longs[row];
+        case FLOAT:
+            return floats[row];
+        case DOUBLE:
+            return doubles[row];
+        case DATE:
+            return new Date(longs[row]);
+        case TIMESTAMP:
+            return new Timestamp(longs[row]);
+        case STRING:
+            return dictionaryValues == null ? strings[ints[row]]
+                    : dictionaryValues.get(ints[row]);
+        case DATA_TIME:
+            DataTime time = dictionaryValues == null ? dataTimes[ints[row]]
+                    : (DataTime) dictionaryValues.get(ints[row]);
+            return time.clone();
+        default:
+            throw new IllegalStateException(
+                    "Unrecognized column type: " + type);
+        }
+    }
+
+    /**
+     * @param row
+     * @return true if the value of the row is null
+     */
+    public boolean isNull(int row) {
+        if (untyped) {
+            return true;
+        }
+        if (type == OBJECT) {
+            return objects.get(row) == null;
+        }
+        if (nullRows == null && nulls != null) {
+            nullRows = BitSet.valueOf(nulls);
+        }
+        return nullRows != null && nullRows.get(row);
+    }
+
+    private void initialize(Object value) {
+        untyped = false;
+        type = typeOf(value);
+        int capacity = Math.max(INITIAL_CAPACITY, size + 1);
+        switch (type) {
+        case INTEGER:
+        case SHORT:
+        case BYTE:
+        case BOOLEAN:
+            ints = new int[capacity];
+            break;
+        case LONG:
+        case DATE:
+        case TIMESTAMP:
+            longs = new long[capacity];
+            break;
+        case FLOAT:
+            floats = new float[capacity];
+            break;
+        case DOUBLE:
+            doubles = new double[capacity];
+            break;
+        case STRING:
+        case DATA_TIME:
+            ints = new int[capacity];
+            dictionary = new HashMap<>();
+            dictionaryValues = new ArrayList<>();
+            break;
+        default:
+            objects = new ArrayList<>(capacity);
+            for (int i = 0; i < size; i += 1) {
+                objects.add(null);
+            }
+            break;
+        }
+    }
+
+    /**
+     * Switch to holding objects once a value does not match the type of the
+     * earlier values.
+     */
+    private void toObjects() {
+        List<Object> values = new ArrayList<>(Math.max(size * 2, 16));
+        for (int i = 0; i < size; i += 1) {
+            Object value = get(i);
+            /* keep the original data times rather than copies */
+            if (type == DATA_TIME && value != null) {
+                value = dictionaryValues.get(ints[i]);
+            }
+            values.add(value);
+        }
+        type = OBJECT;
+        objects = values;
+        ints = null;
+        longs = null;
+        floats = null;
+        doubles = null;
+        dictionary = null;
+        dictionaryValues = null;
+        nullRows = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (ints != null && ints.length < capacity) {
+            ints = Arrays.copyOf(ints, ints.length * 2);
+        } else if (longs != null && longs.length < capacity) {
+            longs = Arrays.copyOf(longs, longs.length * 2);
+        } else if (floats != null && floats.length < capacity) {
+            floats = Arrays.copyOf(floats, floats.length * 2);
+        } else if (doubles != null && doubles.length < capacity) {
+            doubles = Arrays.copyOf(doubles, doubles.length * 2);
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        Class<?> c = value.getClass();
+        if (c == Integer.class) {
+            return INTEGER;
+        } else if (c == Short.class) {
+            return SHORT;
+        } else if (c == Byte.class) {
+            return BYTE;
+        } else if (c == Boolean.class) {
+            return BOOLEAN;
+        } else if (c == Long.class) {
+            return LONG;
+        } else if (c == Float.class) {
+            return FLOAT;
+        } else if (c == Double.class) {
+            return DOUBLE;
+        } else if (c == Date.class) {
+            return DATE;
+        } else if (c == Timestamp.class) {
+            return TIMESTAMP;
+        } else if (c == String.class) {
+            return STRING;
+        } else if (c == DataTime.class) {
+            return DATA_TIME;
+        }
+        return OBJECT;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public void setType(byte type) {
+        this.type = type;
+        this.untyped = false;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int[] getInts() {
+        return ints;
+    }
+
+    public void setInts(int[] ints) {
+        this.ints = ints;
+    }
+
+    public long[] getLongs() {
+        return longs;
+    }
+
+    public void setLongs(long[] longs) {
+        this.longs = longs;
+    }
+
+    public float[] getFloats() {
+        return floats;
+    }
+
+    public void setFloats(float[] floats) {
+        this.floats = floats;
+    }
+
+    public double[] getDoubles() {
+        return doubles;
+    }
+
+    public void setDoubles(double[] doubles) {
+        this.doubles = doubles;
+    }
+
+    public String[] getStrings() {
+        return strings;
+    }
+
+    public void setStrings(String[] strings) {
+        this.strings = strings;
+    }
+
+    public DataTime[] getDataTimes() {
+        return dataTimes;
+    }
+
+    public void setDataTimes(DataTime[] dataTimes) {
+        this.dataTimes = dataTimes;
+    }
+
+    public List<Object> getObjects() {
+        return objects;
+    }
+
+    public void setObjects(List<Object> objects) {
+        this.objects = objects;
+    }
+
+    public byte[] getNulls() {
+        return nulls;
+    }
+
+    public void setNulls(byte[] nulls) {
+        this.nulls = nulls;
+        this.nullRows = null;
+    }
+}
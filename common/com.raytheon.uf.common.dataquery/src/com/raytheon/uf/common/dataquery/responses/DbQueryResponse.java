@@ -21,6 +21,7 @@ package com.raytheon.uf.common.dataquery.responses;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,7 +32,9 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * DbQueryResponse object is returned from DbQueryRequest. Contains a
  * List<Map<String,Object>> where each Map in the List is a row returned from
  * the query and you can use the field strings from the request to get the
- * object out of the Map
+ * object out of the Map. Large results may instead be sent as an array of
+ * {@link DbQueryColumn}s, the rows are then only turned into maps if
+ * {@link #getResults()} is called.
  * 
  * <pre>
  * 
@@ -40,6 +43,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * ------------- -------- ----------- --------------------------
  * Jan 21, 2010           mschenke    Initial creation
  * Dec 18, 2013  2579     bsteffen    Remove ISerializableObject
+ * Oct 19, 2026           kshrestha   Add columnar results
  * 
  * </pre>
  * 
@@ -54,7 +58,19 @@ public class DbQueryResponse {
     @DynamicSerializeElement
     private List<Map<String, Object>> results;
 
+    @DynamicSerializeElement
+    private DbQueryColumn[] columns;
+
+    /** rows built from the columns */
+    private transient List<Map<String, Object>> columnResults;
+
     public List<Map<String, Object>> getResults() {
+        if (results == null && columns != null) {
+            if (columnResults == null) {
+                columnResults = createResults(columns);
+            }
+            return columnResults;
+        }
         return results == null ? new ArrayList<Map<String, Object>>() : results;
     }
 
@@ -62,7 +78,19 @@ public class DbQueryResponse {
         this.results = results;
     }
 
+    public DbQueryColumn[] getColumns() {
+        return columns;
+    }
+
+    public void setColumns(DbQueryColumn[] columns) {
+        this.columns = columns;
+        this.columnResults = null;
+    }
+
     public int getNumResults() {
+        if (results == null && columns != null) {
+            return columns.length == 0 ? 0 : columns[0].getSize();
+        }
         return getResults().size();
     }
 
@@ -72,6 +100,20 @@ public class DbQueryResponse {
 
     @SuppressWarnings("unchecked")
     public <T> T[] getFieldObjects(String fieldKey, Class<T> fieldType) {
+        if (this.results == null && columns != null) {
+            int size = getNumResults();
+            T[] entities = (T[]) Array.newInstance(fieldType, size);
+            for (DbQueryColumn column : columns) {
+                if (fieldKey == null ? column.getName() == null
+                        : fieldKey.equals(column.getName())) {
+                    for (int i = 0; i < size; i += 1) {
+                        entities[i] = fieldType.cast(column.get(i));
+                    }
+                    break;
+                }
+            }
+            return entities;
+        }
         List<Map<String, Object>> results = getResults();
         T[] entities = (T[]) Array.newInstance(fieldType, results.size());
         int i = 0;
@@ -80,4 +122,19 @@ public class DbQueryResponse {
         }
         return entities;
     }
+
+    private static List<Map<String, Object>> createResults(
+            DbQueryColumn[] columns) {
+        int size = columns.length == 0 ? 0 : columns[0].getSize();
+        int mapSize = (int) (columns.length * 1.25) + 1;
+        List<Map<String, Object>> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i += 1) {
+            Map<String, Object> row = new HashMap<>(mapSize);
+            for (DbQueryColumn column : columns) {
+                row.put(column.getName(), column.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
 }
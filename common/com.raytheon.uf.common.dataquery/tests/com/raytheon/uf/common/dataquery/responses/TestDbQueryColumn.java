@@ -0,0 +1,236 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataquery.responses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+import com.raytheon.uf.common.time.DataTime;
+
+/**
+ * Unit tests for DbQueryColumn, checking that the values added to a column
+ * are returned unchanged while it is filled, after it is finished and after
+ * its serialized fields are copied to a new column.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestDbQueryColumn {
+
+    /** more rows than the initial capacity so the arrays have to grow */
+    private static final int ROWS = 2500;
+
+    private static final long TIME = 1_700_000_000_000L;
+
+    /**
+     * Copy the fields of a column the way dynamic serialization does, through
+     * the getter and setter of each serialized field.
+     */
+    private static DbQueryColumn copy(DbQueryColumn column) throws Exception {
+        DbQueryColumn copy = new DbQueryColumn();
+        for (Field field : DbQueryColumn.class.getDeclaredFields()) {
+            if (field.getAnnotation(DynamicSerializeElement.class) == null) {
+                continue;
+            }
+            String property = Character.toUpperCase(field.getName().charAt(0))
+                    + field.getName().substring(1);
+            Method getter = DbQueryColumn.class.getMethod("get" + property);
+            Method setter = DbQueryColumn.class.getMethod("set" + property,
+                    field.getType());
+            setter.invoke(copy, getter.invoke(column));
+        }
+        return copy;
+    }
+
+    /**
+     * Add the values to a column and check them before and after finishing
+     * and after a copy.
+     *
+     * @return the finished column
+     */
+    private static DbQueryColumn roundTrip(byte expectedType,
+            List<Object> values) throws Exception {
+        DbQueryColumn column = new DbQueryColumn("field");
+        for (Object value : values) {
+            column.add(value);
+        }
+        assertValues(values, column);
+        column.finish();
+        assertEquals(expectedType, column.getType());
+        assertValues(values, column);
+        DbQueryColumn copy = copy(column);
+        assertEquals("field", copy.getName());
+        assertEquals(expectedType, copy.getType());
+        assertValues(values, copy);
+        return column;
+    }
+
+    private static void assertValues(List<Object> expected,
+            DbQueryColumn column) {
+        assertEquals(expected.size(), column.getSize());
+        for (int i = 0; i < expected.size(); i += 1) {
+            Object value = column.get(i);
+            assertEquals("row " + i, expected.get(i), value);
+            assertEquals("row " + i, expected.get(i) == null,
+                    column.isNull(i));
+            if (value != null) {
+                assertSame("row " + i, expected.get(i).getClass(),
+                        value.getClass());
+            }
+        }
+    }
+
+    /** the value of a row */
+    private interface ValueGenerator {
+        Object value(int row);
+    }
+
+    private static List<Object> values(ValueGenerator generator,
+            boolean withNulls) {
+        List<Object> values = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i += 1) {
+            values.add(withNulls && i % 7 == 3 ? null : generator.value(i));
+        }
+        return values;
+    }
+
+    private static void roundTrip(byte expectedType, ValueGenerator generator)
+            throws Exception {
+        roundTrip(expectedType, values(generator, false));
+        roundTrip(expectedType, values(generator, true));
+    }
+
+    @Test
+    public void testPrimitiveTypes() throws Exception {
+        roundTrip(DbQueryColumn.INTEGER, i -> i * 1000 - 7);
+        roundTrip(DbQueryColumn.SHORT, i -> (short) (i - 100));
+        roundTrip(DbQueryColumn.BYTE, i -> (byte) i);
+        roundTrip(DbQueryColumn.BOOLEAN, i -> i % 2 == 0);
+        roundTrip(DbQueryColumn.LONG, i -> TIME * i);
+        roundTrip(DbQueryColumn.FLOAT, i -> i / 3.0f);
+        roundTrip(DbQueryColumn.DOUBLE, i -> i / 7.0);
+        roundTrip(DbQueryColumn.DATE, i -> new Date(TIME + i * 60_000L));
+        roundTrip(DbQueryColumn.TIMESTAMP,
+                i -> new Timestamp(TIME + i * 60_000L));
+    }
+
+    @Test
+    public void testDictionaryTypes() throws Exception {
+        DbQueryColumn strings = roundTrip(DbQueryColumn.STRING,
+                values(i -> "station" + i % 10, true));
+        assertEquals(10, strings.getStrings().length);
+        assertNull(strings.getDataTimes());
+
+        DbQueryColumn times = roundTrip(DbQueryColumn.DATA_TIME,
+                values(i -> new DataTime(new Date(TIME + i % 4 * 3_600_000L),
+                        i % 5 * 3600), true));
+        assertEquals(20, times.getDataTimes().length);
+        assertNull(times.getStrings());
+    }
+
+    @Test
+    public void testDataTimesAreCopied() throws Exception {
+        DataTime time = new DataTime(new Date(TIME), 0);
+        DbQueryColumn column = new DbQueryColumn("dataTime");
+        column.add(time);
+        column.add(time);
+        column.finish();
+        DataTime value = (DataTime) column.get(0);
+        assertEquals(time, value);
+        assertNotSame(time, value);
+        value.setFcstTime(3600);
+        assertEquals(0, ((DataTime) column.get(0)).getFcstTime());
+        assertEquals(0, ((DataTime) column.get(1)).getFcstTime());
+    }
+
+    @Test
+    public void testObjects() throws Exception {
+        DbQueryColumn column = roundTrip(DbQueryColumn.OBJECT,
+                values(i -> new BigDecimal(i).movePointLeft(2), true));
+        assertNull(column.getNulls());
+        assertNull(column.getDoubles());
+    }
+
+    @Test
+    public void testMixedTypes() throws Exception {
+        DataTime time = new DataTime(new Date(TIME), 0);
+        List<Object> values = new ArrayList<>(Arrays.asList(null, 1, 2, null,
+                3, 4L, "a", null, time, 5.0f));
+        DbQueryColumn column = roundTrip(DbQueryColumn.OBJECT, values);
+        assertNotNull(column.getObjects());
+        assertNull(column.getInts());
+
+        List<Object> strings = values(i -> "value" + i % 3, true);
+        strings.add(time);
+        strings.add(null);
+        roundTrip(DbQueryColumn.OBJECT, strings);
+
+        /* data times added before the switch are kept, not copied */
+        DbQueryColumn times = new DbQueryColumn("dataTime");
+        times.add(time);
+        times.add("now");
+        times.finish();
+        assertSame(time, times.getObjects().get(0));
+    }
+
+    @Test
+    public void testNullsAndEmptyColumns() throws Exception {
+        roundTrip(DbQueryColumn.OBJECT, new ArrayList<>());
+        roundTrip(DbQueryColumn.OBJECT, values(i -> null, false));
+
+        List<Object> leadingNulls = new ArrayList<>(
+                Arrays.asList(null, null, null));
+        leadingNulls.addAll(values(i -> i, false));
+        roundTrip(DbQueryColumn.INTEGER, leadingNulls);
+
+        List<Object> trailingNulls = values(i -> (double) i, false);
+        trailingNulls.addAll(Arrays.asList(null, null));
+        DbQueryColumn column = roundTrip(DbQueryColumn.DOUBLE, trailingNulls);
+        assertEquals(trailingNulls.size(), column.getDoubles().length);
+        assertTrue(column.isNull(trailingNulls.size() - 1));
+        assertFalse(column.isNull(0));
+    }
+}
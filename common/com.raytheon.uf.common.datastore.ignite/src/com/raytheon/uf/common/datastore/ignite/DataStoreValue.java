@@ -18,15 +18,29 @@
  **/
 package com.raytheon.uf.common.datastore.ignite;
 
+import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
 
+import com.raytheon.uf.common.datastorage.DataStoreFactory;
 import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.datastorage.records.IMetadataIdentifier;
 import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
+import com.raytheon.uf.common.datastore.ignite.codec.DataStoreValueCodecs;
+import com.raytheon.uf.common.datastore.ignite.codec.IDataStoreValueCodec;
 
 /**
  * A simple object for holding an array of {@link IDataRecord}s.
  *
+ * The data of large records may be held encoded by an
+ * {@link IDataStoreValueCodec} to reduce the memory used by the cache, see
+ * {@link #encode(IDataStoreValueCodec)}. Encoded records are transparently
+ * decoded by {@link #getRecordsAndMetadata()}, code that only needs some of the
+ * records should use {@link #getRecordName(int)} and
+ * {@link #getRecordAndMetadata(int)} so only those records are decoded.
+ *
  * <pre>
  *
  * SOFTWARE HISTORY
@@ -36,6 +50,7 @@ import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
  * May 20, 2019  7628     bsteffen  Initial creation
  * Sep 23, 2021  8608     mapeters  Add metadata id handling
  * Jan 25, 2022  8608     mapeters  Add lastAppendRecordsAndMetadata
+ * Oct 19, 2026           kshrestha Add encoded record data
  *
  * </pre>
  *
@@ -56,6 +71,18 @@ public class DataStoreValue {
      */
     private RecordAndMetadata[] lastAppendRecordsAndMetadata;
 
+    /**
+     * The name of the codec used for encodedData, null when nothing is encoded.
+     */
+    private String codec;
+
+    /**
+     * The encoded data for each record, parallel to recordsAndMetadata. When
+     * an element is not null the corresponding record holds an empty array in
+     * place of its data.
+     */
+    private byte[][] encodedData;
+
     public DataStoreValue() {
     }
 
@@ -67,12 +94,141 @@ public class DataStoreValue {
         this(values.toArray(new RecordAndMetadata[0]));
     }
 
+    /**
+     * @return all the records with their data, if any records are encoded
+     *         they are decoded into new records so modifying the result does
+     *         not modify this value.
+     */
     public RecordAndMetadata[] getRecordsAndMetadata() {
-        return recordsAndMetadata;
+        if (encodedData == null) {
+            return recordsAndMetadata;
+        }
+        RecordAndMetadata[] decoded = new RecordAndMetadata[recordsAndMetadata.length];
+        for (int i = 0; i < decoded.length; i += 1) {
+            decoded[i] = getRecordAndMetadata(i);
+        }
+        return decoded;
     }
 
     public void setRecordsAndMetadata(RecordAndMetadata[] records) {
         this.recordsAndMetadata = records;
+        this.codec = null;
+        this.encodedData = null;
+    }
+
+    /**
+     * @return the number of records in this value
+     */
+    public int getRecordCount() {
+        return recordsAndMetadata == null ? 0 : recordsAndMetadata.length;
+    }
+
+    /**
+     * Get the name of a record without decoding it.
+     *
+     * @param index
+     * @return the record name
+     */
+    public String getRecordName(int index) {
+        return recordsAndMetadata[index].getRecord().getName();
+    }
+
+    /**
+     * Get the metadata of a record without decoding it.
+     *
+     * @param index
+     * @return the metadata identifiers
+     */
+    public Set<IMetadataIdentifier> getMetadata(int index) {
+        return recordsAndMetadata[index].getMetadata();
+    }
+
+    /**
+     * Get a single record, decoding it if necessary.
+     *
+     * @param index
+     * @return the record and metadata
+     */
+    public RecordAndMetadata getRecordAndMetadata(int index) {
+        RecordAndMetadata rm = recordsAndMetadata[index];
+        if (encodedData == null || encodedData[index] == null) {
+            return rm;
+        }
+        Object data = DataStoreValueCodecs.getCodec(codec)
+                .decode(encodedData[index]);
+        return new RecordAndMetadata(withData(rm.getRecord(), data),
+                rm.getMetadata());
+    }
+
+    /**
+     * @return the name of the codec used to encode records, null if no records
+     *         are encoded
+     */
+    public String getCodec() {
+        return codec;
+    }
+
+    /**
+     * Create a value holding the same records with the data of any large
+     * records encoded. The records in this value are not modified.
+     *
+     * @param codec
+     *            the codec to use, may be null to not encode.
+     * @return a new encoded value, or this value if nothing was encoded
+     */
+    public DataStoreValue encode(IDataStoreValueCodec codec) {
+        if (codec == null || encodedData != null
+                || recordsAndMetadata == null) {
+            return this;
+        }
+        RecordAndMetadata[] shells = null;
+        byte[][] encoded = null;
+        for (int i = 0; i < recordsAndMetadata.length; i += 1) {
+            IDataRecord record = recordsAndMetadata[i].getRecord();
+            if (record.getSizeInBytes() < DataStoreValueCodecs.MIN_ENCODE_BYTES) {
+                continue;
+            }
+            Object data = record.getDataObject();
+            byte[] bytes = codec.encode(data);
+            if (bytes == null || bytes.length >= record.getSizeInBytes()) {
+                continue;
+            }
+            if (shells == null) {
+                shells = recordsAndMetadata.clone();
+                encoded = new byte[recordsAndMetadata.length][];
+            }
+            Object empty = Array
+                    .newInstance(data.getClass().getComponentType(), 0);
+            shells[i] = new RecordAndMetadata(withData(record, empty),
+                    recordsAndMetadata[i].getMetadata());
+            encoded[i] = bytes;
+        }
+        if (shells == null) {
+            return this;
+        }
+        DataStoreValue result = new DataStoreValue(shells);
+        result.lastAppendRecordsAndMetadata = lastAppendRecordsAndMetadata;
+        result.codec = codec.getName();
+        result.encodedData = encoded;
+        return result;
+    }
+
+    /**
+     * Copy a record with different data. All the other fields are copied by
+     * reference so this is much cheaper than {@link IDataRecord#clone()}.
+     */
+    private static IDataRecord withData(IDataRecord record, Object data) {
+        IDataRecord copy = DataStoreFactory.createStorageRecord(
+                record.getName(), record.getGroup(), data,
+                record.getDimension(), record.getSizes());
+        copy.setProperties(record.getProperties());
+        copy.setMinIndex(record.getMinIndex());
+        copy.setMaxSizes(record.getMaxSizes());
+        copy.setDataAttributes(record.getDataAttributes());
+        copy.setFillValue(record.getFillValue());
+        copy.setMaxChunkSize(record.getMaxChunkSize());
+        copy.setCorrelationObject(record.getCorrelationObject());
+        return copy;
     }
 
     public RecordAndMetadata[] getLastAppendRecordsAndMetadata() {
@@ -101,6 +257,8 @@ public class DataStoreValue {
         int result = 1;
         result = prime * result + Arrays.hashCode(lastAppendRecordsAndMetadata);
         result = prime * result + Arrays.hashCode(recordsAndMetadata);
+        result = prime * result + Objects.hashCode(codec);
+        result = prime * result + Arrays.deepHashCode(encodedData);
         return result;
     }
 
@@ -118,7 +276,9 @@ public class DataStoreValue {
         DataStoreValue other = (DataStoreValue) obj;
         return Arrays.equals(lastAppendRecordsAndMetadata,
                 other.lastAppendRecordsAndMetadata)
-                && Arrays.equals(recordsAndMetadata, other.recordsAndMetadata);
+                && Arrays.equals(recordsAndMetadata, other.recordsAndMetadata)
+                && Objects.equals(codec, other.codec)
+                && Arrays.deepEquals(encodedData, other.encodedData);
     }
 
     @Override
@@ -126,6 +286,7 @@ public class DataStoreValue {
         return "DataStoreValue [recordsAndMetadata="
                 + Arrays.toString(recordsAndMetadata)
                 + ", lastAppendRecordsAndMetadata="
-                + Arrays.toString(lastAppendRecordsAndMetadata) + "]";
+                + Arrays.toString(lastAppendRecordsAndMetadata) + ", codec="
+                + codec + "]";
     }
 }
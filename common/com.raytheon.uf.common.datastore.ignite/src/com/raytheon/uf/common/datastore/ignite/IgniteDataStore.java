@@ -62,6 +62,7 @@ import com.raytheon.uf.common.datastorage.audit.MetadataAndDataId;
 import com.raytheon.uf.common.datastorage.records.IDataRecord;
 import com.raytheon.uf.common.datastorage.records.IMetadataIdentifier;
 import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
+import com.raytheon.uf.common.datastore.ignite.codec.IDataStoreValueCodec;
 import com.raytheon.uf.common.datastore.ignite.processor.FastStoreCallable;
 import com.raytheon.uf.common.datastore.ignite.processor.GetDatasetNamesProcessor;
 import com.raytheon.uf.common.datastore.ignite.processor.RetrieveProcessor;
@@ -97,6 +98,8 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  * Feb 17, 2022  8608     mapeters  Update FastReplaceCallable to be used for all
  *                                  fast stores, extract to FastStoreCallable file
  * Jun 21, 2022  8879     mapeters  Don't retry failed retrievals
+ * Oct 19, 2026           kshrestha Use the optional near cache for retrievals
+ * Oct 19, 2026           kshrestha Encode stored values with a codec
  *
  * </pre>
  *
@@ -126,6 +129,12 @@ public class IgniteDataStore implements IDataStore {
 
     private IDataStore throughDataStore;
 
+    /** null when near caching is disabled */
+    private final IgniteNearCache nearCache;
+
+    /** null to store values without encoding */
+    private IDataStoreValueCodec codec;
+
     public IgniteDataStore(File file, IgniteClientManager igniteClientManager,
             IgniteCacheAccessor<DataStoreKey, DataStoreValue> igniteCacheAccessor,
             IDataStore throughDataStore) {
@@ -133,6 +142,23 @@ public class IgniteDataStore implements IDataStore {
         this.igniteClientManager = igniteClientManager;
         this.igniteCacheAccessor = igniteCacheAccessor;
         this.throughDataStore = throughDataStore;
+        this.nearCache = IgniteNearCache.getNearCache(igniteClientManager,
+                igniteCacheAccessor);
+    }
+
+    /**
+     * Set the codec used to encode the data of records as they are stored in
+     * the cache.
+     *
+     * @param codec
+     *            the codec, null to not encode
+     */
+    public void setCodec(IDataStoreValueCodec codec) {
+        this.codec = codec;
+    }
+
+    private String getCodecName() {
+        return codec == null ? null : codec.getName();
     }
 
     /**
@@ -190,6 +216,8 @@ public class IgniteDataStore implements IDataStore {
         IPerformanceTimer timer = TimeUtil.getPerformanceTimer();
         timer.start();
 
+        Set<String> storedGroups = new HashSet<>(recordsByGroup.keySet());
+
         Map<String, MetadataAndDataId> traceIdToDataInfo = new HashMap<>();
 
         long totalSizeInBytes = 0L;
@@ -236,7 +264,8 @@ public class IgniteDataStore implements IDataStore {
             List<StorageException> exceptions = new ArrayList<>();
             long[] indexOfAppend = null;
 
-            StoreProcessor processor = new StoreProcessor(storeOp);
+            StoreProcessor processor = new StoreProcessor(storeOp,
+                    getCodecName());
             Set<String> successfulGroups = new HashSet<>();
             Set<String> duplicateGroups = new HashSet<>();
             try {
@@ -295,6 +324,11 @@ public class IgniteDataStore implements IDataStore {
                     .setExceptions(exceptions.toArray(new StorageException[0]));
             storageStatus.setIndexOfAppend(indexOfAppend);
         }
+        if (nearCache != null) {
+            for (String group : storedGroups) {
+                nearCache.invalidate(new DataStoreKey(path, group));
+            }
+        }
 
         timer.stop();
         long time = timer.getElapsedTime();
@@ -380,7 +414,8 @@ public class IgniteDataStore implements IDataStore {
                 Map<String, Object> corrObjs = unsetCorrelationObjects2(
                         entry.getValue());
                 DataStoreKey key = new DataStoreKey(path, group);
-                DataStoreValue value = new DataStoreValue(entry.getValue());
+                DataStoreValue value = new DataStoreValue(entry.getValue())
+                        .encode(codec);
                 try {
                     String cacheName = igniteCacheAccessor.getCacheName();
                     StorageStatus status = igniteClientManager.doIgniteOp(
@@ -452,8 +487,12 @@ public class IgniteDataStore implements IDataStore {
 
         DataStoreKey key = new DataStoreKey(path, "");
         IDataStore through = getThroughDataStore();
-        igniteCacheAccessor.doAsyncCacheOp(c -> c.clearAsync(key), true);
-        through.deleteDatasets(datasets);
+        try {
+            igniteCacheAccessor.doAsyncCacheOp(c -> c.clearAsync(key), true);
+            through.deleteDatasets(datasets);
+        } finally {
+            invalidateNearCache();
+        }
 
         timer.stop();
         perfLog.logDuration(msg, timer.getElapsedTime());
@@ -474,12 +513,16 @@ public class IgniteDataStore implements IDataStore {
         }
         DataStoreKey key = new DataStoreKey(path, "");
         IDataStore through = getThroughDataStore();
-        igniteCacheAccessor.doAsyncCacheOp(c -> c.clearAsync(key), true);
-        /*
-         * The cache store is not writing removal of records so manually pass it
-         * through.
-         */
-        through.deleteGroups(groups);
+        try {
+            igniteCacheAccessor.doAsyncCacheOp(c -> c.clearAsync(key), true);
+            /*
+             * The cache store is not writing removal of records so manually
+             * pass it through.
+             */
+            through.deleteGroups(groups);
+        } finally {
+            invalidateNearCache();
+        }
 
         timer.stop();
         perfLog.logDuration(msg, timer.getElapsedTime());
@@ -493,8 +536,7 @@ public class IgniteDataStore implements IDataStore {
 
         DataStoreKey key = new DataStoreKey(path, group);
         try {
-            List<IDataRecord> result = igniteCacheAccessor.doAsyncCacheOp(
-                    c -> c.invokeAsync(key, new RetrieveProcessor()), false);
+            List<IDataRecord> result = retrieve(key, new RetrieveProcessor());
 
             timer.stop();
             perfLog.logDuration("Retrieving records for " + group,
@@ -533,11 +575,8 @@ public class IgniteDataStore implements IDataStore {
 
         DataStoreKey key = new DataStoreKey(path, group);
         try {
-            final String finalDataset = dataset;
-            List<IDataRecord> result = igniteCacheAccessor.doAsyncCacheOp(
-                    c -> c.invokeAsync(key,
-                            new RetrieveProcessor(finalDataset, request)),
-                    false);
+            List<IDataRecord> result = retrieve(key,
+                    new RetrieveProcessor(dataset, request));
             if (result == null || result.isEmpty()) {
                 throw new StorageException("No data found for " + group + " "
                         + dataset + " in " + path, null);
@@ -586,8 +625,7 @@ public class IgniteDataStore implements IDataStore {
                 DataStoreKey key = new DataStoreKey(this.path, entry.getKey());
                 RetrieveProcessor processor = new RetrieveProcessor(
                         entry.getValue(), request);
-                records.addAll(igniteCacheAccessor.doAsyncCacheOp(
-                        c -> c.invokeAsync(key, processor), false));
+                records.addAll(retrieve(key, processor));
             }
         } catch (EntryProcessorException e) {
             throw new StorageException(e.getLocalizedMessage(), null, e);
@@ -612,8 +650,7 @@ public class IgniteDataStore implements IDataStore {
         try {
             for (String group : groups) {
                 DataStoreKey key = new DataStoreKey(path, group);
-                records.addAll(igniteCacheAccessor.doAsyncCacheOp(
-                        c -> c.invokeAsync(key, processor), false));
+                records.addAll(retrieve(key, processor));
             }
         } catch (EntryProcessorException e) {
             throw new StorageException(e.getLocalizedMessage(), null, e);
@@ -627,6 +664,43 @@ public class IgniteDataStore implements IDataStore {
         return records.toArray(new IDataRecord[0]);
     }
 
+    /**
+     * Run a retrieval, checking the near cache first when it is enabled.
+     *
+     * @param key
+     * @param processor
+     * @return the retrieved records
+     * @throws StorageException
+     */
+    private List<IDataRecord> retrieve(DataStoreKey key,
+            RetrieveProcessor processor) throws StorageException {
+        if (nearCache == null) {
+            return igniteCacheAccessor.doAsyncCacheOp(
+                    c -> c.invokeAsync(key, processor), false);
+        }
+        List<IDataRecord> result = nearCache.get(key, processor.getDatasets(),
+                processor.getRequest());
+        if (result == null) {
+            long version = nearCache.getVersion(key);
+            result = igniteCacheAccessor.doAsyncCacheOp(
+                    c -> c.invokeAsync(key, processor), false);
+            nearCache.put(key, processor.getDatasets(), processor.getRequest(),
+                    result, version);
+        }
+        return result;
+    }
+
+    /**
+     * Drop anything cached for this file, on every client, after it is
+     * modified outside of the normal store path. This is done even when the
+     * modification fails since it may have partially completed.
+     */
+    private void invalidateNearCache() {
+        if (nearCache != null) {
+            nearCache.invalidatePathEverywhere(path);
+        }
+    }
+
     @Override
     public String[] getDatasets(String group)
             throws StorageException, FileNotFoundException {
@@ -663,8 +737,16 @@ public class IgniteDataStore implements IDataStore {
         Map<String, Object> corrObjs = unsetCorrelationObjects(List.of(rec));
 
         final IDataRecord finalRec = rec;
-        StorageStatus result = igniteCacheAccessor.doAsyncCacheOp(
-                c -> c.invokeAsync(key, new StoreProcessor(), finalRec), true);
+        StorageStatus result;
+        try {
+            result = igniteCacheAccessor.doAsyncCacheOp(c -> c.invokeAsync(key,
+                    new StoreProcessor(StoreOp.STORE_ONLY, getCodecName()),
+                    finalRec), true);
+        } finally {
+            if (nearCache != null) {
+                nearCache.invalidate(key);
+            }
+        }
         if (result.hasExceptions()) {
             StorageException e = result.getExceptions()[0];
             resetCorrelationObjects(corrObjs, e);
@@ -746,7 +828,16 @@ public class IgniteDataStore implements IDataStore {
         }
 
         IDataStore dataStore = getThroughDataStore();
-        dataStore.deleteOrphanData(dateMap);
+        try {
+            dataStore.deleteOrphanData(dateMap);
+        } finally {
+            /* after the files are gone so nothing can be read back through */
+            if (nearCache != null) {
+                for (String path : pathsToPurge) {
+                    nearCache.invalidatePathEverywhere(path);
+                }
+            }
+        }
 
         timer.stop();
         perfLog.logDuration("Deleting " + path + " orphan data",
@@ -799,7 +890,12 @@ public class IgniteDataStore implements IDataStore {
             }
         }
         IDataStore dataStore = getThroughDataStore();
-        dataStore.deleteFiles(datesToDelete);
+        try {
+            dataStore.deleteFiles(datesToDelete);
+        } finally {
+            /* after the file is gone so nothing can be read back through */
+            invalidateNearCache();
+        }
 
         timer.stop();
         perfLog.logDuration(msg, timer.getElapsedTime());
@@ -53,6 +53,7 @@ import com.raytheon.uf.common.datastore.ignite.store.DataStoreCacheStoreFactory;
  * Jun 25, 2021  8450     mapeters  Centralize ignite instance/cache management
  * Jun 21, 2022  8879     mapeters  Handle signature change in methods for
  *                                  doing ignite operations (do*Op)
+ * Oct 19, 2026           kshrestha Set the codec of the data store
  *
  * </pre>
  *
@@ -96,6 +97,7 @@ public class IgniteDataStoreFactory implements IDataStoreFactory {
             IgniteDataStore dataStore = new IgniteDataStore(file,
                     clusterManager.getIgniteClientManager(cacheName),
                     clusterManager.getCacheAccessor(cacheName), throughStore);
+            dataStore.setCodec(pluginRegistry.getCodec(file, cacheName));
             return dataStore;
         }
     }
@@ -0,0 +1,578 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.event.CacheEntryEvent;
+
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.events.Event;
+import org.apache.ignite.events.EventType;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.lang.IgnitePredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.StorageException;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+
+/**
+ * Optional client side cache of the results of {@link IgniteDataStore}
+ * retrievals. Many records, such as grid coverages and static topo, never
+ * change once written but are requested many times a minute, so keeping the
+ * result of a retrieve locally avoids a round trip to the server nodes.
+ *
+ * Entries are keyed by the {@link DataStoreKey}, the requested datasets and the
+ * {@link Request}. The cache is bounded by the total size of the cached records
+ * and evicts the least recently used entries first. Results larger than the
+ * admission limit are never cached so a few large grids cannot flush out many
+ * small, frequently used records.
+ *
+ * Entries are invalidated when this client stores or deletes data and when
+ * any other node updates or removes a key, which is detected with a continuous
+ * query that only sends the changed keys to this node. Clear operations do not
+ * generate events, so the client that clears a file also sends the path to
+ * every node as an ignite message. Events can be missed while this client is
+ * disconnected so everything is dropped when it disconnects or reconnects.
+ * Entries also expire after a fixed time in case a message is lost. If the
+ * listeners cannot be registered the cache is disabled rather than risk
+ * returning stale data.
+ *
+ * The cache is disabled by default, set ignite.nearcache.max.bytes to a
+ * positive value to enable it.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class IgniteNearCache {
+
+    private static final Logger logger = LoggerFactory
+            .getLogger(IgniteNearCache.class);
+
+    private static final long MAX_BYTES = Long
+            .getLong("ignite.nearcache.max.bytes", 0L);
+
+    private static final long MAX_RECORD_BYTES = Long.getLong(
+            "ignite.nearcache.max.record.bytes", MAX_BYTES / 16);
+
+    private static final long EXPIRATION_MILLIS = TimeUnit.SECONDS.toMillis(
+            Long.getLong("ignite.nearcache.expiration.seconds", 600L));
+
+    private static final long STATS_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private static final int VERSION_STRIPES = 256;
+
+    private static final String INVALIDATE_TOPIC_PREFIX = "nearcache.invalidate.";
+
+    private static final Map<String, IgniteNearCache> caches = new ConcurrentHashMap<>();
+
+    private final String cacheName;
+
+    private final long maxBytes;
+
+    private final long maxRecordBytes;
+
+    private final long expirationMillis;
+
+    /** the topic that paths cleared by any client are sent on */
+    private final String invalidateTopic;
+
+    private final LinkedHashMap<Key, Value> entries = new LinkedHashMap<>(16,
+            0.75f, true);
+
+    private final Map<DataStoreKey, Set<Key>> keysByStoreKey = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Incremented whenever a key hashing to the stripe is invalidated so a
+     * retrieval that raced with an update is not cached.
+     */
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    private long totalBytes;
+
+    private long lastStatsTime = System.currentTimeMillis();
+
+    /** keeps the continuous query registered, null if disabled */
+    private volatile QueryCursor<?> listenerCursor;
+
+    private AbstractIgniteManager igniteManager;
+
+    private final IgniteBiPredicate<UUID, String> invalidateListener = (
+            nodeId, path) -> {
+        invalidatePath(path);
+        return true;
+    };
+
+    private final IgnitePredicate<Event> reconnectListener = event -> {
+        clear();
+        return true;
+    };
+
+    private IgniteNearCache(String cacheName, long maxBytes,
+            long maxRecordBytes, long expirationMillis) {
+        this.cacheName = cacheName;
+        this.maxBytes = maxBytes;
+        this.maxRecordBytes = maxRecordBytes;
+        this.expirationMillis = expirationMillis;
+        this.invalidateTopic = INVALIDATE_TOPIC_PREFIX + cacheName;
+    }
+
+    /**
+     * Get the near cache for an ignite cache, registering for change events
+     * the first time it is requested.
+     *
+     * @param igniteManager
+     *            the manager of the ignite instance the cache belongs to
+     * @param cacheAccessor
+     *            the accessor for the ignite cache
+     * @return the near cache or null if near caching is disabled
+     */
+    public static IgniteNearCache getNearCache(
+            AbstractIgniteManager igniteManager,
+            IgniteCacheAccessor<DataStoreKey, DataStoreValue> cacheAccessor) {
+        if (MAX_BYTES <= 0) {
+            return null;
+        }
+        IgniteNearCache cache = caches.computeIfAbsent(
+                cacheAccessor.getCacheName(),
+                name -> create(igniteManager, cacheAccessor, MAX_BYTES,
+                        MAX_RECORD_BYTES, EXPIRATION_MILLIS));
+        return cache.listenerCursor == null ? null : cache;
+    }
+
+    /**
+     * Create a near cache that is not shared, for testing.
+     *
+     * @param igniteManager
+     * @param cacheAccessor
+     * @param maxBytes
+     * @param maxRecordBytes
+     * @param expirationMillis
+     * @return the near cache, {@link #isEnabled()} is false if the listeners
+     *         could not be registered
+     */
+    static IgniteNearCache create(AbstractIgniteManager igniteManager,
+            IgniteCacheAccessor<DataStoreKey, DataStoreValue> cacheAccessor,
+            long maxBytes, long maxRecordBytes, long expirationMillis) {
+        IgniteNearCache cache = new IgniteNearCache(
+                cacheAccessor.getCacheName(), maxBytes, maxRecordBytes,
+                expirationMillis);
+        cache.listen(igniteManager, cacheAccessor);
+        return cache;
+    }
+
+    private void listen(AbstractIgniteManager igniteManager,
+            IgniteCacheAccessor<DataStoreKey, DataStoreValue> cacheAccessor) {
+        ContinuousQueryWithTransformer<DataStoreKey, DataStoreValue, DataStoreKey> query = new ContinuousQueryWithTransformer<>();
+        query.setRemoteTransformerFactory(
+                FactoryBuilder.factoryOf(KeyTransformer.class));
+        query.setLocalListener(keys -> {
+            for (DataStoreKey key : keys) {
+                invalidate(key);
+            }
+        });
+        QueryCursor<?> cursor = null;
+        try {
+            cursor = cacheAccessor.doSyncCacheOp(c -> c.query(query), true);
+            igniteManager.doVoidIgniteOp(ignite -> {
+                ignite.message().localListen(invalidateTopic,
+                        invalidateListener);
+                ignite.events().localListen(reconnectListener,
+                        EventType.EVT_CLIENT_NODE_DISCONNECTED,
+                        EventType.EVT_CLIENT_NODE_RECONNECTED);
+            }, true);
+            this.igniteManager = igniteManager;
+            listenerCursor = cursor;
+            logger.info("Near cache enabled for " + cacheName + " (maxBytes="
+                    + maxBytes + ", maxRecordBytes=" + maxRecordBytes + ")");
+        } catch (StorageException e) {
+            logger.error("Unable to listen for changes to " + cacheName
+                    + ", near cache is disabled", e);
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * @return false if the listeners could not be registered or the cache was
+     *         closed, in which case it must not be used
+     */
+    boolean isEnabled() {
+        return listenerCursor != null;
+    }
+
+    /**
+     * Stop listening for changes and drop all entries, for testing.
+     */
+    void close() {
+        QueryCursor<?> cursor = listenerCursor;
+        if (cursor == null) {
+            return;
+        }
+        listenerCursor = null;
+        cursor.close();
+        try {
+            igniteManager.doVoidIgniteOp(ignite -> {
+                ignite.message().stopLocalListen(invalidateTopic,
+                        invalidateListener);
+                ignite.events().stopLocalListen(reconnectListener);
+            }, false);
+        } catch (StorageException e) {
+            logger.warn("Unable to stop listening for changes to " + cacheName,
+                    e);
+        }
+        clear();
+    }
+
+    /**
+     * Get a cached result.
+     *
+     * @param key
+     * @param datasets
+     *            the requested datasets, null for all
+     * @param request
+     * @return a copy of the cached records or null if there is no valid entry
+     */
+    public List<IDataRecord> get(DataStoreKey key, Set<String> datasets,
+            Request request) {
+        Key cacheKey = new Key(key, datasets, request);
+        Value value;
+        synchronized (this) {
+            value = entries.get(cacheKey);
+            if (value != null && value.expiration <= System
+                    .currentTimeMillis()) {
+                remove(cacheKey);
+                value = null;
+            }
+        }
+        if (value == null) {
+            misses.incrementAndGet();
+            logStats();
+            return null;
+        }
+        hits.incrementAndGet();
+        logStats();
+        /* callers are free to modify the records so never hand out ours */
+        List<IDataRecord> result = new ArrayList<>(value.records.size());
+        for (IDataRecord record : value.records) {
+            result.add(record.clone());
+        }
+        return result;
+    }
+
+    /**
+     * Get the version to pass to
+     * {@link #put(DataStoreKey, Set, Request, List, long)}, this must be called
+     * before starting the retrieval.
+     *
+     * @param key
+     * @return the current version of the key
+     */
+    public synchronized long getVersion(DataStoreKey key) {
+        return versions[stripe(key)];
+    }
+
+    /**
+     * Add the result of a retrieval, if it is small enough and the key has not
+     * changed since the retrieval started.
+     *
+     * @param key
+     * @param datasets
+     *            the requested datasets, null for all
+     * @param request
+     * @param records
+     *            the records, these are copied so the caller may keep using
+     *            them
+     * @param version
+     *            the result of {@link #getVersion(DataStoreKey)} from before
+     *            the retrieval
+     */
+    public void put(DataStoreKey key, Set<String> datasets, Request request,
+            List<IDataRecord> records, long version) {
+        long size = 0;
+        for (IDataRecord record : records) {
+            size += record.getSizeInBytes();
+        }
+        if (size > maxRecordBytes) {
+            rejected.incrementAndGet();
+            return;
+        }
+        List<IDataRecord> copies = new ArrayList<>(records.size());
+        for (IDataRecord record : records) {
+            IDataRecord copy = record.clone();
+            copy.setCorrelationObject(null);
+            copies.add(copy);
+        }
+        Key cacheKey = new Key(key, datasets, request);
+        Value value = new Value(copies, size,
+                System.currentTimeMillis() + expirationMillis);
+        synchronized (this) {
+            if (versions[stripe(key)] != version) {
+                return;
+            }
+            remove(cacheKey);
+            entries.put(cacheKey, value);
+            keysByStoreKey.computeIfAbsent(key, k -> new HashSet<>())
+                    .add(cacheKey);
+            totalBytes += size;
+            Iterator<Map.Entry<Key, Value>> it = entries.entrySet()
+                    .iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<Key, Value> eldest = it.next();
+                it.remove();
+                unindex(eldest.getKey());
+                totalBytes -= eldest.getValue().size;
+            }
+        }
+    }
+
+    /**
+     * Remove all entries for a group.
+     *
+     * @param key
+     */
+    public synchronized void invalidate(DataStoreKey key) {
+        versions[stripe(key)] += 1;
+        Set<Key> cacheKeys = keysByStoreKey.remove(key);
+        if (cacheKeys != null) {
+            for (Key cacheKey : cacheKeys) {
+                Value value = entries.remove(cacheKey);
+                if (value != null) {
+                    totalBytes -= value.size;
+                }
+            }
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Remove all entries for a file.
+     *
+     * @param path
+     */
+    public synchronized void invalidatePath(String path) {
+        List<DataStoreKey> keys = new ArrayList<>();
+        for (DataStoreKey key : keysByStoreKey.keySet()) {
+            if (path.equals(key.getPath())) {
+                keys.add(key);
+            }
+        }
+        for (DataStoreKey key : keys) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Remove all entries for a file on every node. This is for changes that do
+     * not generate cache events, such as clears. The entries in this cache are
+     * removed before returning, other nodes are notified asynchronously.
+     *
+     * @param path
+     */
+    public void invalidatePathEverywhere(String path) {
+        invalidatePath(path);
+        try {
+            igniteManager.doVoidIgniteOp(
+                    ignite -> ignite.message().send(invalidateTopic, path),
+                    true);
+        } catch (StorageException e) {
+            logger.warn("Unable to notify other nodes that " + path
+                    + " was cleared, their near caches will expire it", e);
+        }
+    }
+
+    /**
+     * Remove all entries, used when events may have been missed.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < versions.length; i += 1) {
+            versions[i] += 1;
+        }
+        if (!entries.isEmpty()) {
+            entries.clear();
+            keysByStoreKey.clear();
+            totalBytes = 0;
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private static int stripe(DataStoreKey key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % VERSION_STRIPES;
+    }
+
+    private void remove(Key cacheKey) {
+        Value old = entries.remove(cacheKey);
+        if (old != null) {
+            totalBytes -= old.size;
+            unindex(cacheKey);
+        }
+    }
+
+    private void unindex(Key cacheKey) {
+        Set<Key> siblings = keysByStoreKey.get(cacheKey.key);
+        if (siblings != null) {
+            siblings.remove(cacheKey);
+            if (siblings.isEmpty()) {
+                keysByStoreKey.remove(cacheKey.key);
+            }
+        }
+    }
+
+    private void logStats() {
+        long now = System.currentTimeMillis();
+        if (now - lastStatsTime < STATS_INTERVAL) {
+            return;
+        }
+        synchronized (this) {
+            if (now - lastStatsTime < STATS_INTERVAL) {
+                return;
+            }
+            lastStatsTime = now;
+            logger.info("Near cache " + cacheName + ": " + hits.get()
+                    + " hits, " + misses.get() + " misses, " + rejected.get()
+                    + " rejected, " + invalidations.get() + " invalidations, "
+                    + entries.size() + " entries (" + totalBytes + " bytes)");
+        }
+    }
+
+    private static class Key {
+
+        private final DataStoreKey key;
+
+        private final Set<String> datasets;
+
+        /** the string form since requests are mutable */
+        private final String request;
+
+        private final int hashCode;
+
+        public Key(DataStoreKey key, Set<String> datasets, Request request) {
+            this.key = key;
+            this.datasets = datasets == null ? null : new HashSet<>(datasets);
+            this.request = String.valueOf(request);
+            this.hashCode = Objects.hash(key, this.datasets, request);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && key.equals(other.key)
+                    && Objects.equals(datasets, other.datasets)
+                    && request.equals(other.request);
+        }
+    }
+
+    private static class Value {
+
+        private final List<IDataRecord> records;
+
+        private final long size;
+
+        private final long expiration;
+
+        public Value(List<IDataRecord> records, long size, long expiration) {
+            this.records = records;
+            this.size = size;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Runs on the server nodes so only the key of a changed entry is sent to
+     * the client.
+     */
+    public static class KeyTransformer implements
+            IgniteClosure<CacheEntryEvent<? extends DataStoreKey, ? extends DataStoreValue>, DataStoreKey> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public DataStoreKey apply(
+                CacheEntryEvent<? extends DataStoreKey, ? extends DataStoreValue> event) {
+            return event.getKey();
+        }
+    }
+}
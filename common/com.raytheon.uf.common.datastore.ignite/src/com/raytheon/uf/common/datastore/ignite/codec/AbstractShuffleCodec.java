@@ -0,0 +1,269 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base for codecs that compress the bytes of a primitive array after a byte
+ * shuffle. The shuffle groups the first byte of every element, then the second
+ * byte of every element and so on, which turns the slowly varying high order
+ * bytes of gridded data into long runs that compress much better than the
+ * interleaved bytes.
+ *
+ * The encoded form is a one byte array type, the number of elements as an int
+ * and then the compressed shuffled bytes.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public abstract class AbstractShuffleCodec implements IDataStoreValueCodec {
+
+    private static final int HEADER_SIZE = 5;
+
+    private static final byte BYTE = 1;
+
+    private static final byte SHORT = 2;
+
+    private static final byte INT = 3;
+
+    private static final byte LONG = 4;
+
+    private static final byte FLOAT = 5;
+
+    private static final byte DOUBLE = 6;
+
+    /**
+     * Compress shuffled bytes.
+     *
+     * @param raw
+     *            the shuffled bytes
+     * @param out
+     *            the buffer to write to, positioned after the header
+     * @return the buffer that was written to, which may be a new larger buffer
+     *         if out was too small
+     */
+    protected abstract ByteBuffer compress(byte[] raw, ByteBuffer out);
+
+    /**
+     * Decompress bytes written by {@link #compress(byte[], ByteBuffer)}
+     *
+     * @param src
+     *            the encoded bytes
+     * @param offset
+     *            the position after the header
+     * @param raw
+     *            the array to fill, it is exactly the size of the shuffled
+     *            bytes
+     */
+    protected abstract void decompress(byte[] src, int offset, byte[] raw);
+
+    @Override
+    public byte[] encode(Object array) {
+        byte type;
+        byte[] shuffled;
+        int length;
+        if (array instanceof byte[]) {
+            type = BYTE;
+            shuffled = (byte[]) array;
+            length = shuffled.length;
+        } else if (array instanceof short[]) {
+            short[] data = (short[]) array;
+            type = SHORT;
+            length = data.length;
+            shuffled = new byte[length * Short.BYTES];
+            for (int i = 0; i < length; i++) {
+                short v = data[i];
+                shuffled[i] = (byte) (v >>> 8);
+                shuffled[length + i] = (byte) v;
+            }
+        } else if (array instanceof int[] || array instanceof float[]) {
+            int[] data;
+            if (array instanceof int[]) {
+                type = INT;
+                data = (int[]) array;
+            } else {
+                type = FLOAT;
+                float[] floats = (float[]) array;
+                data = new int[floats.length];
+                for (int i = 0; i < floats.length; i++) {
+                    data[i] = Float.floatToRawIntBits(floats[i]);
+                }
+            }
+            length = data.length;
+            shuffled = new byte[length * Integer.BYTES];
+            for (int i = 0; i < length; i++) {
+                int v = data[i];
+                shuffled[i] = (byte) (v >>> 24);
+                shuffled[length + i] = (byte) (v >>> 16);
+                shuffled[2 * length + i] = (byte) (v >>> 8);
+                shuffled[3 * length + i] = (byte) v;
+            }
+        } else if (array instanceof long[] || array instanceof double[]) {
+            long[] data;
+            if (array instanceof long[]) {
+                type = LONG;
+                data = (long[]) array;
+            } else {
+                type = DOUBLE;
+                double[] doubles = (double[]) array;
+                data = new long[doubles.length];
+                for (int i = 0; i < doubles.length; i++) {
+                    data[i] = Double.doubleToRawLongBits(doubles[i]);
+                }
+            }
+            length = data.length;
+            shuffled = new byte[length * Long.BYTES];
+            for (int b = 0; b < Long.BYTES; b++) {
+                int shift = (Long.BYTES - 1 - b) * 8;
+                int base = b * length;
+                for (int i = 0; i < length; i++) {
+                    shuffled[base + i] = (byte) (data[i] >>> shift);
+                }
+            }
+        } else {
+            return null;
+        }
+        ByteBuffer out = ByteBuffer
+                .allocate(HEADER_SIZE + shuffled.length / 2 + 64);
+        out.put(type);
+        out.putInt(length);
+        out = compress(shuffled, out);
+        byte[] result = new byte[out.position()];
+        System.arraycopy(out.array(), 0, result, 0, result.length);
+        return result;
+    }
+
+    @Override
+    public Object decode(byte[] encoded) {
+        if (encoded.length < HEADER_SIZE) {
+            throw new IllegalStateException(
+                    "Encoded data is truncated, only " + encoded.length
+                            + " bytes");
+        }
+        ByteBuffer header = ByteBuffer.wrap(encoded);
+        byte type = header.get();
+        int length = header.getInt();
+        int elementSize = elementSize(type);
+        if (length < 0 || length > Integer.MAX_VALUE / elementSize) {
+            throw new IllegalStateException(
+                    "Encoded data is corrupt, invalid length " + length);
+        }
+        byte[] s = new byte[length * elementSize];
+        decompress(encoded, HEADER_SIZE, s);
+        switch (type) {
+        case BYTE:
+            return s;
+        case SHORT: {
+            short[] data = new short[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = (short) (((s[i] & 0xFF) << 8)
+                        | (s[length + i] & 0xFF));
+            }
+            return data;
+        }
+        case INT:
+        case FLOAT: {
+            int l2 = 2 * length;
+            int l3 = 3 * length;
+            if (type == INT) {
+                int[] data = new int[length];
+                for (int i = 0; i < length; i++) {
+                    data[i] = ((s[i] & 0xFF) << 24)
+                            | ((s[length + i] & 0xFF) << 16)
+                            | ((s[l2 + i] & 0xFF) << 8) | (s[l3 + i] & 0xFF);
+                }
+                return data;
+            }
+            float[] data = new float[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = Float.intBitsToFloat(((s[i] & 0xFF) << 24)
+                        | ((s[length + i] & 0xFF) << 16)
+                        | ((s[l2 + i] & 0xFF) << 8) | (s[l3 + i] & 0xFF));
+            }
+            return data;
+        }
+        default: {
+            long[] bits = new long[length];
+            for (int b = 0; b < Long.BYTES; b++) {
+                int base = b * length;
+                for (int i = 0; i < length; i++) {
+                    bits[i] = (bits[i] << 8) | (s[base + i] & 0xFF);
+                }
+            }
+            if (type == LONG) {
+                return bits;
+            }
+            double[] data = new double[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = Double.longBitsToDouble(bits[i]);
+            }
+            return data;
+        }
+        }
+    }
+
+    /**
+     * Grow a buffer that is too small to hold another needed bytes.
+     *
+     * @param out
+     * @param needed
+     * @return out or a larger copy of out with the same position
+     */
+    protected static ByteBuffer ensureRemaining(ByteBuffer out, int needed) {
+        if (out.remaining() >= needed) {
+            return out;
+        }
+        int capacity = Math.max(out.capacity() * 2,
+                out.position() + needed);
+        ByteBuffer larger = ByteBuffer.allocate(capacity);
+        out.flip();
+        larger.put(out);
+        return larger;
+    }
+
+    private static int elementSize(byte type) {
+        switch (type) {
+        case BYTE:
+            return 1;
+        case SHORT:
+            return Short.BYTES;
+        case INT:
+        case FLOAT:
+            return Integer.BYTES;
+        case LONG:
+        case DOUBLE:
+            return Long.BYTES;
+        default:
+            throw new IllegalStateException(
+                    "Encoded data is corrupt, unrecognized array type: "
+                            + type);
+        }
+    }
+}
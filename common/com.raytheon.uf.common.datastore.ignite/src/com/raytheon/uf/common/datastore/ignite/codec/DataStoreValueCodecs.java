@@ -0,0 +1,87 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite.codec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup of {@link IDataStoreValueCodec}s by name. The name "none" (or null)
+ * means values are not encoded.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class DataStoreValueCodecs {
+
+    public static final String NONE = "none";
+
+    /** arrays smaller than this are not worth encoding */
+    public static final int MIN_ENCODE_BYTES = Integer
+            .getInteger("ignite.codec.min.bytes", 4096);
+
+    private static final Map<String, IDataStoreValueCodec> codecs = new ConcurrentHashMap<>();
+
+    static {
+        register(new ShuffleDeflateCodec());
+        register(new ShuffleLZCodec());
+    }
+
+    private DataStoreValueCodecs() {
+    }
+
+    /**
+     * Make an additional codec available, codecs must be registered on every
+     * node that may encode or decode values.
+     *
+     * @param codec
+     */
+    public static void register(IDataStoreValueCodec codec) {
+        codecs.put(codec.getName(), codec);
+    }
+
+    /**
+     * @param name
+     * @return the codec with the given name or null if the name is null or
+     *         {@value #NONE}
+     * @throws IllegalArgumentException
+     *             if no codec has the name
+     */
+    public static IDataStoreValueCodec getCodec(String name) {
+        if (name == null || NONE.equalsIgnoreCase(name)) {
+            return null;
+        }
+        IDataStoreValueCodec codec = codecs.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException(
+                    "No data store value codec is named " + name);
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite.codec;
+
+import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
+
+/**
+ * Encodes the primitive data arrays of the records in a {@link DataStoreValue}
+ * into a compact form for holding in an ignite cache.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public interface IDataStoreValueCodec {
+
+    /**
+     * @return the name used to select this codec and recorded in encoded
+     *         values so they can be decoded
+     */
+    String getName();
+
+    /**
+     * Encode a data array.
+     *
+     * @param array
+     *            the data object of a record
+     * @return the encoded bytes or null if this codec does not handle the type
+     *         of array
+     */
+    byte[] encode(Object array);
+
+    /**
+     * Decode bytes previously returned from {@link #encode(Object)}
+     *
+     * @param encoded
+     * @return a new array equal to the one that was encoded
+     * @throws IllegalStateException
+     *             if the encoded bytes are truncated or corrupt
+     */
+    Object decode(byte[] encoded);
+}
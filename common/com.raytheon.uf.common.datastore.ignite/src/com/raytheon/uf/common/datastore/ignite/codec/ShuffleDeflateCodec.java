@@ -0,0 +1,98 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite.codec;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Byte shuffle followed by deflate, the same combination hdf5 uses for
+ * compressed datasets. This gives the best compression ratio but is
+ * considerably slower to encode than {@link ShuffleLZCodec}.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class ShuffleDeflateCodec extends AbstractShuffleCodec {
+
+    public static final String NAME = "deflate";
+
+    private static final int LEVEL = Integer
+            .getInteger("ignite.codec.deflate.level", 1);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ByteBuffer compress(byte[] raw, ByteBuffer out) {
+        Deflater deflater = new Deflater(LEVEL);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            while (!deflater.finished()) {
+                out = ensureRemaining(out, 8192);
+                int n = deflater.deflate(out.array(), out.position(),
+                        out.remaining());
+                out.position(out.position() + n);
+            }
+        } finally {
+            deflater.end();
+        }
+        return out;
+    }
+
+    @Override
+    protected void decompress(byte[] src, int offset, byte[] raw) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(src, offset, src.length - offset);
+            int n = 0;
+            while (n < raw.length) {
+                int read = inflater.inflate(raw, n, raw.length - n);
+                if (read == 0 && (inflater.finished()
+                        || inflater.needsInput())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != raw.length) {
+                throw new IllegalStateException("Encoded data is truncated, "
+                        + n + " of " + raw.length + " bytes decoded");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Encoded data is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Byte shuffle followed by a simple LZ77 compressor in the style of LZ4. The
+ * compression ratio is lower than {@link ShuffleDeflateCodec} but encoding and
+ * decoding are several times faster, which suits caches that are written as
+ * often as they are read.
+ *
+ * The compressed form is a series of sequences. Each sequence starts with a
+ * token byte whose high nibble is the number of literal bytes and low nibble is
+ * the match length minus {@link #MIN_MATCH}, a nibble of 15 means additional
+ * length bytes follow, each adding up to 255. The literals follow the literal
+ * length and then the match offset as two little endian bytes and any extra
+ * match length bytes. The final sequence only contains literals.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class ShuffleLZCodec extends AbstractShuffleCodec {
+
+    public static final String NAME = "lz";
+
+    private static final int MIN_MATCH = 4;
+
+    private static final int MAX_OFFSET = 0xFFFF;
+
+    private static final int HASH_LOG = 14;
+
+    /** skip faster through data that is not compressing */
+    private static final int SKIP_TRIGGER = 6;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    protected ByteBuffer compress(byte[] src, ByteBuffer out) {
+        int length = src.length;
+        out = ensureRemaining(out, length + length / 255 + 16);
+        byte[] dst = out.array();
+        int op = out.position();
+
+        int[] table = new int[1 << HASH_LOG];
+        int anchor = 0;
+        int i = 0;
+        int limit = length - MIN_MATCH;
+        while (i <= limit) {
+            int seq = readInt(src, i);
+            int h = hash(seq);
+            /* table holds position + 1 so zero means empty */
+            int ref = table[h] - 1;
+            table[h] = i + 1;
+            if (ref < 0 || i - ref > MAX_OFFSET || readInt(src, ref) != seq) {
+                i += 1 + ((i - anchor) >>> SKIP_TRIGGER);
+                continue;
+            }
+            int matchLength = MIN_MATCH;
+            while (i + matchLength < length
+                    && src[ref + matchLength] == src[i + matchLength]) {
+                matchLength += 1;
+            }
+            op = writeSequence(src, anchor, i - anchor, dst, op, i - ref,
+                    matchLength);
+            i += matchLength;
+            anchor = i;
+        }
+        if (anchor < length) {
+            op = writeSequence(src, anchor, length - anchor, dst, op, 0, 0);
+        }
+        out.position(op);
+        return out;
+    }
+
+    @Override
+    protected void decompress(byte[] src, int offset, byte[] raw) {
+        int ip = offset;
+        int op = 0;
+        int end = raw.length;
+        while (op < end) {
+            if (ip >= src.length) {
+                throw truncated(op, end);
+            }
+            int token = src[ip++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    if (ip >= src.length) {
+                        throw truncated(op, end);
+                    }
+                    b = src[ip++] & 0xFF;
+                    literals += b;
+                } while (b == 255 && literals <= end);
+            }
+            if (literals > end - op) {
+                throw corrupt(op, end);
+            }
+            if (literals > src.length - ip) {
+                throw truncated(op, end);
+            }
+            System.arraycopy(src, ip, raw, op, literals);
+            ip += literals;
+            op += literals;
+            if (op >= end) {
+                break;
+            }
+            if (ip + 2 > src.length) {
+                throw truncated(op, end);
+            }
+            int matchOffset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+            ip += 2;
+            if (matchOffset == 0 || matchOffset > op) {
+                throw corrupt(op, end);
+            }
+            int matchLength = token & 0xF;
+            if (matchLength == 15) {
+                int b;
+                do {
+                    if (ip >= src.length) {
+                        throw truncated(op, end);
+                    }
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255 && matchLength <= end);
+            }
+            matchLength += MIN_MATCH;
+            if (matchLength > end - op) {
+                throw corrupt(op, end);
+            }
+            /*
+             * An overlapping match repeats the pattern, each copy doubles the
+             * amount of the pattern that is available to copy from.
+             */
+            int from = op - matchOffset;
+            int remaining = matchLength;
+            while (remaining > 0) {
+                int n = Math.min(op - from, remaining);
+                System.arraycopy(raw, from, raw, op, n);
+                op += n;
+                remaining -= n;
+            }
+        }
+    }
+
+    private static IllegalStateException truncated(int op, int end) {
+        return new IllegalStateException("Encoded data is truncated, " + op
+                + " of " + end + " bytes decoded");
+    }
+
+    private static IllegalStateException corrupt(int op, int end) {
+        return new IllegalStateException("Encoded data is corrupt, " + op
+                + " of " + end + " bytes decoded");
+    }
+
+    private static int writeSequence(byte[] src, int literalStart,
+            int literals, byte[] dst, int op, int matchOffset,
+            int matchLength) {
+        int tokenPos = op++;
+        int token;
+        if (literals >= 15) {
+            token = 15 << 4;
+            op = writeLength(dst, op, literals - 15);
+        } else {
+            token = literals << 4;
+        }
+        System.arraycopy(src, literalStart, dst, op, literals);
+        op += literals;
+        if (matchLength > 0) {
+            dst[op++] = (byte) matchOffset;
+            dst[op++] = (byte) (matchOffset >>> 8);
+            int extra = matchLength - MIN_MATCH;
+            if (extra >= 15) {
+                token |= 15;
+                op = writeLength(dst, op, extra - 15);
+            } else {
+                token |= extra;
+            }
+        }
+        dst[tokenPos] = (byte) token;
+        return op;
+    }
+
+    private static int writeLength(byte[] dst, int op, int length) {
+        while (length >= 255) {
+            dst[op++] = (byte) 255;
+            length -= 255;
+        }
+        dst[op++] = (byte) length;
+        return op;
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8)
+                | ((b[i + 2] & 0xFF) << 16) | ((b[i + 3] & 0xFF) << 24);
+    }
+
+    private static int hash(int seq) {
+        return (seq * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
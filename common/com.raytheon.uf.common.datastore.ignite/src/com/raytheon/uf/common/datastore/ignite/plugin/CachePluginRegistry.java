@@ -23,6 +23,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -34,6 +35,8 @@ import com.raytheon.uf.common.datastorage.StorageException;
 import com.raytheon.uf.common.datastore.ignite.IgniteCacheAccessor;
 import com.raytheon.uf.common.datastore.ignite.IgniteClusterManager;
 import com.raytheon.uf.common.datastore.ignite.IgniteUtils;
+import com.raytheon.uf.common.datastore.ignite.codec.DataStoreValueCodecs;
+import com.raytheon.uf.common.datastore.ignite.codec.IDataStoreValueCodec;
 
 /**
  * Registry of cache configuration for plugins. Plugins can specify a custom
@@ -52,6 +55,12 @@ import com.raytheon.uf.common.datastore.ignite.IgniteUtils;
  * ignite cache.
  * <li>A config file is used on server nodes to repopulate the ignite cache
  * during startup. See CachePluginRegistryPersisterService.
+ * </ol>
+ *
+ * The registry also selects the {@link IDataStoreValueCodec} used to encode
+ * stored data, either for a specific plugin or for every plugin using a cache.
+ * Codecs only affect how values are written so they are configured locally on
+ * each node that stores data rather than shared through ignite.
  *
  * <pre>
  *
@@ -67,6 +76,7 @@ import com.raytheon.uf.common.datastore.ignite.IgniteUtils;
  *                                  CachePluginRegistryPersistenceService
  * Jun 21, 2022  8879     mapeters  Handle signature change in methods for
  *                                  doing ignite operations (do*Op)
+ * Oct 19, 2026           kshrestha Add codec selection
  *
  * </pre>
  *
@@ -88,6 +98,12 @@ public class CachePluginRegistry {
     private final Map<String, String> cacheNamesByPlugin = Collections
             .synchronizedMap(new TreeMap<>());
 
+    /** codec names keyed by plugin or cache name */
+    private final Map<String, String> codecs = new ConcurrentHashMap<>();
+
+    private final String defaultCodec = System
+            .getProperty("ignite.datastore.codec", DataStoreValueCodecs.NONE);
+
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     private IgniteCacheAccessor<String, String> cacheAccessor;
@@ -125,6 +141,50 @@ public class CachePluginRegistry {
         return cacheName;
     }
 
+    /**
+     * Select the codec for a plugin or a cache, a codec registered for a plugin
+     * takes precedence over the codec of the cache the plugin uses.
+     *
+     * @param pluginOrCacheName
+     * @param codec
+     *            the codec name, see {@link DataStoreValueCodecs}
+     */
+    public void registerCodec(String pluginOrCacheName, String codec) {
+        /* fail now rather than on the first store */
+        DataStoreValueCodecs.getCodec(codec);
+        String prev = codecs.put(pluginOrCacheName, codec);
+        if (!codec.equals(prev)) {
+            logger.info("Ignite data store codec has been set to {} for {}",
+                    codec, pluginOrCacheName);
+        }
+    }
+
+    /**
+     * Set multiple codecs at once, for spring configuration.
+     *
+     * @param codecs
+     *            codec names keyed by plugin or cache name
+     */
+    public void setCodecs(Map<String, String> codecs) {
+        codecs.forEach(this::registerCodec);
+    }
+
+    /**
+     * Get the codec to use when storing a file.
+     *
+     * @param file
+     * @param cacheName
+     *            the name of the cache the file is stored in
+     * @return the codec or null if values should not be encoded
+     */
+    public IDataStoreValueCodec getCodec(File file, String cacheName) {
+        String codec = codecs.get(getPlugin(file));
+        if (codec == null) {
+            codec = codecs.getOrDefault(cacheName, defaultCodec);
+        }
+        return DataStoreValueCodecs.getCodec(codec);
+    }
+
     public void initialize(IgniteClusterManager clusterManager) {
         lock.writeLock().lock();
         try {
@@ -30,6 +30,7 @@ import javax.cache.processor.MutableEntry;
 import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
 import com.raytheon.uf.common.datastore.ignite.DataStoreKey;
 import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
+import com.raytheon.uf.common.datastore.ignite.codec.DataStoreValueCodecs;
 
 /**
  *
@@ -44,6 +45,7 @@ import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
  * ------------- -------- --------- -----------------
  * Jun 03, 2019  7628     bsteffen  Initial creation
  * Sep 23, 2021  8608     mapeters  Add metadata handling
+ * Oct 19, 2026           kshrestha Keep the remaining records encoded
  *
  * </pre>
  *
@@ -62,8 +64,8 @@ public class DeleteDatasetProcessor
         for (Object arg : args) {
             namesToDelete.add((String) arg);
         }
-        RecordAndMetadata[] oldRecords = entry.getValue()
-                .getRecordsAndMetadata();
+        DataStoreValue oldValue = entry.getValue();
+        RecordAndMetadata[] oldRecords = oldValue.getRecordsAndMetadata();
         List<RecordAndMetadata> newRecords = new ArrayList<>(
                 oldRecords.length - namesToDelete.size());
         for (RecordAndMetadata record : oldRecords) {
@@ -76,7 +78,8 @@ public class DeleteDatasetProcessor
         } else if (newRecords.isEmpty()) {
             entry.remove();
         } else {
-            entry.setValue(new DataStoreValue(newRecords));
+            entry.setValue(new DataStoreValue(newRecords).encode(
+                    DataStoreValueCodecs.getCodec(oldValue.getCodec())));
         }
         return Boolean.TRUE;
     }
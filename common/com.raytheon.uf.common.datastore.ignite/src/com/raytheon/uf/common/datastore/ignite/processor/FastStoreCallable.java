@@ -38,6 +38,7 @@ import com.raytheon.uf.common.datastore.ignite.DataStoreKey;
 import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
 import com.raytheon.uf.common.datastore.ignite.IgniteCacheAccessor;
 import com.raytheon.uf.common.datastore.ignite.IgniteServerManager;
+import com.raytheon.uf.common.datastore.ignite.codec.DataStoreValueCodecs;
 
 /**
  *
@@ -83,6 +84,7 @@ import com.raytheon.uf.common.datastore.ignite.IgniteServerManager;
  *                                     and properly merge cached values
  * Jun 21, 2022 8879       mapeters    Handle signature change in methods for
  *                                     doing ignite operations (do*Op)
+ * Oct 19, 2026            kshrestha   Keep merged values encoded
  *
  * </pre>
  *
@@ -156,10 +158,12 @@ public class FastStoreCallable implements IgniteCallable<StorageStatus> {
                 }
 
                 if (prevValue != null) {
+                    String codec = value.getCodec();
                     value = StoreProcessor.merge(
                             Arrays.asList(prevValue.getRecordsAndMetadata()),
                             Arrays.asList(value.getRecordsAndMetadata()),
-                            storeOp, status);
+                            storeOp, status)
+                            .encode(DataStoreValueCodecs.getCodec(codec));
                 }
 
                 cacheAccessor.doAsyncCacheOp(c -> c.putAsync(key, value), true);
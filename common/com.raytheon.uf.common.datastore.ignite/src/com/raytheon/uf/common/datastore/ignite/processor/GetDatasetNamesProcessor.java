@@ -26,7 +26,6 @@ import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.EntryProcessorException;
 import javax.cache.processor.MutableEntry;
 
-import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
 import com.raytheon.uf.common.datastore.ignite.DataStoreKey;
 import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
 
@@ -42,6 +41,7 @@ import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
  * ------------- -------- --------- -----------------
  * Jun 03, 2019  7628     bsteffen  Initial creation
  * Sep 23, 2021  8608     mapeters  Add metadata id handling
+ * Oct 19, 2026           kshrestha Do not decode records to get names
  *
  * </pre>
  *
@@ -56,10 +56,11 @@ public class GetDatasetNamesProcessor
         if (!entry.exists()) {
             return Collections.emptySet();
         }
-        RecordAndMetadata[] rms = entry.getValue().getRecordsAndMetadata();
+        DataStoreValue value = entry.getValue();
+        int count = value.getRecordCount();
         Set<String> names = new HashSet<>();
-        for (RecordAndMetadata rm : rms) {
-            names.add(rm.getRecord().getName());
+        for (int i = 0; i < count; i += 1) {
+            names.add(value.getRecordName(i));
         }
         return names;
     }
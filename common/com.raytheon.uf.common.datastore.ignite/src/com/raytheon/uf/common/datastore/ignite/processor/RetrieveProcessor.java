@@ -34,7 +34,6 @@ import com.raytheon.uf.common.datastorage.DataStoreFactory;
 import com.raytheon.uf.common.datastorage.Request;
 import com.raytheon.uf.common.datastorage.Request.Type;
 import com.raytheon.uf.common.datastorage.records.IDataRecord;
-import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
 import com.raytheon.uf.common.datastore.ignite.DataStoreKey;
 import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
 import com.raytheon.uf.common.status.IPerformanceStatusHandler;
@@ -60,6 +59,7 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  * Sep 23, 2021  8608     mapeters  Add metadata handling
  * Apr 13, 2022  8845     njensen   Fix dimension value in processPoint()
  * Jun 08, 2022  8866     mapeters  Update requests to better match pypies
+ * Oct 19, 2026           kshrestha Only decode the requested records
  *
  * </pre>
  *
@@ -122,21 +122,20 @@ public class RetrieveProcessor implements
         IPerformanceTimer timer = TimeUtil.getPerformanceTimer();
         timer.start();
 
-        RecordAndMetadata[] rms = entry.getValue().getRecordsAndMetadata();
+        /*
+         * Check names before getting the records so encoded records that are
+         * not requested are never decoded.
+         */
+        DataStoreValue value = entry.getValue();
+        int count = value.getRecordCount();
         List<IDataRecord> result = new ArrayList<>();
-
-        if (datasets == null) {
-            for (RecordAndMetadata rm : rms) {
-                IDataRecord record = rm.getRecord();
+        for (int i = 0; i < count; i += 1) {
+            if (datasets == null
+                    || datasets.contains(value.getRecordName(i))) {
+                IDataRecord record = value.getRecordAndMetadata(i)
+                        .getRecord();
                 result.add(applyRequest(record));
             }
-        } else {
-            for (RecordAndMetadata rm : rms) {
-                IDataRecord record = rm.getRecord();
-                if (datasets.contains(record.getName())) {
-                    result.add(applyRequest(record));
-                }
-            }
         }
 
         timer.stop();
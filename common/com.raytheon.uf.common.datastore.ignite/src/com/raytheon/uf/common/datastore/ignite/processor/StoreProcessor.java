@@ -43,6 +43,7 @@ import com.raytheon.uf.common.datastorage.records.StringDataRecord;
 import com.raytheon.uf.common.datastore.ignite.DataStoreKey;
 import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
 import com.raytheon.uf.common.datastore.ignite.IgniteUtils;
+import com.raytheon.uf.common.datastore.ignite.codec.DataStoreValueCodecs;
 import com.raytheon.uf.common.status.IPerformanceStatusHandler;
 import com.raytheon.uf.common.status.PerformanceStatus;
 import com.raytheon.uf.common.time.util.IPerformanceTimer;
@@ -66,6 +67,7 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  * Jun 10, 2021  8450     mapeters  Add logging
  * Sep 23, 2021  8608     mapeters  Add metadata handling
  * Jan 25, 2022  8608     mapeters  Support write-through appends better
+ * Oct 19, 2026           kshrestha Encode stored values with a codec
  *
  *
  * </pre>
@@ -86,6 +88,9 @@ public class StoreProcessor
 
     private StoreOp op = StoreOp.STORE_ONLY;
 
+    /** name of the codec for the stored value, null to not encode */
+    private String codec;
+
     public StoreProcessor() {
 
     }
@@ -94,6 +99,11 @@ public class StoreProcessor
         this.op = op;
     }
 
+    public StoreProcessor(StoreOp op, String codec) {
+        this.op = op;
+        this.codec = codec;
+    }
+
     public StoreOp getOp() {
         return op;
     }
@@ -102,6 +112,14 @@ public class StoreProcessor
         this.op = op;
     }
 
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
     @Override
     public StorageStatus process(
             MutableEntry<DataStoreKey, DataStoreValue> entry, Object... args)
@@ -127,7 +145,8 @@ public class StoreProcessor
                 DataStoreValue newValue = merge(
                         Arrays.asList(entry.getValue().getRecordsAndMetadata()),
                         Arrays.asList(recordsAndMetadata), op, status);
-                entry.setValue(newValue);
+                entry.setValue(newValue
+                        .encode(DataStoreValueCodecs.getCodec(codec)));
             } else {
                 for (RecordAndMetadata rm : recordsAndMetadata) {
                     IDataRecord record = rm.getRecord();
@@ -135,7 +154,8 @@ public class StoreProcessor
                         rm.setRecord(expandPartial(record));
                     }
                 }
-                entry.setValue(new DataStoreValue(recordsAndMetadata));
+                entry.setValue(new DataStoreValue(recordsAndMetadata)
+                        .encode(DataStoreValueCodecs.getCodec(codec)));
             }
         } catch (StorageException e) {
             status.setExceptions(new StorageException[] { e });
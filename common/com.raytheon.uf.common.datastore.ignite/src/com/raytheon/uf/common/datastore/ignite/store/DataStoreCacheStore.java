@@ -30,7 +30,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.cache.Cache.Entry;
@@ -59,6 +66,7 @@ import com.raytheon.uf.common.datastorage.records.IMetadataIdentifier;
 import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
 import com.raytheon.uf.common.datastore.ignite.DataStoreKey;
 import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
+import com.raytheon.uf.common.datastore.ignite.codec.IDataStoreValueCodec;
 import com.raytheon.uf.common.status.IPerformanceStatusHandler;
 import com.raytheon.uf.common.status.PerformanceStatus;
 import com.raytheon.uf.common.time.util.IPerformanceTimer;
@@ -83,6 +91,9 @@ import com.raytheon.uf.common.util.Pair;
  * Feb 17, 2022  8608     mapeters  Remove illegal write behind checking, handle new
  *                                  MetadataSpecificity values, optimize
  *                                  validateMetadataSpecificity() some
+ * Oct 19, 2026           kshrestha Write and load files in parallel
+ * Oct 19, 2026           kshrestha Encode loaded values with a codec
+ * Oct 19, 2026           kshrestha Log the file queue depth of each flush
  *
  * </pre>
  *
@@ -97,6 +108,37 @@ public class DataStoreCacheStore
     private static final IPerformanceStatusHandler perfLog = PerformanceStatus
             .getHandler(DataStoreCacheStore.class.getSimpleName() + ":");
 
+    /**
+     * Shared by every cache store in the JVM so the number of files being
+     * written or read at once stays bounded regardless of the number of
+     * caches. When every thread is busy the flushing thread does the work
+     * itself.
+     */
+    private static final ExecutorService IO_POOL;
+
+    /** size of {@link #IO_POOL} */
+    static final int IO_THREADS = Integer
+            .getInteger("ignite.cachestore.io.threads", 8);
+
+    /**
+     * Number of files, across every cache store, that a flush has accepted but
+     * not yet started writing. Each flush logs the deepest this gets while its
+     * own files are waiting.
+     */
+    private static final AtomicInteger QUEUED_FILES = new AtomicInteger();
+
+    static {
+        int threads = IO_THREADS;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "DataStoreCacheStoreIO");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        IO_POOL = pool;
+    }
+
     private final IDataStoreFactory factory;
 
     @IgniteInstanceResource
@@ -107,6 +149,9 @@ public class DataStoreCacheStore
 
     private boolean useLocking = true;
 
+    /** encodes values loaded from the data store, null to not encode */
+    private IDataStoreValueCodec codec;
+
     private final Map<String, Object> writeLocks = new LinkedHashMap<String, Object>() {
 
         private static final long serialVersionUID = 1L;
@@ -122,6 +167,10 @@ public class DataStoreCacheStore
         this.useLocking = useLocking;
     }
 
+    public void setCodec(IDataStoreValueCodec codec) {
+        this.codec = codec;
+    }
+
     public Object getWriteLock(String path) {
         synchronized (writeLocks) {
             Object lock = writeLocks.get(path);
@@ -141,7 +190,7 @@ public class DataStoreCacheStore
 
         try {
             IDataRecord[] records = store.retrieve(key.getGroup());
-            return DataStoreValue.createWithoutMetadata(records);
+            return DataStoreValue.createWithoutMetadata(records).encode(codec);
         } catch (@SuppressWarnings("squid:S1166")
                 FileNotFoundException | StorageException e) {
             /*
@@ -161,37 +210,24 @@ public class DataStoreCacheStore
     @Override
     public Map<DataStoreKey, DataStoreValue> loadAll(
             Iterable<? extends DataStoreKey> keys) throws CacheLoaderException {
-        StringJoiner j = new StringJoiner(",");
         Map<String, List<String>> groupsByFile = new HashMap<>();
         for (DataStoreKey key : keys) {
-            j.add(key.getGroup());
-            List<String> groups = groupsByFile.get(key.getPath());
-            if (groups == null) {
-                groups = new ArrayList<>();
-                groupsByFile.put(key.getPath(), groups);
-            }
-            groups.add(key.getGroup());
+            groupsByFile.computeIfAbsent(key.getPath(), k -> new ArrayList<>())
+                    .add(key.getGroup());
+        }
+        List<Callable<Map<DataStoreKey, List<IDataRecord>>>> loads = new ArrayList<>(
+                groupsByFile.size());
+        for (java.util.Map.Entry<String, List<String>> entry : groupsByFile
+                .entrySet()) {
+            String path = entry.getKey();
+            String[] groups = entry.getValue().toArray(new String[0]);
+            loads.add(() -> loadFile(path, groups));
         }
         Map<DataStoreKey, List<IDataRecord>> recordMap = new HashMap<>();
         try {
-            for (java.util.Map.Entry<String, List<String>> entry : groupsByFile
-                    .entrySet()) {
-                String path = entry.getKey();
-                IDataStore store = factory.getDataStore(new File(path),
-                        useLocking);
-                String[] groups = entry.getValue().toArray(new String[0]);
-                IDataRecord[] records = store.retrieveGroups(groups,
-                        Request.ALL);
-                for (IDataRecord record : records) {
-                    DataStoreKey key = new DataStoreKey(path,
-                            record.getGroup());
-                    List<IDataRecord> recs = recordMap.get(key);
-                    if (recs == null) {
-                        recs = new ArrayList<>();
-                        recordMap.put(key, recs);
-                    }
-                    recs.add(record);
-                }
+            for (Map<DataStoreKey, List<IDataRecord>> fileRecords : invokeAll(
+                    loads)) {
+                recordMap.putAll(fileRecords);
             }
         } catch (Exception e) {
             logger.error(
@@ -202,12 +238,66 @@ public class DataStoreCacheStore
         Map<DataStoreKey, DataStoreValue> result = new HashMap<>();
         for (java.util.Map.Entry<DataStoreKey, List<IDataRecord>> entry : recordMap
                 .entrySet()) {
-            result.put(entry.getKey(),
-                    DataStoreValue.createWithoutMetadata((entry.getValue())));
+            result.put(entry.getKey(), DataStoreValue
+                    .createWithoutMetadata((entry.getValue())).encode(codec));
         }
         return result;
     }
 
+    /**
+     * Retrieve the groups from a single file.
+     *
+     * @param path
+     * @param groups
+     * @return the records keyed by the data store key they belong to
+     * @throws Exception
+     */
+    private Map<DataStoreKey, List<IDataRecord>> loadFile(String path,
+            String[] groups) throws Exception {
+        IDataStore store = factory.getDataStore(new File(path), useLocking);
+        IDataRecord[] records = store.retrieveGroups(groups, Request.ALL);
+        Map<DataStoreKey, List<IDataRecord>> recordMap = new HashMap<>();
+        for (IDataRecord record : records) {
+            DataStoreKey key = new DataStoreKey(path, record.getGroup());
+            recordMap.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+        }
+        return recordMap;
+    }
+
+    /**
+     * Run each task on the shared pool, or on this thread if the pool is busy,
+     * and wait for all of them.
+     *
+     * @param tasks
+     * @return the results in the same order as the tasks
+     * @throws Exception
+     *             the first failure, after cancelling any remaining tasks
+     */
+    private static <T> List<T> invokeAll(List<Callable<T>> tasks)
+            throws Exception {
+        if (tasks.size() == 1) {
+            return List.of(tasks.get(0).call());
+        }
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(IO_POOL.submit(task));
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(false));
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
     @Override
     public void delete(Object keyObject) throws CacheWriterException {
         DataStoreKey key = (DataStoreKey) keyObject;
@@ -351,65 +441,57 @@ public class DataStoreCacheStore
         logger.info("Writing " + numCacheEntries + " " + cacheName
                 + " entries across " + numPaths + " paths");
 
-        List<MetadataMap> successfulStores = new ArrayList<>();
-        List<MetadataMap> failedStores = new ArrayList<>();
-        int i = 1;
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger maxQueued = new AtomicInteger(
+                QUEUED_FILES.addAndGet(numPaths));
+        List<Callable<Pair<MetadataMap, Long>>> writes = new ArrayList<>(
+                numPaths);
         for (Map.Entry<String, List<Entry<? extends DataStoreKey, ? extends DataStoreValue>>> mapEntry : entriesByPath
                 .entrySet()) {
-            String path = mapEntry.getKey();
-            List<Entry<? extends DataStoreKey, ? extends DataStoreValue>> cacheEntries = mapEntry
-                    .getValue();
-
-            long totalSizeInBytes = 0L;
-            MetadataMap metadataMap = getMetadataMap(cacheEntries);
-            for (Entry<? extends DataStoreKey, ? extends DataStoreValue> cacheEntry : cacheEntries) {
-                DataStoreValue value = cacheEntry.getValue();
-                if (!ArrayUtils
-                        .isEmpty(value.getLastAppendRecordsAndMetadata())) {
-                    /*
-                     * We don't currently support multiple appends going into a
-                     * single write
-                     */
-                    logger.warn(
-                            "Write behind append operation must be performed as a replace: "
-                                    + cacheEntry.getKey());
-                }
-                for (RecordAndMetadata rm : value.getRecordsAndMetadata()) {
-                    totalSizeInBytes += rm.getRecord().getSizeInBytes();
-                }
-            }
-
-            try {
-                IDataStore store = factory.getDataStore(new File(path),
-                        useLocking);
-
-                for (Entry<? extends DataStoreKey, ? extends DataStoreValue> cacheEntry : cacheEntries) {
-                    for (RecordAndMetadata rm : cacheEntry.getValue()
-                            .getRecordsAndMetadata()) {
-                        store.addDataRecord(rm.getRecord(), rm.getMetadata());
-                    }
-                }
-
-                logger.info("Writing " + i + "/" + numPaths + ": " + path
-                        + " (size=" + totalSizeInBytes + "B)");
-                Object lock = getWriteLock(path);
-                StorageStatus ss;
-                synchronized (lock) {
-                    ss = store.store(StoreOp.REPLACE);
-                }
-                if (ss.hasExceptions()) {
-                    throw ss.getExceptions()[0];
+            writes.add(() -> {
+                maxQueued.accumulateAndGet(QUEUED_FILES.getAndDecrement(),
+                        Math::max);
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(),
+                        Math::max);
+                try {
+                    return writeFile(mapEntry.getKey(), mapEntry.getValue(),
+                            written, numPaths);
+                } finally {
+                    inFlight.decrementAndGet();
                 }
-                successfulStores.add(metadataMap);
-            } catch (Exception e) {
-                logger.error("Error occurred writing " + cacheName + " entries",
-                        e);
+            });
+        }
 
-                failedStores.add(metadataMap);
+        List<MetadataMap> successfulStores = new ArrayList<>();
+        List<MetadataMap> failedStores = new ArrayList<>();
+        long totalBytes = 0L;
+        List<Pair<MetadataMap, Long>> results;
+        try {
+            results = invokeAll(writes);
+        } catch (Exception e) {
+            // writeFile handles its own errors, this is unexpected
+            throw new CacheWriterException(e);
+        }
+        for (Pair<MetadataMap, Long> result : results) {
+            if (result.getSecond() < 0) {
+                failedStores.add(result.getFirst());
+            } else {
+                successfulStores.add(result.getFirst());
+                totalBytes += result.getSecond();
             }
-            ++i;
         }
 
+        logger.info("Wrote " + numCacheEntries + " " + cacheName
+                + " entries to " + successfulStores.size() + "/" + numPaths
+                + " paths (size=" + totalBytes + "B, max concurrent files="
+                + maxInFlight.get() + ", max queued files=" + maxQueued.get()
+                + ")");
+        perfLog.log("Flush of " + numPaths + " " + cacheName
+                + " paths saw a queue depth of " + maxQueued.get()
+                + " files");
+
         timer.lap("store");
 
         /*
@@ -430,6 +512,71 @@ public class DataStoreCacheStore
                 perfLog);
     }
 
+    /**
+     * Write all the entries for a single file with one store operation.
+     *
+     * @param path
+     *            the file to write
+     * @param cacheEntries
+     *            the entries that belong in the file
+     * @param written
+     *            count of files written so far, for logging progress
+     * @param numPaths
+     *            total number of files being written, for logging progress
+     * @return the metadata of the entries and the number of bytes written, or
+     *         -1 if the write failed
+     */
+    private Pair<MetadataMap, Long> writeFile(String path,
+            List<Entry<? extends DataStoreKey, ? extends DataStoreValue>> cacheEntries,
+            AtomicInteger written, int numPaths) {
+        long totalSizeInBytes = 0L;
+        MetadataMap metadataMap = getMetadataMap(cacheEntries);
+        /* decode each entry once, encoded values decode on every call */
+        List<RecordAndMetadata> rms = new ArrayList<>();
+        for (Entry<? extends DataStoreKey, ? extends DataStoreValue> cacheEntry : cacheEntries) {
+            DataStoreValue value = cacheEntry.getValue();
+            if (!ArrayUtils.isEmpty(value.getLastAppendRecordsAndMetadata())) {
+                /*
+                 * We don't currently support multiple appends going into a
+                 * single write
+                 */
+                logger.warn(
+                        "Write behind append operation must be performed as a replace: "
+                                + cacheEntry.getKey());
+            }
+            for (RecordAndMetadata rm : value.getRecordsAndMetadata()) {
+                totalSizeInBytes += rm.getRecord().getSizeInBytes();
+                rms.add(rm);
+            }
+        }
+
+        try {
+            IDataStore store = factory.getDataStore(new File(path),
+                    useLocking);
+
+            for (RecordAndMetadata rm : rms) {
+                store.addDataRecord(rm.getRecord(), rm.getMetadata());
+            }
+
+            logger.info("Writing " + written.incrementAndGet() + "/"
+                    + numPaths + ": " + path + " (size=" + totalSizeInBytes
+                    + "B)");
+            Object lock = getWriteLock(path);
+            StorageStatus ss;
+            synchronized (lock) {
+                ss = store.store(StoreOp.REPLACE);
+            }
+            if (ss.hasExceptions()) {
+                throw ss.getExceptions()[0];
+            }
+            return new Pair<>(metadataMap, totalSizeInBytes);
+        } catch (Exception e) {
+            logger.error("Error occurred writing " + cacheName + " entries",
+                    e);
+            return new Pair<>(metadataMap, -1L);
+        }
+    }
+
     @Override
     public void loadCache(
             IgniteBiInClosure<DataStoreKey, DataStoreValue> closure,
@@ -566,16 +713,13 @@ public class DataStoreCacheStore
         for (Entry<? extends DataStoreKey, ? extends DataStoreValue> cacheEntry : cacheEntries) {
             DataStoreKey key = cacheEntry.getKey();
             DataStoreValue value = cacheEntry.getValue();
-            RecordAndMetadata[] recordsAndMetadata = value
-                    .getRecordsAndMetadata();
-            if (recordsAndMetadata != null) {
-                for (RecordAndMetadata rm : recordsAndMetadata) {
-                    String recordName = rm.getRecord().getName();
-                    Set<IMetadataIdentifier> metaIds = rm.getMetadata();
-                    for (IMetadataIdentifier metaId : metaIds) {
-                        metadataMap.getMetadataRecordNamesMap(key)
-                                .getRecordNames(metaId).add(recordName);
-                    }
+            /* names and metadata are never encoded, so nothing is decoded */
+            for (int i = 0; i < value.getRecordCount(); i += 1) {
+                String recordName = value.getRecordName(i);
+                Set<IMetadataIdentifier> metaIds = value.getMetadata(i);
+                for (IMetadataIdentifier metaId : metaIds) {
+                    metadataMap.getMetadataRecordNamesMap(key)
+                            .getRecordNames(metaId).add(recordName);
                 }
             }
         }
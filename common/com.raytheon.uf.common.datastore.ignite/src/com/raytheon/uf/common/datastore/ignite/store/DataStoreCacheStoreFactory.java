@@ -27,6 +27,7 @@ import org.apache.ignite.resources.CacheNameResource;
 import com.raytheon.uf.common.datastorage.DataStoreFactory;
 import com.raytheon.uf.common.datastorage.IDataStore;
 import com.raytheon.uf.common.datastorage.IDataStoreFactory;
+import com.raytheon.uf.common.datastore.ignite.codec.DataStoreValueCodecs;
 
 /**
  * 
@@ -39,6 +40,7 @@ import com.raytheon.uf.common.datastorage.IDataStoreFactory;
  * Date          Ticket#  Engineer  Description
  * ------------- -------- --------- -----------------
  * May 29, 2019  7628     bsteffen  Initial creation
+ * Oct 19, 2026           kshrestha Add codec
  *
  * </pre>
  *
@@ -56,6 +58,12 @@ public class DataStoreCacheStoreFactory
 
     private IDataStoreFactory dataStoreFactory;
 
+    /**
+     * Name of the codec for values loaded from the data store, see
+     * {@link DataStoreValueCodecs}.
+     */
+    private String codec;
+
     public DataStoreCacheStoreFactory() {
 
     }
@@ -83,7 +91,10 @@ public class DataStoreCacheStoreFactory
             dataStoreFactory = DataStoreFactory.getInstance()
                     .getUnderlyingFactory();
         }
-        return new DataStoreCacheStore(dataStoreFactory, useLocking);
+        DataStoreCacheStore store = new DataStoreCacheStore(dataStoreFactory,
+                useLocking);
+        store.setCodec(DataStoreValueCodecs.getCodec(codec));
+        return store;
     }
 
     public IDataStore getDataStore(File file) {
@@ -102,6 +113,14 @@ public class DataStoreCacheStoreFactory
         this.useLocking = useLocking;
     }
 
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
     public IDataStoreFactory getDataStoreFactory() {
         return dataStoreFactory;
     }
@@ -0,0 +1,333 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.records.ByteDataRecord;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+
+/**
+ * Unit tests for IgniteNearCache. These start a single embedded ignite node
+ * so the cache events and messages the near cache listens for are real.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestIgniteNearCache {
+
+    private static final String CACHE_NAME = "nearCacheTest";
+
+    private static final long MAX_BYTES = 1024;
+
+    private static final long MAX_RECORD_BYTES = 256;
+
+    private static final long EXPIRATION_MILLIS = 60_000;
+
+    /** how long to wait for events from the ignite node */
+    private static final long EVENT_TIMEOUT_MILLIS = 10_000;
+
+    private static Ignite ignite;
+
+    private static TestIgniteManager igniteManager;
+
+    private IgniteNearCache nearCache;
+
+    @BeforeClass
+    public static void startIgnite() {
+        /* IgniteUtils requires these, normally set by the edex setup */
+        System.setProperty("ignite.op.num.attempts", "1");
+        System.setProperty("ignite.op.timeout.secs", "10");
+        System.setProperty("ignite.op.exception.recovery.timeout.secs", "1");
+        System.setProperty("ignite.op.retry.delay.secs", "1");
+
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(List.of("127.0.0.1:47600..47609"));
+        TcpDiscoverySpi discoverySpi = new TcpDiscoverySpi();
+        discoverySpi.setLocalAddress("127.0.0.1");
+        discoverySpi.setLocalPort(47600);
+        discoverySpi.setIpFinder(ipFinder);
+        TcpCommunicationSpi communicationSpi = new TcpCommunicationSpi();
+        communicationSpi.setLocalAddress("127.0.0.1");
+        communicationSpi.setLocalPort(47700);
+
+        IgniteConfiguration config = new IgniteConfiguration();
+        config.setIgniteInstanceName(TestIgniteNearCache.class.getSimpleName());
+        config.setDiscoverySpi(discoverySpi);
+        config.setCommunicationSpi(communicationSpi);
+        config.setCacheConfiguration(
+                new CacheConfiguration<DataStoreKey, DataStoreValue>(
+                        CACHE_NAME));
+        ignite = Ignition.start(config);
+        igniteManager = new TestIgniteManager();
+    }
+
+    @AfterClass
+    public static void stopIgnite() {
+        if (ignite != null) {
+            ignite.close();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        ignite.cache(CACHE_NAME).clear();
+        nearCache = createNearCache(EXPIRATION_MILLIS);
+    }
+
+    @After
+    public void tearDown() {
+        nearCache.close();
+    }
+
+    private static IgniteNearCache createNearCache(long expirationMillis) {
+        IgniteNearCache result = IgniteNearCache.create(igniteManager,
+                igniteManager.getCacheAccessor(CACHE_NAME), MAX_BYTES,
+                MAX_RECORD_BYTES, expirationMillis);
+        assertTrue("listeners were not registered", result.isEnabled());
+        return result;
+    }
+
+    private static List<IDataRecord> records(String group, int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i += 1) {
+            data[i] = (byte) i;
+        }
+        return List.of(new ByteDataRecord("data", group, data));
+    }
+
+    private static void put(IgniteNearCache cache, DataStoreKey key,
+            List<IDataRecord> records) {
+        cache.put(key, null, Request.ALL, records, cache.getVersion(key));
+    }
+
+    private static void waitFor(String message, BooleanSupplier condition)
+            throws InterruptedException {
+        long end = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) {
+                fail(message);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testPutReturnsCopies() {
+        DataStoreKey key = new DataStoreKey("/tmp/near.h5", "/group");
+        List<IDataRecord> records = records("/group", 16);
+        put(nearCache, key, records);
+
+        List<IDataRecord> result = nearCache.get(key, null, Request.ALL);
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertNotSame(records.get(0), result.get(0));
+        assertArrayEquals((byte[]) records.get(0).getDataObject(),
+                (byte[]) result.get(0).getDataObject());
+        /* a caller modifying its result does not change the cache */
+        ((byte[]) result.get(0).getDataObject())[0] = 42;
+        assertEquals(0, ((byte[]) nearCache.get(key, null, Request.ALL).get(0)
+                .getDataObject())[0]);
+
+        assertNull(nearCache.get(key, Set.of("other"), Request.ALL));
+        assertEquals(2, nearCache.getHits());
+        assertEquals(1, nearCache.getMisses());
+        assertEquals(16, nearCache.getTotalBytes());
+    }
+
+    @Test
+    public void testPutRejectsLargeAndStaleResults() {
+        DataStoreKey key = new DataStoreKey("/tmp/near.h5", "/group");
+        put(nearCache, key, records("/group", (int) MAX_RECORD_BYTES + 1));
+        assertNull(nearCache.get(key, null, Request.ALL));
+        assertEquals(1, nearCache.getRejected());
+
+        long version = nearCache.getVersion(key);
+        nearCache.invalidate(key);
+        nearCache.put(key, null, Request.ALL, records("/group", 16), version);
+        assertNull(nearCache.get(key, null, Request.ALL));
+    }
+
+    @Test
+    public void testPutEvictsLeastRecentlyUsed() {
+        DataStoreKey first = new DataStoreKey("/tmp/near.h5", "/first");
+        DataStoreKey second = new DataStoreKey("/tmp/near.h5", "/second");
+        put(nearCache, first, records("/first", 200));
+        put(nearCache, second, records("/second", 200));
+        assertNotNull(nearCache.get(first, null, Request.ALL));
+        /* second is now the least recently used */
+        for (int i = 0; i < 4; i += 1) {
+            DataStoreKey key = new DataStoreKey("/tmp/near.h5", "/more" + i);
+            put(nearCache, key, records("/more" + i, 200));
+        }
+        assertTrue(nearCache.getTotalBytes() <= MAX_BYTES);
+        assertNull(nearCache.get(second, null, Request.ALL));
+        assertNotNull(nearCache.get(first, null, Request.ALL));
+    }
+
+    @Test
+    public void testCacheUpdateInvalidates() throws InterruptedException {
+        DataStoreKey key = new DataStoreKey("/tmp/near.h5", "/group");
+        put(nearCache, key, records("/group", 16));
+        assertNotNull(nearCache.get(key, null, Request.ALL));
+
+        IgniteCache<DataStoreKey, DataStoreValue> cache = ignite
+                .cache(CACHE_NAME);
+        cache.put(key, DataStoreValue.createWithoutMetadata(
+                records("/group", 8).toArray(new IDataRecord[0])));
+        waitFor("update did not invalidate",
+                () -> nearCache.get(key, null, Request.ALL) == null);
+
+        put(nearCache, key, records("/group", 8));
+        cache.remove(key);
+        waitFor("remove did not invalidate",
+                () -> nearCache.get(key, null, Request.ALL) == null);
+        assertEquals(2, nearCache.getInvalidations());
+    }
+
+    @Test
+    public void testInvalidatePathEverywhere() throws InterruptedException {
+        IgniteNearCache otherClient = createNearCache(EXPIRATION_MILLIS);
+        try {
+            DataStoreKey cleared = new DataStoreKey("/tmp/cleared.h5", "/a");
+            DataStoreKey clearedToo = new DataStoreKey("/tmp/cleared.h5",
+                    "/b");
+            DataStoreKey kept = new DataStoreKey("/tmp/kept.h5", "/a");
+            for (IgniteNearCache cache : List.of(nearCache, otherClient)) {
+                put(cache, cleared, records("/a", 16));
+                put(cache, clearedToo, records("/b", 16));
+                put(cache, kept, records("/a", 16));
+            }
+
+            nearCache.invalidatePathEverywhere("/tmp/cleared.h5");
+            /* the local cache is invalidated before returning */
+            assertNull(nearCache.get(cleared, null, Request.ALL));
+            assertNull(nearCache.get(clearedToo, null, Request.ALL));
+            waitFor("message did not invalidate the other client",
+                    () -> otherClient.get(cleared, null,
+                            Request.ALL) == null);
+            assertNull(otherClient.get(clearedToo, null, Request.ALL));
+            assertNotNull(nearCache.get(kept, null, Request.ALL));
+            assertNotNull(otherClient.get(kept, null, Request.ALL));
+        } finally {
+            otherClient.close();
+        }
+    }
+
+    @Test
+    public void testClearRejectsRacingPuts() {
+        DataStoreKey key = new DataStoreKey("/tmp/near.h5", "/group");
+        put(nearCache, key, records("/group", 16));
+        long version = nearCache.getVersion(key);
+        nearCache.clear();
+        assertNull(nearCache.get(key, null, Request.ALL));
+        assertEquals(0, nearCache.getTotalBytes());
+
+        nearCache.put(key, null, Request.ALL, records("/group", 16), version);
+        assertNull(nearCache.get(key, null, Request.ALL));
+    }
+
+    @Test
+    public void testEntriesExpire() throws InterruptedException {
+        IgniteNearCache expiring = createNearCache(50);
+        try {
+            DataStoreKey key = new DataStoreKey("/tmp/near.h5", "/group");
+            put(expiring, key, records("/group", 16));
+            assertNotNull(expiring.get(key, null, Request.ALL));
+            Thread.sleep(100);
+            assertNull(expiring.get(key, null, Request.ALL));
+            assertEquals(0, expiring.getTotalBytes());
+        } finally {
+            expiring.close();
+        }
+    }
+
+    @Test
+    public void testClosedCacheIsDisabled() {
+        IgniteNearCache closed = createNearCache(EXPIRATION_MILLIS);
+        closed.close();
+        assertFalse(closed.isEnabled());
+        /* closing again is harmless */
+        closed.close();
+    }
+
+    /**
+     * Manages the embedded node started by this test.
+     */
+    private static class TestIgniteManager extends AbstractIgniteManager {
+
+        private static final long serialVersionUID = 1L;
+
+        public TestIgniteManager() {
+            setLogger(LoggerFactory.getLogger(TestIgniteManager.class));
+        }
+
+        @Override
+        public void initialize() {
+            /* the node is started by the test */
+        }
+
+        @Override
+        protected Ignite getIgnite() {
+            return ignite;
+        }
+
+        @Override
+        protected <K, V> IgniteCache<K, V> getCache(String cacheName) {
+            return ignite.cache(cacheName);
+        }
+    }
+}
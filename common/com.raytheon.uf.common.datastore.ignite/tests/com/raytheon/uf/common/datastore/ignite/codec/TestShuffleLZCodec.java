@@ -0,0 +1,429 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for ShuffleLZCodec. The round trip tests also run
+ * ShuffleDeflateCodec since both share the shuffle in AbstractShuffleCodec.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestShuffleLZCodec {
+
+    /** the type byte AbstractShuffleCodec writes for a byte array */
+    private static final byte BYTE_TYPE = 1;
+
+    private static final IDataStoreValueCodec LZ = new ShuffleLZCodec();
+
+    private static final IDataStoreValueCodec[] CODECS = { LZ,
+            new ShuffleDeflateCodec() };
+
+    private final Random random = new Random(8608);
+
+    private static Object roundTrip(IDataStoreValueCodec codec,
+            Object array) {
+        byte[] encoded = codec.encode(array);
+        return codec.decode(encoded);
+    }
+
+    private static void assertRoundTrip(Object array) {
+        for (IDataStoreValueCodec codec : CODECS) {
+            Object decoded = roundTrip(codec, array);
+            assertEquals(codec.getName(), array.getClass(),
+                    decoded.getClass());
+            if (array instanceof byte[]) {
+                assertArrayEquals(codec.getName(), (byte[]) array,
+                        (byte[]) decoded);
+            } else if (array instanceof short[]) {
+                assertArrayEquals(codec.getName(), (short[]) array,
+                        (short[]) decoded);
+            } else if (array instanceof int[]) {
+                assertArrayEquals(codec.getName(), (int[]) array,
+                        (int[]) decoded);
+            } else if (array instanceof long[]) {
+                assertArrayEquals(codec.getName(), (long[]) array,
+                        (long[]) decoded);
+            } else if (array instanceof float[]) {
+                float[] expected = (float[]) array;
+                float[] actual = (float[]) decoded;
+                assertEquals(codec.getName(), expected.length, actual.length);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(codec.getName() + " at " + i,
+                            Float.floatToRawIntBits(expected[i]),
+                            Float.floatToRawIntBits(actual[i]));
+                }
+            } else {
+                double[] expected = (double[]) array;
+                double[] actual = (double[]) decoded;
+                assertEquals(codec.getName(), expected.length, actual.length);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(codec.getName() + " at " + i,
+                            Double.doubleToRawLongBits(expected[i]),
+                            Double.doubleToRawLongBits(actual[i]));
+                }
+            }
+        }
+    }
+
+    private static byte[] encoded(int length, int... compressed) {
+        ByteBuffer buffer = ByteBuffer.allocate(5 + compressed.length);
+        buffer.put(BYTE_TYPE);
+        buffer.putInt(length);
+        for (int b : compressed) {
+            buffer.put((byte) b);
+        }
+        return buffer.array();
+    }
+
+    private static void assertDecodeFails(IDataStoreValueCodec codec,
+            byte[] encoded) {
+        try {
+            codec.decode(encoded);
+            fail(codec.getName() + " decoded invalid data: "
+                    + Arrays.toString(encoded));
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    /** smoothly varying values like a gridded field */
+    private float[] field(int length) {
+        float[] data = new float[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = 273.15f + 20 * (float) Math.sin(i / 50.0)
+                    + random.nextInt(4) / 8f;
+        }
+        return data;
+    }
+
+    @Test
+    public void testByte() {
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i / 100 + random.nextInt(2));
+        }
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void testShort() {
+        short[] data = new short[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short) (i * 7 - 30_000 + random.nextInt(3));
+        }
+        data[0] = Short.MIN_VALUE;
+        data[1] = Short.MAX_VALUE;
+        data[2] = -1;
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void testInt() {
+        int[] data = new int[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i * 1000 + random.nextInt(10);
+        }
+        data[0] = Integer.MIN_VALUE;
+        data[1] = Integer.MAX_VALUE;
+        data[2] = -1;
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void testLong() {
+        long[] data = new long[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 1_700_000_000_000L + i * 60_000L;
+        }
+        data[0] = Long.MIN_VALUE;
+        data[1] = Long.MAX_VALUE;
+        data[2] = -1;
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void testFloat() {
+        float[] data = field(10_000);
+        data[0] = Float.NaN;
+        data[1] = Float.intBitsToFloat(0x7FC00001);
+        data[2] = -0.0f;
+        data[3] = Float.NEGATIVE_INFINITY;
+        data[4] = Float.MIN_VALUE;
+        data[5] = -999999.0f;
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void testDouble() {
+        double[] data = new double[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = Math.cos(i / 30.0) * 1e5;
+        }
+        data[0] = Double.NaN;
+        data[1] = Double.longBitsToDouble(0x7FF8000000000001L);
+        data[2] = -0.0;
+        data[3] = Double.POSITIVE_INFINITY;
+        data[4] = Double.MIN_VALUE;
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertRoundTrip(new byte[0]);
+        assertRoundTrip(new short[0]);
+        assertRoundTrip(new int[0]);
+        assertRoundTrip(new long[0]);
+        assertRoundTrip(new float[0]);
+        assertRoundTrip(new double[0]);
+    }
+
+    @Test
+    public void testShorterThanMinMatch() {
+        assertRoundTrip(new byte[] { 5 });
+        assertRoundTrip(new byte[] { 5, 5 });
+        assertRoundTrip(new byte[] { 5, 5, 5 });
+        assertRoundTrip(new short[] { 0x1234 });
+        assertRoundTrip(new byte[] { 5, 5, 5, 5 });
+        assertRoundTrip(new byte[] { 5, 5, 5, 5, 5 });
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        for (IDataStoreValueCodec codec : CODECS) {
+            assertNull(codec.encode(new String[] { "a" }));
+            assertNull(codec.encode(new char[] { 'a' }));
+            assertNull(codec.encode("a"));
+        }
+    }
+
+    @Test
+    public void testIncompressible() {
+        byte[] data = new byte[100_000];
+        random.nextBytes(data);
+        assertRoundTrip(data);
+        /* literal runs only add a length byte per 255 bytes */
+        int encodedLength = LZ.encode(data).length;
+        assertTrue("Encoded to " + encodedLength,
+                encodedLength <= 5 + data.length + data.length / 255 + 16);
+
+        int[] ints = new int[25_000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = random.nextInt();
+        }
+        assertRoundTrip(ints);
+    }
+
+    @Test
+    public void testLongRun() {
+        byte[] data = new byte[1_000_000];
+        Arrays.fill(data, (byte) 7);
+        assertRoundTrip(data);
+        int encodedLength = LZ.encode(data).length;
+        assertTrue("Encoded to " + encodedLength, encodedLength < 5000);
+
+        assertRoundTrip(new float[100_000]);
+    }
+
+    @Test
+    public void testLengthBoundaries() {
+        /*
+         * Literal and match lengths around the point where the token nibble
+         * overflows into length bytes, and where a length byte of 255 needs
+         * another byte.
+         */
+        int[] lengths = { 1, 14, 15, 16, 17, 18, 19, 20, 268, 269, 270, 271,
+                272, 273, 274, 524, 525, 526, 1000 };
+        for (int literals : lengths) {
+            for (int run : lengths) {
+                byte[] data = new byte[literals + run + 3];
+                for (int i = 0; i < literals; i++) {
+                    data[i] = (byte) (i * 31 + 17);
+                }
+                Arrays.fill(data, literals, literals + run, (byte) -3);
+                data[data.length - 3] = 1;
+                data[data.length - 2] = 2;
+                data[data.length - 1] = 3;
+                assertRoundTrip(data);
+            }
+        }
+    }
+
+    @Test
+    public void testOverlappingMatches() {
+        /* offsets shorter than the match length repeat the pattern */
+        for (int period = 1; period <= 20; period++) {
+            byte[] data = new byte[period * 100 + period / 2];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) ((i % period) * 13 + 1);
+            }
+            assertRoundTrip(data);
+            assertTrue(LZ.encode(data).length < data.length / 2);
+        }
+    }
+
+    @Test
+    public void testMatchesBeyondMaxOffset() {
+        /* a repeat further back than an offset can reach */
+        byte[] block = new byte[70_000];
+        random.nextBytes(block);
+        byte[] data = new byte[block.length * 2];
+        System.arraycopy(block, 0, data, 0, block.length);
+        System.arraycopy(block, 0, data, block.length, block.length);
+        assertRoundTrip(data);
+
+        /* a repeat just inside the furthest offset */
+        byte[] near = new byte[65_535 + 100];
+        random.nextBytes(near);
+        System.arraycopy(near, 0, near, 65_535, 100);
+        assertRoundTrip(near);
+    }
+
+    @Test
+    public void testMixed() {
+        for (int n = 0; n < 50; n++) {
+            byte[] data = new byte[random.nextInt(5000)];
+            int i = 0;
+            while (i < data.length) {
+                int len = Math.min(data.length - i, 1 + random.nextInt(300));
+                if (random.nextBoolean()) {
+                    Arrays.fill(data, i, i + len, (byte) random.nextInt());
+                } else if (i > 0 && random.nextBoolean()) {
+                    int from = random.nextInt(i);
+                    for (int j = 0; j < len; j++) {
+                        data[i + j] = data[from + j];
+                    }
+                } else {
+                    for (int j = 0; j < len; j++) {
+                        data[i + j] = (byte) random.nextInt();
+                    }
+                }
+                i += len;
+            }
+            assertRoundTrip(data);
+        }
+    }
+
+    @Test
+    public void testTruncated() {
+        byte[] data = new byte[2000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 37 == 0 ? random.nextInt() : i / 100);
+        }
+        byte[] encoded = LZ.encode(data);
+        /* every byte of the lz form is needed */
+        for (int length = 0; length < encoded.length; length++) {
+            assertDecodeFails(LZ, Arrays.copyOf(encoded, length));
+        }
+
+        IDataStoreValueCodec deflate = CODECS[1];
+        byte[] deflated = deflate.encode(data);
+        assertDecodeFails(deflate, Arrays.copyOf(deflated, 3));
+        assertDecodeFails(deflate,
+                Arrays.copyOf(deflated, deflated.length / 2));
+    }
+
+    @Test
+    public void testCorruptHeader() {
+        for (IDataStoreValueCodec codec : CODECS) {
+            byte[] encoded = codec.encode(new int[100]);
+            byte[] badType = encoded.clone();
+            badType[0] = 42;
+            assertDecodeFails(codec, badType);
+
+            byte[] negativeLength = encoded.clone();
+            ByteBuffer.wrap(negativeLength).putInt(1, -1);
+            assertDecodeFails(codec, negativeLength);
+
+            byte[] hugeLength = encoded.clone();
+            ByteBuffer.wrap(hugeLength).putInt(1, Integer.MAX_VALUE / 2);
+            assertDecodeFails(codec, hugeLength);
+
+            byte[] longer = encoded.clone();
+            ByteBuffer.wrap(longer).putInt(1, 101);
+            assertDecodeFails(codec, longer);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testCorruptSequences() {
+        /* literal 'a' then a match with offset zero */
+        assertDecodeFails(LZ, encoded(8, 0x10, 'a', 0, 0));
+        /* match offset before the start of the data */
+        assertDecodeFails(LZ, encoded(8, 0x10, 'a', 2, 0));
+        /* match longer than the remaining data */
+        assertDecodeFails(LZ, encoded(8, 0x1F, 'a', 1, 0, 10));
+        /* more literals than the remaining data */
+        assertDecodeFails(LZ, encoded(2, 0x50, 1, 2, 3, 4, 5));
+        /* literal length bytes that never end */
+        assertDecodeFails(LZ, encoded(100, 0xF0, 255, 255, 255));
+        /* valid form of the first case */
+        assertArrayEquals(new byte[] { 'a', 'a', 'a', 'a', 'a' },
+                (byte[]) LZ.decode(encoded(5, 0x10, 'a', 1, 0)));
+    }
+
+    @Test(timeout = 60_000)
+    public void testRandomCorruption() {
+        /*
+         * Corrupt data may decode to the wrong values but must never hang or
+         * fail with anything other than an IllegalStateException.
+         */
+        byte[] data = new byte[3000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 50 < 25 ? i / 64 : random.nextInt());
+        }
+        byte[] encoded = LZ.encode(data);
+        for (int n = 0; n < 5000; n++) {
+            byte[] corrupt = encoded.clone();
+            int flips = 1 + random.nextInt(3);
+            for (int f = 0; f < flips; f++) {
+                int index = 5 + random.nextInt(corrupt.length - 5);
+                corrupt[index] = (byte) random.nextInt();
+            }
+            try {
+                byte[] decoded = (byte[]) LZ.decode(corrupt);
+                assertEquals(data.length, decoded.length);
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+    }
+}
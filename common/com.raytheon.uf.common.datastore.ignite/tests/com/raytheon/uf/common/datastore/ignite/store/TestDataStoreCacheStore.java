@@ -0,0 +1,394 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastore.ignite.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.Cache.Entry;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.IDataStore.StoreOp;
+import com.raytheon.uf.common.datastorage.IDataStoreFactory;
+import com.raytheon.uf.common.datastorage.StorageException;
+import com.raytheon.uf.common.datastorage.StorageStatus;
+import com.raytheon.uf.common.datastorage.audit.DataStatus;
+import com.raytheon.uf.common.datastorage.audit.DataStorageAuditerContainer;
+import com.raytheon.uf.common.datastorage.audit.IDataStorageAuditer;
+import com.raytheon.uf.common.datastorage.records.ByteDataRecord;
+import com.raytheon.uf.common.datastorage.records.DataUriMetadataIdentifier;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.datastorage.records.IMetadataIdentifier;
+import com.raytheon.uf.common.datastorage.records.RecordAndMetadata;
+import com.raytheon.uf.common.datastore.ignite.DataStoreKey;
+import com.raytheon.uf.common.datastore.ignite.DataStoreValue;
+
+/**
+ * Unit tests for DataStoreCacheStore. The data store is a proxy that records
+ * what is written to each file, so no HDF5 library is needed.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestDataStoreCacheStore {
+
+    /** statuses passed to the auditer, the container only takes one auditer */
+    private static final Map<String, DataStatus> auditedStatuses = new ConcurrentHashMap<>();
+
+    private StubFactory factory;
+
+    @BeforeClass
+    public static void setAuditer() {
+        DataStorageAuditerContainer container = DataStorageAuditerContainer
+                .getInstance();
+        if (container.getAuditer() == null) {
+            container.setAuditer((IDataStorageAuditer) Proxy.newProxyInstance(
+                    IDataStorageAuditer.class.getClassLoader(),
+                    new Class<?>[] { IDataStorageAuditer.class },
+                    (proxy, method, args) -> {
+                        if ("processDataStatuses".equals(method.getName())) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, DataStatus> statuses = (Map<String, DataStatus>) args[0];
+                            auditedStatuses.putAll(statuses);
+                        }
+                        return null;
+                    }));
+        }
+    }
+
+    @Before
+    public void setUp() {
+        auditedStatuses.clear();
+        factory = new StubFactory();
+    }
+
+    private static String traceId(String path, String group) {
+        return path + ":" + group;
+    }
+
+    /**
+     * Create an entry holding one record per dataset name.
+     */
+    private static Entry<DataStoreKey, DataStoreValue> entry(String path,
+            String group, String... datasets) {
+        IMetadataIdentifier metaId = new DataUriMetadataIdentifier(
+                "/uri" + group, traceId(path, group));
+        List<RecordAndMetadata> rms = new ArrayList<>();
+        for (String dataset : datasets) {
+            IDataRecord record = new ByteDataRecord(dataset, group,
+                    new byte[] { 1, 2, 3 });
+            rms.add(new RecordAndMetadata(record, List.of(metaId)));
+        }
+        return new SimpleEntry(new DataStoreKey(path, group),
+                new DataStoreValue(rms));
+    }
+
+    private static List<Entry<? extends DataStoreKey, ? extends DataStoreValue>> entries(
+            int numPaths, int groupsPerPath, String prefix) {
+        List<Entry<? extends DataStoreKey, ? extends DataStoreValue>> entries = new ArrayList<>();
+        for (int g = 0; g < groupsPerPath; g += 1) {
+            for (int p = 0; p < numPaths; p += 1) {
+                entries.add(entry(prefix + p + ".h5", "/group" + g, "a", "b"));
+            }
+        }
+        /* interleave paths so merging has to regroup them */
+        Collections.shuffle(entries, new Random(8608));
+        return entries;
+    }
+
+    @Test
+    public void testWriteAllStoresEachFileOnce() {
+        DataStoreCacheStore cacheStore = new DataStoreCacheStore(factory,
+                false);
+        List<Entry<? extends DataStoreKey, ? extends DataStoreValue>> entries = entries(
+                3, 4, "/tmp/merge");
+        cacheStore.writeAll(entries);
+
+        assertTrue("entries left behind: " + entries, entries.isEmpty());
+        assertEquals(3, factory.files.size());
+        for (StubFile file : factory.files.values()) {
+            assertEquals(file.path, List.of(StoreOp.REPLACE), file.storeOps);
+            /* four groups with two datasets each */
+            assertEquals(file.path, 8, file.stored.size());
+            for (int g = 0; g < 4; g += 1) {
+                assertTrue(file.path,
+                        file.stored.contains("/group" + g + "/a"));
+                assertTrue(file.path,
+                        file.stored.contains("/group" + g + "/b"));
+                assertEquals(DataStatus.SUCCESS, auditedStatuses
+                        .get(traceId(file.path, "/group" + g)));
+            }
+        }
+        assertEquals(12, auditedStatuses.size());
+    }
+
+    @Test
+    public void testWriteAllStaysWithinPoolBound() throws Exception {
+        factory.storeDelay = 20;
+        int numPaths = DataStoreCacheStore.IO_THREADS * 3;
+        List<Thread> flushers = new ArrayList<>();
+        List<Throwable> errors = Collections
+                .synchronizedList(new ArrayList<>());
+        /* two caches flushing at once share the one pool */
+        for (String prefix : new String[] { "/tmp/first", "/tmp/second" }) {
+            DataStoreCacheStore cacheStore = new DataStoreCacheStore(factory,
+                    false);
+            List<Entry<? extends DataStoreKey, ? extends DataStoreValue>> entries = entries(
+                    numPaths, 2, prefix);
+            Thread flusher = new Thread(() -> {
+                try {
+                    cacheStore.writeAll(entries);
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            });
+            flushers.add(flusher);
+        }
+        flushers.forEach(Thread::start);
+        for (Thread flusher : flushers) {
+            flusher.join(60_000);
+        }
+
+        assertEquals(List.of(), errors);
+        assertEquals(numPaths * 2, factory.files.size());
+        for (StubFile file : factory.files.values()) {
+            assertEquals(file.path, 1, file.storeOps.size());
+        }
+        /* each pool thread plus each flushing thread running its own files */
+        int bound = DataStoreCacheStore.IO_THREADS + flushers.size();
+        int max = factory.maxConcurrentStores.get();
+        assertTrue("max concurrent stores " + max + " > " + bound,
+                max <= bound);
+        assertTrue("files were not written in parallel", max > 1);
+    }
+
+    @Test
+    public void testFailedFileDoesNotLoseOthers() {
+        factory.failingPaths.add("/tmp/fail1.h5");
+        DataStoreCacheStore cacheStore = new DataStoreCacheStore(factory,
+                false);
+        cacheStore.writeAll(entries(4, 3, "/tmp/fail"));
+
+        for (StubFile file : factory.files.values()) {
+            assertEquals(file.path, 1, file.storeOps.size());
+            boolean failed = factory.failingPaths.contains(file.path);
+            assertEquals(file.path, failed ? 0 : 6, file.stored.size());
+            for (int g = 0; g < 3; g += 1) {
+                assertEquals(file.path,
+                        failed ? DataStatus.FAILURE_ASYNC : DataStatus.SUCCESS,
+                        auditedStatuses.get(traceId(file.path, "/group" + g)));
+            }
+        }
+        assertEquals(4, factory.files.size());
+        assertEquals(12, auditedStatuses.size());
+    }
+
+    @Test
+    public void testLoadAllRetrievesEachFileOnce() {
+        DataStoreCacheStore cacheStore = new DataStoreCacheStore(factory,
+                false);
+        List<DataStoreKey> keys = new ArrayList<>();
+        for (Entry<? extends DataStoreKey, ? extends DataStoreValue> entry : entries(
+                3, 4, "/tmp/load")) {
+            keys.add(entry.getKey());
+        }
+        Map<DataStoreKey, DataStoreValue> loaded = cacheStore.loadAll(keys);
+
+        assertEquals(new HashSet<>(keys), loaded.keySet());
+        for (Map.Entry<DataStoreKey, DataStoreValue> entry : loaded
+                .entrySet()) {
+            DataStoreValue value = entry.getValue();
+            assertEquals(1, value.getRecordCount());
+            assertEquals(entry.getKey().getGroup(),
+                    value.getRecordsAndMetadata()[0].getRecord().getGroup());
+        }
+        assertEquals(3, factory.files.size());
+        for (StubFile file : factory.files.values()) {
+            assertEquals(file.path, 1, file.retrieves.size());
+            assertEquals(file.path, 4, file.retrieves.get(0).size());
+        }
+    }
+
+    private static class SimpleEntry
+            implements Entry<DataStoreKey, DataStoreValue> {
+
+        private final DataStoreKey key;
+
+        private final DataStoreValue value;
+
+        public SimpleEntry(DataStoreKey key, DataStoreValue value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public DataStoreKey getKey() {
+            return key;
+        }
+
+        @Override
+        public DataStoreValue getValue() {
+            return value;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> clazz) {
+            throw new IllegalArgumentException(clazz.getName());
+        }
+    }
+
+    /**
+     * What has been done to one file, across every data store opened on it.
+     */
+    private static class StubFile {
+
+        private final String path;
+
+        /** full names of the records that were successfully stored */
+        private final Set<String> stored = ConcurrentHashMap.newKeySet();
+
+        private final List<StoreOp> storeOps = Collections
+                .synchronizedList(new ArrayList<>());
+
+        private final List<Set<String>> retrieves = Collections
+                .synchronizedList(new ArrayList<>());
+
+        public StubFile(String path) {
+            this.path = path;
+        }
+    }
+
+    private static class StubFactory implements IDataStoreFactory {
+
+        private final Map<String, StubFile> files = new ConcurrentHashMap<>();
+
+        private final Set<String> failingPaths = ConcurrentHashMap
+                .newKeySet();
+
+        private final AtomicInteger concurrentStores = new AtomicInteger();
+
+        private final AtomicInteger maxConcurrentStores = new AtomicInteger();
+
+        private volatile long storeDelay;
+
+        @Override
+        public IDataStore getDataStore(File file, boolean useLocking) {
+            String path = file.getPath();
+            StubFile stubFile = files.computeIfAbsent(path, StubFile::new);
+            return (IDataStore) Proxy.newProxyInstance(
+                    IDataStore.class.getClassLoader(),
+                    new Class<?>[] { IDataStore.class },
+                    new StubStore(this, stubFile));
+        }
+    }
+
+    /**
+     * Handles the few {@link IDataStore} methods the cache store uses.
+     */
+    private static class StubStore implements InvocationHandler {
+
+        private final StubFactory factory;
+
+        private final StubFile file;
+
+        private final List<String> pending = new ArrayList<>();
+
+        public StubStore(StubFactory factory, StubFile file) {
+            this.factory = factory;
+            this.file = file;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable {
+            switch (method.getName()) {
+            case "addDataRecord":
+                IDataRecord record = (IDataRecord) args[0];
+                pending.add(record.getGroup() + "/" + record.getName());
+                return null;
+            case "store":
+                return store((StoreOp) args[0]);
+            case "retrieveGroups":
+                String[] groups = (String[]) args[0];
+                file.retrieves.add(new HashSet<>(Arrays.asList(groups)));
+                IDataRecord[] records = new IDataRecord[groups.length];
+                for (int i = 0; i < groups.length; i += 1) {
+                    records[i] = new ByteDataRecord("a", groups[i],
+                            new byte[] { 1 });
+                }
+                return records;
+            case "getDatasets":
+                return new String[0];
+            default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        private StorageStatus store(StoreOp op) throws Exception {
+            int concurrent = factory.concurrentStores.incrementAndGet();
+            factory.maxConcurrentStores.accumulateAndGet(concurrent,
+                    Math::max);
+            try {
+                file.storeOps.add(op);
+                if (factory.storeDelay > 0) {
+                    Thread.sleep(factory.storeDelay);
+                }
+                if (factory.failingPaths.contains(file.path)) {
+                    throw new StorageException("stub failure: " + file.path,
+                            null);
+                }
+                file.stored.addAll(pending);
+                StorageStatus status = new StorageStatus();
+                status.setOperationPerformed(op);
+                return status;
+            } finally {
+                factory.concurrentStores.decrementAndGet();
+            }
+        }
+    }
+}
@@ -21,21 +21,22 @@ package com.raytheon.uf.common.jms.notification;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.jms.BytesMessage;
 import javax.jms.Connection;
@@ -59,6 +60,14 @@ import com.raytheon.uf.common.status.UFStatus.Priority;
  * isolated threads, so users may perform appropriate operations inside the
  * listener method.
  *
+ * Each observer has its own queue of pending messages which is delivered as a
+ * single batch. Delivery runs on a bounded pool of
+ * jms.notification.threads threads and may be delayed by
+ * jms.notification.batch.window.ms so that a burst of messages is delivered
+ * together. An observer that falls more than {@value #IN_MEM_MESSAGE_LIMIT}
+ * messages behind has messages discarded according to the
+ * jms.notification.overflow.policy, either DROP_OLDEST or COALESCE.
+ *
  * <pre>
  *
  * SOFTWARE HISTORY
@@ -86,6 +95,9 @@ import com.raytheon.uf.common.status.UFStatus.Priority;
  * Jan 16, 2020  8008     randerso    Move topic prefix to QpidUFSession
  * Apr 07, 2022  8836     tgurney     Replace synchronize on "this" with a
  *                                    dedicated lock accessible to subclasses
+ * Oct 19, 2026           kshrestha   Bounded dispatch pool, batching window,
+ *                                    lock free observer lists and overflow
+ *                                    policy.
  *
  * </pre>
  *
@@ -98,6 +110,32 @@ public class JmsNotificationManager
 
     private static final int IN_MEM_MESSAGE_LIMIT = 5000;
 
+    private static final int THREADS = Integer.getInteger(
+            "jms.notification.threads",
+            Math.max(8, 2 * Runtime.getRuntime().availableProcessors()));
+
+    private static final long BATCH_WINDOW_MS = Long
+            .getLong("jms.notification.batch.window.ms", 0L);
+
+    private static final OverflowPolicy OVERFLOW_POLICY = OverflowPolicy
+            .valueOf(System.getProperty("jms.notification.overflow.policy",
+                    OverflowPolicy.DROP_OLDEST.name()));
+
+    /**
+     * How an observer queue that has reached {@link #IN_MEM_MESSAGE_LIMIT}
+     * makes room for new messages.
+     */
+    public enum OverflowPolicy {
+        /** discard the oldest pending message */
+        DROP_OLDEST,
+        /**
+         * discard any new message with the same body as a message that is
+         * already pending for the observer, then discard the oldest if the
+         * queue is still full
+         */
+        COALESCE;
+    }
+
     private static class ListenerKey {
         private final String topic;
 
@@ -166,7 +204,15 @@ public class JmsNotificationManager
 
     protected volatile boolean connected = false;
 
-    protected final ThreadPoolExecutor executorService;
+    protected final ScheduledThreadPoolExecutor executorService;
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong coalescedCount = new AtomicLong();
 
     private final AtomicBoolean reconnectScheduled = new AtomicBoolean(false);
 
@@ -205,9 +251,10 @@ public class JmsNotificationManager
             String notificationThreadNamePrefix) {
         this.connectionFactory = connectionFactory;
         this.listeners = new HashMap<>();
-        executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0,
-                TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+        executorService = new ScheduledThreadPoolExecutor(THREADS,
                 new NamedThreadFactory(notificationThreadNamePrefix));
+        executorService.setKeepAliveTime(60, TimeUnit.SECONDS);
+        executorService.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -315,7 +362,7 @@ public class JmsNotificationManager
                 }
             }
             /* Since threads should not be needed for now, let them finish. */
-            executorService.setKeepAliveTime(0, TimeUnit.SECONDS);
+            executorService.setKeepAliveTime(1, TimeUnit.MILLISECONDS);
             connection = null;
         }
     }
@@ -380,7 +427,7 @@ public class JmsNotificationManager
         synchronized (listeners) {
             NotificationListener listener = listeners.get(key);
             if (listener == null) {
-                listener = new NotificationListener(executorService, queue,
+                listener = new NotificationListener(this, queue,
                         queryString, Type.QUEUE);
                 listeners.put(key, listener);
                 listener.addObserver(obs);
@@ -432,7 +479,7 @@ public class JmsNotificationManager
         synchronized (listeners) {
             NotificationListener listener = listeners.get(key);
             if (listener == null) {
-                listener = new NotificationListener(executorService, topic,
+                listener = new NotificationListener(this, topic,
                         queryString, Type.TOPIC);
                 listeners.put(key, listener);
                 listener.addObserver(obs);
@@ -519,6 +566,37 @@ public class JmsNotificationManager
         }
     }
 
+    /**
+     * @return the number of messages delivered to observers
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * @return the number of calls to
+     *         {@link INotificationObserver#notificationArrived(NotificationMessage[])}
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return the number of messages discarded because an observer fell too
+     *         far behind
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return the number of messages not delivered because an identical
+     *         message was already pending for the observer
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
     /**
      * Connect to JMS
      */
@@ -535,7 +613,7 @@ public class JmsNotificationManager
 
     private static class NotificationListener implements MessageListener {
 
-        private final ExecutorService executorService;
+        private final JmsNotificationManager manager;
 
         private final Type type;
 
@@ -543,21 +621,20 @@ public class JmsNotificationManager
 
         private final String queryString;
 
-        /** The list of interested parties */
-        protected final List<INotificationObserver> observers;
-
-        /** The map of job threads from observers */
-        protected final Map<INotificationObserver, JobWrapper> jobWrappers;
+        /**
+         * The job of each interested party, copy on write so messages are
+         * dispatched without locking
+         */
+        protected final List<JobWrapper> jobWrappers;
 
         protected MessageConsumer consumer;
 
         protected Session session;
 
-        public NotificationListener(ExecutorService executorService, String id,
+        public NotificationListener(JmsNotificationManager manager, String id,
                 String queryString, Type type) {
-            this.executorService = executorService;
-            this.observers = new ArrayList<>();
-            this.jobWrappers = new HashMap<>();
+            this.manager = manager;
+            this.jobWrappers = new CopyOnWriteArrayList<>();
             this.type = type;
             this.id = id;
             this.queryString = queryString;
@@ -636,38 +713,88 @@ public class JmsNotificationManager
 
         @Override
         public void onMessage(Message msg) {
-            synchronized (observers) {
-                for (INotificationObserver obs : observers) {
-                    // Get the corresponding job, creating the
-                    // wrapper if necessary, really on observers lock for sync
-                    // purposes
-                    JobWrapper wrapper = jobWrappers.get(obs);
-                    if (wrapper == null) {
-                        wrapper = new JobWrapper(executorService, obs);
-                        jobWrappers.put(obs, wrapper);
-                    }
-                    wrapper.put(msg);
+            if (!(msg instanceof BytesMessage)) {
+                statusHandler.error(
+                        "Incoming message was not a binary message as expected");
+                return;
+            }
+            PayloadKey key = null;
+            if (OVERFLOW_POLICY == OverflowPolicy.COALESCE) {
+                try {
+                    key = new PayloadKey(
+                            new NotificationMessage(msg).getBodyBytes());
+                } catch (JMSException e) {
+                    statusHandler.handle(Priority.DEBUG,
+                            "Unable to read message body for coalescing", e);
                 }
             }
+            /*
+             * Each observer gets its own notification message so an observer
+             * that modifies the unmarshalled payload does not affect the
+             * others.
+             */
+            for (JobWrapper wrapper : jobWrappers) {
+                wrapper.put(new NotificationMessage(msg), key);
+            }
         }
 
-        public void addObserver(INotificationObserver obs) {
-            synchronized (observers) {
-                observers.add(obs);
+        /**
+         * Add an observer, an observer that is already registered is not
+         * added again so it gets each message once.
+         */
+        public synchronized void addObserver(INotificationObserver obs) {
+            for (JobWrapper wrapper : jobWrappers) {
+                if (wrapper.observer == obs) {
+                    return;
+                }
             }
+            jobWrappers.add(new JobWrapper(manager, obs));
         }
 
-        public void removeObserver(INotificationObserver obs) {
-            synchronized (observers) {
-                observers.remove(obs);
-                jobWrappers.remove(obs);
+        public synchronized void removeObserver(INotificationObserver obs) {
+            for (JobWrapper wrapper : jobWrappers) {
+                if (wrapper.observer == obs) {
+                    jobWrappers.remove(wrapper);
+                    return;
+                }
             }
         }
 
         public int size() {
-            synchronized (observers) {
-                return observers.size();
+            return jobWrappers.size();
+        }
+    }
+
+    /**
+     * Message body used to detect duplicate pending messages.
+     */
+    private static class PayloadKey {
+
+        private final byte[] body;
+
+        private final int hashCode;
+
+        public PayloadKey(byte[] body) {
+            this.body = body;
+            this.hashCode = Arrays.hashCode(body);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
             }
+            if (!(obj instanceof PayloadKey)) {
+                return false;
+            }
+            PayloadKey other = (PayloadKey) obj;
+            return hashCode == other.hashCode
+                    && Arrays.equals(body, other.body);
         }
     }
 
@@ -678,49 +805,60 @@ public class JmsNotificationManager
      */
     private static class JobWrapper implements Runnable {
 
-        protected final ExecutorService executorService;
+        protected final JmsNotificationManager manager;
 
-        protected java.util.Queue<Message> messages;
+        protected final INotificationObserver observer;
 
-        protected INotificationObserver observer;
+        /** pending messages, guarded by this */
+        protected final ArrayDeque<NotificationMessage> messages = new ArrayDeque<>();
 
-        protected long lastErrorPrintTime = 0;
+        /** keys of pending messages when coalescing, guarded by this */
+        protected final Map<NotificationMessage, PayloadKey> pendingKeys;
 
-        protected AtomicInteger messageCount;
+        protected final Set<PayloadKey> pendingPayloads;
 
-        protected Future<?> lastRun;
+        /** true while a run is scheduled or executing, guarded by this */
+        protected boolean scheduled = false;
 
-        public JobWrapper(ExecutorService executorService,
+        protected long lastErrorPrintTime = 0;
+
+        public JobWrapper(JmsNotificationManager manager,
                 INotificationObserver observer) {
-            // super("Alert thread for " + observer);
+            this.manager = manager;
             this.observer = observer;
-            this.messages = new ConcurrentLinkedQueue<>();
-            this.messageCount = new AtomicInteger(0);
-            this.executorService = executorService;
+            if (OVERFLOW_POLICY == OverflowPolicy.COALESCE) {
+                pendingKeys = new HashMap<>();
+                pendingPayloads = new HashSet<>();
+            } else {
+                pendingKeys = null;
+                pendingPayloads = null;
+            }
         }
 
         @Override
         public void run() {
-            List<NotificationMessage> messageList = new ArrayList<>();
             // one error log messages per execution of job
             boolean errorLogged = false;
-            while (!this.messages.isEmpty()) {
-
-                while (!this.messages.isEmpty()) {
-                    messageCount.decrementAndGet();
-                    Message msg = messages.remove();
-
-                    if (!(msg instanceof BytesMessage)) {
-                        statusHandler.error(
-                                "Incoming message was not a binary message as expected");
-                    } else {
-                        messageList.add(new NotificationMessage(msg));
+            while (true) {
+                NotificationMessage[] messageList;
+                synchronized (this) {
+                    if (messages.isEmpty()) {
+                        scheduled = false;
+                        return;
+                    }
+                    messageList = messages
+                            .toArray(new NotificationMessage[messages.size()]);
+                    messages.clear();
+                    if (pendingKeys != null) {
+                        pendingKeys.clear();
+                        pendingPayloads.clear();
                     }
                 }
 
+                manager.batchCount.incrementAndGet();
+                manager.deliveredCount.addAndGet(messageList.length);
                 try {
-                    observer.notificationArrived(messageList.toArray(
-                            new NotificationMessage[messageList.size()]));
+                    observer.notificationArrived(messageList);
                 } catch (Throwable e) {
                     if (!errorLogged) {
                         statusHandler.error(
@@ -728,7 +866,6 @@ public class JmsNotificationManager
                         errorLogged = true;
                     }
                 }
-                messageList.clear();
             }
         }
 
@@ -737,23 +874,49 @@ public class JmsNotificationManager
          *
          * @param msg
          *            the msg
+         * @param key
+         *            the message body when coalescing, otherwise null
          */
-        public void put(Message msg) {
-            messages.offer(msg);
-            if (messageCount.incrementAndGet() > IN_MEM_MESSAGE_LIMIT) {
-                messageCount.decrementAndGet();
-                messages.remove();
-                if (System.currentTimeMillis() - lastErrorPrintTime > Duration
-                        .of(10, ChronoUnit.MINUTES).toMillis()) {
-                    statusHandler
-                            .error("Message queue size exceeded for observer "
-                                    + observer
-                                    + ", old messages will be replaced by incoming messages.");
-                    lastErrorPrintTime = System.currentTimeMillis();
+        public void put(NotificationMessage msg, PayloadKey key) {
+            boolean overflow = false;
+            synchronized (this) {
+                if (key != null && pendingPayloads != null) {
+                    if (!pendingPayloads.add(key)) {
+                        manager.coalescedCount.incrementAndGet();
+                        return;
+                    }
+                    pendingKeys.put(msg, key);
+                }
+                messages.offer(msg);
+                if (messages.size() > IN_MEM_MESSAGE_LIMIT) {
+                    NotificationMessage dropped = messages.remove();
+                    if (pendingKeys != null) {
+                        PayloadKey droppedKey = pendingKeys.remove(dropped);
+                        if (droppedKey != null) {
+                            pendingPayloads.remove(droppedKey);
+                        }
+                    }
+                    manager.droppedCount.incrementAndGet();
+                    long now = System.currentTimeMillis();
+                    if (now - lastErrorPrintTime > Duration
+                            .of(10, ChronoUnit.MINUTES).toMillis()) {
+                        lastErrorPrintTime = now;
+                        overflow = true;
+                    }
+                }
+                if (!scheduled) {
+                    scheduled = true;
+                    manager.executorService.schedule(this, BATCH_WINDOW_MS,
+                            TimeUnit.MILLISECONDS);
                 }
             }
-            if (lastRun == null || lastRun.isDone()) {
-                lastRun = executorService.submit(this);
+            if (overflow) {
+                statusHandler.error("Message queue size exceeded for observer "
+                        + observer
+                        + ", old messages will be replaced by incoming messages. "
+                        + manager.droppedCount.get() + " messages dropped and "
+                        + manager.coalescedCount.get()
+                        + " coalesced in total.");
             }
         }
 
@@ -46,6 +46,7 @@ import com.raytheon.uf.common.util.DataUnzipper;
  * Aug 16, 2013  2169     bkowal      Unzip any gzipped information
  * Jul 21, 2014  3390     bsteffen    Move to common.jms.notification
  * Sep 12, 2014  3582     mapeters    Throw exception if jmsMessage isn't instance of BytesMessage.
+ * Oct 19, 2026           kshrestha   Unmarshal at most once, added getBodyBytes.
  * 
  * </pre>
  * 
@@ -58,7 +59,7 @@ public class NotificationMessage {
     private final Message jmsMessage;
 
     /** An unmarshalled object cached for future use */
-    private Object unmarshalledObject;
+    private volatile Object unmarshalledObject;
 
     /**
      * Construct a notification message from a JMS message
@@ -86,6 +87,9 @@ public class NotificationMessage {
 
         if (this.unmarshalledObject == null) {
             synchronized (jmsMessage) {
+                if (this.unmarshalledObject != null) {
+                    return this.unmarshalledObject;
+                }
                 try {
                     // Support messages serialized in binary or XML format
                     if (this.jmsMessage instanceof BytesMessage) {
@@ -120,6 +124,21 @@ public class NotificationMessage {
         return this.unmarshalledObject;
     }
 
+    /**
+     * @return the raw bytes of the message body, only valid for a
+     *         {@link BytesMessage}
+     * @throws JMSException
+     */
+    byte[] getBodyBytes() throws JMSException {
+        synchronized (jmsMessage) {
+            BytesMessage bytesMessage = (BytesMessage) jmsMessage;
+            bytesMessage.reset();
+            byte[] data = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(data);
+            return data;
+        }
+    }
+
     /**
      * Return a list of properties
      * 
@@ -91,6 +91,8 @@ import com.raytheon.uf.common.status.UFStatus.Priority;
  *                                  SEPARATOR.
  * Oct 07, 2021  8673     randerso  Add logging to attempt to determine why
  *                                  LocalizationFile.isNull() is returning true.
+ * Oct 19, 2026           kshrestha Populate fileCache atomically instead of
+ *                                  synchronizing on it, added getAdapter()
  *
  * </pre>
  *
@@ -126,6 +128,13 @@ public class PathManager implements IPathManager {
         this.listenerMap = new ConcurrentHashMap<>();
     }
 
+    /**
+     * @return the adapter used to resolve localization files
+     */
+    public ILocalizationAdapter getAdapter() {
+        return adapter;
+    }
+
     @Override
     public File getStaticFile(String name) {
         LocalizationFile locFile = getStaticLocalizationFile(name);
@@ -325,12 +334,10 @@ public class PathManager implements IPathManager {
             }
 
             if (entry != null) {
-                synchronized (fileCache) {
-                    for (ListResponse lr : entry) {
-                        LocalizationFile file = createFromResponse(lr);
-                        if (!file.isNull()) {
-                            availableFiles.put(file.getContext(), file);
-                        }
+                for (ListResponse lr : entry) {
+                    LocalizationFile file = createFromResponse(lr);
+                    if (!file.isNull()) {
+                        availableFiles.put(file.getContext(), file);
                     }
                 }
             }
@@ -348,8 +355,9 @@ public class PathManager implements IPathManager {
     }
 
     /**
-     * Creates a LocalizationFile from a {@link ListResponse}, callers need to
-     * synchronize on fileCache before calling
+     * Creates a LocalizationFile from a {@link ListResponse}, or returns the
+     * cached instance if one exists. The cache provided by the adapter must be
+     * a concurrent map so the lookup and insertion are atomic.
      *
      * @param response
      * @return
@@ -361,20 +369,20 @@ public class PathManager implements IPathManager {
         LocalizationFile lf = fileCache.get(key);
         if (lf == null) {
             // Not in cache
-            File file = this.adapter.getPath(response.context,
-                    response.fileName);
-            if (file != null) {
-                // No cache file available but path is resolved, create
-                lf = new LocalizationFile(this.adapter, response.context, file,
-                        response.date, response.fileName, response.checkSum,
-                        response.isDirectory);
-            } else {
+            lf = fileCache.computeIfAbsent(key, k -> {
+                File file = this.adapter.getPath(response.context,
+                        response.fileName);
+                if (file != null) {
+                    // No cache file available but path is resolved, create
+                    return new LocalizationFile(this.adapter, response.context,
+                            file, response.date, response.fileName,
+                            response.checkSum, response.isDirectory);
+                }
                 // file does not exist
-                lf = new LocalizationFile(this.adapter, response.context, null,
-                        null, response.fileName,
+                return new LocalizationFile(this.adapter, response.context,
+                        null, null, response.fileName,
                         ILocalizationFile.NON_EXISTENT_CHECKSUM, false);
-            }
-            fileCache.put(key, lf);
+            });
         }
         return lf;
     }
@@ -403,14 +411,12 @@ public class PathManager implements IPathManager {
             ListResponse[] entries = this.adapter.listDirectory(contexts, name,
                     eagerFilter, recursive, filesOnly);
 
-            synchronized (fileCache) {
-                for (ListResponse entry : entries) {
-                    if (entry.isDirectory
-                            || matchesExtension(entry.fileName, filter)) {
-                        LocalizationFile file = createFromResponse(entry);
-                        if (file.exists()) {
-                            files.add(file);
-                        }
+            for (ListResponse entry : entries) {
+                if (entry.isDirectory
+                        || matchesExtension(entry.fileName, filter)) {
+                    LocalizationFile file = createFromResponse(entry);
+                    if (file.exists()) {
+                        files.add(file);
                     }
                 }
             }
@@ -29,6 +29,7 @@ package com.raytheon.uf.common.numeric.source;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Dec 12, 2012            bsteffen     Initial creation
+ * Oct 19, 2026            kshrestha    Expose tile size and grid dimensions.
  * 
  * </pre>
  * 
@@ -71,6 +72,18 @@ public abstract class AbstractTiledDataSource implements DataSource {
         return tile.getDataValue(newX, newY);
     }
 
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getNx() {
+        return nx;
+    }
+
+    public int getNy() {
+        return ny;
+    }
+
     protected abstract DataSource getTile(int startX, int startY, int width,
             int height);
 
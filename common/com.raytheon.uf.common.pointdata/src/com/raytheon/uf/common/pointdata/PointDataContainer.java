@@ -60,6 +60,8 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * ------------- -------- ----------- --------------------------
  * Apr 08, 2009           chammack    Initial creation
  * Dec 02, 2013  2537     bsteffen    Remove ISerializableObject
+ * Oct 19, 2026           kshrestha   Added combine(List)
+ * Oct 19, 2026           kshrestha   Added cursor(), amortized append growth
  * 
  * </pre>
  * 
@@ -293,6 +295,28 @@ public class PointDataContainer {
         return pdv;
     }
 
+    /**
+     * Create a cursor for reading the named parameters of every observation in
+     * this container. Columns are addressed in the cursor by their position in
+     * the parameters argument.
+     * 
+     * @param parameters
+     *            the parameters to read
+     * @return a new cursor positioned before the first observation
+     * @throws IllegalArgumentException
+     *             if a parameter is not present
+     */
+    public PointDataCursor cursor(String... parameters) {
+        AbstractPointDataObject<?>[] columns = new AbstractPointDataObject<?>[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            columns[i] = getParamSafe(parameters[i]);
+            if (columns[i].getContainer() == null) {
+                columns[i].setContainer(this);
+            }
+        }
+        return new PointDataCursor(this, columns);
+    }
+
     public IDataRecord getParameterRecord(String param) {
         AbstractPointDataObject<?> pdo = this.pointDataTypes.get(param);
         if (pdo == null) {
@@ -339,7 +363,12 @@ public class PointDataContainer {
     }
 
     private void resizeAll(double ratio) {
-        int newSize = (int) (allocatedSz * ratio);
+        /*
+         * A container built or deserialized with no allocation would otherwise
+         * never grow, keep the growth geometric from a sensible minimum.
+         */
+        int newSize = Math.max((int) (allocatedSz * ratio),
+                Math.max(currentSz + 1, DEFAULT_SZ / 8));
         for (AbstractPointDataObject<?> apdo : this.pointDataTypes.values()) {
             if (apdo.getDimensions() == 2) {
                 apdo.resize(newSize * apdo.getDescription().getDimensionAsInt());
@@ -370,6 +399,33 @@ public class PointDataContainer {
         this.allocatedSz += container2.allocatedSz;
     }
 
+    /**
+     * Appends all the containers to this container. Unlike repeated calls to
+     * {@link #combine(PointDataContainer)}, each parameter is sized once for
+     * the total and every value is copied exactly once.
+     * 
+     * @param containers
+     *            containers with the same parameters as this container
+     */
+    public void combine(List<PointDataContainer> containers) {
+        if (containers.isEmpty()) {
+            return;
+        }
+        List<AbstractPointDataObject<?>> others = new ArrayList<>(
+                containers.size());
+        for (Entry<String, AbstractPointDataObject<?>> entry : this.pointDataTypes
+                .entrySet()) {
+            others.clear();
+            for (PointDataContainer container : containers) {
+                others.add(container.pointDataTypes.get(entry.getKey()));
+            }
+            entry.getValue().combine(others);
+        }
+        for (PointDataContainer container : containers) {
+            this.allocatedSz += container.allocatedSz;
+        }
+    }
+
     /**
      * Increments the indices of views
      * 
@@ -0,0 +1,238 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pointdata;
+
+import com.raytheon.uf.common.pointdata.PointDataDescription.Type;
+import com.raytheon.uf.common.pointdata.elements.AbstractPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.FloatPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.IntPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.LongPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.StringPointDataObject;
+
+/**
+ * Forward only reader over the rows of a {@link PointDataContainer}. The
+ * parameters are resolved once when the cursor is created and are then
+ * addressed by column index, the position of the parameter in the list passed
+ * to {@link PointDataContainer#cursor(String...)}. Reading does no map lookups
+ * and allocates nothing per row, values are read directly out of the backing
+ * primitive arrays, so this should be preferred over {@link PointDataView}
+ * when iterating every observation in a large container.
+ *
+ * <pre>
+ *
+ * Typical usage:
+ *
+ * PointDataCursor cursor = container.cursor("temperature", "dewpoint");
+ * while (cursor.next()) {
+ *     float t = cursor.getFloat(0);
+ *     float td = cursor.getFloat(1);
+ * }
+ *
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class PointDataCursor {
+
+    private final PointDataContainer container;
+
+    private final AbstractPointDataObject<?>[] columns;
+
+    /** number of levels per row for each column, 1 for 1D parameters */
+    private final int[] strides;
+
+    private int row = -1;
+
+    PointDataCursor(PointDataContainer container,
+            AbstractPointDataObject<?>[] columns) {
+        this.container = container;
+        this.columns = columns;
+        this.strides = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            AbstractPointDataObject<?> p = columns[i];
+            if (p.getDimensions() == 2) {
+                strides[i] = p.getDescription().getDimensionAsInt();
+            } else {
+                strides[i] = 1;
+            }
+        }
+    }
+
+    /**
+     * Advance to the next row.
+     *
+     * @return false if there are no more rows
+     */
+    public boolean next() {
+        if (row + 1 >= container.getCurrentSz()) {
+            return false;
+        }
+        row += 1;
+        return true;
+    }
+
+    /**
+     * Position the cursor on a specific row, subsequent calls to
+     * {@link #next()} continue from that row.
+     *
+     * @param row
+     */
+    public void moveTo(int row) {
+        if (row < 0 || row >= container.getCurrentSz()) {
+            throw new IndexOutOfBoundsException(
+                    "Row " + row + ", current size is: "
+                            + container.getCurrentSz());
+        }
+        this.row = row;
+    }
+
+    /**
+     * Reposition before the first row so the container can be iterated again.
+     */
+    public void reset() {
+        this.row = -1;
+    }
+
+    /**
+     * @return the current row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return the number of columns this cursor was created with
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public String getParameterName(int column) {
+        return columns[column].getParameterName();
+    }
+
+    public Type getType(int column) {
+        return columns[column].getDescription().getType();
+    }
+
+    /**
+     * @param column
+     * @return the number of levels in the column, 1 for 1D parameters
+     */
+    public int getLevels(int column) {
+        return strides[column];
+    }
+
+    public int getInt(int column) {
+        return getInt(column, 0);
+    }
+
+    public int getInt(int column, int level) {
+        AbstractPointDataObject<?> p = columns[column];
+        if (p instanceof IntPointDataObject) {
+            return ((IntPointDataObject) p).getInt(index(column, level));
+        }
+        throw notNative(column, "an int");
+    }
+
+    public float getFloat(int column) {
+        return getFloat(column, 0);
+    }
+
+    public float getFloat(int column, int level) {
+        AbstractPointDataObject<?> p = columns[column];
+        if (p instanceof FloatPointDataObject) {
+            return ((FloatPointDataObject) p).getFloat(index(column, level));
+        }
+        throw notNative(column, "a float");
+    }
+
+    public long getLong(int column) {
+        return getLong(column, 0);
+    }
+
+    public long getLong(int column, int level) {
+        AbstractPointDataObject<?> p = columns[column];
+        if (p instanceof LongPointDataObject) {
+            return ((LongPointDataObject) p).getLong(index(column, level));
+        }
+        throw notNative(column, "a long");
+    }
+
+    public String getString(int column) {
+        return getString(column, 0);
+    }
+
+    public String getString(int column, int level) {
+        AbstractPointDataObject<?> p = columns[column];
+        if (p instanceof StringPointDataObject) {
+            return ((StringPointDataObject) p).getString(index(column, level));
+        }
+        throw notNative(column, "a string");
+    }
+
+    /**
+     * Read any numeric column as a double without boxing.
+     *
+     * @param column
+     * @param level
+     * @return the value
+     */
+    public double getDouble(int column, int level) {
+        AbstractPointDataObject<?> p = columns[column];
+        int idx = index(column, level);
+        if (p instanceof FloatPointDataObject) {
+            return ((FloatPointDataObject) p).getFloat(idx);
+        } else if (p instanceof IntPointDataObject) {
+            return ((IntPointDataObject) p).getInt(idx);
+        } else if (p instanceof LongPointDataObject) {
+            return ((LongPointDataObject) p).getLong(idx);
+        }
+        throw notNative(column, "a numeric");
+    }
+
+    public double getDouble(int column) {
+        return getDouble(column, 0);
+    }
+
+    private int index(int column, int level) {
+        if (row < 0) {
+            throw new IllegalStateException(
+                    "Cursor is not positioned on a row");
+        }
+        int stride = strides[column];
+        if (level != 0 && level >= stride) {
+            throw new IllegalArgumentException("Level  " + level
+                    + " exceeds maxLevel size " + stride);
+        }
+        return row * stride + level;
+    }
+
+    private IllegalArgumentException notNative(int column, String type) {
+        return new IllegalArgumentException("Parameter "
+                + getParameterName(column) + " is not natively " + type
+                + " type.");
+    }
+}
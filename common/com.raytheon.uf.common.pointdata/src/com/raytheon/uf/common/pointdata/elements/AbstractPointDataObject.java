@@ -19,7 +19,9 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.lang.reflect.Array;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -41,6 +43,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * ------------- -------- ----------- --------------------------
  * Apr 08, 2009           chammack    Initial creation
  * Dec 02, 2013  2537     bsteffen    Remove ISerializableObject
+ * Oct 19, 2026           kshrestha   Added combine(List)
  * 
  * 
  * </pre>
@@ -109,6 +112,41 @@ public abstract class AbstractPointDataObject<A> {
 
     public abstract void combine(AbstractPointDataObject<?> obj);
 
+    /**
+     * Appends the data of all the objects to the data of this object in a
+     * single allocation, so each value is copied exactly once.
+     * 
+     * @param objs
+     *            objects of the same type as this object
+     */
+    @SuppressWarnings("unchecked")
+    public void combine(List<AbstractPointDataObject<?>> objs) {
+        A data = getStoredData();
+        int length = Array.getLength(data);
+        for (AbstractPointDataObject<?> obj : objs) {
+            length += Array.getLength(obj.getStoredData());
+        }
+        A combined = (A) Array.newInstance(
+                data.getClass().getComponentType(), length);
+        int offset = Array.getLength(data);
+        System.arraycopy(data, 0, combined, 0, offset);
+        for (AbstractPointDataObject<?> obj : objs) {
+            Object src = obj.getStoredData();
+            int srcLength = Array.getLength(src);
+            System.arraycopy(src, 0, combined, offset, srcLength);
+            offset += srcLength;
+        }
+        setStoredData(combined);
+    }
+
+    /**
+     * @return the whole backing array, unlike {@link #getData()} which is
+     *         limited to the current size of the container
+     */
+    abstract A getStoredData();
+
+    abstract void setStoredData(A data);
+
     protected void setProperties(IDataRecord rec) {
         if (description.getUnit() != null) {
             Map<String, Object> attribs = new HashMap<String, Object>();
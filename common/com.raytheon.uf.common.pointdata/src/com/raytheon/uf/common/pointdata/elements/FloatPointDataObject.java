@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.Arrays;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,8 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026           kshrestha    Added stored data accessors
+ * Oct 19, 2026           kshrestha    Fill resized arrays with Arrays.fill
  * 
  * </pre>
  * 
@@ -116,9 +120,7 @@ public class FloatPointDataObject extends AbstractPointDataObject<float[]> {
         float[] newData = new float[sz];
         System.arraycopy(floatData, 0, newData, 0, floatData.length);
         int fill = description.getFillValue().intValue();
-        for (int i = this.floatData.length; i < newData.length; i++) {
-            newData[i] = fill;
-        }
+        Arrays.fill(newData, this.floatData.length, newData.length, fill);
 
         this.floatData = newData;
     }
@@ -185,4 +187,14 @@ public class FloatPointDataObject extends AbstractPointDataObject<float[]> {
         this.floatData = d;
     }
 
+    @Override
+    float[] getStoredData() {
+        return floatData;
+    }
+
+    @Override
+    void setStoredData(float[] data) {
+        this.floatData = data;
+    }
+
 }
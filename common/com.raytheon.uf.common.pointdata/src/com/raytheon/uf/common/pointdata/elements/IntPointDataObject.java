@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.Arrays;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026           kshrestha    Added stored data accessors
  * 
  * </pre>
  * 
@@ -115,9 +118,7 @@ public class IntPointDataObject extends AbstractPointDataObject<int[]> {
         int[] newData = new int[sz];
         System.arraycopy(intData, 0, newData, 0, intData.length);
         int fill = description.getFillValue().intValue();
-        for (int i = this.intData.length; i < newData.length; i++) {
-            newData[i] = fill;
-        }
+        Arrays.fill(newData, this.intData.length, newData.length, fill);
 
         this.intData = newData;
     }
@@ -186,4 +187,14 @@ public class IntPointDataObject extends AbstractPointDataObject<int[]> {
         this.intData = d;
     }
 
+    @Override
+    int[] getStoredData() {
+        return intData;
+    }
+
+    @Override
+    void setStoredData(int[] data) {
+        this.intData = data;
+    }
+
 }
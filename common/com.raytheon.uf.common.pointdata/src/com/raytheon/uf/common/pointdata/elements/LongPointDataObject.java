@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.Arrays;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026           kshrestha    Added stored data accessors
  * 
  * </pre>
  * 
@@ -111,9 +114,7 @@ public class LongPointDataObject extends AbstractPointDataObject<long[]> {
         long[] newData = new long[sz];
         System.arraycopy(longData, 0, newData, 0, longData.length);
         int fill = description.getFillValue().intValue();
-        for (int i = this.longData.length; i < newData.length; i++) {
-            newData[i] = fill;
-        }
+        Arrays.fill(newData, this.longData.length, newData.length, fill);
 
         this.longData = newData;
     }
@@ -182,4 +183,14 @@ public class LongPointDataObject extends AbstractPointDataObject<long[]> {
         this.longData = d;
     }
 
+    @Override
+    long[] getStoredData() {
+        return longData;
+    }
+
+    @Override
+    void setStoredData(long[] data) {
+        this.longData = data;
+    }
+
 }
@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.Arrays;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -39,6 +41,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 19, 2026           kshrestha    Added stored data accessors
  * 
  * </pre>
  * 
@@ -116,9 +119,7 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
         String[] newData = new String[sz];
         System.arraycopy(stringData, 0, newData, 0, stringData.length);
         String fill = "";
-        for (int i = this.stringData.length; i < newData.length; i++) {
-            newData[i] = fill;
-        }
+        Arrays.fill(newData, this.stringData.length, newData.length, fill);
 
         this.stringData = newData;
     }
@@ -188,4 +189,14 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
                 intP.stringData.length);
         this.stringData = d;
     }
+
+    @Override
+    String[] getStoredData() {
+        return stringData;
+    }
+
+    @Override
+    void setStoredData(String[] data) {
+        this.stringData = data;
+    }
 }
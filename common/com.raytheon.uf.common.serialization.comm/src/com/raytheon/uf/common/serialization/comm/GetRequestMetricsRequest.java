@@ -0,0 +1,58 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.comm;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+import com.raytheon.uf.common.serialization.comm.response.RequestMetricsResponse;
+
+/**
+ * Request for the latency, throughput and response size metrics the request
+ * service keeps for each request type, returns a
+ * {@link RequestMetricsResponse}. The metrics are for the server that handles
+ * the request only.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+@DynamicSerialize
+public class GetRequestMetricsRequest implements IServerRequest {
+
+    /** Whether to also return the metrics for each user */
+    @DynamicSerializeElement
+    private boolean includeUsers;
+
+    public boolean isIncludeUsers() {
+        return includeUsers;
+    }
+
+    public void setIncludeUsers(boolean includeUsers) {
+        this.includeUsers = includeUsers;
+    }
+}
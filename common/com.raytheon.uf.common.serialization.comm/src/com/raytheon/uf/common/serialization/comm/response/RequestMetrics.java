@@ -0,0 +1,190 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.comm.response;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+
+/**
+ * Metrics for the requests of one request type or one user, part of a
+ * {@link RequestMetricsResponse}. The percentiles come from histograms with
+ * buckets about 25% wide so they are approximate.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+@DynamicSerialize
+public class RequestMetrics {
+
+    /** Request class or user name */
+    @DynamicSerializeElement
+    private String name;
+
+    @DynamicSerializeElement
+    private long requestCount;
+
+    /** Requests that threw an exception */
+    @DynamicSerializeElement
+    private long errorCount;
+
+    /** Requests being handled when the metrics were taken */
+    @DynamicSerializeElement
+    private int inFlight;
+
+    /** Latencies in milliseconds */
+    @DynamicSerializeElement
+    private double meanLatency;
+
+    @DynamicSerializeElement
+    private double medianLatency;
+
+    @DynamicSerializeElement
+    private double latency95;
+
+    @DynamicSerializeElement
+    private double latency99;
+
+    @DynamicSerializeElement
+    private double maxLatency;
+
+    /** Serialized response sizes in bytes */
+    @DynamicSerializeElement
+    private long meanResponseSize;
+
+    @DynamicSerializeElement
+    private long responseSize95;
+
+    @DynamicSerializeElement
+    private long maxResponseSize;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public void setRequestCount(long requestCount) {
+        this.requestCount = requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public double getMeanLatency() {
+        return meanLatency;
+    }
+
+    public void setMeanLatency(double meanLatency) {
+        this.meanLatency = meanLatency;
+    }
+
+    public double getMedianLatency() {
+        return medianLatency;
+    }
+
+    public void setMedianLatency(double medianLatency) {
+        this.medianLatency = medianLatency;
+    }
+
+    public double getLatency95() {
+        return latency95;
+    }
+
+    public void setLatency95(double latency95) {
+        this.latency95 = latency95;
+    }
+
+    public double getLatency99() {
+        return latency99;
+    }
+
+    public void setLatency99(double latency99) {
+        this.latency99 = latency99;
+    }
+
+    public double getMaxLatency() {
+        return maxLatency;
+    }
+
+    public void setMaxLatency(double maxLatency) {
+        this.maxLatency = maxLatency;
+    }
+
+    public long getMeanResponseSize() {
+        return meanResponseSize;
+    }
+
+    public void setMeanResponseSize(long meanResponseSize) {
+        this.meanResponseSize = meanResponseSize;
+    }
+
+    public long getResponseSize95() {
+        return responseSize95;
+    }
+
+    public void setResponseSize95(long responseSize95) {
+        this.responseSize95 = responseSize95;
+    }
+
+    public long getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    public void setMaxResponseSize(long maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s: %d requests, %d errors, %d in flight, latency mean %.1fms median %.1fms 95%% %.1fms 99%% %.1fms max %.1fms, response size mean %d 95%% %d max %d",
+                name, requestCount, errorCount, inFlight, meanLatency,
+                medianLatency, latency95, latency99, maxLatency,
+                meanResponseSize, responseSize95, maxResponseSize);
+    }
+}
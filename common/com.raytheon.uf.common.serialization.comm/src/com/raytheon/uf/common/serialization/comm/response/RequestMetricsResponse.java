@@ -0,0 +1,93 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.comm.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+
+/**
+ * Response to a GetRequestMetricsRequest.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+@DynamicSerialize
+public class RequestMetricsResponse {
+
+    /** Server the metrics were collected on */
+    @DynamicSerializeElement
+    private String server;
+
+    /** Time in millis that the metrics were first collected */
+    @DynamicSerializeElement
+    private long startTime;
+
+    /** Metrics for each request class */
+    @DynamicSerializeElement
+    private List<RequestMetrics> requestTypes = new ArrayList<>();
+
+    /** Metrics for each user, if they were requested */
+    @DynamicSerializeElement
+    private List<RequestMetrics> users = new ArrayList<>();
+
+    public String getServer() {
+        return server;
+    }
+
+    public void setServer(String server) {
+        this.server = server;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public List<RequestMetrics> getRequestTypes() {
+        return requestTypes;
+    }
+
+    public void setRequestTypes(List<RequestMetrics> requestTypes) {
+        this.requestTypes = requestTypes;
+    }
+
+    public List<RequestMetrics> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<RequestMetrics> users) {
+        this.users = users;
+    }
+}
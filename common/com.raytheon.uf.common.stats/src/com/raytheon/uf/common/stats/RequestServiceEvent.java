@@ -0,0 +1,157 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.stats;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+
+/**
+ * Event for the requests of one type handled by a request service over an
+ * export interval.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+@DynamicSerialize
+public class RequestServiceEvent extends StatisticsEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Map<String, String> FIELD_UNIT_MAP;
+    static {
+        Map<String, String> m = new HashMap<>();
+        m.put("requestCount", "Count");
+        m.put("meanLatency", "ms");
+        m.put("maxLatency", "ms");
+        m.put("meanResponseSize", "Byte");
+        FIELD_UNIT_MAP = Collections.unmodifiableMap(m);
+    }
+
+    /** Simple class name of the requests */
+    @DynamicSerializeElement
+    private String requestType;
+
+    /** Server that handled the requests */
+    @DynamicSerializeElement
+    private String server;
+
+    @DynamicSerializeElement
+    private long requestCount;
+
+    @DynamicSerializeElement
+    private long errorCount;
+
+    /** Mean time to handle a request in ms */
+    @DynamicSerializeElement
+    private long meanLatency;
+
+    /** Longest time to handle a request in ms */
+    @DynamicSerializeElement
+    private long maxLatency;
+
+    /** Mean serialized response size in bytes */
+    @DynamicSerializeElement
+    private long meanResponseSize;
+
+    @Override
+    protected Map<String, String> getFieldUnitMap() {
+        return FIELD_UNIT_MAP;
+    }
+
+    public String getRequestType() {
+        return requestType;
+    }
+
+    public void setRequestType(String requestType) {
+        this.requestType = requestType;
+    }
+
+    public String getServer() {
+        return server;
+    }
+
+    public void setServer(String server) {
+        this.server = server;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public void setRequestCount(long requestCount) {
+        this.requestCount = requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public long getMeanLatency() {
+        return meanLatency;
+    }
+
+    public void setMeanLatency(long meanLatency) {
+        this.meanLatency = meanLatency;
+    }
+
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    public void setMaxLatency(long maxLatency) {
+        this.maxLatency = maxLatency;
+    }
+
+    public long getMeanResponseSize() {
+        return meanResponseSize;
+    }
+
+    public void setMeanResponseSize(long meanResponseSize) {
+        this.meanResponseSize = meanResponseSize;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " : " + requestType + " " + requestCount
+                + " requests";
+    }
+
+    @Override
+    public void finalizeEvent() {
+        // not implemented
+    }
+}
@@ -22,7 +22,6 @@ package com.raytheon.uf.common.style;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -63,6 +62,8 @@ import com.raytheon.uf.common.style.level.Level;
  * Mar 10, 2015  4231     nabowle   Watch for changes to loaded style rules and
  *                                  reload them.
  * Apr 16, 2020  8145     randerso  Updated to allow new sample formatting
+ * Oct 19, 2026           kshrestha Find matching rules with a StyleRuleIndex
+ *                                  built when rules are loaded.
  *
  * </pre>
  *
@@ -94,7 +95,7 @@ public class StyleManager implements ILocalizationFileObserver {
 
     private static final StyleManager instance = new StyleManager();
 
-    private Map<IStyleType, StyleRuleset> rules = new ConcurrentHashMap<>();
+    private Map<IStyleType, StyleRuleIndex> rules = new ConcurrentHashMap<>();
 
     private JAXBManager jaxbMgr;
 
@@ -138,7 +139,7 @@ public class StyleManager implements ILocalizationFileObserver {
                             LocalizationType.COMMON_STATIC),
                     CONFIG_DIR, aType.getExtensions(), true, true);
             StyleRuleset ruleset = createRuleset(commonFiles);
-            this.rules.put(aType, ruleset);
+            this.rules.put(aType, new StyleRuleIndex(ruleset));
         } catch (Exception e) {
             statusHandler.handle(Priority.PROBLEM, "Error loading style rules",
                     e);
@@ -243,25 +244,11 @@ public class StyleManager implements ILocalizationFileObserver {
                 loadRules(aStyleType);
             }
         }
-        StyleRuleset set = this.rules.get(aStyleType);
-        StyleRule bestMatch = null;
-        if (set != null) {
-            List<StyleRule> rules = set.getStyleRules();
-            int matchRank = 0;
-            try {
-                for (StyleRule rule : rules) {
-                    int value = aCriteria.matches(rule.getMatchCriteria());
-                    if (value > matchRank) {
-                        matchRank = value;
-                        bestMatch = rule;
-                    }
-                }
-            } catch (Exception e) {
-                throw new StyleException("Error determining matching rules.",
-                        e);
-            }
+        StyleRuleIndex index = this.rules.get(aStyleType);
+        if (index == null) {
+            return null;
         }
-        return bestMatch;
+        return index.getStyleRule(aCriteria);
     }
 
     public static double[] calculateMinMax(double level, double minLevel,
@@ -300,7 +287,8 @@ public class StyleManager implements ILocalizationFileObserver {
             }
         }
 
-        return rules.get(st);
+        StyleRuleIndex index = rules.get(st);
+        return index == null ? null : index.getRuleset();
     }
 
     /**
@@ -0,0 +1,345 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.style;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.raytheon.uf.common.style.level.Level;
+import com.raytheon.uf.common.style.level.Level.LevelType;
+import com.raytheon.uf.common.style.level.RangeLevel;
+import com.raytheon.uf.common.style.level.SingleLevel;
+
+/**
+ * Index of the rules in a {@link StyleRuleset} for finding the best matching
+ * rule for a {@link ParamLevelMatchCriteria} without comparing against every
+ * rule.
+ * 
+ * Rules are bucketed by each parameter they list and within a parameter by the
+ * type of each level they list. Rules without levels are candidates for every
+ * level. A rule can only match a criteria if it is in the bucket for the
+ * parameter and level type of the criteria, so only those candidates are
+ * ranked using {@link MatchCriteria#matches(MatchCriteria)}, which keeps the
+ * result identical to ranking every rule. Results are memoized by the parts of
+ * the criteria that affect matching. An index is built each time rules are
+ * loaded so reloading rules discards the memoized results.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           kshrestha   Initial creation
+ * 
+ * </pre>
+ * 
+ * @author kshrestha
+ */
+class StyleRuleIndex {
+
+    private static final int CACHE_SIZE = Integer
+            .getInteger("style.rule.cache.size", 1024);
+
+    /** Cached in place of null when no rule matches. */
+    private static final StyleRule NO_MATCH = new StyleRule();
+
+    private final StyleRuleset ruleset;
+
+    private final int ruleCount;
+
+    private final Map<String, ParameterBucket> buckets = new HashMap<>();
+
+    private final Map<CriteriaKey, StyleRule> matches = new ConcurrentHashMap<>();
+
+    public StyleRuleIndex(StyleRuleset ruleset) {
+        this.ruleset = ruleset;
+        List<StyleRule> rules = ruleset.getStyleRules();
+        this.ruleCount = rules.size();
+        Map<StyleRule, Integer> ordinals = new IdentityHashMap<>();
+        for (StyleRule rule : rules) {
+            ordinals.putIfAbsent(rule, ordinals.size());
+        }
+        Map<String, List<StyleRule>> noLevel = new HashMap<>();
+        Map<String, Map<LevelType, List<StyleRule>>> byType = new HashMap<>();
+        for (StyleRule rule : rules) {
+            MatchCriteria criteria = rule.getMatchCriteria();
+            if (!(criteria instanceof ParamLevelMatchCriteria)) {
+                /* A param level criteria never matches anything else. */
+                continue;
+            }
+            ParamLevelMatchCriteria plc = (ParamLevelMatchCriteria) criteria;
+            for (String param : plc.getParameterNames()) {
+                if (plc.getLevels().isEmpty()) {
+                    addUnique(noLevel.computeIfAbsent(param,
+                            k -> new ArrayList<>()), rule);
+                    continue;
+                }
+                Map<LevelType, List<StyleRule>> types = byType
+                        .computeIfAbsent(param,
+                                k -> new EnumMap<>(LevelType.class));
+                for (Level level : plc.getLevels()) {
+                    if (level.getType() != null) {
+                        addUnique(types.computeIfAbsent(level.getType(),
+                                k -> new ArrayList<>()), rule);
+                    }
+                }
+            }
+        }
+        for (String param : noLevel.keySet()) {
+            buckets.put(param, new ParameterBucket(ordinals,
+                    noLevel.get(param), byType.remove(param)));
+        }
+        for (Map.Entry<String, Map<LevelType, List<StyleRule>>> entry : byType
+                .entrySet()) {
+            buckets.put(entry.getKey(), new ParameterBucket(ordinals, null,
+                    entry.getValue()));
+        }
+    }
+
+    public StyleRuleset getRuleset() {
+        return ruleset;
+    }
+
+    /**
+     * Find the rule that {@link MatchCriteria#matches(MatchCriteria)} ranks
+     * highest for a criteria, the first rule wins when rules rank the same.
+     * 
+     * @param criteria
+     * @return the best matching rule or null if no rule matches
+     * @throws StyleException
+     */
+    public StyleRule getStyleRule(MatchCriteria criteria)
+            throws StyleException {
+        CriteriaKey key = CriteriaKey.create(criteria);
+        if (key == null || ruleset.getStyleRules().size() != ruleCount) {
+            /*
+             * Criteria the index does not understand are left to matches to
+             * rank or reject, as are rules that have been modified since the
+             * index was built.
+             */
+            return linearScan(criteria, ruleset.getStyleRules());
+        }
+        StyleRule result = matches.get(key);
+        if (result == null) {
+            ParameterBucket bucket = buckets.get(key.param);
+            if (bucket == null) {
+                result = null;
+            } else if (key.levelClass != null
+                    && SingleLevel.class.isAssignableFrom(key.levelClass)) {
+                result = linearScan(criteria, bucket.getCandidates(key.type));
+            } else {
+                result = linearScan(criteria, bucket.noLevel);
+            }
+            if (matches.size() >= CACHE_SIZE) {
+                matches.clear();
+            }
+            matches.put(key, result == null ? NO_MATCH : result);
+        } else if (result == NO_MATCH) {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Rank each rule against the criteria.
+     * 
+     * @return the first rule with the highest rank or null if no rule matches
+     */
+    static StyleRule linearScan(MatchCriteria criteria,
+            List<StyleRule> rules) throws StyleException {
+        StyleRule bestMatch = null;
+        int matchRank = 0;
+        try {
+            for (StyleRule rule : rules) {
+                int value = criteria.matches(rule.getMatchCriteria());
+                if (value > matchRank) {
+                    matchRank = value;
+                    bestMatch = rule;
+                }
+            }
+        } catch (Exception e) {
+            throw new StyleException("Error determining matching rules.", e);
+        }
+        return bestMatch;
+    }
+
+    private static void addUnique(List<StyleRule> list, StyleRule rule) {
+        /* Rules are added in order so a duplicate is always the last one. */
+        if (list.isEmpty() || list.get(list.size() - 1) != rule) {
+            list.add(rule);
+        }
+    }
+
+    /**
+     * The rules that list a single parameter.
+     */
+    private static class ParameterBucket {
+
+        private final Map<StyleRule, Integer> ordinals;
+
+        private final List<StyleRule> noLevel;
+
+        /**
+         * For each level type the rules without levels and the rules with a
+         * level of the type, in the order they appear in the ruleset.
+         */
+        private final Map<LevelType, List<StyleRule>> candidates = new EnumMap<>(
+                LevelType.class);
+
+        public ParameterBucket(Map<StyleRule, Integer> ordinals,
+                List<StyleRule> noLevel,
+                Map<LevelType, List<StyleRule>> byType) {
+            this.ordinals = ordinals;
+            this.noLevel = noLevel == null ? new ArrayList<>() : noLevel;
+            if (byType != null) {
+                for (Map.Entry<LevelType, List<StyleRule>> entry : byType
+                        .entrySet()) {
+                    candidates.put(entry.getKey(),
+                            merge(this.noLevel, entry.getValue()));
+                }
+            }
+        }
+
+        public List<StyleRule> getCandidates(LevelType type) {
+            List<StyleRule> result = candidates.get(type);
+            return result == null ? noLevel : result;
+        }
+
+        /**
+         * Merge two lists of rules that are each in ruleset order and have no
+         * rules in common into one list in ruleset order.
+         */
+        private List<StyleRule> merge(List<StyleRule> a, List<StyleRule> b) {
+            List<StyleRule> result = new ArrayList<>(a.size() + b.size());
+            int i = 0;
+            int j = 0;
+            while (i < a.size() && j < b.size()) {
+                if (ordinals.get(a.get(i)) < ordinals.get(b.get(j))) {
+                    result.add(a.get(i++));
+                } else {
+                    result.add(b.get(j++));
+                }
+            }
+            result.addAll(a.subList(i, a.size()));
+            result.addAll(b.subList(j, b.size()));
+            return result;
+        }
+    }
+
+    /**
+     * The parts of a {@link ParamLevelMatchCriteria} that affect which rule
+     * matches best.
+     */
+    private static final class CriteriaKey {
+
+        private final String param;
+
+        private final Class<?> levelClass;
+
+        private final LevelType type;
+
+        private final double[] values;
+
+        private final List<String> entities;
+
+        private final int hashCode;
+
+        private CriteriaKey(String param, Level level, double[] values,
+                List<String> entities) {
+            this.param = param;
+            this.levelClass = level == null ? null : level.getClass();
+            this.type = level == null ? null : level.getType();
+            this.values = values;
+            this.entities = entities;
+            this.hashCode = Objects.hash(param, levelClass, type,
+                    Arrays.hashCode(values), entities);
+        }
+
+        /**
+         * @return a key for the criteria or null if the criteria is not
+         *         something the index can handle.
+         */
+        public static CriteriaKey create(MatchCriteria criteria) {
+            if (!(criteria instanceof ParamLevelMatchCriteria)) {
+                return null;
+            }
+            ParamLevelMatchCriteria plc = (ParamLevelMatchCriteria) criteria;
+            if (plc.getParameterNames().size() != 1
+                    || plc.getLevels().size() > 1) {
+                return null;
+            }
+            Level level = null;
+            double[] values = null;
+            if (!plc.getLevels().isEmpty()) {
+                level = plc.getLevels().get(0);
+                if (level.getType() == null) {
+                    return null;
+                }
+                if (level instanceof SingleLevel) {
+                    SingleLevel single = (SingleLevel) level;
+                    if (single.getMeasure() == null) {
+                        return null;
+                    }
+                    values = new double[] { single.getValue() };
+                } else if (level instanceof RangeLevel) {
+                    RangeLevel range = (RangeLevel) level;
+                    if (range.getLowerMeasure() == null
+                            || range.getUpperMeasure() == null) {
+                        return null;
+                    }
+                    values = new double[] { range.getLowerValue(),
+                            range.getUpperValue() };
+                } else {
+                    return null;
+                }
+            }
+            return new CriteriaKey(plc.getParameterNames().get(0), level,
+                    values, new ArrayList<>(plc.getCreatingEntityNames()));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CriteriaKey)) {
+                return false;
+            }
+            CriteriaKey other = (CriteriaKey) obj;
+            return hashCode == other.hashCode && param.equals(other.param)
+                    && type == other.type && levelClass == other.levelClass
+                    && Arrays.equals(values, other.values)
+                    && entities.equals(other.entities);
+        }
+    }
+}
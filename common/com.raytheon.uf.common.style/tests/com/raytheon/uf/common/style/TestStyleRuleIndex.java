@@ -0,0 +1,270 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.style;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.style.level.Level;
+import com.raytheon.uf.common.style.level.Level.LevelType;
+import com.raytheon.uf.common.style.level.RangeLevel;
+import com.raytheon.uf.common.style.level.SingleLevel;
+
+/**
+ * Unit tests for StyleRuleIndex, checking that the index always returns the
+ * same rule as ranking every rule with {@link StyleRuleIndex#linearScan}.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestStyleRuleIndex {
+
+    private static final String[] PARAMS = { "T", "RH", "Wind", "GH", "PMSL",
+            "Q", "defaultTopo.h5" };
+
+    private static final String[] ENTITIES = { "GFS", "NAM", "RAP" };
+
+    private static final LevelType[] TYPES = { LevelType.PRESSURE,
+            LevelType.HEIGHT_AGL, LevelType.SURFACE, LevelType.THETA };
+
+    private final Random random = new Random(1);
+
+    private static StyleRule rule(ParamLevelMatchCriteria criteria) {
+        StyleRule rule = new StyleRule();
+        rule.setMatchCriteria(criteria);
+        return rule;
+    }
+
+    private static ParamLevelMatchCriteria criteria(List<String> params,
+            List<Level> levels, List<String> entities) {
+        ParamLevelMatchCriteria criteria = new ParamLevelMatchCriteria();
+        criteria.setParameterName(new ArrayList<>(params));
+        criteria.setLevels(new ArrayList<>(levels));
+        criteria.setCreatingEntityNames(new ArrayList<>(entities));
+        return criteria;
+    }
+
+    /**
+     * @param single
+     *            true for a single level, false for a range
+     * @param anyValue
+     *            true to leave the value of some single levels unset, which
+     *            rules use to match any level of the type
+     */
+    private Level randomLevel(boolean single, boolean anyValue) {
+        LevelType type = TYPES[random.nextInt(TYPES.length)];
+        if (single) {
+            SingleLevel level = new SingleLevel(type);
+            if (!anyValue || random.nextInt(4) > 0) {
+                level.setValue(random.nextInt(5) * 100);
+            }
+            return level;
+        }
+        RangeLevel level = new RangeLevel(type);
+        double lower = random.nextInt(5) * 100;
+        level.setLowerValue(lower);
+        level.setUpperValue(lower + random.nextInt(4) * 100);
+        return level;
+    }
+
+    private List<String> randomEntities() {
+        List<String> entities = new ArrayList<>();
+        if (random.nextInt(3) == 0) {
+            entities.add(ENTITIES[random.nextInt(ENTITIES.length)]);
+        }
+        return entities;
+    }
+
+    private StyleRuleset randomRuleset(int size) {
+        List<StyleRule> rules = new ArrayList<>(size);
+        for (int i = 0; i < size; i += 1) {
+            List<String> params = new ArrayList<>();
+            int paramCount = 1 + random.nextInt(3);
+            for (int p = 0; p < paramCount; p += 1) {
+                params.add(PARAMS[random.nextInt(PARAMS.length)]);
+            }
+            List<Level> levels = new ArrayList<>();
+            int levelCount = random.nextInt(3);
+            for (int l = 0; l < levelCount; l += 1) {
+                levels.add(randomLevel(random.nextBoolean(), true));
+            }
+            rules.add(rule(criteria(params, levels, randomEntities())));
+        }
+        /* Rules listed more than once are common in merged rule files. */
+        for (int i = 0; i < size / 20; i += 1) {
+            rules.add(rules.get(random.nextInt(size)));
+        }
+        StyleRuleset ruleset = new StyleRuleset();
+        ruleset.setStyleRules(rules);
+        return ruleset;
+    }
+
+    private ParamLevelMatchCriteria randomQuery() {
+        List<String> params = Collections
+                .singletonList(PARAMS[random.nextInt(PARAMS.length)]);
+        List<Level> levels = new ArrayList<>();
+        switch (random.nextInt(4)) {
+        case 1:
+        case 2:
+            levels.add(randomLevel(true, false));
+            break;
+        case 3:
+            levels.add(randomLevel(false, false));
+            break;
+        default:
+            break;
+        }
+        List<String> entities = randomEntities();
+        if (random.nextInt(4) == 0) {
+            entities.add(ENTITIES[random.nextInt(ENTITIES.length)]);
+        }
+        return criteria(params, levels, entities);
+    }
+
+    /**
+     * Query the index twice, once to fill the memoized result and once to
+     * read it, and compare both with a linear scan.
+     */
+    private static void assertMatchesLinearScan(StyleRuleIndex index,
+            MatchCriteria query) throws StyleException {
+        StyleRule expected = StyleRuleIndex.linearScan(query,
+                index.getRuleset().getStyleRules());
+        assertSame(expected, index.getStyleRule(query));
+        assertSame(expected, index.getStyleRule(query));
+    }
+
+    /**
+     * Check the index rejects a query the same way a linear scan does.
+     */
+    private static void assertRejected(StyleRuleIndex index,
+            MatchCriteria query) {
+        try {
+            StyleRuleIndex.linearScan(query,
+                    index.getRuleset().getStyleRules());
+            fail("linear scan accepted " + query);
+        } catch (StyleException e) {
+            /* expected */
+        }
+        try {
+            index.getStyleRule(query);
+            fail("index accepted " + query);
+        } catch (StyleException e) {
+            /* expected */
+        }
+    }
+
+    /**
+     * The single rule in the shipped topoImageryStyleRules.xml.
+     */
+    @Test
+    public void testTopoRuleset() throws StyleException {
+        StyleRuleset ruleset = new StyleRuleset();
+        ruleset.setStyleRules(new ArrayList<>(Arrays.asList(rule(criteria(
+                Arrays.asList("defaultTopo.h5"), Collections.emptyList(),
+                Collections.emptyList())))));
+        StyleRuleIndex index = new StyleRuleIndex(ruleset);
+        ParamLevelMatchCriteria topo = criteria(
+                Arrays.asList("defaultTopo.h5"), Collections.emptyList(),
+                Collections.emptyList());
+        assertNotNull(index.getStyleRule(topo));
+        assertMatchesLinearScan(index, topo);
+        assertNull(index.getStyleRule(criteria(Arrays.asList("T"),
+                Collections.emptyList(), Collections.emptyList())));
+        for (int i = 0; i < 1000; i += 1) {
+            assertMatchesLinearScan(index, randomQuery());
+        }
+    }
+
+    @Test
+    public void testRandomRulesets() throws StyleException {
+        for (int size : new int[] { 1, 10, 100, 3000 }) {
+            StyleRuleIndex index = new StyleRuleIndex(randomRuleset(size));
+            for (int i = 0; i < 5000; i += 1) {
+                assertMatchesLinearScan(index, randomQuery());
+            }
+        }
+    }
+
+    @Test
+    public void testCriteriaNotIndexed() throws StyleException {
+        StyleRuleIndex index = new StyleRuleIndex(randomRuleset(500));
+        for (int i = 0; i < 1000; i += 1) {
+            /*
+             * Several parameters or levels are left to the linear scan, which
+             * rejects them.
+             */
+            ParamLevelMatchCriteria query = randomQuery();
+            List<String> params = new ArrayList<>(query.getParameterNames());
+            params.add(PARAMS[random.nextInt(PARAMS.length)]);
+            assertRejected(index, criteria(params, query.getLevels(),
+                    query.getCreatingEntityNames()));
+            List<Level> levels = new ArrayList<>(query.getLevels());
+            levels.add(randomLevel(true, false));
+            levels.add(randomLevel(false, false));
+            assertRejected(index, criteria(query.getParameterNames(), levels,
+                    query.getCreatingEntityNames()));
+        }
+        int[] rank = { 0 };
+        MatchCriteria other = new MatchCriteria() {
+            @Override
+            public int matches(MatchCriteria criteria) {
+                return rank[0]++ % 7;
+            }
+        };
+        StyleRule expected = StyleRuleIndex.linearScan(other,
+                index.getRuleset().getStyleRules());
+        rank[0] = 0;
+        assertSame(expected, index.getStyleRule(other));
+    }
+
+    @Test
+    public void testRulesAddedAfterIndexing() throws StyleException {
+        StyleRuleset ruleset = randomRuleset(200);
+        StyleRuleIndex index = new StyleRuleIndex(ruleset);
+        List<ParamLevelMatchCriteria> queries = new ArrayList<>();
+        for (int i = 0; i < 500; i += 1) {
+            queries.add(randomQuery());
+            assertMatchesLinearScan(index, queries.get(i));
+        }
+        ruleset.addStyleRules(randomRuleset(200));
+        for (ParamLevelMatchCriteria query : queries) {
+            assertMatchesLinearScan(index, query);
+        }
+    }
+}
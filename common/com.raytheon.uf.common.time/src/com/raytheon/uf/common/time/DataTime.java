@@ -28,8 +28,8 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.GregorianCalendar;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.persistence.Column;
 import javax.persistence.Embeddable;
@@ -47,7 +47,6 @@ import org.hibernate.annotations.Type;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 import com.raytheon.uf.common.time.DataTimeComparator.SortKey;
-import com.raytheon.uf.common.time.util.CalendarConverter;
 import com.raytheon.uf.common.time.util.TimeUtil;
 
 /**
@@ -74,6 +73,8 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  *                                   format as 2 digits.
  * Aug 20, 2020  21952    dhaines    Added support for timematching radar
  *                                   datasets with negative tilts >= -1
+ * Oct 19, 2026           kshrestha  Parse and format without regex or
+ *                                   calendars, added valueOf(String).
  * 
  * </pre>
  * 
@@ -187,13 +188,14 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
     @Transient
     protected Double levelValue = -2.0;
 
-    private static Pattern datePattern = Pattern.compile(TimeUtil.DATE_STRING);
-
-    private static Pattern periodPattern = Pattern.compile("\\[("
-            + TimeUtil.DATE_STRING + ")--(" + TimeUtil.DATE_STRING + ")\\]");
+    /**
+     * Maximum number of parsed strings remembered by {@link #valueOf(String)},
+     * 0 to disable.
+     */
+    private static final int INTERN_SIZE = Integer
+            .getInteger("datatime.intern.size", 4096);
 
-    private static Pattern fcstPattern = Pattern
-            .compile("\\((\\d{1,20}(:\\d\\d)?)\\)");
+    private static final Map<String, DataTime> INTERNED = new ConcurrentHashMap<>();
 
     public DataTime(Date date) {
         this.refTime = date;
@@ -212,26 +214,18 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
     public DataTime(String value) {
         boolean valid = false;
 
-        Matcher m = datePattern.matcher(value);
-        CalendarConverter conv = new CalendarConverter();
-        if (m.find()) {
-
-            refTime = ((Calendar) conv.convert(Calendar.class, m.group()))
-                    .getTime();
+        int start = DataTimeParser.findDate(value, 0);
+        if (start >= 0) {
+            refTime = new Date(DataTimeParser.parseDate(value, start,
+                    DataTimeParser.dateEnd(value, start)));
             validPeriod = new TimeRange(refTime, refTime);
             utilityFlags = EnumSet.noneOf(FLAG.class);
             valid = true;
         }
 
-        m = fcstPattern.matcher(value);
-        if (m.find()) {
-            if (m.group(1).contains(":")) {
-                String[] fcstTimeTokens = m.group(1).split(":");
-                fcstTime = (Integer.parseInt(fcstTimeTokens[0]) * 3600)
-                        + (Integer.parseInt(fcstTimeTokens[1]) * 60);
-            } else {
-                fcstTime = Integer.parseInt(m.group(1)) * 3600;
-            }
+        start = DataTimeParser.findForecast(value);
+        if (start >= 0) {
+            fcstTime = DataTimeParser.parseForecast(value, start);
             if (refTime != null) {
                 long validTimeMillis = refTime.getTime()
                         + (((long) fcstTime) * 1000);
@@ -241,14 +235,15 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
             valid = true;
         }
 
-        m = periodPattern.matcher(value);
-        if (m.find()) {
-
-            Calendar cal1 = (Calendar) conv.convert(Calendar.class, m.group(1));
-            Calendar cal2 = (Calendar) conv.convert(Calendar.class, m.group(9));
-            validPeriod = new TimeRange(cal1, cal2);
+        start = DataTimeParser.findPeriod(value);
+        if (start >= 0) {
+            int end1 = DataTimeParser.dateEnd(value, start + 1);
+            long time1 = DataTimeParser.parseDate(value, start + 1, end1);
+            long time2 = DataTimeParser.parseDate(value, end1 + 2,
+                    DataTimeParser.dateEnd(value, end1 + 2));
+            validPeriod = new TimeRange(time1, time2);
 
-            if (!cal1.equals(cal2)) {
+            if (time1 != time2) {
                 utilityFlags.add(FLAG.PERIOD_USED);
             }
             valid = true;
@@ -260,6 +255,55 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
         }
     }
 
+    /**
+     * Parse a DataTime from its string form, reusing the result of a previous
+     * parse of the same string when possible. Strings such as those in data
+     * URIs repeat heavily so this avoids most of the parsing cost. DataTime is
+     * mutable so a new instance is always returned, callers are free to modify
+     * it.
+     * 
+     * @param value
+     *            the string form of the time, as from {@link #getURIString()}
+     * @return a new DataTime equal to {@link #DataTime(String)}
+     * @throws IllegalArgumentException
+     *             if the string does not contain a time
+     */
+    public static DataTime valueOf(String value) {
+        if (INTERN_SIZE <= 0) {
+            return new DataTime(value);
+        }
+        DataTime parsed = INTERNED.get(value);
+        if (parsed == null) {
+            parsed = new DataTime(value);
+            if (INTERNED.size() >= INTERN_SIZE) {
+                /*
+                 * Cheaper than tracking usage and the working set of times is
+                 * normally much smaller than the limit.
+                 */
+                INTERNED.clear();
+            }
+            INTERNED.put(value, parsed);
+        }
+        return parsed.copy();
+    }
+
+    /**
+     * @return a field for field copy, sharing nothing mutable with this time
+     */
+    private DataTime copy() {
+        DataTime rval = new DataTime();
+        if (refTime != null) {
+            rval.refTime = new Date(refTime.getTime());
+        }
+        rval.fcstTime = fcstTime;
+        if (validPeriod != null) {
+            rval.validPeriod = validPeriod.clone();
+        }
+        rval.utilityFlags = EnumSet.copyOf(utilityFlags);
+        rval.levelValue = levelValue;
+        return rval;
+    }
+
     /**
      * Constructor for case of data without a forecast component. Associated
      * with a single point in time
@@ -647,36 +691,41 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
         this.visible = visible;
     }
 
-    private String getReftimeString() {
+    /**
+     * Build the string form of this time.
+     * 
+     * @param separator
+     *            separator between the date and time of day and before the
+     *            forecast
+     */
+    private String format(char separator) {
+        StringBuilder builder = new StringBuilder(64);
+
         if (refTime != null) {
-            Calendar cal = Calendar.getInstance(TimeUtil.GMT_TIME_ZONE);
-            cal.setTime(this.refTime);
-            return TimeUtil.formatCalendar(cal);
+            DataTimeParser.appendDate(builder, refTime.getTime(), separator);
         }
-        return null;
-    }
 
-    private String getForecastString() {
         if (utilityFlags.contains(FLAG.FCST_USED)) {
             int hrs = fcstTime / 3600;
             int mins = (fcstTime - (hrs * 3600)) / 60;
-            if ((fcstTime % 3600) == 0) {
-                return "(" + hrs + ")";
-            } else if (mins < 10) {
-                return "(" + hrs + ":0" + mins + ")";
-            } else {
-                return "(" + hrs + ":" + mins + ")";
+            builder.append(separator).append('(').append(hrs);
+            if ((fcstTime % 3600) != 0) {
+                builder.append(mins < 10 ? ":0" : ":").append(mins);
             }
+            builder.append(')');
         }
-        return null;
-    }
 
-    private String getValidPeriodString() {
         if (utilityFlags.contains(FLAG.PERIOD_USED)) {
-            return "[" + TimeUtil.formatDate(validPeriod.getStart()) + "--"
-                    + TimeUtil.formatDate(validPeriod.getEnd()) + "]";
+            builder.append('[');
+            DataTimeParser.appendDate(builder,
+                    validPeriod.getStart().getTime(), separator);
+            builder.append("--");
+            DataTimeParser.appendDate(builder, validPeriod.getEnd().getTime(),
+                    separator);
+            builder.append(']');
         }
-        return null;
+
+        return builder.toString();
     }
 
     /**
@@ -685,24 +734,7 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
      * @return
      */
     public String getURIString() {
-        StringBuilder builder = new StringBuilder();
-
-        String refTimeStr = getReftimeString();
-        if (refTimeStr != null) {
-            builder.append(refTimeStr);
-        }
-
-        String forecastString = getForecastString();
-        if (forecastString != null) {
-            builder.append("_").append(forecastString);
-        }
-
-        String validPeriodString = getValidPeriodString();
-        if (validPeriodString != null) {
-            builder.append(validPeriodString);
-        }
-
-        return builder.toString();
+        return format('_');
     }
 
     /**
@@ -711,24 +743,7 @@ public class DataTime implements Comparable<DataTime>, Serializable, Cloneable {
      * @return
      */
     public String getDisplayString() {
-        StringBuilder builder = new StringBuilder();
-
-        String refTimeStr = getReftimeString();
-        if (refTimeStr != null) {
-            builder.append(refTimeStr.replaceAll("_", " "));
-        }
-
-        String forecastString = getForecastString();
-        if (forecastString != null) {
-            builder.append(" ").append(forecastString);
-        }
-
-        String validPeriodString = getValidPeriodString();
-        if (validPeriodString != null) {
-            builder.append(validPeriodString.replaceAll("_", " "));
-        }
-
-        return builder.toString();
+        return format(' ');
     }
 
     /*
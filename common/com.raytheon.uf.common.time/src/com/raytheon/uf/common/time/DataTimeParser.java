@@ -0,0 +1,326 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.time;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.Calendar;
+import java.util.Date;
+
+import com.raytheon.uf.common.time.util.CalendarConverter;
+import com.raytheon.uf.common.time.util.TimeUtil;
+
+/**
+ * Hand written scanning, parsing and formatting of the pieces of the
+ * {@link DataTime} string form. This is equivalent to matching the
+ * {@link TimeUtil#DATE_STRING} regex and converting through
+ * {@link CalendarConverter} or formatting with {@link TimeUtil#formatDate(Date)}
+ * but works directly on epoch millis so it does not allocate calendars,
+ * matchers or formats.
+ *
+ * Only dates in the proleptic range where java.time and
+ * {@link java.util.GregorianCalendar} agree, with all fields in their normal
+ * ranges, are handled directly. Anything else is delegated to the original
+ * implementation so lenient or historical values produce exactly the same
+ * result as before.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -------------------------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+final class DataTimeParser {
+
+    /** first year entirely after the Gregorian cutover */
+    private static final int MIN_YEAR = 1583;
+
+    private static final long MIN_MILLIS = LocalDate.of(MIN_YEAR, 1, 1)
+            .toEpochDay() * TimeUtil.MILLIS_PER_DAY;
+
+    private static final long MAX_MILLIS = LocalDate.of(10000, 1, 1)
+            .toEpochDay() * TimeUtil.MILLIS_PER_DAY;
+
+    /** shortest possible match of {@link TimeUtil#DATE_STRING} */
+    private static final int MIN_DATE_LENGTH = 21;
+
+    private DataTimeParser() {
+    }
+
+    /**
+     * Find the first date in the string, like {@link java.util.regex.Matcher#find()}
+     * with the {@link TimeUtil#DATE_STRING} pattern.
+     *
+     * @param s
+     * @param from
+     *            index to start searching
+     * @return the start index of the date or -1 if there is none
+     */
+    static int findDate(String s, int from) {
+        int last = s.length() - MIN_DATE_LENGTH;
+        for (int i = from; i <= last; i++) {
+            if (dateEnd(s, i) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Match {@link TimeUtil#DATE_STRING} at exactly the given index.
+     *
+     * @param s
+     * @param i
+     * @return the index after the date or -1 if no date starts at i
+     */
+    static int dateEnd(String s, int i) {
+        int len = s.length();
+        if (i + MIN_DATE_LENGTH > len) {
+            return -1;
+        }
+        if (!digits(s, i, 4) || s.charAt(i + 4) != '-'
+                || !digits(s, i + 5, 2) || s.charAt(i + 7) != '-'
+                || !digits(s, i + 8, 2)) {
+            return -1;
+        }
+        char sep = s.charAt(i + 10);
+        if ((sep != ' ' && sep != '_') || !digits(s, i + 11, 2)
+                || s.charAt(i + 13) != ':' || !digits(s, i + 14, 2)
+                || s.charAt(i + 16) != ':' || !digits(s, i + 17, 2)
+                || s.charAt(i + 19) != '.' || !isDigit(s.charAt(i + 20))) {
+            return -1;
+        }
+        int end = i + 21;
+        while (end < len && end < i + 23 && isDigit(s.charAt(end))) {
+            end += 1;
+        }
+        return end;
+    }
+
+    /**
+     * Convert a date previously matched by {@link #dateEnd(String, int)}.
+     *
+     * @param s
+     * @param start
+     * @param end
+     * @return epoch millis
+     */
+    static long parseDate(String s, int start, int end) {
+        int year = number(s, start, start + 4);
+        int month = number(s, start + 5, start + 7);
+        int day = number(s, start + 8, start + 10);
+        int hour = number(s, start + 11, start + 13);
+        int min = number(s, start + 14, start + 16);
+        int sec = number(s, start + 17, start + 19);
+        int millis = number(s, start + 20, end);
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))
+                || hour > 23 || min > 59 || sec > 59) {
+            /* lenient calendar arithmetic, let the calendar handle it */
+            return ((Calendar) new CalendarConverter().convert(
+                    Calendar.class, s.substring(start, end)))
+                            .getTimeInMillis();
+        }
+        long epochDay = LocalDate.of(year, month, day).toEpochDay();
+        return epochDay * TimeUtil.MILLIS_PER_DAY
+                + hour * TimeUtil.MILLIS_PER_HOUR
+                + min * TimeUtil.MILLIS_PER_MINUTE
+                + sec * TimeUtil.MILLIS_PER_SECOND + millis;
+    }
+
+    /**
+     * Find the first forecast time in the string, like
+     * {@link java.util.regex.Matcher#find()} with the pattern
+     * "\((\d{1,20}(:\d\d)?)\)".
+     *
+     * @param s
+     * @return the index of the opening parenthesis or -1 if there is none
+     */
+    static int findForecast(String s) {
+        int i = s.indexOf('(');
+        while (i >= 0) {
+            if (forecastEnd(s, i) > 0) {
+                return i;
+            }
+            i = s.indexOf('(', i + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * @param s
+     * @param i
+     *            index of an opening parenthesis
+     * @return the index after the closing parenthesis or -1 if no forecast
+     *         starts at i
+     */
+    private static int forecastEnd(String s, int i) {
+        int len = s.length();
+        int j = i + 1;
+        while (j < len && isDigit(s.charAt(j))) {
+            j += 1;
+        }
+        int digits = j - i - 1;
+        if (digits < 1 || digits > 20 || j >= len) {
+            return -1;
+        }
+        if (s.charAt(j) == ')') {
+            return j + 1;
+        }
+        if (s.charAt(j) == ':' && j + 3 < len && digits(s, j + 1, 2)
+                && s.charAt(j + 3) == ')') {
+            return j + 4;
+        }
+        return -1;
+    }
+
+    /**
+     * Convert a forecast previously found by {@link #findForecast(String)}
+     *
+     * @param s
+     * @param start
+     *            index of the opening parenthesis
+     * @return the forecast time in seconds
+     */
+    static int parseForecast(String s, int start) {
+        int colon = start + 1;
+        while (isDigit(s.charAt(colon))) {
+            colon += 1;
+        }
+        int fcst = hours(s, start + 1, colon) * 3600;
+        if (s.charAt(colon) == ':') {
+            fcst += number(s, colon + 1, colon + 3) * 60;
+        }
+        return fcst;
+    }
+
+    /**
+     * Find the first valid period in the string, like
+     * {@link java.util.regex.Matcher#find()} with the pattern "\[(date)--(date)\]".
+     *
+     * @param s
+     * @return the index of the opening bracket or -1 if there is none
+     */
+    static int findPeriod(String s) {
+        int i = s.indexOf('[');
+        while (i >= 0) {
+            if (periodEnd(s, i) > 0) {
+                return i;
+            }
+            i = s.indexOf('[', i + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * @param s
+     * @param i
+     *            index of an opening bracket
+     * @return the index after the closing bracket or -1 if no period starts
+     *         at i
+     */
+    static int periodEnd(String s, int i) {
+        int end1 = dateEnd(s, i + 1);
+        if (end1 < 0 || !s.startsWith("--", end1)) {
+            return -1;
+        }
+        int end2 = dateEnd(s, end1 + 2);
+        if (end2 < 0 || end2 >= s.length() || s.charAt(end2) != ']') {
+            return -1;
+        }
+        return end2 + 1;
+    }
+
+    /**
+     * Append the date in the same form as {@link TimeUtil#formatDate(Date)},
+     * yyyy-MM-dd_HH:mm:ss.S in GMT, with the given separator in place of the
+     * underscore.
+     *
+     * @param sb
+     * @param millis
+     * @param separator
+     */
+    static void appendDate(StringBuilder sb, long millis, char separator) {
+        if (millis < MIN_MILLIS || millis >= MAX_MILLIS) {
+            sb.append(TimeUtil.formatDate(new Date(millis)).replace('_',
+                    separator));
+            return;
+        }
+        long epochDay = Math.floorDiv(millis, TimeUtil.MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(millis,
+                TimeUtil.MILLIS_PER_DAY);
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        sb.append(date.getYear()).append('-');
+        pad2(sb, date.getMonthValue()).append('-');
+        pad2(sb, date.getDayOfMonth()).append(separator);
+        pad2(sb, millisOfDay / (int) TimeUtil.MILLIS_PER_HOUR).append(':');
+        pad2(sb, (millisOfDay / (int) TimeUtil.MILLIS_PER_MINUTE) % 60)
+                .append(':');
+        pad2(sb, (millisOfDay / (int) TimeUtil.MILLIS_PER_SECOND) % 60)
+                .append('.');
+        sb.append(millisOfDay % (int) TimeUtil.MILLIS_PER_SECOND);
+    }
+
+    private static StringBuilder pad2(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean digits(String s, int start, int count) {
+        for (int i = start; i < start + count; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int number(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Hours may be long enough to overflow, in which case this must fail the
+     * same way Integer.parseInt does.
+     */
+    private static int hours(String s, int start, int end) {
+        if (end - start > 9) {
+            return Integer.parseInt(s.substring(start, end));
+        }
+        return number(s, start, end);
+    }
+}
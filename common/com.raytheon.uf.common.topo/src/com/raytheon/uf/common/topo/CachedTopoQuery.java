@@ -25,6 +25,7 @@ import java.util.Hashtable;
 import java.util.Map;
 
 import org.geotools.coverage.grid.GridGeometry2D;
+import org.opengis.referencing.FactoryException;
 import org.opengis.referencing.operation.TransformException;
 
 import com.raytheon.uf.common.datastorage.DataStoreFactory;
@@ -51,6 +52,8 @@ import org.locationtech.jts.geom.Coordinate;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Aug 2, 2013            bsteffen     Initial creation
+ * Oct 19, 2026            kshrestha    Prefetch the tiles needed for a
+ *                                      request in parallel.
  * 
  * </pre>
  * 
@@ -144,6 +147,13 @@ public class CachedTopoQuery {
      * @return topo height in meters MSL
      */
     public double[] getHeight(Coordinate[] coords) {
+        try {
+            source.prefetch(source.getFootprint(coords));
+        } catch (FactoryException | TransformException e) {
+            /* Tiles will still be retrieved as each coordinate is sampled. */
+            statusHandler.handle(Priority.DEBUG,
+                    "Unable to prefetch topo for lat/lons", e);
+        }
         double[] result = new double[coords.length];
         for (int i = 0; i < result.length; i += 1) {
             try {
@@ -169,6 +179,7 @@ public class CachedTopoQuery {
                 targetGeom.getGridRange2D());
         GridReprojection reprojection = new GridReprojection(source.getGridGeometry(), targetGeom);
         try {
+            source.prefetch(source.getFootprint(targetGeom));
             reprojection.reprojectedGrid(new NearestNeighborInterpolation(), source, destination);
         } catch (Exception e) {
             statusHandler.handle(Priority.PROBLEM, e.getLocalizedMessage(), e);
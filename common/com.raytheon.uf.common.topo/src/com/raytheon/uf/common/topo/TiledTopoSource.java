@@ -19,26 +19,44 @@
  **/
 package com.raytheon.uf.common.topo;
 
-import java.awt.Point;
 import java.io.FileNotFoundException;
-import java.lang.ref.Reference;
-import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.geotools.coverage.grid.GeneralGridGeometry;
 import org.geotools.coverage.grid.GridGeometry2D;
+import org.geotools.geometry.DirectPosition2D;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.referencing.operation.DefaultMathTransformFactory;
+import org.opengis.referencing.FactoryException;
+import org.opengis.referencing.datum.PixelInCell;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.TransformException;
 
 import com.raytheon.uf.common.datastorage.IDataStore;
 import com.raytheon.uf.common.datastorage.Request;
 import com.raytheon.uf.common.datastorage.StorageException;
 import com.raytheon.uf.common.datastorage.records.IDataRecord;
-import com.raytheon.uf.common.numeric.buffer.BufferWrapper;
 import com.raytheon.uf.common.numeric.source.AbstractTiledDataSource;
 import com.raytheon.uf.common.numeric.source.DataSource;
+import com.raytheon.uf.common.topo.TopoTileCache.Tile;
+import org.locationtech.jts.geom.Coordinate;
 
 /**
- * Tiled data source for loading topo tiles and caching tiles as soft reference
- * objects.
+ * Tiled data source for loading topo tiles and caching tiles in a
+ * {@link TopoTileCache}. Callers that know the area they are about to sample
+ * can compute the footprint of that area and prefetch it so that the missing
+ * tiles are retrieved in parallel, with adjacent tiles combined into a single
+ * slab request, instead of one at a time as each cell is sampled.
  * 
  * <pre>
  * 
@@ -50,6 +68,8 @@ import com.raytheon.uf.common.numeric.source.DataSource;
  * Aug 06, 2013  2235     bsteffen    Added Caching version of TopoQuery.
  * Mar 07, 2014  2791     bsteffen    Move Data Source/Destination to numeric
  *                                    plugin.
+ * Oct 19, 2026           kshrestha   Cache tiles in a byte limited cache and
+ *                                    add parallel prefetch of footprints.
  * 
  * </pre>
  * 
@@ -59,13 +79,49 @@ import com.raytheon.uf.common.numeric.source.DataSource;
 
 public class TiledTopoSource extends AbstractTiledDataSource {
 
+    /** Spacing of the target cells that are transformed to find a footprint. */
+    private static final int FOOTPRINT_STRIDE = 8;
+
+    /** Maximum number of adjacent tiles retrieved in a single slab request. */
+    private static final int BATCH_TILES = Integer
+            .getInteger("topo.tile.batch.tiles", 8);
+
+    /**
+     * Shared by every source so the number of concurrent reads of the topo
+     * file stays bounded. When every thread is busy the prefetching thread
+     * does the work itself.
+     */
+    private static final ExecutorService FETCH_POOL;
+
+    static {
+        int threads = Integer.getInteger("topo.tile.fetch.threads", 4);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "TopoTileFetch");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        FETCH_POOL = pool;
+    }
+
     private final GridGeometry2D gridGeometry;
 
     private final IDataStore dataStore;
 
     private final String dataset;
 
-    private Map<Point, Reference<DataSource>> tiles = new HashMap<Point, Reference<DataSource>>();
+    private final int tilesX;
+
+    private final int tilesY;
+
+    private final TopoTileCache cache = TopoTileCache.getInstance();
+
+    /**
+     * Sampling tends to hit the same tile many times in a row so the most
+     * recent tile is checked before going to the shared cache.
+     */
+    private volatile Tile lastTile;
 
     public TiledTopoSource(int tileSize, GridGeometry2D gridGeometry,
             IDataStore dataStore, String dataset) {
@@ -74,6 +130,8 @@ public class TiledTopoSource extends AbstractTiledDataSource {
         this.gridGeometry = gridGeometry;
         this.dataStore = dataStore;
         this.dataset = dataset;
+        this.tilesX = (getNx() + tileSize - 1) / tileSize;
+        this.tilesY = (getNy() + tileSize - 1) / tileSize;
     }
 
     public GridGeometry2D getGridGeometry() {
@@ -96,28 +154,29 @@ public class TiledTopoSource extends AbstractTiledDataSource {
 
     @Override
     protected DataSource getTile(int startX, int startY, int width, int height) {
-        Point key = new Point(startX, startY);
-        DataSource tile = null;
-        Reference<DataSource> ref = tiles.get(key);
-        if (ref != null) {
-            tile = ref.get();
-        }
-        if (tile == null) {
-            tile = requestTile(startX, startY, width, height);
-            tiles.put(key, new SoftReference<DataSource>(tile));
+        int index = (startY / getTileSize()) * tilesX + startX / getTileSize();
+        Tile tile = lastTile;
+        if (tile == null || tile.getIndex() != index) {
+            tile = cache.get(this, index);
+            if (tile == null) {
+                tile = new Tile(index,
+                        requestData(startX, startY, width, height), width,
+                        height);
+                cache.put(this, tile);
+            }
+            lastTile = tile;
         }
         return tile;
 
     }
 
-    protected DataSource requestTile(int startX, int startY, int width,
+    protected Object requestData(int startX, int startY, int width,
             int height) {
         try {
             Request req = Request.buildSlab(new int[] { startX, startY },
                     new int[] { startX + width, startY + height });
             IDataRecord record = dataStore.retrieve("/", dataset, req);
-            return BufferWrapper.wrapArray(record.getDataObject(), width,
-                    height);
+            return record.getDataObject();
         } catch (FileNotFoundException e) {
             throw new DataRetrievalException(e);
         } catch (StorageException e) {
@@ -125,6 +184,290 @@ public class TiledTopoSource extends AbstractTiledDataSource {
         }
     }
 
+    /**
+     * Find the tiles needed to sample this source onto every cell of a target
+     * grid. A coarse lattice of target cells is transformed into this grid and
+     * every tile overlapped by a cell of the lattice is included, along with a
+     * one cell margin for interpolation.
+     * 
+     * @param targetGeometry
+     * @return the indices of the tiles in the footprint
+     * @throws FactoryException
+     * @throws TransformException
+     */
+    public BitSet getFootprint(GeneralGridGeometry targetGeometry)
+            throws FactoryException, TransformException {
+        MathTransform transform = createTransform(targetGeometry);
+        int targetNx = targetGeometry.getGridRange().getSpan(0);
+        int targetNy = targetGeometry.getGridRange().getSpan(1);
+        int[] xs = latticeAxis(targetNx);
+        int[] ys = latticeAxis(targetNy);
+
+        BitSet footprint = new BitSet(tilesX * tilesY);
+        double[] prevRow = null;
+        double[] row = new double[xs.length * 2];
+        DirectPosition2D point = new DirectPosition2D();
+        for (int j = 0; j < ys.length; j += 1) {
+            for (int i = 0; i < xs.length; i += 1) {
+                point.setLocation(xs[i], ys[j]);
+                try {
+                    transform.transform(point, point);
+                    row[i * 2] = point.x;
+                    row[i * 2 + 1] = point.y;
+                } catch (TransformException e) {
+                    /* outside the valid area of the projection. */
+                    row[i * 2] = Double.NaN;
+                    row[i * 2 + 1] = Double.NaN;
+                }
+            }
+            if (prevRow == null) {
+                prevRow = new double[row.length];
+            } else {
+                for (int i = 0; i < xs.length - 1; i += 1) {
+                    addCell(footprint, prevRow, row, i);
+                }
+            }
+            double[] tmp = prevRow;
+            prevRow = row;
+            row = tmp;
+        }
+        return footprint;
+    }
+
+    /**
+     * Find the tiles needed to sample this source at each of a set of
+     * coordinates.
+     * 
+     * @param lonLats
+     *            lon/lat coordinates in degrees
+     * @return the indices of the tiles in the footprint
+     * @throws FactoryException
+     * @throws TransformException
+     */
+    public BitSet getFootprint(Coordinate[] lonLats)
+            throws FactoryException, TransformException {
+        MathTransform transform = CRS.findMathTransform(
+                DefaultGeographicCRS.WGS84,
+                gridGeometry.getCoordinateReferenceSystem());
+        MathTransform crs2grid = gridGeometry
+                .getGridToCRS(PixelInCell.CELL_CENTER).inverse();
+        DefaultMathTransformFactory mtf = new DefaultMathTransformFactory();
+        transform = mtf.createConcatenatedTransform(transform, crs2grid);
+
+        BitSet footprint = new BitSet(tilesX * tilesY);
+        DirectPosition2D point = new DirectPosition2D();
+        for (Coordinate lonLat : lonLats) {
+            point.setLocation(lonLat.x, lonLat.y);
+            try {
+                transform.transform(point, point);
+            } catch (TransformException e) {
+                continue;
+            }
+            addPoint(footprint, point.x, point.y);
+        }
+        return footprint;
+    }
+
+    /**
+     * Make sure every tile in a footprint is in the cache. Missing tiles are
+     * grouped into runs of adjacent tiles within a row of tiles and each run is
+     * retrieved with one request, runs are retrieved in parallel. If the
+     * footprint is larger than the cache can hold only the portion that fits is
+     * retrieved and the remainder is left to be retrieved as it is sampled.
+     * 
+     * @param footprint
+     *            tile indices from one of the getFootprint methods
+     */
+    public void prefetch(BitSet footprint) {
+        int tileSize = getTileSize();
+        long tileBytes = (long) tileSize * tileSize * Short.BYTES;
+        long budget = cache.getMaxBytes() / tileBytes;
+
+        List<int[]> runs = new ArrayList<>();
+        int[] run = null;
+        for (int index = footprint.nextSetBit(0); index >= 0
+                && budget > 0; index = footprint.nextSetBit(index + 1)) {
+            if (cache.contains(this, index)) {
+                run = null;
+                continue;
+            }
+            budget -= 1;
+            int tileX = index % tilesX;
+            int tileY = index / tilesX;
+            if (run != null && run[1] == tileY && run[0] + run[2] == tileX
+                    && run[2] < BATCH_TILES) {
+                run[2] += 1;
+            } else {
+                run = new int[] { tileX, tileY, 1 };
+                runs.add(run);
+            }
+        }
+        if (runs.isEmpty()) {
+            return;
+        } else if (runs.size() == 1) {
+            fetchRun(runs.get(0));
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(runs.size());
+        for (int[] r : runs) {
+            futures.add(FETCH_POOL.submit(() -> fetchRun(r)));
+        }
+        DataRetrievalException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataRetrievalException(e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof DataRetrievalException) {
+                        failure = (DataRetrievalException) cause;
+                    } else {
+                        failure = new DataRetrievalException(cause);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Retrieve a run of adjacent tiles in a single request and split the
+     * result into tiles.
+     * 
+     * @param run
+     *            the first tile x index, the tile y index and the number of
+     *            tiles in the run
+     */
+    private void fetchRun(int[] run) {
+        int tileSize = getTileSize();
+        int startX = run[0] * tileSize;
+        int startY = run[1] * tileSize;
+        int width = Math.min(run[2] * tileSize, getNx() - startX);
+        int height = Math.min(tileSize, getNy() - startY);
+        Object data = requestData(startX, startY, width, height);
+        if (run[2] == 1) {
+            cache.put(this, new Tile(run[1] * tilesX + run[0], data, width,
+                    height));
+            return;
+        }
+        Class<?> type = data.getClass().getComponentType();
+        for (int t = 0; t < run[2]; t += 1) {
+            int offsetX = t * tileSize;
+            int tileWidth = Math.min(tileSize, width - offsetX);
+            Object tileData = Array.newInstance(type, tileWidth * height);
+            for (int y = 0; y < height; y += 1) {
+                System.arraycopy(data, y * width + offsetX, tileData,
+                        y * tileWidth, tileWidth);
+            }
+            cache.put(this, new Tile(run[1] * tilesX + run[0] + t, tileData,
+                    tileWidth, height));
+        }
+    }
+
+    private MathTransform createTransform(GeneralGridGeometry targetGeometry)
+            throws FactoryException, TransformException {
+        MathTransform grid2crs = targetGeometry
+                .getGridToCRS(PixelInCell.CELL_CENTER);
+        MathTransform crs2crs = CRS.findMathTransform(
+                targetGeometry.getCoordinateReferenceSystem(),
+                gridGeometry.getCoordinateReferenceSystem());
+        MathTransform crs2grid = gridGeometry
+                .getGridToCRS(PixelInCell.CELL_CENTER).inverse();
+        DefaultMathTransformFactory mtf = new DefaultMathTransformFactory();
+        return mtf.createConcatenatedTransform(grid2crs,
+                mtf.createConcatenatedTransform(crs2crs, crs2grid));
+    }
+
+    /**
+     * @return every {@link #FOOTPRINT_STRIDE} cell along an axis of length n
+     *         and always the last cell, there are always at least two cells so
+     *         the lattice has at least one cell even if they are the same.
+     */
+    private static int[] latticeAxis(int n) {
+        if (n <= 1) {
+            return new int[] { 0, 0 };
+        }
+        int count = (n - 1) / FOOTPRINT_STRIDE + 1;
+        boolean addLast = (n - 1) % FOOTPRINT_STRIDE != 0;
+        int[] axis = new int[addLast ? count + 1 : count];
+        for (int i = 0; i < count; i += 1) {
+            axis[i] = i * FOOTPRINT_STRIDE;
+        }
+        if (addLast) {
+            axis[count] = n - 1;
+        }
+        return axis;
+    }
+
+    /**
+     * Add the tiles covered by the bounds of one cell of the lattice, the
+     * corners are at i and i + 1 in two consecutive rows.
+     */
+    private void addCell(BitSet footprint, double[] row1, double[] row2,
+            int i) {
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (double[] row : new double[][] { row1, row2 }) {
+            for (int k = i * 2; k <= i * 2 + 2; k += 2) {
+                double x = row[k];
+                double y = row[k + 1];
+                if (Double.isNaN(x) || Double.isNaN(y)) {
+                    continue;
+                }
+                minX = Math.min(minX, x);
+                maxX = Math.max(maxX, x);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        if (minX > maxX) {
+            return;
+        } else if (maxX - minX > getNx() / 2) {
+            /*
+             * A cell that crosses the edge of a global grid transforms to a
+             * box spanning the entire grid, only the corners are needed.
+             */
+            for (double[] row : new double[][] { row1, row2 }) {
+                for (int k = i * 2; k <= i * 2 + 2; k += 2) {
+                    addPoint(footprint, row[k], row[k + 1]);
+                }
+            }
+            return;
+        }
+        addRange(footprint, minX, minY, maxX, maxY);
+    }
+
+    private void addPoint(BitSet footprint, double x, double y) {
+        if (!Double.isNaN(x) && !Double.isNaN(y)) {
+            addRange(footprint, x, y, x, y);
+        }
+    }
+
+    private void addRange(BitSet footprint, double minX, double minY,
+            double maxX, double maxY) {
+        int tileSize = getTileSize();
+        int x1 = (int) Math.max(0, Math.floor(minX) - 1);
+        int y1 = (int) Math.max(0, Math.floor(minY) - 1);
+        int x2 = (int) Math.min(getNx() - 1, Math.ceil(maxX) + 1);
+        int y2 = (int) Math.min(getNy() - 1, Math.ceil(maxY) + 1);
+        if (x1 > x2 || y1 > y2) {
+            return;
+        }
+        for (int ty = y1 / tileSize; ty <= y2 / tileSize; ty += 1) {
+            int rowStart = ty * tilesX;
+            footprint.set(rowStart + x1 / tileSize,
+                    rowStart + x2 / tileSize + 1);
+        }
+    }
+
     public static class DataRetrievalException extends RuntimeException {
 
         private static final long serialVersionUID = 2292460511295837321L;
@@ -0,0 +1,570 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.topo;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.geotools.coverage.grid.GeneralGridEnvelope;
+import org.geotools.coverage.grid.GridGeometry2D;
+import org.geotools.geometry.GeneralEnvelope;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.operation.DefaultMathTransformFactory;
+import org.geotools.referencing.operation.builder.GridToEnvelopeMapper;
+import org.locationtech.jts.geom.Coordinate;
+import org.opengis.referencing.FactoryException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.datum.PixelInCell;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.TransformException;
+
+import com.raytheon.uf.common.datastorage.DataStoreFactory;
+import com.raytheon.uf.common.geospatial.CRSCache;
+import com.raytheon.uf.common.geospatial.MapUtil;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+
+/**
+ * A local copy of a topo dataset stored as a pyramid of levels, each level
+ * half the resolution of the one below it, in fixed size tiles of row major
+ * short values. The file is memory mapped so repeated queries read from the
+ * page cache rather than the hdf5 file. Grid queries choose the coarsest level
+ * that still has at least one cell per target cell and transform a full row of
+ * target cells at a time.
+ * 
+ * The file is generated in the background the first time a topo file is used
+ * and again whenever the topo file is modified, until it is ready
+ * {@link #getInstance(File)} returns null and callers should read the hdf5
+ * file directly. A failed generation is retried after
+ * topo.pyramid.retry.seconds. Pyramids are kept in the directory named by the
+ * topo.pyramid.dir system property and can be disabled by setting
+ * topo.pyramid.enabled to false.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           kshrestha   Initial creation
+ * 
+ * </pre>
+ * 
+ * @author kshrestha
+ */
+public class TopoPyramid {
+
+    private static final transient IUFStatusHandler statusHandler = UFStatus
+            .getHandler(TopoPyramid.class);
+
+    static final long MAGIC = 0x544F504F50595231L;
+
+    static final int VERSION = 1;
+
+    /** Level data starts on a page boundary. */
+    static final int ALIGNMENT = 4096;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            System.getProperty("topo.pyramid.enabled", "true"));
+
+    private static final File PYRAMID_DIR = new File(System.getProperty(
+            "topo.pyramid.dir",
+            new File(System.getProperty("java.io.tmpdir"), "topo")
+                    .getPath()));
+
+    private static final int TILE_SIZE = Integer
+            .getInteger("topo.pyramid.tile.size", 256);
+
+    private static final long RETRY_INTERVAL = TimeUnit.SECONDS
+            .toMillis(Long.getLong("topo.pyramid.retry.seconds", 600));
+
+    private static final Map<File, TopoPyramid> pyramids = new ConcurrentHashMap<>();
+
+    /** Source files with a pyramid being generated. */
+    private static final Set<File> generating = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Time generation last failed for each source file, so a failure is not
+     * retried on every query.
+     */
+    private static final Map<File, Long> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Get the pyramid for a topo file, starting generation of the pyramid if
+     * it does not exist or is older than the topo file.
+     * 
+     * @param hdf5File
+     *            the topo file
+     * @return the pyramid or null if it is not available yet
+     */
+    public static TopoPyramid getInstance(File hdf5File) {
+        if (!ENABLED) {
+            return null;
+        }
+        long sourceModified = hdf5File.lastModified();
+        TopoPyramid pyramid = pyramids.get(hdf5File);
+        if (pyramid != null) {
+            if (pyramid.sourceModified == sourceModified) {
+                return pyramid;
+            }
+            /*
+             * The topo file changed. Queries already using the old pyramid
+             * keep their mapping, the new one is written to a temp file and
+             * renamed over it.
+             */
+            pyramids.remove(hdf5File, pyramid);
+        }
+        File file = new File(PYRAMID_DIR, hdf5File.getName() + ".pyramid");
+        if (file.isFile() && !generating.contains(hdf5File)) {
+            try {
+                pyramid = new TopoPyramid(file);
+                if (pyramid.sourceModified == sourceModified) {
+                    TopoPyramid existing = pyramids.putIfAbsent(hdf5File,
+                            pyramid);
+                    return existing == null ? pyramid : existing;
+                }
+            } catch (IOException | FactoryException e) {
+                statusHandler.handle(Priority.PROBLEM,
+                        "Unable to read topo pyramid " + file
+                                + ", it will be regenerated.",
+                        e);
+            }
+        }
+        Long failed = failures.get(hdf5File);
+        if (failed != null
+                && System.currentTimeMillis() - failed < RETRY_INTERVAL) {
+            return null;
+        }
+        if (generating.add(hdf5File)) {
+            Thread thread = new Thread(() -> generate(hdf5File, file,
+                    sourceModified), "TopoPyramidGenerator");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return null;
+    }
+
+    private static void generate(File hdf5File, File file,
+            long sourceModified) {
+        long start = System.currentTimeMillis();
+        try {
+            PYRAMID_DIR.mkdirs();
+            new TopoPyramidWriter(DataStoreFactory.getDataStore(hdf5File),
+                    TopoUtils.getDatasetForLevel(0), TILE_SIZE).write(file,
+                            sourceModified);
+            failures.remove(hdf5File);
+            statusHandler.info("Generated topo pyramid " + file + " in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        } catch (Exception e) {
+            failures.put(hdf5File, System.currentTimeMillis());
+            statusHandler.handle(Priority.PROBLEM,
+                    "Unable to generate topo pyramid for " + hdf5File
+                            + ", it will be retried in "
+                            + TimeUnit.MILLISECONDS.toSeconds(RETRY_INTERVAL)
+                            + "s",
+                    e);
+        } finally {
+            generating.remove(hdf5File);
+        }
+    }
+
+    private final int tileSize;
+
+    private final int tileShift;
+
+    private final int tileMask;
+
+    private final short fillValue;
+
+    private final boolean global;
+
+    private final long sourceModified;
+
+    private final GridGeometry2D gridGeometry;
+
+    private final Level[] levels;
+
+    /**
+     * Open and map an existing pyramid file.
+     * 
+     * @param file
+     * @throws IOException
+     * @throws FactoryException
+     */
+    public TopoPyramid(File file) throws IOException, FactoryException {
+        this(file, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Open and map an existing pyramid file.
+     * 
+     * @param file
+     * @param maxBufferBytes
+     *            the most bytes to map in one buffer, a level always maps at
+     *            least one row of tiles per buffer
+     * @throws IOException
+     * @throws FactoryException
+     */
+    TopoPyramid(File file, long maxBufferBytes)
+            throws IOException, FactoryException {
+        int numLevels;
+        int[] widths;
+        int[] heights;
+        long[] offsets;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readLong() != MAGIC) {
+                throw new IOException(file + " is not a topo pyramid");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported topo pyramid version "
+                        + version + " in " + file);
+            }
+            tileSize = in.readInt();
+            fillValue = in.readShort();
+            global = in.readBoolean();
+            sourceModified = in.readLong();
+            CoordinateReferenceSystem crs = CRSCache.getInstance()
+                    .getCoordinateReferenceSystem(in.readUTF());
+            GeneralEnvelope envelope = new GeneralEnvelope(2);
+            envelope.setCoordinateReferenceSystem(crs);
+            envelope.setRange(0, in.readDouble(), in.readDouble());
+            envelope.setRange(1, in.readDouble(), in.readDouble());
+            numLevels = in.readInt();
+            widths = new int[numLevels];
+            heights = new int[numLevels];
+            offsets = new long[numLevels];
+            for (int level = 0; level < numLevels; level += 1) {
+                widths[level] = in.readInt();
+                heights[level] = in.readInt();
+                offsets[level] = in.readLong();
+            }
+            gridGeometry = new GridGeometry2D(
+                    new GeneralGridEnvelope(new int[] { 0, 0 },
+                            new int[] { widths[0], heights[0] }),
+                    envelope);
+        }
+        tileShift = Integer.numberOfTrailingZeros(tileSize);
+        tileMask = tileSize - 1;
+        levels = new Level[numLevels];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            for (int level = 0; level < numLevels; level += 1) {
+                levels[level] = new Level(channel, widths[level],
+                        heights[level], offsets[level], maxBufferBytes);
+            }
+        }
+    }
+
+    public GridGeometry2D getGridGeometry() {
+        return gridGeometry;
+    }
+
+    public int getNumLevels() {
+        return levels.length;
+    }
+
+    int getLevelWidth(int level) {
+        return levels[level].width;
+    }
+
+    int getLevelHeight(int level) {
+        return levels[level].height;
+    }
+
+    /**
+     * @return the raw value of a cell, which may be the fill value
+     */
+    short getValue(int level, int x, int y) {
+        return levels[level].get(x, y);
+    }
+
+    /**
+     * Retrieves topo height in meters above mean sea level for the specified
+     * coordinates from the full resolution level. Coordinates are mapped to
+     * cells the same way the hdf5 point query in {@link TopoQuery} maps them,
+     * so values do not change once the pyramid is available.
+     * 
+     * @param coords
+     *            should contain lon/lat in degrees
+     * @return topo height in meters MSL, NaN where there is no data
+     * @throws FactoryException
+     */
+    public double[] getHeight(Coordinate[] coords) throws FactoryException {
+        MathTransform llToGrid = concatenate(
+                MapUtil.getTransformFromLatLon(
+                        gridGeometry.getCoordinateReferenceSystem()),
+                getCRSToPointGrid());
+        double[] points = new double[coords.length * 2];
+        for (int i = 0; i < coords.length; i += 1) {
+            points[i * 2] = coords[i].x;
+            points[i * 2 + 1] = coords[i].y;
+        }
+        transform(llToGrid, points, coords.length);
+        double[] result = new double[coords.length];
+        for (int i = 0; i < coords.length; i += 1) {
+            result[i] = samplePoint(points[i * 2], points[i * 2 + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves topo height in meters above mean sea level sampled onto the
+     * specified grid geometry using the level closest to the resolution of the
+     * grid.
+     * 
+     * @param targetGeom
+     * @return the topo data array in row major order, NaN where there is no
+     *         data
+     * @throws FactoryException
+     */
+    public float[] getHeight(GridGeometry2D targetGeom)
+            throws FactoryException {
+        MathTransform targetToGrid = concatenate(
+                concatenate(targetGeom.getGridToCRS(PixelInCell.CELL_CENTER),
+                        CRS.findMathTransform(
+                                targetGeom.getCoordinateReferenceSystem(),
+                                gridGeometry.getCoordinateReferenceSystem(),
+                                true)),
+                getCRSToGrid());
+        int nx = targetGeom.getGridRange2D().width;
+        int ny = targetGeom.getGridRange2D().height;
+        int level = chooseLevel(targetToGrid, nx, ny);
+
+        float[] result = new float[nx * ny];
+        double[] row = new double[nx * 2];
+        for (int j = 0; j < ny; j += 1) {
+            for (int i = 0; i < nx; i += 1) {
+                row[i * 2] = i;
+                row[i * 2 + 1] = j;
+            }
+            transform(targetToGrid, row, nx);
+            int rowStart = j * nx;
+            for (int i = 0; i < nx; i += 1) {
+                result[rowStart + i] = (float) sample(level, row[i * 2],
+                        row[i * 2 + 1]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Choose the coarsest level with cells no larger than the spacing of the
+     * target cells, measured at the center of the target grid.
+     */
+    private int chooseLevel(MathTransform targetToGrid, int nx, int ny) {
+        double cx = (nx - 1) / 2.0;
+        double cy = (ny - 1) / 2.0;
+        double[] points = { cx, cy, cx + 1, cy, cx, cy + 1 };
+        try {
+            targetToGrid.transform(points, 0, points, 0, 3);
+        } catch (TransformException e) {
+            return 0;
+        }
+        double spacing = Math.min(
+                Math.hypot(points[2] - points[0], points[3] - points[1]),
+                Math.hypot(points[4] - points[0], points[5] - points[1]));
+        if (!(spacing >= 2)) {
+            return 0;
+        }
+        int level = 31 - Integer.numberOfLeadingZeros((int) Math
+                .min(spacing, Integer.MAX_VALUE));
+        return Math.min(level, levels.length - 1);
+    }
+
+    /**
+     * @param level
+     * @param x
+     *            x coordinate in the full resolution grid
+     * @param y
+     *            y coordinate in the full resolution grid
+     * @return the value of the cell containing the coordinate in the level or
+     *         NaN if the cell is outside the grid or filled.
+     */
+    private double sample(int level, double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return Double.NaN;
+        }
+        Level l = levels[level];
+        double scale = 1 << level;
+        long lx = (long) Math.floor((x + 0.5) / scale);
+        long ly = (long) Math.floor((y + 0.5) / scale);
+        if (ly < 0 || ly >= l.height) {
+            return Double.NaN;
+        }
+        if (lx < 0 || lx >= l.width) {
+            if (!global) {
+                return Double.NaN;
+            }
+            lx = Math.floorMod(lx, (long) l.width);
+        }
+        short value = l.get((int) lx, (int) ly);
+        if (value == fillValue) {
+            return Double.NaN;
+        }
+        return value;
+    }
+
+    /**
+     * @return the value of the full resolution cell at the coordinate
+     *         truncated to an index, as TopoQuery does, or NaN if the cell is
+     *         outside the grid or filled.
+     */
+    private double samplePoint(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return Double.NaN;
+        }
+        Level l = levels[0];
+        long lx = (long) x;
+        long ly = (long) y;
+        if (lx < 0 || lx >= l.width || ly < 0 || ly >= l.height) {
+            return Double.NaN;
+        }
+        short value = l.get((int) lx, (int) ly);
+        if (value == fillValue) {
+            return Double.NaN;
+        }
+        return value;
+    }
+
+    /**
+     * The transform TopoQuery uses for point queries. It maps the envelope
+     * onto a grid range that starts at 1 and excludes the width and height, so
+     * it does not quite match {@link #getCRSToGrid()}.
+     */
+    private MathTransform getCRSToPointGrid() {
+        GridToEnvelopeMapper mapper = new GridToEnvelopeMapper();
+        mapper.setEnvelope(gridGeometry.getEnvelope());
+        mapper.setGridRange(new GeneralGridEnvelope(new int[] { 1, 1 },
+                new int[] { levels[0].width, levels[0].height }, false));
+        mapper.setPixelAnchor(PixelInCell.CELL_CENTER);
+        mapper.setReverseAxis(new boolean[] { false, true });
+        try {
+            return mapper.createTransform().inverse();
+        } catch (TransformException e) {
+            /* The transform is affine so this cannot happen. */
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MathTransform getCRSToGrid() {
+        try {
+            return gridGeometry.getGridToCRS(PixelInCell.CELL_CENTER)
+                    .inverse();
+        } catch (TransformException e) {
+            /* The grid to crs transform is affine so this cannot happen. */
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MathTransform concatenate(MathTransform first,
+            MathTransform second) throws FactoryException {
+        return new DefaultMathTransformFactory()
+                .createConcatenatedTransform(first, second);
+    }
+
+    /**
+     * Transform points in place. If any point cannot be transformed the
+     * points are transformed individually so only the failed points are
+     * replaced with NaN.
+     */
+    private static void transform(MathTransform transform, double[] points,
+            int count) {
+        double[] copy = Arrays.copyOf(points, count * 2);
+        try {
+            transform.transform(points, 0, points, 0, count);
+            return;
+        } catch (TransformException e) {
+            /* Fall through to transform each point. */
+        }
+        for (int i = 0; i < count * 2; i += 2) {
+            try {
+                transform.transform(copy, i, points, i, 1);
+            } catch (TransformException e) {
+                points[i] = Double.NaN;
+                points[i + 1] = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * One level of the pyramid. Mapped buffers are limited to 2GB so a large
+     * level is mapped as several buffers, each holding whole rows of tiles.
+     */
+    private class Level {
+
+        private final int width;
+
+        private final int height;
+
+        private final int tilesX;
+
+        private final int tileRowsPerBuffer;
+
+        private final ShortBuffer[] buffers;
+
+        public Level(FileChannel channel, int width, int height, long offset,
+                long maxBufferBytes) throws IOException {
+            this.width = width;
+            this.height = height;
+            this.tilesX = (width + tileSize - 1) / tileSize;
+            int tilesY = (height + tileSize - 1) / tileSize;
+            long tileRowBytes = (long) tilesX * tileSize * tileSize
+                    * Short.BYTES;
+            this.tileRowsPerBuffer = (int) Math.max(1,
+                    Math.min(maxBufferBytes, Integer.MAX_VALUE)
+                            / tileRowBytes);
+            int count = (tilesY + tileRowsPerBuffer - 1) / tileRowsPerBuffer;
+            this.buffers = new ShortBuffer[count];
+            for (int i = 0; i < count; i += 1) {
+                int rows = Math.min(tileRowsPerBuffer,
+                        tilesY - i * tileRowsPerBuffer);
+                buffers[i] = channel
+                        .map(MapMode.READ_ONLY,
+                                offset + (long) i * tileRowsPerBuffer
+                                        * tileRowBytes,
+                                rows * tileRowBytes)
+                        .asShortBuffer();
+            }
+        }
+
+        public short get(int x, int y) {
+            int tileY = y >> tileShift;
+            int index = ((tileY % tileRowsPerBuffer) * tilesX
+                    + (x >> tileShift)) << (tileShift * 2);
+            index += ((y & tileMask) << tileShift) + (x & tileMask);
+            return buffers[tileY / tileRowsPerBuffer].get(index);
+        }
+    }
+}
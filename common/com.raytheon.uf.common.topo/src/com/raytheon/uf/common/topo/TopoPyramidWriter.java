@@ -0,0 +1,376 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.topo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.geotools.coverage.grid.GridGeometry2D;
+import org.opengis.geometry.Envelope;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.datastorage.records.ShortDataRecord;
+
+/**
+ * Generates the file read by {@link TopoPyramid} from a topo dataset in an hdf5
+ * file. The source is read one row of tiles at a time and each level is
+ * produced from the level below it by averaging 2x2 blocks of cells, ignoring
+ * fill values, so the entire grid is never held in memory.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           kshrestha   Initial creation
+ * 
+ * </pre>
+ * 
+ * @author kshrestha
+ */
+class TopoPyramidWriter {
+
+    private final IDataStore dataStore;
+
+    private final String dataset;
+
+    private final int tileSize;
+
+    private short fillValue = Short.MIN_VALUE;
+
+    /**
+     * @param dataStore
+     *            the topo file
+     * @param dataset
+     *            the dataset to use for the bottom level of the pyramid
+     * @param tileSize
+     *            width and height of a tile, must be a power of two
+     */
+    public TopoPyramidWriter(IDataStore dataStore, String dataset,
+            int tileSize) {
+        if (tileSize <= 0 || Integer.bitCount(tileSize) != 1) {
+            throw new IllegalArgumentException(
+                    "Pyramid tile size must be a power of two: " + tileSize);
+        }
+        this.dataStore = dataStore;
+        this.dataset = dataset;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Write a complete pyramid. The pyramid is written to a temporary file in
+     * the same directory and moved into place when it is complete so readers
+     * never see a partial file.
+     * 
+     * @param output
+     *            the pyramid file
+     * @param sourceModified
+     *            last modified time of the source, recorded so a pyramid can
+     *            be detected as out of date
+     * @throws Exception
+     */
+    public void write(File output, long sourceModified) throws Exception {
+        Request request = Request.buildSlab(new int[] { 0, 0 },
+                new int[] { 1, 1 });
+        IDataRecord record = dataStore.retrieve("/", dataset, request);
+        Map<String, Object> attributes = record.getDataAttributes();
+        double ulLon = ((Number) attributes.get("ulLon")).doubleValue();
+        double lrLon = ((Number) attributes.get("lrLon")).doubleValue();
+        boolean global = Math.abs(lrLon - ulLon) >= 359.5;
+        GridGeometry2D gridGeometry = TopoUtils.getTopoGeometry(dataStore,
+                dataset);
+        int width = gridGeometry.getGridRange2D().width;
+        int height = gridGeometry.getGridRange2D().height;
+
+        int numLevels = 1;
+        for (int w = width, h = height; w > tileSize || h > tileSize;) {
+            w = (w + 1) / 2;
+            h = (h + 1) / 2;
+            numLevels += 1;
+        }
+        int[][] dims = new int[numLevels][];
+        long[] offsets = new long[numLevels];
+        long headerSize = 64 + 24L * numLevels + gridGeometry
+                .getCoordinateReferenceSystem().toWKT().length() * 3L;
+        long offset = roundUp(headerSize, TopoPyramid.ALIGNMENT);
+        int w = width;
+        int h = height;
+        for (int level = 0; level < numLevels; level += 1) {
+            int tilesX = (w + tileSize - 1) / tileSize;
+            int tilesY = (h + tileSize - 1) / tileSize;
+            dims[level] = new int[] { w, h, tilesX, tilesY };
+            offsets[level] = offset;
+            offset += roundUp((long) tilesX * tilesY * tileSize * tileSize
+                    * Short.BYTES, TopoPyramid.ALIGNMENT);
+            w = (w + 1) / 2;
+            h = (h + 1) / 2;
+        }
+
+        File dir = output.getAbsoluteFile().getParentFile();
+        File tmp = File.createTempFile(output.getName(), ".tmp", dir);
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+                FileChannel channel = raf.getChannel();
+                LevelWriter levels = null;
+                for (int level = numLevels - 1; level >= 0; level -= 1) {
+                    levels = new LevelWriter(channel, dims[level],
+                            offsets[level], levels);
+                }
+                readSource(width, height, levels);
+                levels.finish();
+
+                byte[] header = writeHeader(gridGeometry, global,
+                        sourceModified, dims, offsets);
+                if (header.length > offsets[0]) {
+                    throw new IllegalStateException(
+                            "Pyramid header is larger than expected: "
+                                    + header.length);
+                }
+                channel.write(ByteBuffer.wrap(header), 0);
+                raf.setLength(offset);
+                channel.force(true);
+            }
+            Files.move(tmp.toPath(), output.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    private void readSource(int width, int height, LevelWriter levels)
+            throws Exception {
+        boolean first = true;
+        for (int y = 0; y < height; y += tileSize) {
+            int rows = Math.min(tileSize, height - y);
+            Request req = Request.buildSlab(new int[] { 0, y },
+                    new int[] { width, y + rows });
+            IDataRecord record = dataStore.retrieve("/", dataset, req);
+            if (!(record instanceof ShortDataRecord)) {
+                throw new TopoException("Unable to build a topo pyramid from "
+                        + record.getClass().getSimpleName() + " in "
+                        + dataset);
+            }
+            if (first) {
+                Number fill = record.getFillValue();
+                if (fill != null) {
+                    fillValue = fill.shortValue();
+                }
+                levels.setFillValue(fillValue);
+                first = false;
+            }
+            short[] data = ((ShortDataRecord) record).getShortData();
+            for (int r = 0; r < rows; r += 1) {
+                levels.addRow(data, r * width);
+            }
+        }
+    }
+
+    private byte[] writeHeader(GridGeometry2D gridGeometry, boolean global,
+            long sourceModified, int[][] dims, long[] offsets)
+            throws IOException {
+        Envelope envelope = gridGeometry.getEnvelope();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(TopoPyramid.MAGIC);
+            out.writeInt(TopoPyramid.VERSION);
+            out.writeInt(tileSize);
+            out.writeShort(fillValue);
+            out.writeBoolean(global);
+            out.writeLong(sourceModified);
+            out.writeUTF(gridGeometry.getCoordinateReferenceSystem().toWKT());
+            out.writeDouble(envelope.getMinimum(0));
+            out.writeDouble(envelope.getMaximum(0));
+            out.writeDouble(envelope.getMinimum(1));
+            out.writeDouble(envelope.getMaximum(1));
+            out.writeInt(dims.length);
+            for (int level = 0; level < dims.length; level += 1) {
+                out.writeInt(dims[level][0]);
+                out.writeInt(dims[level][1]);
+                out.writeLong(offsets[level]);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static long roundUp(long value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Collects rows for one level, writes each complete row of tiles and
+     * passes averaged pairs of rows to the next level.
+     */
+    private class LevelWriter {
+
+        private final FileChannel channel;
+
+        private final int width;
+
+        private final int tilesX;
+
+        private final long offset;
+
+        private final LevelWriter next;
+
+        private final short[] strip;
+
+        private final ByteBuffer tileRowBuffer;
+
+        private short[] pendingRow;
+
+        private int stripRows;
+
+        private int tileRow;
+
+        private short fill;
+
+        public LevelWriter(FileChannel channel, int[] dims, long offset,
+                LevelWriter next) {
+            this.channel = channel;
+            this.width = dims[0];
+            this.tilesX = dims[2];
+            this.offset = offset;
+            this.next = next;
+            this.strip = new short[width * tileSize];
+            this.tileRowBuffer = ByteBuffer
+                    .allocate(tilesX * tileSize * tileSize * Short.BYTES);
+        }
+
+        public void setFillValue(short fill) {
+            this.fill = fill;
+            if (next != null) {
+                next.setFillValue(fill);
+            }
+        }
+
+        public void addRow(short[] data, int start) throws IOException {
+            System.arraycopy(data, start, strip, stripRows * width, width);
+            stripRows += 1;
+            if (next != null) {
+                if (pendingRow == null) {
+                    pendingRow = Arrays.copyOfRange(data, start,
+                            start + width);
+                } else {
+                    next.addRow(average(pendingRow, data, start), 0);
+                    pendingRow = null;
+                }
+            }
+            if (stripRows == tileSize) {
+                flush();
+            }
+        }
+
+        public void finish() throws IOException {
+            if (stripRows > 0) {
+                flush();
+            }
+            if (next != null) {
+                if (pendingRow != null) {
+                    next.addRow(average(pendingRow, null, 0), 0);
+                    pendingRow = null;
+                }
+                next.finish();
+            }
+        }
+
+        /**
+         * Average 2x2 blocks from two rows of this level into a single row of
+         * the next level.
+         * 
+         * @param row1
+         *            the first row, starting at index 0
+         * @param row2
+         *            the array containing the second row or null if there is
+         *            no second row
+         * @param start
+         *            the index of the second row in row2
+         */
+        private short[] average(short[] row1, short[] row2, int start) {
+            short[] result = new short[(width + 1) / 2];
+            for (int i = 0; i < result.length; i += 1) {
+                int sum = 0;
+                int count = 0;
+                for (int x = i * 2; x < Math.min(width, i * 2 + 2); x += 1) {
+                    short v = row1[x];
+                    if (v != fill) {
+                        sum += v;
+                        count += 1;
+                    }
+                    if (row2 != null) {
+                        v = row2[start + x];
+                        if (v != fill) {
+                            sum += v;
+                            count += 1;
+                        }
+                    }
+                }
+                result[i] = count == 0 ? fill
+                        : (short) Math.round((double) sum / count);
+            }
+            return result;
+        }
+
+        /**
+         * Write the rows collected in the strip as a row of tiles, padding
+         * the edges with fill.
+         */
+        private void flush() throws IOException {
+            tileRowBuffer.clear();
+            ShortBuffer shorts = tileRowBuffer.asShortBuffer();
+            for (int tx = 0; tx < tilesX; tx += 1) {
+                int x0 = tx * tileSize;
+                int columns = Math.min(tileSize, width - x0);
+                for (int r = 0; r < tileSize; r += 1) {
+                    if (r < stripRows) {
+                        shorts.put(strip, r * width + x0, columns);
+                        for (int c = columns; c < tileSize; c += 1) {
+                            shorts.put(fill);
+                        }
+                    } else {
+                        for (int c = 0; c < tileSize; c += 1) {
+                            shorts.put(fill);
+                        }
+                    }
+                }
+            }
+            long position = offset
+                    + (long) tileRow * tileRowBuffer.capacity();
+            while (tileRowBuffer.hasRemaining()) {
+                position += channel.write(tileRowBuffer, position);
+            }
+            tileRow += 1;
+            stripRows = 0;
+        }
+    }
+}
@@ -98,6 +98,8 @@ import com.raytheon.uf.common.util.Pair;
  * Oct 27, 2014 3795       randerso    Changed to allow topoLimit to be overridden by system property
  * Nov 04, 2015 4961       randerso    Fix topoQueryMap to cache both the file and level
  * Nov 02, 2016 5979       njensen     Cast to Number where applicable
+ * Oct 19, 2026            kshrestha   Read from a local TopoPyramid when one is
+ *                                     available.
  * 
  * </pre>
  * 
@@ -298,6 +300,17 @@ public class TopoQuery {
      * @return topo height in meters MSL
      */
     public double[] getHeight(Coordinate[] coords) {
+        TopoPyramid pyramid = TopoPyramid.getInstance(hdf5File);
+        if (pyramid != null) {
+            try {
+                return pyramid.getHeight(coords);
+            } catch (FactoryException e) {
+                statusHandler.handle(Priority.PROBLEM,
+                        "Error retrieving topo values from pyramid, reading "
+                                + hdf5File + " instead",
+                        e);
+            }
+        }
         final int size = coords.length;
         double[] topo = new double[size];
         Arrays.fill(topo, Double.NaN);
@@ -651,6 +664,19 @@ public class TopoQuery {
      * @throws TopoException
      */
     public float[] getHeight(GridGeometry2D targetGeom) throws TopoException {
+        if (topoLevel == 0) {
+            TopoPyramid pyramid = TopoPyramid.getInstance(hdf5File);
+            if (pyramid != null) {
+                try {
+                    return pyramid.getHeight(targetGeom);
+                } catch (FactoryException e) {
+                    statusHandler.handle(Priority.PROBLEM,
+                            "Error retrieving topo grid from pyramid, reading "
+                                    + hdf5File + " instead",
+                            e);
+                }
+            }
+        }
         Rectangle rectangles[] = computeWorldRect(targetGeom);
 
         int width = 0;
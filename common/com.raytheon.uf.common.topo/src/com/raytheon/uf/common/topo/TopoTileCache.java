@@ -0,0 +1,199 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.topo;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import com.raytheon.uf.common.numeric.buffer.BufferWrapper;
+import com.raytheon.uf.common.numeric.source.DataSource;
+
+/**
+ * Least recently used cache of topo tiles shared by every
+ * {@link TiledTopoSource} in the JVM. The cache is limited by the number of
+ * bytes held in tiles rather than relying on soft references, which are all
+ * cleared at once as soon as the heap is under pressure. The budget can be set
+ * with the topo.tile.cache.bytes system property.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           kshrestha   Initial creation
+ * 
+ * </pre>
+ * 
+ * @author kshrestha
+ */
+final class TopoTileCache {
+
+    private static final TopoTileCache instance = new TopoTileCache(
+            Long.getLong("topo.tile.cache.bytes", 64L * 1024 * 1024));
+
+    /** Approximate size of a tile and its map entry beyond the data array. */
+    private static final int TILE_OVERHEAD = 96;
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<TileKey, Tile> tiles = new LinkedHashMap<>(
+            256, 0.75f, true);
+
+    private long bytes;
+
+    public static TopoTileCache getInstance() {
+        return instance;
+    }
+
+    private TopoTileCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized Tile get(TiledTopoSource source, int index) {
+        return tiles.get(new TileKey(source, index));
+    }
+
+    /**
+     * Check for a tile without changing its position in the eviction order.
+     */
+    public synchronized boolean contains(TiledTopoSource source, int index) {
+        return tiles.containsKey(new TileKey(source, index));
+    }
+
+    public synchronized void put(TiledTopoSource source, Tile tile) {
+        Tile old = tiles.put(new TileKey(source, tile.getIndex()), tile);
+        if (old != null) {
+            bytes -= old.getBytes();
+        }
+        bytes += tile.getBytes();
+        Iterator<Entry<TileKey, Tile>> it = tiles.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Tile eldest = it.next().getValue();
+            if (eldest == tile) {
+                /* Never evict the tile that was just added. */
+                break;
+            }
+            bytes -= eldest.getBytes();
+            it.remove();
+        }
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return tiles.size();
+    }
+
+    /**
+     * A single tile of topo data. Tiles of short data, which is how topo is
+     * normally stored, are held as a primitive short array so a lookup is a
+     * single array access.
+     */
+    public static final class Tile implements DataSource {
+
+        private final int index;
+
+        private final int width;
+
+        private final short[] shorts;
+
+        private final BufferWrapper other;
+
+        private final int bytes;
+
+        public Tile(int index, Object data, int width, int height) {
+            this.index = index;
+            this.width = width;
+            if (data instanceof short[]) {
+                this.shorts = (short[]) data;
+                this.other = null;
+                this.bytes = shorts.length * Short.BYTES + TILE_OVERHEAD;
+            } else {
+                this.shorts = null;
+                this.other = BufferWrapper.wrapArray(data, width, height);
+                this.bytes = width * height
+                        * elementSize(other.getPrimitiveType()) + TILE_OVERHEAD;
+            }
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getBytes() {
+            return bytes;
+        }
+
+        private static int elementSize(Class<?> primitiveType) {
+            if (double.class.equals(primitiveType)
+                    || long.class.equals(primitiveType)) {
+                return Long.BYTES;
+            } else if (float.class.equals(primitiveType)
+                    || int.class.equals(primitiveType)) {
+                return Integer.BYTES;
+            } else if (short.class.equals(primitiveType)) {
+                return Short.BYTES;
+            }
+            return Byte.BYTES;
+        }
+
+        @Override
+        public double getDataValue(int x, int y) {
+            if (shorts != null) {
+                return shorts[y * width + x];
+            }
+            return other.getDataValue(x, y);
+        }
+    }
+
+    private static final class TileKey {
+
+        private final TiledTopoSource source;
+
+        private final int index;
+
+        public TileKey(TiledTopoSource source, int index) {
+            this.source = source;
+            this.index = index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(source) + index;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TileKey)) {
+                return false;
+            }
+            TileKey other = (TileKey) obj;
+            return source == other.source && index == other.index;
+        }
+    }
+}
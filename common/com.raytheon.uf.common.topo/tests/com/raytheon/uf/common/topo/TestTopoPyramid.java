@@ -0,0 +1,365 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.topo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.geotools.coverage.grid.GeneralGridEnvelope;
+import org.geotools.coverage.grid.GridGeometry2D;
+import org.geotools.geometry.GeneralEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+
+import com.raytheon.uf.common.datastorage.IDataStore;
+import com.raytheon.uf.common.datastorage.Request;
+import com.raytheon.uf.common.datastorage.records.ShortDataRecord;
+
+/**
+ * Unit tests for TopoPyramid and TopoPyramidWriter. A pyramid is written from
+ * an in memory grid served by a stub data store and read back.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 19, 2026           kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestTopoPyramid {
+
+    private static final short FILL = -9999;
+
+    private static final int TILE_SIZE = 8;
+
+    private static final String DATASET = "full";
+
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("topoPyramid").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    /**
+     * A grid of varied values with a scattering of fill values.
+     */
+    private static short[] source(int width, int height) {
+        short[] data = new short[width * height];
+        for (int y = 0; y < height; y += 1) {
+            for (int x = 0; x < width; x += 1) {
+                data[y * width + x] = (x + y) % 11 == 0 ? FILL
+                        : (short) ((x * 37 + y * 101) % 3000 - 500);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * A data store holding a single topo dataset, only the slab retrievals
+     * the writer uses are supported.
+     */
+    private static IDataStore stubStore(short[] data, int width, int height,
+            double ulLon, double ulLat, double lrLon, double lrLat) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("Width", width);
+        attributes.put("Height", height);
+        attributes.put("ulLon", ulLon);
+        attributes.put("ulLat", ulLat);
+        attributes.put("lrLon", lrLon);
+        attributes.put("lrLat", lrLat);
+        attributes.put("CRS", DefaultGeographicCRS.WGS84.toWKT());
+        return (IDataStore) Proxy.newProxyInstance(
+                IDataStore.class.getClassLoader(),
+                new Class<?>[] { IDataStore.class }, (proxy, method, args) -> {
+                    if (!"retrieve".equals(method.getName())
+                            || args.length != 3
+                            || !DATASET.equals(args[1])) {
+                        throw new UnsupportedOperationException(
+                                method.toString());
+                    }
+                    Request request = (Request) args[2];
+                    int[] min = request.getMinIndexForSlab();
+                    int[] max = request.getMaxIndexForSlab();
+                    int w = max[0] - min[0];
+                    int h = max[1] - min[1];
+                    short[] slab = new short[w * h];
+                    for (int y = 0; y < h; y += 1) {
+                        System.arraycopy(data, (min[1] + y) * width + min[0],
+                                slab, y * w, w);
+                    }
+                    ShortDataRecord record = new ShortDataRecord(DATASET, "/",
+                            slab, 2, new long[] { w, h });
+                    record.setFillValue(FILL);
+                    record.setDataAttributes(attributes);
+                    return record;
+                });
+    }
+
+    private TopoPyramid writeAndRead(IDataStore store, long maxBufferBytes)
+            throws Exception {
+        File file = new File(dir, "topo.pyramid");
+        new TopoPyramidWriter(store, DATASET, TILE_SIZE).write(file, 1234L);
+        return new TopoPyramid(file, maxBufferBytes);
+    }
+
+    /**
+     * Build each level by averaging 2x2 blocks of the level below, ignoring
+     * fill, until a level fits in a tile.
+     */
+    private static List<short[]> expectedLevels(short[] data, int width,
+            int height, List<int[]> dims) {
+        List<short[]> levels = new ArrayList<>();
+        levels.add(data);
+        dims.add(new int[] { width, height });
+        int w = width;
+        int h = height;
+        short[] level = data;
+        while (w > TILE_SIZE || h > TILE_SIZE) {
+            int nw = (w + 1) / 2;
+            int nh = (h + 1) / 2;
+            short[] next = new short[nw * nh];
+            for (int y = 0; y < nh; y += 1) {
+                for (int x = 0; x < nw; x += 1) {
+                    int sum = 0;
+                    int count = 0;
+                    for (int sy = y * 2; sy < Math.min(h, y * 2 + 2); sy += 1) {
+                        for (int sx = x * 2; sx < Math.min(w, x * 2 + 2); sx += 1) {
+                            short v = level[sy * w + sx];
+                            if (v != FILL) {
+                                sum += v;
+                                count += 1;
+                            }
+                        }
+                    }
+                    next[y * nw + x] = count == 0 ? FILL
+                            : (short) Math.round((double) sum / count);
+                }
+            }
+            levels.add(next);
+            dims.add(new int[] { nw, nh });
+            level = next;
+            w = nw;
+            h = nh;
+        }
+        return levels;
+    }
+
+    private static void assertLevels(short[] data, int width, int height,
+            TopoPyramid pyramid) {
+        List<int[]> dims = new ArrayList<>();
+        List<short[]> expected = expectedLevels(data, width, height, dims);
+        assertEquals(expected.size(), pyramid.getNumLevels());
+        for (int level = 0; level < expected.size(); level += 1) {
+            int w = dims.get(level)[0];
+            int h = dims.get(level)[1];
+            assertEquals(w, pyramid.getLevelWidth(level));
+            assertEquals(h, pyramid.getLevelHeight(level));
+            short[] values = expected.get(level);
+            for (int y = 0; y < h; y += 1) {
+                for (int x = 0; x < w; x += 1) {
+                    assertEquals("level " + level + " (" + x + "," + y + ")",
+                            values[y * w + x], pyramid.getValue(level, x, y));
+                }
+            }
+        }
+    }
+
+    private static GridGeometry2D grid(int nx, int ny, double minLon,
+            double maxLon, double minLat, double maxLat) {
+        GeneralEnvelope envelope = new GeneralEnvelope(2);
+        envelope.setCoordinateReferenceSystem(DefaultGeographicCRS.WGS84);
+        envelope.setRange(0, minLon, maxLon);
+        envelope.setRange(1, minLat, maxLat);
+        return new GridGeometry2D(new GeneralGridEnvelope(new int[] { 0, 0 },
+                new int[] { nx, ny }, false), envelope);
+    }
+
+    private static double height(short value) {
+        return value == FILL ? Double.NaN : value;
+    }
+
+    @Test
+    public void testRoundTripSizesThatAreNotTileMultiples() throws Exception {
+        int width = 37;
+        int height = 21;
+        short[] data = source(width, height);
+        TopoPyramid pyramid = writeAndRead(
+                stubStore(data, width, height, -100, 40, -80, 30),
+                Integer.MAX_VALUE);
+        assertEquals(4, pyramid.getNumLevels());
+        assertLevels(data, width, height, pyramid);
+    }
+
+    @Test
+    public void testRoundTripWithOneTileRowPerBuffer() throws Exception {
+        int width = 45;
+        int height = 30;
+        short[] data = source(width, height);
+        /* every level is mapped as one buffer per row of tiles */
+        TopoPyramid pyramid = writeAndRead(
+                stubStore(data, width, height, -100, 40, -80, 30), 1);
+        assertLevels(data, width, height, pyramid);
+    }
+
+    @Test
+    public void testFillIsIgnoredWhenAveraging() throws Exception {
+        int width = 20;
+        int height = 12;
+        short[] data = source(width, height);
+        /* one block entirely fill and one block with a single real value */
+        data[0] = data[1] = data[width] = data[width + 1] = FILL;
+        data[2] = data[3] = data[width + 2] = FILL;
+        data[width + 3] = 100;
+        TopoPyramid pyramid = writeAndRead(
+                stubStore(data, width, height, 0, 12, 20, 0),
+                Integer.MAX_VALUE);
+        assertEquals(FILL, pyramid.getValue(1, 0, 0));
+        assertEquals(100, pyramid.getValue(1, 1, 0));
+        assertLevels(data, width, height, pyramid);
+
+        /* the cell centered on (0.5, 11.5) is fill */
+        double[] heights = pyramid
+                .getHeight(new Coordinate[] { new Coordinate(0.5, 11.5) });
+        assertTrue(Double.isNaN(heights[0]));
+    }
+
+    @Test
+    public void testPointHeightsMatchTopoQueryTruncation() throws Exception {
+        int width = 10;
+        int height = 5;
+        short[] data = source(width, height);
+        data[3 * width + 7] = FILL;
+        TopoPyramid pyramid = writeAndRead(
+                stubStore(data, width, height, 0, 5, 10, 0),
+                Integer.MAX_VALUE);
+        /*
+         * TopoQuery maps the envelope onto grid cells 1 to width - 1 with a
+         * cell center anchor and truncates, so for this grid the column is
+         * (int) (0.5 + lon * 0.9) and the row is (int) (0.5 + (5 - lat) * 0.8)
+         */
+        Coordinate[] coords = { new Coordinate(0.95, 4.9),
+                new Coordinate(9.99, 0.01), new Coordinate(5.2, 2.4),
+                new Coordinate(-0.01, 2.4), new Coordinate(-1.5, 2.4),
+                new Coordinate(-2, 2.4), new Coordinate(12, 2.4),
+                new Coordinate(7.78, 1.25) };
+        double[] expected = { height(data[0 * width + 1]),
+                height(data[4 * width + 9]), height(data[2 * width + 5]),
+                height(data[2 * width + 0]),
+                /* -0.85 truncates to column 0 */
+                height(data[2 * width + 0]), Double.NaN, Double.NaN,
+                Double.NaN };
+        double[] heights = pyramid.getHeight(coords);
+        for (int i = 0; i < coords.length; i += 1) {
+            assertEquals(coords[i].toString(), expected[i], heights[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testGlobalGridWrapsAcrossDateline() throws Exception {
+        int width = 40;
+        int height = 20;
+        short[] data = source(width, height);
+        TopoPyramid pyramid = writeAndRead(
+                stubStore(data, width, height, -180, 90, 180, -90),
+                Integer.MAX_VALUE);
+        /* one degree cells from 170 to 190, each source cell is 9 degrees */
+        int nx = 20;
+        int ny = 10;
+        float[] heights = pyramid.getHeight(grid(nx, ny, 170, 190, -5, 5));
+        for (int j = 0; j < ny; j += 1) {
+            double lat = 5 - 0.5 - j;
+            int row = (int) Math.floor((90 - lat) / 9);
+            for (int i = 0; i < nx; i += 1) {
+                double lon = 170 + 0.5 + i;
+                int column = Math.floorMod(
+                        (int) Math.floor((lon + 180) / 9), width);
+                assertEquals(lon + "," + lat,
+                        height(data[row * width + column]),
+                        heights[j * nx + i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testRegionalGridDoesNotWrap() throws Exception {
+        int width = 20;
+        int height = 10;
+        short[] data = source(width, height);
+        TopoPyramid pyramid = writeAndRead(
+                stubStore(data, width, height, 160, 10, 180, 0),
+                Integer.MAX_VALUE);
+        float[] heights = pyramid.getHeight(grid(4, 1, 178, 182, 4, 5));
+        assertEquals(height(data[5 * width + 18]), heights[0], 0.0);
+        assertEquals(height(data[5 * width + 19]), heights[1], 0.0);
+        assertTrue(Float.isNaN(heights[2]));
+        assertTrue(Float.isNaN(heights[3]));
+    }
+
+    @Test
+    public void testGridHeightUsesCoarserLevel() throws Exception {
+        int width = 37;
+        int height = 21;
+        short[] data = source(width, height);
+        TopoPyramid pyramid = writeAndRead(
+                stubStore(data, width, height, -100, 40, -63, 19),
+                Integer.MAX_VALUE);
+        /* about four source cells per target cell so level 2 is used */
+        int nx = 9;
+        int ny = 5;
+        float[] heights = pyramid
+                .getHeight(grid(nx, ny, -100, -63, 19, 40));
+        double scaleX = (double) width / nx;
+        double scaleY = (double) height / ny;
+        for (int j = 0; j < ny; j += 1) {
+            int y = (int) Math.floor((j + 0.5) * scaleY / 4);
+            for (int i = 0; i < nx; i += 1) {
+                int x = (int) Math.floor((i + 0.5) * scaleX / 4);
+                assertEquals(i + "," + j,
+                        height(pyramid.getValue(2, x, y)),
+                        heights[j * nx + i], 0.0);
+            }
+        }
+    }
+}
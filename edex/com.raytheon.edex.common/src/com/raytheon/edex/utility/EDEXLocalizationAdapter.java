@@ -99,6 +99,8 @@ import com.raytheon.uf.edex.core.EDEXUtil;
  * Aug 07, 2017 5731        bsteffen    Implement getContextList
  * Sep  8, 2017 6255        tgurney     Check ownership before setting permissions
  * Oct 24, 2022           srcarter@ucar Remove REGION and WORKSTATION levels
+ * Oct 19, 2026             kshrestha   Serve metadata and listings from
+ *                                      LocalizationTreeIndex
  *
  * </pre>
  *
@@ -119,11 +121,30 @@ public class EDEXLocalizationAdapter implements ILocalizationAdapter {
 
     private static final String FILE_UPDATE_ENDPOINT = "utilityNotify";
 
+    private static final boolean INDEX_ENABLED = Boolean.parseBoolean(
+            System.getProperty("edex.localization.index.enabled", "true"));
+
+    /** in-memory index of the utility tree, null if disabled */
+    private final LocalizationTreeIndex index;
+
     /**
      * Constructs this class
      */
     public EDEXLocalizationAdapter() {
         this.contexts = new HashMap<>();
+        if (INDEX_ENABLED) {
+            this.index = new LocalizationTreeIndex(getUtilityDir());
+            this.index.start();
+        } else {
+            this.index = null;
+        }
+    }
+
+    /**
+     * @return the index of the utility tree, or null if indexing is disabled
+     */
+    public LocalizationTreeIndex getIndex() {
+        return index;
     }
 
     @Override
@@ -187,8 +208,14 @@ public class EDEXLocalizationAdapter implements ILocalizationAdapter {
         List<ListResponse> contents = new ArrayList<>(context.length);
 
         for (LocalizationContext ctx : context) {
-            ListResponse entry = createListResponse(ctx, fileName,
-                    getPath(ctx, fileName));
+            ListResponse entry;
+            if (index != null) {
+                checkLevel(ctx);
+                entry = index.getMetadata(ctx, fileName);
+            } else {
+                entry = createListResponse(ctx, fileName,
+                        getPath(ctx, fileName));
+            }
             contents.add(entry);
         }
 
@@ -200,6 +227,14 @@ public class EDEXLocalizationAdapter implements ILocalizationAdapter {
 
         File utilityDir = getUtilityDir();
 
+        checkLevel(context);
+
+        File baseDir = new File(utilityDir, context.toPath());
+
+        return new File(baseDir, fileName);
+    }
+
+    private static void checkLevel(LocalizationContext context) {
         if (context.getLocalizationLevel() == LocalizationLevel.UNKNOWN) {
             throw new IllegalArgumentException("Unsupported localization level:"
                     + context.getLocalizationLevel());
@@ -208,10 +243,6 @@ public class EDEXLocalizationAdapter implements ILocalizationAdapter {
             // Change the above condition and add invalid type / level checking
             // if needed
         }
-
-        File baseDir = new File(utilityDir, context.toPath());
-
-        return new File(baseDir, fileName);
     }
 
     @Override
@@ -288,6 +319,14 @@ public class EDEXLocalizationAdapter implements ILocalizationAdapter {
             String path, String fileExtension, boolean recursive,
             boolean filesOnly) throws LocalizationException {
 
+        if (index != null) {
+            for (LocalizationContext ctx : context) {
+                checkLevel(ctx);
+            }
+            return index.list(context, path, fileExtension, recursive,
+                    filesOnly).toArray(new ListResponse[0]);
+        }
+
         // use the Set datatype to ensure no duplicate entries, use linked to
         // ensure order is deterministic when scanning multiple contexts
         Set<ListResponse> contents = new LinkedHashSet<>();
@@ -381,6 +420,9 @@ public class EDEXLocalizationAdapter implements ILocalizationAdapter {
             File actualFile = getPath(file.getContext(), file.getPath());
             String checksum = ChecksumIO.writeChecksum(actualFile);
             long timeStamp = actualFile.lastModified();
+            if (index != null) {
+                index.refresh(context, file.getPath());
+            }
 
             EDEXUtil.getMessageProducer().sendAsync(FILE_UPDATE_ENDPOINT,
                     new FileUpdatedMessage(context, file.getPath(), changeType,
@@ -416,6 +458,9 @@ public class EDEXLocalizationAdapter implements ILocalizationAdapter {
         if (deleted) {
             long timeStamp = System.currentTimeMillis();
             LocalizationContext context = file.getContext();
+            if (index != null) {
+                index.refresh(context, file.getPath());
+            }
             // send notification
             try {
                 EDEXUtil.getMessageProducer().sendAsync(FILE_UPDATE_ENDPOINT,
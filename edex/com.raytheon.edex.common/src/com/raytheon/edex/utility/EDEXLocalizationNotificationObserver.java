@@ -20,6 +20,7 @@
 package com.raytheon.edex.utility;
 
 import com.raytheon.uf.common.localization.FileUpdatedMessage;
+import com.raytheon.uf.common.localization.ILocalizationAdapter;
 import com.raytheon.uf.common.localization.PathManager;
 import com.raytheon.uf.common.localization.PathManagerFactory;
 import com.raytheon.uf.common.localization.exception.LocalizationException;
@@ -38,6 +39,8 @@ import com.raytheon.uf.common.serialization.SerializationUtil;
  * Apr 08, 2011            mschenke    Initial creation
  * Aug 24, 2015  4393      njensen     Updates for observer changes
  * Nov 16, 2015  4834      njensen     Send FileUpdatedMessages to PathManager
+ * Oct 19, 2026            kshrestha   Update LocalizationTreeIndex before
+ *                                      firing listeners
  * 
  * </pre>
  * 
@@ -64,6 +67,14 @@ public class EDEXLocalizationNotificationObserver {
             FileUpdatedMessage obj = SerializationUtil.transformFromThrift(
                     FileUpdatedMessage.class, bytes);
             for (PathManager pm : PathManagerFactory.getActivePathManagers()) {
+                ILocalizationAdapter adapter = pm.getAdapter();
+                if (adapter instanceof EDEXLocalizationAdapter) {
+                    LocalizationTreeIndex index = ((EDEXLocalizationAdapter) adapter)
+                            .getIndex();
+                    if (index != null) {
+                        index.fileUpdated(obj);
+                    }
+                }
                 pm.fireListeners(obj);
             }
         } catch (SerializationException e) {
@@ -0,0 +1,675 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.edex.utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.raytheon.uf.common.localization.Checksum;
+import com.raytheon.uf.common.localization.FileUpdatedMessage;
+import com.raytheon.uf.common.localization.FileUpdatedMessage.FileChangeType;
+import com.raytheon.uf.common.localization.ILocalizationAdapter.ListResponse;
+import com.raytheon.uf.common.localization.ILocalizationFile;
+import com.raytheon.uf.common.localization.IPathManager;
+import com.raytheon.uf.common.localization.LocalizationContext;
+import com.raytheon.uf.common.localization.checksum.ChecksumIO;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+
+/**
+ * In-memory index of the EDEX localization tree. Each localization context
+ * (e.g. common_static/site/OAX) is a tier holding a sorted map of relative
+ * path to file metadata, so directory listings and checksum lookups are served
+ * from memory without walking the disk or reading .md5 side-car files.
+ *
+ * The index is built once when {@link #start()} is called and is kept current
+ * by a {@link WatchService} on every indexed directory as well as by the
+ * {@link FileUpdatedMessage}s passed to {@link #fileUpdated(FileUpdatedMessage)}.
+ * Tiers for contexts that did not exist at startup are built lazily on first
+ * access. All lookups are lock-free.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           kshrestha Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class LocalizationTreeIndex {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(LocalizationTreeIndex.class, "Localization");
+
+    private static final char SEPARATOR = IPathManager.SEPARATOR.charAt(0);
+
+    /**
+     * Immutable metadata for a single indexed file or directory.
+     */
+    private static final class IndexEntry {
+
+        private final boolean directory;
+
+        private final long lastModified;
+
+        private final String checksum;
+
+        private IndexEntry(boolean directory, long lastModified,
+                String checksum) {
+            this.directory = directory;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * The index for a single localization context.
+     */
+    private static final class Tier {
+
+        private final Path root;
+
+        private final ConcurrentNavigableMap<String, IndexEntry> entries = new ConcurrentSkipListMap<>();
+
+        private Tier(Path root) {
+            this.root = root;
+        }
+    }
+
+    private final Path utilityDir;
+
+    /** tiers keyed by {@link LocalizationContext#toPath()} */
+    private final ConcurrentMap<String, Tier> tiers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+
+    private volatile WatchService watchService;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong watchEvents = new AtomicLong();
+
+    private final AtomicLong notificationEvents = new AtomicLong();
+
+    private final AtomicLong overflows = new AtomicLong();
+
+    private volatile long lastUpdateTime;
+
+    private volatile long lastUpdateLag;
+
+    private final AtomicLong maxUpdateLag = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param utilityDir
+     *            the root of the localization tree
+     */
+    public LocalizationTreeIndex(File utilityDir) {
+        this.utilityDir = utilityDir.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * Builds a tier for every context currently on disk and starts the thread
+     * that watches the tree for changes.
+     */
+    public synchronized void start() {
+        if (watchService != null) {
+            return;
+        }
+        long t0 = System.currentTimeMillis();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            statusHandler.error(
+                    "Unable to watch localization tree, index will not be kept current",
+                    e);
+        }
+
+        /*
+         * register the type and level directories so new contexts are noticed,
+         * then index every context directory below them
+         */
+        register(utilityDir);
+        File[] typeDirs = utilityDir.toFile().listFiles(File::isDirectory);
+        if (typeDirs != null) {
+            for (File typeDir : typeDirs) {
+                register(typeDir.toPath());
+                File[] levelDirs = typeDir.listFiles(File::isDirectory);
+                if (levelDirs == null) {
+                    continue;
+                }
+                for (File levelDir : levelDirs) {
+                    register(levelDir.toPath());
+                    if ("base".equals(levelDir.getName())) {
+                        getTier(utilityDir.relativize(levelDir.toPath())
+                                .toString());
+                    } else {
+                        File[] ctxDirs = levelDir
+                                .listFiles(File::isDirectory);
+                        if (ctxDirs != null) {
+                            for (File ctxDir : ctxDirs) {
+                                getTier(utilityDir
+                                        .relativize(ctxDir.toPath())
+                                        .toString());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        if (watchService != null) {
+            Thread watcher = new Thread(this::processEvents,
+                    "LocalizationTreeIndexWatcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        lastUpdateTime = System.currentTimeMillis();
+        statusHandler.info("Indexed " + getEntryCount()
+                + " localization entries in " + tiers.size()
+                + " contexts in " + (lastUpdateTime - t0) + "ms");
+    }
+
+    /**
+     * Stops watching the localization tree. The index contents remain
+     * available but will no longer be updated from the file system.
+     */
+    public synchronized void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                statusHandler.error("Error closing localization watch service",
+                        e);
+            }
+            watchService = null;
+            watchKeys.clear();
+        }
+    }
+
+    /**
+     * Get the metadata of a single file or directory in a context.
+     *
+     * @param ctx
+     * @param fileName
+     * @return the metadata, existsOnServer will be false if the file is not in
+     *         the index
+     */
+    public ListResponse getMetadata(LocalizationContext ctx,
+            String fileName) {
+        String path = normalize(fileName);
+        IndexEntry entry = getTier(ctx.toPath()).entries.get(path);
+        return createListResponse(ctx, path, entry);
+    }
+
+    /**
+     * List the contents of a directory in the given contexts. This has the
+     * same semantics as listing the directory on disk: the directory itself is
+     * not included, the extension is applied to directories as well as files,
+     * and recursion descends into every directory.
+     *
+     * @param contexts
+     * @param dirName
+     * @param fileExtension
+     *            extension that names must end with, or null for all entries
+     * @param recursive
+     * @param filesOnly
+     * @return the matching entries, in context order
+     */
+    public List<ListResponse> list(LocalizationContext[] contexts,
+            String dirName, String fileExtension, boolean recursive,
+            boolean filesOnly) {
+        String path = normalize(dirName);
+        String prefix = path.isEmpty() ? path : path + SEPARATOR;
+        List<ListResponse> rval = new ArrayList<>();
+        for (LocalizationContext ctx : contexts) {
+            Tier tier = getTier(ctx.toPath());
+            for (Map.Entry<String, IndexEntry> e : tier.entries
+                    .tailMap(prefix, true).entrySet()) {
+                String key = e.getKey();
+                if (!key.startsWith(prefix)) {
+                    break;
+                }
+                if (key.length() == prefix.length()) {
+                    // the directory itself
+                    continue;
+                }
+                if (!recursive
+                        && key.indexOf(SEPARATOR, prefix.length()) >= 0) {
+                    continue;
+                }
+                IndexEntry entry = e.getValue();
+                if (filesOnly && entry.directory) {
+                    continue;
+                }
+                if (fileExtension != null && !key.endsWith(fileExtension)) {
+                    continue;
+                }
+                rval.add(createListResponse(ctx, key, entry));
+            }
+        }
+        return rval;
+    }
+
+    /**
+     * Re-reads the metadata of a file from disk. Used after EDEX itself
+     * modifies the tree so the change is visible before the watch event
+     * arrives.
+     *
+     * @param ctx
+     * @param fileName
+     */
+    public void refresh(LocalizationContext ctx, String fileName) {
+        Tier tier = tiers.get(ctx.toPath());
+        if (tier != null) {
+            String path = normalize(fileName);
+            refresh(tier, path, tier.root.resolve(path));
+        }
+    }
+
+    /**
+     * Applies a file updated notification to the index.
+     *
+     * @param msg
+     */
+    public void fileUpdated(FileUpdatedMessage msg) {
+        Tier tier = tiers.get(msg.getContext().toPath());
+        if (tier == null) {
+            // not indexed yet, will be read from disk when first requested
+            return;
+        }
+        notificationEvents.incrementAndGet();
+        String path = normalize(msg.getFileName());
+        if (msg.getChangeType() == FileChangeType.DELETED) {
+            remove(tier, path);
+        } else {
+            tier.entries.put(path, new IndexEntry(false, msg.getTimeStamp(),
+                    msg.getCheckSum()));
+        }
+        updated(msg.getTimeStamp());
+    }
+
+    /**
+     * @return the number of files and directories in the index
+     */
+    public int getEntryCount() {
+        int count = 0;
+        for (Tier tier : tiers.values()) {
+            count += tier.entries.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of indexed contexts
+     */
+    public int getContextCount() {
+        return tiers.size();
+    }
+
+    /**
+     * @return the number of lookups served from an existing tier
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups that had to build a tier from disk
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of file system events applied to the index
+     */
+    public long getWatchEventCount() {
+        return watchEvents.get();
+    }
+
+    /**
+     * @return the number of file updated notifications applied to the index
+     */
+    public long getNotificationEventCount() {
+        return notificationEvents.get();
+    }
+
+    /**
+     * @return the number of times events were lost and a tier was rebuilt
+     */
+    public long getOverflowCount() {
+        return overflows.get();
+    }
+
+    /**
+     * @return the time in millis since the index was last updated
+     */
+    public long getTimeSinceLastUpdate() {
+        return System.currentTimeMillis() - lastUpdateTime;
+    }
+
+    /**
+     * @return the delay in millis between the most recent change on disk and
+     *         it being reflected in the index
+     */
+    public long getLastUpdateLag() {
+        return lastUpdateLag;
+    }
+
+    /**
+     * @return the largest delay in millis between a change on disk and it
+     *         being reflected in the index
+     */
+    public long getMaxUpdateLag() {
+        return maxUpdateLag.get();
+    }
+
+    @Override
+    public String toString() {
+        return "LocalizationTreeIndex [contexts=" + getContextCount()
+                + ", entries=" + getEntryCount() + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", watchEvents="
+                + getWatchEventCount() + ", notifications="
+                + getNotificationEventCount() + ", overflows="
+                + getOverflowCount() + ", lastUpdateLag=" + getLastUpdateLag()
+                + "ms, maxUpdateLag=" + getMaxUpdateLag() + "ms]";
+    }
+
+    private Tier getTier(String contextPath) {
+        Tier tier = tiers.get(contextPath);
+        if (tier != null) {
+            hits.incrementAndGet();
+            return tier;
+        }
+        misses.incrementAndGet();
+        return tiers.computeIfAbsent(contextPath, this::buildTier);
+    }
+
+    private Tier buildTier(String contextPath) {
+        Tier tier = new Tier(utilityDir.resolve(contextPath));
+        if (Files.isDirectory(tier.root)) {
+            walk(tier, tier.root);
+        } else {
+            /*
+             * make sure the parent is watched so the tier is populated if the
+             * context directory is created later
+             */
+            Path parent = tier.root.getParent();
+            if (parent != null && Files.isDirectory(parent)) {
+                register(parent);
+            }
+        }
+        return tier;
+    }
+
+    /**
+     * Adds a directory and everything below it to a tier, registering each
+     * directory with the watch service before it is read so no changes are
+     * missed.
+     */
+    private void walk(Tier tier, Path dir) {
+        try {
+            Files.walkFileTree(dir, EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                    Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path d,
+                        BasicFileAttributes attrs) {
+                    register(d);
+                    tier.entries.put(relativize(tier, d),
+                            new IndexEntry(true, attrs.lastModifiedTime()
+                                    .toMillis(),
+                                    ILocalizationFile.DIRECTORY_CHECKSUM));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path f,
+                        BasicFileAttributes attrs) {
+                    if (!isChecksumFile(f)) {
+                        tier.entries.put(relativize(tier, f),
+                                new IndexEntry(false,
+                                        attrs.lastModifiedTime().toMillis(),
+                                        ChecksumIO.getFileChecksum(
+                                                f.toFile())));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path f,
+                        IOException e) {
+                    statusHandler.debug("Unable to index " + f + ": "
+                            + e.getLocalizedMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            statusHandler.error("Error indexing localization directory " + dir,
+                    e);
+        }
+    }
+
+    private void register(Path dir) {
+        WatchService ws = watchService;
+        if (ws == null) {
+            return;
+        }
+        try {
+            WatchKey key = dir.register(ws,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchKeys.put(key, dir);
+        } catch (ClosedWatchServiceException e) {
+            // index is stopping
+        } catch (IOException e) {
+            statusHandler.error("Unable to watch localization directory " + dir,
+                    e);
+        }
+    }
+
+    private void processEvents() {
+        while (true) {
+            WatchService ws = watchService;
+            if (ws == null) {
+                return;
+            }
+            WatchKey key;
+            try {
+                key = ws.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = watchKeys.get(key);
+            if (dir != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    try {
+                        handleEvent(dir, event);
+                    } catch (Exception e) {
+                        statusHandler.error(
+                                "Error updating localization index for event "
+                                        + event.kind() + " in " + dir,
+                                e);
+                    }
+                }
+            }
+            if (!key.reset()) {
+                watchKeys.remove(key);
+            }
+        }
+    }
+
+    private void handleEvent(Path dir, WatchEvent<?> event) {
+        watchEvents.incrementAndGet();
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            overflows.incrementAndGet();
+            statusHandler.warn("Localization watch events were lost for " + dir
+                    + ", rebuilding affected contexts");
+            for (Tier tier : tiers.values()) {
+                if (tier.root.startsWith(dir) || dir.startsWith(tier.root)) {
+                    rebuild(tier);
+                }
+            }
+            return;
+        }
+
+        Path file = dir.resolve((Path) event.context());
+        if (isChecksumFile(file)) {
+            // checksum side-car changed, refresh the file it belongs to
+            String name = file.getFileName().toString();
+            file = file.resolveSibling(name.substring(0,
+                    name.length() - Checksum.CHECKSUM_FILE_EXTENSION.length()));
+        }
+
+        for (Tier tier : tiers.values()) {
+            if (file.startsWith(tier.root)) {
+                refresh(tier, relativize(tier, file), file);
+                if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY
+                        && !file.equals(tier.root)) {
+                    // directory modification time changes with its contents
+                    Path parent = file.getParent();
+                    refresh(tier, relativize(tier, parent), parent);
+                }
+            }
+        }
+    }
+
+    private void refresh(Tier tier, String path, Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file,
+                    BasicFileAttributes.class);
+            if (attrs.isDirectory()) {
+                if (!tier.entries.containsKey(path)) {
+                    // new directory, pick up anything created inside it
+                    walk(tier, file);
+                } else {
+                    tier.entries.put(path,
+                            new IndexEntry(true,
+                                    attrs.lastModifiedTime().toMillis(),
+                                    ILocalizationFile.DIRECTORY_CHECKSUM));
+                }
+            } else {
+                tier.entries.put(path,
+                        new IndexEntry(false,
+                                attrs.lastModifiedTime().toMillis(),
+                                ChecksumIO.getFileChecksum(file.toFile())));
+            }
+            updated(attrs.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            // file no longer exists
+            remove(tier, path);
+            updated(System.currentTimeMillis());
+        }
+    }
+
+    private void rebuild(Tier tier) {
+        tier.entries.clear();
+        if (Files.isDirectory(tier.root)) {
+            walk(tier, tier.root);
+        }
+    }
+
+    private static void remove(Tier tier, String path) {
+        tier.entries.remove(path);
+        String prefix = path.isEmpty() ? path : path + SEPARATOR;
+        tier.entries.subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+                .clear();
+    }
+
+    private void updated(long changeTime) {
+        long now = System.currentTimeMillis();
+        long lag = Math.max(0, now - changeTime);
+        lastUpdateTime = now;
+        lastUpdateLag = lag;
+        maxUpdateLag.accumulateAndGet(lag, Math::max);
+    }
+
+    private static String relativize(Tier tier, Path file) {
+        return tier.root.relativize(file).toString().replace(File.separatorChar,
+                SEPARATOR);
+    }
+
+    private static boolean isChecksumFile(Path file) {
+        return file.getFileName().toString()
+                .endsWith(Checksum.CHECKSUM_FILE_EXTENSION);
+    }
+
+    private static String normalize(String fileName) {
+        String path = fileName.replace(File.separatorChar, SEPARATOR);
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == SEPARATOR) {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == SEPARATOR) {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    private static ListResponse createListResponse(LocalizationContext ctx,
+            String path, IndexEntry entry) {
+        ListResponse response = new ListResponse();
+        response.context = ctx;
+        response.fileName = path;
+        if (entry != null) {
+            response.isDirectory = entry.directory;
+            response.date = new Date(entry.lastModified);
+            response.checkSum = entry.checksum;
+            response.existsOnServer = true;
+        } else {
+            response.isDirectory = false;
+            response.date = new Date(0);
+            response.checkSum = ILocalizationFile.NON_EXISTENT_CHECKSUM;
+            response.existsOnServer = false;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,312 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+
+/**
+ * Lets threads waiting for a cluster lock that is held by another thread in
+ * this JVM be woken as soon as the lock is released instead of polling the
+ * database. Since a lock held by another cluster node gives no notification,
+ * waiters still retry the database, backing off from the minimum wait
+ * (cluster.lock.min.backoff.ms, default the 100ms retry used before waiters
+ * existed) doubling up to the maximum (cluster.lock.max.backoff.ms, default
+ * 1s) while the lock remains held. A long held lock is then polled a tenth as
+ * often, at the cost of noticing a release by another node up to a second
+ * late.
+ *
+ * Usage:
+ *
+ * <pre>
+ * try (Ticket ticket = waiters.enter(key)) {
+ *     long wait = waiters.getMinBackoff();
+ *     while (!tryLock()) {
+ *         if (!ticket.await(wait)) {
+ *             wait = waiters.nextBackoff(wait);
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * The ticket must be entered before the first attempt so that a release
+ * between the attempt and the wait is not missed.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class ClusterLockWaiters {
+
+    private static final IUFStatusHandler handler = UFStatus
+            .getHandler(ClusterLockWaiters.class);
+
+    private static final long MIN_BACKOFF = Long
+            .getLong("cluster.lock.min.backoff.ms", 100L);
+
+    private static final long MAX_BACKOFF = Long
+            .getLong("cluster.lock.max.backoff.ms", 1000L);
+
+    private static final long STATS_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Upper bounds in milliseconds of the acquire latency histogram buckets,
+     * the last bucket holds everything longer.
+     */
+    private static final long[] BUCKET_LIMITS = { 1, 10, 100, 1_000, 10_000,
+            60_000 };
+
+    private static final Map<String, ClusterLockWaiters> instances = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final long minBackoff;
+
+    private final long maxBackoff;
+
+    private final Map<Object, Waiter> waiters = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray acquireLatency = new AtomicLongArray(
+            BUCKET_LIMITS.length + 1);
+
+    private final AtomicLong wakeups = new AtomicLong();
+
+    private final AtomicLong lastStatsTime = new AtomicLong(
+            System.currentTimeMillis());
+
+    /**
+     * Get the waiters for a lock table, all lockers of the same table in this
+     * JVM must share an instance so they wake each other.
+     *
+     * @param name
+     *            identifies the lock table, typically the table and database
+     * @param minBackoff
+     *            the first wait in milliseconds between attempts when no
+     *            release is seen, or zero or less to use the
+     *            cluster.lock.min.backoff.ms property. Only the first caller
+     *            for a name sets it, later callers asking for a different
+     *            value are warned and get the existing instance.
+     * @return the shared instance
+     */
+    public static ClusterLockWaiters getInstance(String name,
+            long minBackoff) {
+        long requested = minBackoff > 0 ? minBackoff : MIN_BACKOFF;
+        ClusterLockWaiters waiters = instances.computeIfAbsent(name,
+                k -> new ClusterLockWaiters(k, requested));
+        if (waiters.minBackoff != requested) {
+            handler.warn(name + " cluster lock waiters already use a "
+                    + waiters.minBackoff + "ms minimum backoff, ignoring the "
+                    + requested + "ms requested");
+        }
+        return waiters;
+    }
+
+    private ClusterLockWaiters(String name, long minBackoff) {
+        this.name = name;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = Math.max(minBackoff, MAX_BACKOFF);
+    }
+
+    public long getMinBackoff() {
+        return minBackoff;
+    }
+
+    /**
+     * @param wait
+     *            the previous wait
+     * @return the wait to use after an attempt that failed without a release
+     *         being seen
+     */
+    public long nextBackoff(long wait) {
+        return Math.min(maxBackoff, wait * 2);
+    }
+
+    /**
+     * Register interest in the release of a lock.
+     *
+     * @param key
+     *            identifies the lock
+     * @return a ticket that must be closed when done waiting
+     */
+    public Ticket enter(Object key) {
+        Waiter waiter = waiters.compute(key, (k, w) -> {
+            if (w == null) {
+                w = new Waiter();
+            }
+            w.waiting += 1;
+            return w;
+        });
+        synchronized (waiter) {
+            return new Ticket(key, waiter, waiter.releases);
+        }
+    }
+
+    /**
+     * Wake any threads waiting for a lock, call after the transaction that
+     * released the lock is committed.
+     *
+     * @param key
+     *            identifies the lock
+     */
+    public void released(Object key) {
+        Waiter waiter = waiters.get(key);
+        if (waiter != null) {
+            synchronized (waiter) {
+                waiter.releases += 1;
+                waiter.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Record how long it took to acquire a lock.
+     *
+     * @param millis
+     */
+    public void recordAcquire(long millis) {
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS.length
+                && millis >= BUCKET_LIMITS[bucket]) {
+            bucket += 1;
+        }
+        acquireLatency.incrementAndGet(bucket);
+
+        long last = lastStatsTime.get();
+        long now = System.currentTimeMillis();
+        if (now - last > STATS_INTERVAL
+                && lastStatsTime.compareAndSet(last, now)
+                && handler.isPriorityEnabled(Priority.INFO)) {
+            handler.info(name + " cluster lock acquire latency: "
+                    + getAcquireLatencySummary() + ", woken by release "
+                    + wakeups.get() + " times");
+        }
+    }
+
+    /**
+     * @return the number of locks acquired in each latency bucket, bucket i
+     *         holds acquisitions shorter than the i-th limit of 1, 10, 100,
+     *         1000, 10000 and 60000 milliseconds and the final bucket holds
+     *         longer acquisitions
+     */
+    public long[] getAcquireLatencyHistogram() {
+        long[] counts = new long[acquireLatency.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = acquireLatency.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * @return a human readable form of the acquire latency histogram
+     */
+    public String getAcquireLatencySummary() {
+        long[] counts = getAcquireLatencyHistogram();
+        StringBuilder summary = new StringBuilder(96);
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            if (i < BUCKET_LIMITS.length) {
+                summary.append("<").append(BUCKET_LIMITS[i]).append("ms=");
+            } else {
+                summary.append(">=").append(BUCKET_LIMITS[i - 1])
+                        .append("ms=");
+            }
+            summary.append(counts[i]);
+        }
+        return summary.toString();
+    }
+
+    private static class Waiter {
+
+        /** number of tickets entered, guarded by the waiters map */
+        private int waiting;
+
+        /** number of releases, guarded by this */
+        private long releases;
+    }
+
+    /**
+     * Interest in the release of a single lock by a single thread.
+     */
+    public class Ticket implements AutoCloseable {
+
+        private final Object key;
+
+        private final Waiter waiter;
+
+        private long seenReleases;
+
+        private Ticket(Object key, Waiter waiter, long seenReleases) {
+            this.key = key;
+            this.waiter = waiter;
+            this.seenReleases = seenReleases;
+        }
+
+        /**
+         * Wait until the lock is released in this JVM or the time elapses.
+         *
+         * @param millis
+         *            the most time to wait
+         * @return true if the lock was released since the ticket was entered
+         *         or the last call to await
+         * @throws InterruptedException
+         */
+        public boolean await(long millis) throws InterruptedException {
+            long end = System.currentTimeMillis() + millis;
+            synchronized (waiter) {
+                long remaining = millis;
+                while (waiter.releases == seenReleases && remaining > 0) {
+                    waiter.wait(remaining);
+                    remaining = end - System.currentTimeMillis();
+                }
+                if (waiter.releases != seenReleases) {
+                    seenReleases = waiter.releases;
+                    wakeups.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            waiters.computeIfPresent(key, (k, w) -> {
+                w.waiting -= 1;
+                return w.waiting == 0 ? null : w;
+            });
+        }
+    }
+}
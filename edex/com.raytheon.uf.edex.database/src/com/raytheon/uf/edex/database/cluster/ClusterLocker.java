@@ -33,6 +33,7 @@ import org.hibernate.criterion.Restrictions;
 import com.raytheon.uf.common.status.IUFStatusHandler;
 import com.raytheon.uf.common.status.UFStatus;
 import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.edex.database.cluster.ClusterLockWaiters.Ticket;
 import com.raytheon.uf.edex.database.cluster.ClusterLockUtils.LockState;
 import com.raytheon.uf.edex.database.cluster.handler.CurrentTimeClusterLockHandler;
 import com.raytheon.uf.edex.database.cluster.handler.IClusterLockHandler;
@@ -51,6 +52,8 @@ import com.raytheon.uf.edex.database.dao.DaoConfig;
  * ------------ ---------- ----------- --------------------------
  * Oct 06, 2014 3702       bsteffen    Extact logic from ClusterLockUtils to allow seperate locks per database.
  * 10/16/2014   3454       bphillip    Upgrading to Hibernate 4
+ * Oct 19, 2026            kshrestha   Wake waiters in this JVM on unlock and
+ *                                     back off when polling for a lock.
  * 
  * </pre>
  * 
@@ -63,8 +66,21 @@ public class ClusterLocker {
 
     public CoreDao dao;
 
+    /** shared by all lockers of the same database to wake each other */
+    private final ClusterLockWaiters waiters;
+
     public ClusterLocker(String database) {
         dao = new CoreDao(DaoConfig.forDatabase(database));
+        waiters = ClusterLockWaiters.getInstance("cluster_task." + database,
+                0);
+    }
+
+    /**
+     * @return the waiters for locks in this database, which also track lock
+     *         acquire latency
+     */
+    public ClusterLockWaiters getWaiters() {
+        return waiters;
     }
 
     /**
@@ -131,10 +147,13 @@ public class ClusterLocker {
 
     /**
      * Attempts to lock based on the taskName/details and the specified
-     * lockHandler. If waitForRunningToFinish it will sleep and then attempt to
-     * lock again until it achieves a lock other than already running. The
-     * waitForRunningToFinish is not part of the main lock logic due to
-     * checkTime being keyed off something other than System clock.
+     * lockHandler. If waitForRunningToFinish it will wait and then attempt to
+     * lock again until it achieves a lock other than already running. The wait
+     * ends as soon as the lock is released by another thread in this JVM,
+     * otherwise it grows from the minimum to the maximum backoff of
+     * {@link ClusterLockWaiters}. The waitForRunningToFinish is not part of
+     * the main lock logic due to checkTime being keyed off something other than
+     * System clock.
      * 
      * @param taskName
      * @param details
@@ -152,66 +171,81 @@ public class ClusterLocker {
         pk.setName(taskName);
         pk.setDetails(details);
         boolean tryAgain = true;
+        long start = System.currentTimeMillis();
+        long wait = waiters.getMinBackoff();
+        Ticket ticket = waitForRunningToFinish ? waiters.enter(pk) : null;
 
-        while (tryAgain) {
-            tryAgain = false;
-            try {
-                s = dao.getSessionFactory()
-                        .openSession();
-                tx = s.beginTransaction();
+        try {
+            while (tryAgain) {
+                tryAgain = false;
+                try {
+                    s = dao.getSessionFactory().openSession();
+                    tx = s.beginTransaction();
 
-                ct = getLock(s, pk, true);
+                    ct = getLock(s, pk, true);
 
-                ls = lockHandler.handleLock(ct);
-                if (LockState.SUCCESSFUL.equals(ls)) {
-                    if (lockHandler.updateLock(ct)) {
-                        s.update(ct);
+                    ls = lockHandler.handleLock(ct);
+                    if (LockState.SUCCESSFUL.equals(ls)) {
+                        if (lockHandler.updateLock(ct)) {
+                            s.update(ct);
+                        }
+                    }
+                    tx.commit();
+                } catch (Throwable t) {
+                    handler.handle(Priority.ERROR,
+                            "Error processing lock for cluster task ["
+                                    + taskName + "/" + details + "]",
+                            t);
+
+                    ls = LockState.FAILED;
+                    if (ct == null) {
+                        ct = new ClusterTask();
+                        ct.setId(pk);
+                        ct.setRunning(false);
                     }
-                }
-                tx.commit();
-            } catch (Throwable t) {
-                handler.handle(Priority.ERROR,
-                        "Error processing lock for cluster task [" + taskName
-                                + "/" + details + "]", t);
-
-                ls = LockState.FAILED;
-                if (ct == null) {
-                    ct = new ClusterTask();
-                    ct.setId(pk);
-                    ct.setRunning(false);
-                }
 
-                if (tx != null) {
-                    try {
-                        tx.rollback();
-                    } catch (HibernateException e) {
-                        handler.handle(
-                                Priority.ERROR,
-                                "Error rolling back cluster task lock transaction",
-                                e);
+                    if (tx != null) {
+                        try {
+                            tx.rollback();
+                        } catch (HibernateException e) {
+                            handler.handle(Priority.ERROR,
+                                    "Error rolling back cluster task lock transaction",
+                                    e);
+                        }
+                    }
+                } finally {
+                    if (s != null) {
+                        try {
+                            s.close();
+                        } catch (HibernateException e) {
+                            handler.handle(Priority.ERROR,
+                                    "Error closing cluster task lock session",
+                                    e);
+                        }
                     }
                 }
-            } finally {
-                if (s != null) {
+
+                if (waitForRunningToFinish
+                        && LockState.ALREADY_RUNNING.equals(ls)) {
                     try {
-                        s.close();
-                    } catch (HibernateException e) {
-                        handler.handle(Priority.ERROR,
-                                "Error closing cluster task lock session", e);
+                        if (!ticket.await(wait)) {
+                            wait = waiters.nextBackoff(wait);
+                        }
+                    } catch (InterruptedException e) {
+                        // ignore
                     }
+                    tryAgain = true;
                 }
             }
-
-            if (waitForRunningToFinish && LockState.ALREADY_RUNNING.equals(ls)) {
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    // ignore
-                }
-                tryAgain = true;
+        } finally {
+            if (ticket != null) {
+                ticket.close();
             }
         }
 
+        if (LockState.SUCCESSFUL.equals(ls)) {
+            waiters.recordAcquire(System.currentTimeMillis() - start);
+        }
         ct.setLockState(ls);
         ct.setLockHandler(lockHandler);
         return ct;
@@ -482,6 +516,7 @@ public class ClusterLocker {
             }
             s.update(dbCt);
             tx.commit();
+            waiters.released(ct.getId());
         } catch (Throwable t) {
             handler.handle(Priority.ERROR,
                     "Error processing unlock for cluster task ["
@@ -537,6 +572,7 @@ public class ClusterLocker {
             ct.setRunning(false);
             s.update(ct);
             tx.commit();
+            waiters.released(pk);
         } catch (Throwable t) {
             handler.handle(Priority.ERROR,
                     "Error processing unlock for cluster task [" + taskName
@@ -591,6 +627,7 @@ public class ClusterLocker {
                 s.delete(ct);
             }
             tx.commit();
+            waiters.released(pk);
         } catch (Throwable t) {
             handler.handle(Priority.ERROR,
                     "Error processing delete lock for cluster task ["
@@ -38,6 +38,7 @@ import org.hibernate.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.raytheon.uf.edex.database.cluster.ClusterLockWaiters.Ticket;
 import com.raytheon.uf.edex.database.cluster.lock.EdexClusterDbLockMgr.DbLockConfig;
 
 /**
@@ -49,6 +50,10 @@ import com.raytheon.uf.edex.database.cluster.lock.EdexClusterDbLockMgr.DbLockCon
  * cluster nodes are going for the same lock, it is non-deterministic as to
  * which cluster node will acquire the lock.
  * 
+ * Threads waiting for a lock that is unlocked by another thread in this JVM
+ * are woken immediately, otherwise the wait between attempts grows from the
+ * configured sleep time.
+ * 
  * This implementation does not support a reentrant concept. If you attempt to
  * lock a lock that you already have locked, it will fail to lock.
  * 
@@ -61,6 +66,8 @@ import com.raytheon.uf.edex.database.cluster.lock.EdexClusterDbLockMgr.DbLockCon
  * Dec 01, 2016  3440      njensen     Initial creation
  * Feb 27, 2017  3440      njensen     Return false in lockTheLock() whenever
  *                                      the lock is not acquired
+ * Oct 19, 2026            kshrestha   Wake waiters in this JVM on unlock and
+ *                                     back off while the lock is held
  *
  * </pre>
  *
@@ -124,12 +131,10 @@ public class EdexClusterDbLock implements Lock, Serializable {
 
     @Override
     public void lock() {
-        while (!lockTheLock()) {
-            try {
-                Thread.sleep(config.sleepTime);
-            } catch (InterruptedException e) {
-                // ignore
-            }
+        try {
+            acquire(-1, false);
+        } catch (InterruptedException e) {
+            // not possible when not interruptible
         }
     }
 
@@ -138,14 +143,7 @@ public class EdexClusterDbLock implements Lock, Serializable {
         if (Thread.interrupted()) {
             throw new InterruptedException();
         }
-
-        if (tryLock()) {
-            return;
-        }
-
-        while (!lockTheLock()) {
-            Thread.sleep(config.sleepTime);
-        }
+        acquire(-1, true);
     }
 
     @Override
@@ -156,23 +154,52 @@ public class EdexClusterDbLock implements Lock, Serializable {
     @Override
     public boolean tryLock(long time, TimeUnit unit)
             throws InterruptedException {
-        long current = System.currentTimeMillis();
-        long toWait = unit.toMillis(time);
-        long acquireBy = current + toWait;
-        boolean gotLock = tryLock();
-        if (gotLock) {
-            return true;
-        }
+        return acquire(unit.toMillis(time), true);
+    }
 
-        while (acquireBy >= System.currentTimeMillis()) {
-            Thread.sleep(Math.min(config.sleepTime,
-                    acquireBy - System.currentTimeMillis()));
-            gotLock = tryLock();
-            if (gotLock) {
-                break;
+    /**
+     * Attempt to lock until the lock is acquired or the timeout elapses.
+     * 
+     * @param timeout
+     *            milliseconds to keep trying or a negative number to try
+     *            forever
+     * @param interruptible
+     *            true to stop waiting when interrupted
+     * @return true if the lock was acquired
+     * @throws InterruptedException
+     */
+    private boolean acquire(long timeout, boolean interruptible)
+            throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long acquireBy = start + timeout;
+        boolean gotLock = false;
+        try (Ticket ticket = config.waiters.enter(name)) {
+            long wait = config.waiters.getMinBackoff();
+            gotLock = lockTheLock();
+            while (!gotLock) {
+                long toWait = wait;
+                if (timeout >= 0) {
+                    toWait = Math.min(wait,
+                            acquireBy - System.currentTimeMillis());
+                    if (toWait < 0) {
+                        break;
+                    }
+                }
+                try {
+                    if (!ticket.await(toWait)) {
+                        wait = config.waiters.nextBackoff(wait);
+                    }
+                } catch (InterruptedException e) {
+                    if (interruptible) {
+                        throw e;
+                    }
+                }
+                gotLock = lockTheLock();
             }
         }
-
+        if (gotLock) {
+            config.waiters.recordAcquire(System.currentTimeMillis() - start);
+        }
         return gotLock;
     }
 
@@ -333,6 +360,7 @@ public class EdexClusterDbLock implements Lock, Serializable {
 
             s.delete(dbLock);
             tx.commit();
+            config.waiters.released(name);
             logger.debug("Successfully unlocked and deleted cluster lock ["
                     + name + "]");
 
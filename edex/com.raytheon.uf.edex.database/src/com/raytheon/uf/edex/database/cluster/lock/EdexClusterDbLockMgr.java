@@ -24,6 +24,7 @@ import java.util.concurrent.locks.Lock;
 
 import com.raytheon.uf.common.util.SystemUtil;
 import com.raytheon.uf.common.util.app.AppInfo;
+import com.raytheon.uf.edex.database.cluster.ClusterLockWaiters;
 import com.raytheon.uf.edex.database.dao.CoreDao;
 import com.raytheon.uf.edex.database.dao.DaoConfig;
 
@@ -46,6 +47,7 @@ import com.raytheon.uf.edex.database.dao.DaoConfig;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Dec 01, 2016  3440      njensen     Initial creation
+ * Oct 19, 2026            kshrestha   Added waiters to wake on unlock
  *
  * </pre>
  *
@@ -63,6 +65,8 @@ public class EdexClusterDbLockMgr implements EdexClusterLockMgr {
             this.sleepTime = sleepTime;
             this.leaseTime = leaseTime;
             this.dao = new CoreDao(DaoConfig.forDatabase(dbName));
+            this.waiters = ClusterLockWaiters
+                    .getInstance("cluster_lock." + dbName, sleepTime);
         }
 
         /** the owner name to use when attempting to acquire the lock */
@@ -71,7 +75,10 @@ public class EdexClusterDbLockMgr implements EdexClusterLockMgr {
         /** the db name to make a DAO to use */
         protected final String dbName;
 
-        /** The amount of time to wait between attempts to lock a lock. */
+        /**
+         * The initial amount of time to wait between attempts to lock a lock,
+         * waits grow while the lock is held by another cluster node.
+         */
         protected final long sleepTime;
 
         /**
@@ -81,6 +88,9 @@ public class EdexClusterDbLockMgr implements EdexClusterLockMgr {
         protected final long leaseTime;
 
         protected final CoreDao dao;
+
+        /** wakes threads in this JVM waiting for a lock when it is unlocked */
+        protected final ClusterLockWaiters waiters;
     }
 
     protected final DbLockConfig config;
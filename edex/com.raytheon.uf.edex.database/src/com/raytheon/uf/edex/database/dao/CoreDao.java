@@ -118,6 +118,8 @@ import com.raytheon.uf.edex.database.query.DatabaseQuery;
  *                                  that don't have aliases
  * Nov 04, 2019  7960     mapeters  Added {@link #createAll}
  * Feb 23, 2022  8608     mapeters  Added perfLog
+ * Oct 19, 2026           kshrestha Added processRowsByCriteria
+ * Oct 19, 2026           kshrestha Record DatabaseQuery execution times
  *
  * </pre>
  *
@@ -439,7 +441,10 @@ public class CoreDao {
                 if (maxResults != null && maxResults > 0) {
                     hibQuery.setMaxResults(maxResults);
                 }
+                long start = System.nanoTime();
                 List<?> results = hibQuery.list();
+                query.recordExecution(System.nanoTime() - start,
+                        results.size());
                 return results;
             });
 
@@ -464,6 +469,30 @@ public class CoreDao {
     public <T> int processByCriteria(final DatabaseQuery query,
             final IDatabaseProcessor<T> processor)
             throws DataAccessLayerException {
+        return processByCriteria(query, processor, false);
+    }
+
+    /**
+     * Queries the database in batches using a DatabaseQuery object and send
+     * all the returned fields of each row to processor.
+     *
+     * @param query
+     *            The query object
+     * @param processor
+     *            The processor object
+     * @return The number of results processed
+     * @throws DataAccessLayerException
+     *             If the query fails
+     */
+    public int processRowsByCriteria(final DatabaseQuery query,
+            final IDatabaseProcessor<Object[]> processor)
+            throws DataAccessLayerException {
+        return processByCriteria(query, processor, true);
+    }
+
+    private <T> int processByCriteria(final DatabaseQuery query,
+            final IDatabaseProcessor<T> processor, final boolean wholeRow)
+            throws DataAccessLayerException {
         int rowsProcessed = 0;
         try {
             // Get a session and create a new criteria instance
@@ -489,9 +518,24 @@ public class CoreDao {
                                 batchSize = 1000;
                             }
 
-                            hibQuery.setFetchSize(processor.getBatchSize());
+                            if (wholeRow) {
+                                /*
+                                 * processByCriteria callers rely on the max
+                                 * results being ignored, only apply it for
+                                 * whole rows
+                                 */
+                                hibQuery.setFetchSize(batchSize);
+                                Integer maxResults = query.getMaxResults();
+                                if (maxResults != null && maxResults > 0) {
+                                    hibQuery.setMaxResults(maxResults);
+                                }
+                            } else {
+                                hibQuery.setFetchSize(
+                                        processor.getBatchSize());
+                            }
 
                             int count = 0;
+                            long start = System.nanoTime();
                             ScrollableResults rs = hibQuery
                                     .scroll(ScrollMode.FORWARD_ONLY);
                             boolean continueProcessing = true;
@@ -499,7 +543,10 @@ public class CoreDao {
                             try {
                                 while (rs.next() && continueProcessing) {
                                     Object[] row = rs.get();
-                                    if (row.length > 0) {
+                                    if (wholeRow) {
+                                        continueProcessing = processor
+                                                .process((T) row);
+                                    } else if (row.length > 0) {
                                         continueProcessing = processor
                                                 .process((T) row[0]);
                                     }
@@ -509,6 +556,8 @@ public class CoreDao {
                                     }
                                 }
                                 processor.finish();
+                                query.recordExecution(
+                                        System.nanoTime() - start, count);
                             } catch (Exception e) {
                                 /*
                                  * Only way to propogate the error to the caller
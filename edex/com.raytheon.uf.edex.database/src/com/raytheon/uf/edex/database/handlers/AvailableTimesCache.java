@@ -0,0 +1,428 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.handlers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+import com.raytheon.uf.common.dataplugin.PluginException;
+import com.raytheon.uf.common.dataplugin.annotations.DataURIUtil;
+import com.raytheon.uf.common.dataplugin.message.DataURINotificationMessage;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+import com.raytheon.uf.common.serialization.SerializationException;
+import com.raytheon.uf.common.serialization.SerializationUtil;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.time.DataTime;
+
+/**
+ * Cache of the distinct data times available for a plugin and a set of
+ * constraints so repeated time queries do not need to scan the plugin table.
+ * Each entry is loaded from one distinct time query and then kept current from
+ * the dataURI notifications sent on ingest. When a notification cannot be
+ * evaluated against the constraints of an entry the entry is dropped, all
+ * entries for a plugin are dropped when it is purged, and entries expire after
+ * a while in case notifications were missed.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class AvailableTimesCache {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(AvailableTimesCache.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            System.getProperty("timequery.cache.enabled", "true"));
+
+    /** the cache is cleared if it grows past this many entries */
+    private static final int MAX_ENTRIES = Integer
+            .getInteger("timequery.cache.size", 512);
+
+    /** time in milliseconds after which an entry is reloaded */
+    private static final long MAX_AGE = Long.getLong("timequery.cache.max.age",
+            10 * 60 * 1000L);
+
+    /**
+     * Constraint types that evaluate against dataURI values the same way the
+     * database does, other types cause entries to be dropped when matching
+     * data arrives.
+     */
+    private static final Set<ConstraintType> EVALUATED_TYPES = EnumSet.of(
+            ConstraintType.EQUALS, ConstraintType.NOT_EQUALS,
+            ConstraintType.IN, ConstraintType.NOT_IN);
+
+    private static final String DATA_TIME = "dataTime";
+
+    private static final AvailableTimesCache instance = new AvailableTimesCache();
+
+    /** Loads the times for an entry that is not in the cache */
+    @FunctionalInterface
+    public interface ITimeLoader {
+        List<DataTime> load() throws Exception;
+    }
+
+    /** plugin name to constraint signature to entry */
+    private final Map<String, Map<String, Entry>> entries = new ConcurrentHashMap<>();
+
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    public static AvailableTimesCache getInstance() {
+        return instance;
+    }
+
+    AvailableTimesCache() {
+    }
+
+    /**
+     * Get the available times for a plugin and constraints, loading them if
+     * they are not cached.
+     *
+     * @param pluginName
+     * @param constraints
+     *            the constraints of the time query, no constraint may be placed
+     *            on the reference time
+     * @param loader
+     *            returns all distinct data times matching the constraints
+     * @return the available times, or null if the cache is disabled
+     * @throws Exception
+     *             if the loader fails
+     */
+    public Entry getTimes(String pluginName,
+            Map<String, RequestConstraint> constraints, ITimeLoader loader)
+            throws Exception {
+        if (!ENABLED) {
+            return null;
+        }
+        Statistics stats = statistics.computeIfAbsent(pluginName,
+                k -> new Statistics());
+        String signature = getSignature(constraints);
+        Map<String, Entry> pluginEntries = entries.computeIfAbsent(pluginName,
+                k -> new ConcurrentHashMap<>());
+        Entry entry = pluginEntries.get(signature);
+        if (entry != null && entry.isCurrent()) {
+            stats.hits.increment();
+            return entry;
+        }
+        stats.misses.increment();
+
+        Entry loading = new Entry(constraints);
+        /*
+         * Add the entry before loading it so data that arrives during the load
+         * is not missed. If another thread is already loading the same entry
+         * this one is loaded without being cached.
+         */
+        boolean cached;
+        if (entry == null) {
+            cached = pluginEntries.putIfAbsent(signature, loading) == null;
+        } else if (entry.isLoaded()) {
+            cached = pluginEntries.replace(signature, entry, loading);
+        } else {
+            cached = false;
+        }
+        if (cached && entry == null && size() > MAX_ENTRIES) {
+            clear();
+        }
+        try {
+            loading.load(loader.load());
+        } catch (Exception e) {
+            pluginEntries.remove(signature, loading);
+            throw e;
+        }
+        return loading;
+    }
+
+    /**
+     * Add the times in a dataURI notification to the matching entries.
+     *
+     * @param message
+     *            a gzipped thrift {@link DataURINotificationMessage} as sent on
+     *            the edex.alerts topic
+     */
+    public void dataArrived(byte[] message) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        DataURINotificationMessage msg;
+        try (InputStream is = new GZIPInputStream(
+                new ByteArrayInputStream(message))) {
+            msg = SerializationUtil
+                    .transformFromThrift(DataURINotificationMessage.class, is);
+        } catch (IOException | SerializationException e) {
+            statusHandler.error(
+                    "Unable to decode dataURI notification, clearing available times",
+                    e);
+            clear();
+            return;
+        }
+        if (msg.getDataURIs() != null) {
+            dataArrived(msg.getDataURIs());
+        }
+    }
+
+    /**
+     * Add the times of newly stored data to the matching entries.
+     *
+     * @param dataURIs
+     */
+    public void dataArrived(String... dataURIs) {
+        for (String dataURI : dataURIs) {
+            String pluginName = DataURIUtil.getPluginName(dataURI);
+            Map<String, Entry> pluginEntries = entries.get(pluginName);
+            if (pluginEntries == null || pluginEntries.isEmpty()) {
+                continue;
+            }
+            Map<String, Object> uriMap;
+            try {
+                uriMap = DataURIUtil.createDataURIMap(dataURI);
+            } catch (PluginException e) {
+                statusHandler.debug("Unable to parse " + dataURI
+                        + ", clearing available times for " + pluginName, e);
+                remove(pluginName);
+                continue;
+            }
+            dataArrived(pluginName, uriMap);
+        }
+    }
+
+    /**
+     * Add the time of newly stored data to the matching entries of a plugin.
+     *
+     * @param pluginName
+     * @param uriMap
+     *            the dataURI fields of the data
+     */
+    void dataArrived(String pluginName, Map<String, Object> uriMap) {
+        Map<String, Entry> pluginEntries = entries.get(pluginName);
+        if (pluginEntries == null) {
+            return;
+        }
+        Object time = uriMap.get(DATA_TIME);
+        for (Map.Entry<String, Entry> e : pluginEntries.entrySet()) {
+            Boolean match = e.getValue().evaluate(uriMap);
+            if (match == null || !(time instanceof DataTime)) {
+                pluginEntries.remove(e.getKey(), e.getValue());
+            } else if (match) {
+                e.getValue().add((DataTime) time);
+            }
+        }
+    }
+
+    /**
+     * Drop all entries for a plugin after it is purged.
+     *
+     * @param pluginName
+     */
+    public void pluginPurged(String pluginName) {
+        remove(pluginName);
+    }
+
+    /**
+     * Log the hit and miss counts for each plugin.
+     */
+    public void logStatistics() {
+        if (statistics.isEmpty()) {
+            return;
+        }
+        StringBuilder msg = new StringBuilder("Available times cache, ")
+                .append(size()).append(" entries:");
+        for (Map.Entry<String, Statistics> e : new TreeMap<>(statistics)
+                .entrySet()) {
+            msg.append("\n    ").append(e.getKey()).append(": ")
+                    .append(e.getValue().hits.sum()).append(" hits, ")
+                    .append(e.getValue().misses.sum()).append(" misses");
+        }
+        statusHandler.info(msg.toString());
+    }
+
+    /**
+     * @param pluginName
+     * @return the number of requests for the plugin answered from the cache
+     */
+    public long getHits(String pluginName) {
+        Statistics stats = statistics.get(pluginName);
+        return stats == null ? 0 : stats.hits.sum();
+    }
+
+    /**
+     * @param pluginName
+     * @return the number of requests for the plugin that loaded times
+     */
+    public long getMisses(String pluginName) {
+        Statistics stats = statistics.get(pluginName);
+        return stats == null ? 0 : stats.misses.sum();
+    }
+
+    /**
+     * @return the number of cached entries, counted from the entries so it
+     *         stays correct while loads add entries to a plugin being removed
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, Entry> pluginEntries : entries.values()) {
+            size += pluginEntries.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void remove(String pluginName) {
+        entries.remove(pluginName);
+    }
+
+    private static String getSignature(
+            Map<String, RequestConstraint> constraints) {
+        StringBuilder signature = new StringBuilder();
+        for (Map.Entry<String, RequestConstraint> e : new TreeMap<>(
+                constraints).entrySet()) {
+            RequestConstraint rc = e.getValue();
+            signature.append(e.getKey()).append(' ')
+                    .append(rc.getConstraintType().getOperand()).append(' ')
+                    .append(rc.getConstraintValue()).append('\n');
+        }
+        return signature.toString();
+    }
+
+    /**
+     * The times available for one plugin and set of constraints.
+     */
+    public static class Entry {
+
+        private final Map<String, RequestConstraint> constraints;
+
+        private final Set<DataTime> times = new HashSet<>();
+
+        private final TreeSet<Long> refTimes = new TreeSet<>();
+
+        private long loaded = -1;
+
+        private Entry(Map<String, RequestConstraint> constraints) {
+            this.constraints = new HashMap<>(constraints);
+        }
+
+        private synchronized void load(List<DataTime> loadedTimes) {
+            for (DataTime time : loadedTimes) {
+                add(time);
+            }
+            loaded = System.currentTimeMillis();
+        }
+
+        private synchronized boolean isLoaded() {
+            return loaded >= 0;
+        }
+
+        private synchronized boolean isCurrent() {
+            return loaded >= 0
+                    && System.currentTimeMillis() - loaded < MAX_AGE;
+        }
+
+        private synchronized void add(DataTime time) {
+            if (times.add(time)) {
+                refTimes.add(time.getRefTime().getTime());
+            }
+        }
+
+        /**
+         * @param uriMap
+         * @return whether data with the dataURI fields matches the
+         *         constraints, or null if it cannot be determined
+         */
+        private Boolean evaluate(Map<String, Object> uriMap) {
+            for (Map.Entry<String, RequestConstraint> e : constraints
+                    .entrySet()) {
+                RequestConstraint rc = e.getValue();
+                if (!EVALUATED_TYPES.contains(rc.getConstraintType())
+                        || !uriMap.containsKey(e.getKey())) {
+                    return null;
+                }
+                if (!rc.evaluate(uriMap.get(e.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @param before
+         *            exclusive upper bound on the reference time or null for
+         *            all times
+         * @return the sorted distinct times with a reference time before the
+         *         bound
+         */
+        public synchronized List<DataTime> getTimes(Date before) {
+            List<DataTime> result = new ArrayList<>(times.size());
+            for (DataTime time : times) {
+                if (before == null || time.getRefTime().before(before)) {
+                    result.add(time);
+                }
+            }
+            Collections.sort(result);
+            return result;
+        }
+
+        /**
+         * @param before
+         *            exclusive upper bound on the reference time or null for
+         *            no bound
+         * @return the latest reference time before the bound or null if there
+         *         is none
+         */
+        public synchronized Date getLatestRefTime(Date before) {
+            Long latest = before == null ? refTimes.isEmpty() ? null
+                    : refTimes.last() : refTimes.lower(before.getTime());
+            return latest == null ? null : new Date(latest);
+        }
+    }
+
+    private static class Statistics {
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+    }
+}
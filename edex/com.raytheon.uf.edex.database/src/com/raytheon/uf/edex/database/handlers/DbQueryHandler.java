@@ -32,11 +32,13 @@ import com.raytheon.uf.common.dataquery.requests.DbQueryRequest.OrderBy;
 import com.raytheon.uf.common.dataquery.requests.DbQueryRequest.OrderMode;
 import com.raytheon.uf.common.dataquery.requests.DbQueryRequest.RequestField;
 import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+import com.raytheon.uf.common.dataquery.responses.DbQueryColumn;
 import com.raytheon.uf.common.dataquery.responses.DbQueryResponse;
 import com.raytheon.uf.common.serialization.comm.IRequestHandler;
 import com.raytheon.uf.edex.database.dao.CoreDao;
 import com.raytheon.uf.edex.database.dao.DaoConfig;
 import com.raytheon.uf.edex.database.plugin.PluginFactory;
+import com.raytheon.uf.edex.database.processor.IDatabaseProcessor;
 import com.raytheon.uf.edex.database.query.DatabaseQuery;
 
 /**
@@ -53,12 +55,18 @@ import com.raytheon.uf.edex.database.query.DatabaseQuery;
  * Aug 30, 2013 2298       rjpeter     Make getPluginName abstract
  * Sep 21, 2015 4486       rjpeter     Pass entity to QueryParam.
  * Jun 30, 2016 5725       tgurney     Add NOT IN
+ * Oct 19, 2026            kshrestha   Add columnar responses read with a
+ *                                     forward only scroll.
  * </pre>
  * 
  * @author mschenke
  */
 public class DbQueryHandler implements IRequestHandler<DbQueryRequest> {
 
+    /** number of rows fetched at a time for columnar requests */
+    private static final int FETCH_SIZE = Integer
+            .getInteger("dbquery.fetch.size", 1000);
+
     @Override
     public DbQueryResponse handleRequest(DbQueryRequest request)
             throws Exception {
@@ -164,8 +172,11 @@ public class DbQueryHandler implements IRequestHandler<DbQueryRequest> {
             dbQuery.addOrder(orderBy.getField(), orderBy.mode == OrderMode.ASC);
         }
 
-        List<?> vals = new CoreDao(DaoConfig.forDatabase(dbName))
-                .queryByCriteria(dbQuery);
+        CoreDao dao = new CoreDao(DaoConfig.forDatabase(dbName));
+        if (request.isColumnar()) {
+            return queryColumns(dao, dbQuery, fields);
+        }
+        List<?> vals = dao.queryByCriteria(dbQuery);
 
         DbQueryResponse response = new DbQueryResponse();
         List<Map<String, Object>> results = new ArrayList<>();
@@ -193,4 +204,69 @@ public class DbQueryHandler implements IRequestHandler<DbQueryRequest> {
         response.setResults(results);
         return response;
     }
+
+    /**
+     * Scroll through the query results, adding each row to columns, so neither
+     * the full result list nor a map per row is held in memory.
+     * 
+     * @param dao
+     * @param dbQuery
+     * @param fields
+     *            the requested fields, null or empty for entities
+     * @return the columnar response
+     * @throws Exception
+     */
+    private DbQueryResponse queryColumns(CoreDao dao, DatabaseQuery dbQuery,
+            List<RequestField> fields) throws Exception {
+        DbQueryColumn[] columns;
+        if (fields == null || fields.isEmpty()) {
+            columns = new DbQueryColumn[] {
+                    new DbQueryColumn(DbQueryResponse.ENTITY_RESULT_KEY) };
+        } else {
+            columns = new DbQueryColumn[fields.size()];
+            for (int i = 0; i < columns.length; ++i) {
+                columns[i] = new DbQueryColumn(fields.get(i).field);
+            }
+        }
+        dao.processRowsByCriteria(dbQuery, new IDatabaseProcessor<Object[]>() {
+
+            @Override
+            public boolean process(Object[] row) {
+                if (row == null || row.length == 0) {
+                    return true;
+                }
+                if (columns.length == 1) {
+                    if (row[0] != null) {
+                        columns[0].add(row[0]);
+                    }
+                } else {
+                    for (int j = 0; j < columns.length; ++j) {
+                        columns[j].add(row[j]);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public void finish() {
+                for (DbQueryColumn column : columns) {
+                    column.finish();
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return FETCH_SIZE;
+            }
+
+            @Override
+            public void setBatchSize(int batchSize) {
+                // fixed by FETCH_SIZE
+            }
+        });
+
+        DbQueryResponse response = new DbQueryResponse();
+        response.setColumns(columns);
+        return response;
+    }
 }
@@ -53,6 +53,8 @@ import com.raytheon.uf.edex.database.query.DatabaseQuery;
  * Mar 24, 2014    2941    mpduff      Sort data before returning it.
  * Feb 25, 2015 4159       rjpeter     Put in check for infinite recursion.
  * Aug 05, 2015 4486       rjpeter     Changed Timestamp to Date.
+ * Oct 19, 2026            kshrestha   Answer requests from the
+ *                                     AvailableTimesCache when possible.
  * </pre>
  * 
  * @author njensen
@@ -78,6 +80,22 @@ public class TimeQueryHandler implements IRequestHandler<TimeQueryRequest> {
             pluginName = rc.getConstraintValue();
         }
 
+        String database = PluginFactory.getInstance().getDatabase(
+                request.getPluginName());
+        String classname = PluginFactory.getInstance()
+                .getPluginRecordClassName(request.getPluginName());
+        CoreDao dao = new CoreDao(DaoConfig.forClass(database, classname));
+
+        if (!map.containsKey(REF_TIME)) {
+            AvailableTimesCache.Entry cached = AvailableTimesCache
+                    .getInstance().getTimes(request.getPluginName(), map,
+                            () -> runQuery(dao,
+                                    buildQuery(classname, map, false)));
+            if (cached != null) {
+                return getCachedTimes(request, cached, pluginName);
+            }
+        }
+
         // Simulated Date is the date set in the CAVE calling this
         if (request.getSimDate() != null) {
             RequestConstraint timeConstraint = new RequestConstraint();
@@ -88,13 +106,8 @@ public class TimeQueryHandler implements IRequestHandler<TimeQueryRequest> {
             map.put(REF_TIME, timeConstraint);
         }
 
-        String database = PluginFactory.getInstance().getDatabase(
-                request.getPluginName());
-        String classname = PluginFactory.getInstance()
-                .getPluginRecordClassName(request.getPluginName());
         List<DataTime> times = null;
 
-        CoreDao dao = new CoreDao(DaoConfig.forClass(database, classname));
         BinOffset binOffset = request.getBinOffset();
         if (binOffset != null) {
             // If the resource will potentially have large numbers of times per
@@ -141,6 +154,54 @@ public class TimeQueryHandler implements IRequestHandler<TimeQueryRequest> {
         return times;
     }
 
+    /**
+     * Answer a request from cached times, this gives the same results as the
+     * queries in {@link #handleRequest(TimeQueryRequest)}.
+     * 
+     * @param request
+     *            the request
+     * @param cached
+     *            the times available for the request constraints
+     * @param pluginName
+     *            the plugin name for logging
+     * @return the times
+     */
+    private List<DataTime> getCachedTimes(TimeQueryRequest request,
+            AvailableTimesCache.Entry cached, String pluginName) {
+        Date before = request.getSimDate();
+        BinOffset binOffset = request.getBinOffset();
+        if (binOffset != null) {
+            List<DataTime> times = new ArrayList<DataTime>(50);
+            Date latest = cached.getLatestRefTime(before);
+            Date prevDate = null;
+            while (latest != null) {
+                DataTime normalTime = binOffset
+                        .getNormalizedTime(new DataTime(latest));
+                times.add(normalTime);
+                Date date = binOffset.getTimeRange(normalTime).getStart();
+                if ((prevDate != null) && prevDate.equals(date)) {
+                    statusHandler
+                            .error("Preventing infinite time query recursion on plugin ["
+                                    + pluginName
+                                    + "].  Check data for times less than ["
+                                    + date + "]");
+                    break;
+                }
+                latest = cached.getLatestRefTime(date);
+                prevDate = date;
+            }
+            return times;
+        } else if (request.isMaxQuery()) {
+            List<DataTime> times = new ArrayList<DataTime>(1);
+            Date latest = cached.getLatestRefTime(before);
+            if (latest != null) {
+                times.add(new DataTime(latest));
+            }
+            return times;
+        }
+        return cached.getTimes(before);
+    }
+
     /**
      * Builds a constrained database query against the table tied to the
      * classname
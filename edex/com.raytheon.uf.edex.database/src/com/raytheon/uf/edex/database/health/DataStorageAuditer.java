@@ -18,22 +18,26 @@
  **/
 package com.raytheon.uf.edex.database.health;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,12 +45,14 @@ import org.slf4j.LoggerFactory;
 import com.raytheon.uf.common.datastorage.audit.DataStatus;
 import com.raytheon.uf.common.datastorage.audit.DataStorageAuditEvent;
 import com.raytheon.uf.common.datastorage.audit.DataStorageInfo;
+import com.raytheon.uf.common.datastorage.audit.IDataIdentifier;
 import com.raytheon.uf.common.datastorage.audit.IDataStorageAuditListener;
 import com.raytheon.uf.common.datastorage.audit.IDataStorageAuditer;
 import com.raytheon.uf.common.datastorage.audit.MetadataAndDataId;
 import com.raytheon.uf.common.datastorage.audit.MetadataStatus;
 import com.raytheon.uf.common.datastorage.records.IMetadataIdentifier;
 import com.raytheon.uf.common.datastorage.records.IMetadataIdentifier.MetadataSpecificity;
+import com.raytheon.uf.common.serialization.SerializationException;
 import com.raytheon.uf.common.serialization.SerializationUtil;
 import com.raytheon.uf.common.time.SimulatedTime;
 import com.raytheon.uf.common.time.util.TimeUtil;
@@ -66,6 +72,11 @@ import com.raytheon.uf.edex.core.IMessageProducer;
  * Everything else should use the proxy implementations of
  * {@link IDataStorageAuditer} to send notifications to those JMS endpoints.
  *
+ * Events are consumed by a single thread so the updates for one trace ID are
+ * applied in the order they were sent. Infos are grouped into buckets by the
+ * minute they started, so cleanup only examines the buckets old enough to hold
+ * expired infos instead of every info.
+ *
  * <pre>
  *
  * SOFTWARE HISTORY
@@ -77,7 +88,8 @@ import com.raytheon.uf.edex.core.IMessageProducer;
  *                                     persist state across EDEX restarts
  * Jun 28, 2022 8865       mapeters    Ensure exceptions thrown by cleanup() are logged,
  *                                     prevent methods from running when they shouldn't
- *
+ * Oct 19, 2026            kshrestha   Expire by start minute buckets and checkpoint
+ *                                     compact state on cleanup
  *
  * </pre>
  *
@@ -96,12 +108,25 @@ public class DataStorageAuditer
      * EDEX cluster, and it may switch JVMs on restart.
      */
     private static final String PERSISTED_STATE_PATH = EDEXUtil.getEdexShare()
-            + File.separator + "dataStorageAuditerState.gz";
+            + File.separator + "dataStorageAuditerState.bin";
+
+    /**
+     * Path that state was persisted to as a gzipped thrift map by previous
+     * versions, only read so that an upgrade doesn't lose state.
+     */
+    private static final String LEGACY_PERSISTED_STATE_PATH = EDEXUtil
+            .getEdexShare() + File.separator + "dataStorageAuditerState.gz";
+
+    private static final int PERSISTED_STATE_VERSION = 1;
 
     private final AtomicBoolean persistedStateLoaded = new AtomicBoolean(false);
 
     private final Map<String, DataStorageInfo> traceIdToInfo = new HashMap<>();
 
+    /** guarded by {@link #traceIdToInfo} */
+    private final ExpiryBuckets expiryBuckets = new ExpiryBuckets(
+            TimeUtil.MILLIS_PER_MINUTE);
+
     private final long completedRetentionMillis = Long
             .getLong("data.storage.auditer.completed.retention.mins")
             * TimeUtil.MILLIS_PER_MINUTE;
@@ -148,31 +173,10 @@ public class DataStorageAuditer
                 (Object) dataIdsArray);
         for (MetadataAndDataId dataIds : dataIdsArray) {
             synchronized (traceIdToInfo) {
-                DataStorageInfo info = traceIdToInfo.computeIfAbsent(
-                        dataIds.getMetaId().getTraceId(), DataStorageInfo::new);
-                if (info.getMetaId() != null || info.getDataId() != null) {
-                    logger.error(
-                            "Metadata or data IDs already set on info:\nInfo: "
-                                    + info + "\nNew metadata and data IDs: "
-                                    + dataIds);
-                } else {
-                    IMetadataIdentifier metaId = dataIds.getMetaId();
-                    info.setMetaId(metaId);
-                    info.setDataId(dataIds.getDataId());
-                    if (metaId
-                            .getSpecificity() == MetadataSpecificity.NO_METADATA) {
-                        if (info.getMetaStatus() != null) {
-                            logger.error(
-                                    "Metadata status reported for data storage operation that shouldn't have any metadata: "
-                                            + info);
-                        } else {
-                            info.setMetaStatus(MetadataStatus.NA);
-                        }
-                    }
-                    if (info.isComplete()) {
-                        logger.debug("Data store completed: {}", info);
-                        handleDataStorageResult(info);
-                    }
+                DataStorageInfo info = getInfo(
+                        dataIds.getMetaId().getTraceId());
+                if (applyDataIds(info, dataIds)) {
+                    handleDataStorageResult(info);
                 }
             }
         }
@@ -183,44 +187,9 @@ public class DataStorageAuditer
         logger.debug("Processing metadata statuses: {}", statuses);
         for (Entry<String, MetadataStatus> traceIdStatusEntry : statuses
                 .entrySet()) {
-            String traceId = traceIdStatusEntry.getKey();
-            MetadataStatus status = traceIdStatusEntry.getValue();
             synchronized (traceIdToInfo) {
-                DataStorageInfo info = traceIdToInfo.computeIfAbsent(traceId,
-                        t -> new DataStorageInfo(t));
-                MetadataStatus prevStatus = info.getMetaStatus();
-                info.setMetaStatus(status);
-                if (info.isComplete()) {
-                    if (prevStatus == null) {
-                        logger.debug("Data store completed: {}", info);
-                    } else {
-                        if (info.getDataStatus() == DataStatus.DUPLICATE_SYNC
-                                && prevStatus == MetadataStatus.STORAGE_NOT_REACHED_FOR_DUPLICATE
-                                && status == MetadataStatus.DUPLICATE) {
-                            /*
-                             * Metadata storage shouldn't be reached if data
-                             * storage fails due to duplicates. But if it is
-                             * reached and complains about duplicates,
-                             * everything still matches up, so log as info
-                             * instead of warning. This regularly happens for
-                             * FFMP.
-                             */
-                            logger.info(
-                                    "Metadata status updated from {} for store info: {}",
-                                    prevStatus, info);
-                        } else {
-                            /*
-                             * Warn since this shouldn't really happen, probably
-                             * caused by a synchronous data store failure which
-                             * should prevent reaching the metadata storing
-                             * code, but some data storage routes may not handle
-                             * that correctly.
-                             */
-                            logger.warn(
-                                    "Metadata status updated from {} for store info: {}",
-                                    prevStatus, info);
-                        }
-                    }
+                DataStorageInfo info = getInfo(traceIdStatusEntry.getKey());
+                if (applyMetadataStatus(info, traceIdStatusEntry.getValue())) {
                     handleDataStorageResult(info);
                 }
             }
@@ -232,54 +201,137 @@ public class DataStorageAuditer
         logger.debug("Processing data statuses: {}", statuses);
         for (Entry<String, DataStatus> traceIdStatusEntry : statuses
                 .entrySet()) {
-            String traceId = traceIdStatusEntry.getKey();
-            DataStatus status = traceIdStatusEntry.getValue();
             synchronized (traceIdToInfo) {
-                DataStorageInfo info = traceIdToInfo.computeIfAbsent(traceId,
-                        t -> new DataStorageInfo(t));
-                DataStatus prevStatus = info.getDataStatus();
-                info.setDataStatus(status);
-                if (status == DataStatus.FAILURE_SYNC) {
-                    if (info.getMetaStatus() == null) {
-                        info.setMetaStatus(
-                                MetadataStatus.STORAGE_NOT_REACHED_FOR_FAILURE);
-                    } else {
-                        logger.warn(
-                                "Metadata status reported for data storage operation that should have stopped early due to data failure: "
-                                        + info);
-                    }
-                } else if (status == DataStatus.DUPLICATE_SYNC) {
-                    if (info.getMetaStatus() == null) {
-                        info.setMetaStatus(
-                                MetadataStatus.STORAGE_NOT_REACHED_FOR_DUPLICATE);
-                    } else {
-                        logger.warn(
-                                "Metadata status reported for data storage operation that should have stopped early due to duplicate data: "
-                                        + info);
-                    }
-                }
-                if (info.isComplete()) {
-                    if (prevStatus == null) {
-                        logger.debug("Data store completed: {}", info);
-                    } else {
-                        /*
-                         * This can commonly happen since when ignite stores a
-                         * group, it re-stores everything that already was in
-                         * the group with a "replace" store op
-                         */
-                        logger.debug(
-                                "Data status updated from {} for store info: {}",
-                                prevStatus, info);
-                    }
+                DataStorageInfo info = getInfo(traceIdStatusEntry.getKey());
+                if (applyDataStatus(info, traceIdStatusEntry.getValue())) {
                     handleDataStorageResult(info);
                 }
             }
         }
     }
 
+    /**
+     * Get the info for the trace ID, creating it if needed. Must be called
+     * while synchronized on {@link #traceIdToInfo}.
+     */
+    private DataStorageInfo getInfo(String traceId) {
+        DataStorageInfo info = traceIdToInfo.get(traceId);
+        if (info == null) {
+            info = new DataStorageInfo(traceId);
+            add(info);
+        }
+        return info;
+    }
+
+    /**
+     * @return true if the listeners should be notified
+     */
+    private boolean applyDataIds(DataStorageInfo info,
+            MetadataAndDataId dataIds) {
+        if (info.getMetaId() != null || info.getDataId() != null) {
+            logger.error("Metadata or data IDs already set on info:\nInfo: "
+                    + info + "\nNew metadata and data IDs: " + dataIds);
+            return false;
+        }
+        IMetadataIdentifier metaId = dataIds.getMetaId();
+        info.setMetaId(metaId);
+        info.setDataId(dataIds.getDataId());
+        if (metaId.getSpecificity() == MetadataSpecificity.NO_METADATA) {
+            if (info.getMetaStatus() != null) {
+                logger.error(
+                        "Metadata status reported for data storage operation that shouldn't have any metadata: "
+                                + info);
+            } else {
+                info.setMetaStatus(MetadataStatus.NA);
+            }
+        }
+        if (info.isComplete()) {
+            logger.debug("Data store completed: {}", info);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean applyMetadataStatus(DataStorageInfo info,
+            MetadataStatus status) {
+        MetadataStatus prevStatus = info.getMetaStatus();
+        info.setMetaStatus(status);
+        if (!info.isComplete()) {
+            return false;
+        }
+        if (prevStatus == null) {
+            logger.debug("Data store completed: {}", info);
+        } else {
+            if (info.getDataStatus() == DataStatus.DUPLICATE_SYNC
+                    && prevStatus == MetadataStatus.STORAGE_NOT_REACHED_FOR_DUPLICATE
+                    && status == MetadataStatus.DUPLICATE) {
+                /*
+                 * Metadata storage shouldn't be reached if data storage fails
+                 * due to duplicates. But if it is reached and complains about
+                 * duplicates, everything still matches up, so log as info
+                 * instead of warning. This regularly happens for FFMP.
+                 */
+                logger.info(
+                        "Metadata status updated from {} for store info: {}",
+                        prevStatus, info);
+            } else {
+                /*
+                 * Warn since this shouldn't really happen, probably caused by a
+                 * synchronous data store failure which should prevent reaching
+                 * the metadata storing code, but some data storage routes may
+                 * not handle that correctly.
+                 */
+                logger.warn(
+                        "Metadata status updated from {} for store info: {}",
+                        prevStatus, info);
+            }
+        }
+        return true;
+    }
+
+    private boolean applyDataStatus(DataStorageInfo info, DataStatus status) {
+        DataStatus prevStatus = info.getDataStatus();
+        info.setDataStatus(status);
+        if (status == DataStatus.FAILURE_SYNC) {
+            if (info.getMetaStatus() == null) {
+                info.setMetaStatus(
+                        MetadataStatus.STORAGE_NOT_REACHED_FOR_FAILURE);
+            } else {
+                logger.warn(
+                        "Metadata status reported for data storage operation that should have stopped early due to data failure: "
+                                + info);
+            }
+        } else if (status == DataStatus.DUPLICATE_SYNC) {
+            if (info.getMetaStatus() == null) {
+                info.setMetaStatus(
+                        MetadataStatus.STORAGE_NOT_REACHED_FOR_DUPLICATE);
+            } else {
+                logger.warn(
+                        "Metadata status reported for data storage operation that should have stopped early due to duplicate data: "
+                                + info);
+            }
+        }
+        if (!info.isComplete()) {
+            return false;
+        }
+        if (prevStatus == null) {
+            logger.debug("Data store completed: {}", info);
+        } else {
+            /*
+             * This can commonly happen since when ignite stores a group, it
+             * re-stores everything that already was in the group with a
+             * "replace" store op
+             */
+            logger.debug("Data status updated from {} for store info: {}",
+                    prevStatus, info);
+        }
+        return true;
+    }
+
     /**
      * Cleanup the stored data storage information by removing entries that are
-     * older than the cutoff times. Should be called on a cron.
+     * older than the cutoff times, and then checkpoint the remaining entries.
+     * Should be called on a cron.
      */
     public void cleanup() {
         if (!enabled) {
@@ -300,42 +352,22 @@ public class DataStorageAuditer
                 logger.info(
                         "Cleaning up expired data storage information from {} total operations...",
                         traceIdToInfo.size());
-                Iterator<DataStorageInfo> iter = traceIdToInfo.values()
-                        .iterator();
-                while (iter.hasNext()) {
-                    DataStorageInfo info = iter.next();
-                    try {
-                        long startTime = info.getStartTime();
-                        if (info.isComplete()) {
-                            if (startTime < completedCutoff) {
-                                iter.remove();
-                            }
-                        } else if (startTime < pendingCutoff) {
-                            iter.remove();
-                            if (info.hasDataStatusOnly()) {
-                                /*
-                                 * This can happen somewhat commonly if a data
-                                 * storage operation completes, the completed
-                                 * data storage info expires from here, and then
-                                 * the data group is stored again, and the trace
-                                 * ID hung around in the ignite cache that whole
-                                 * time.
-                                 */
-                                logger.info(
-                                        "Expired data storage info only has data status: {}",
-                                        info);
-                            } else {
-                                logger.warn(
-                                        "Expired data storage info never completed: {}",
-                                        info);
+                /*
+                 * Only buckets that start before the later cutoff can hold
+                 * expired infos, everything newer is left alone.
+                 */
+                expiryBuckets.expire(Math.max(completedCutoff, pendingCutoff),
+                        traceId -> {
+                            try {
+                                return expire(traceId, completedCutoff,
+                                        pendingCutoff);
+                            } catch (Exception e) {
+                                logger.error(
+                                        "Error cleaning up expired data storage info: ",
+                                        e);
+                                return false;
                             }
-                        }
-                    } catch (Exception e) {
-                        logger.error(
-                                "Error cleaning up expired data storage info: ",
-                                e);
-                    }
-                }
+                        });
                 logger.info("Retained info for {} data storage operations",
                         traceIdToInfo.size());
             }
@@ -343,6 +375,46 @@ public class DataStorageAuditer
             logger.error("Error cleaning up expired data storage info", t);
             throw t;
         }
+
+        checkpoint();
+    }
+
+    /**
+     * Must be called while synchronized on {@link #traceIdToInfo}.
+     *
+     * @return true if the info for the trace ID is no longer held
+     */
+    private boolean expire(String traceId, long completedCutoff,
+            long pendingCutoff) {
+        DataStorageInfo info = traceIdToInfo.get(traceId);
+        if (info == null) {
+            return true;
+        }
+        long startTime = info.getStartTime();
+        if (info.isComplete()) {
+            if (startTime < completedCutoff) {
+                traceIdToInfo.remove(traceId);
+                return true;
+            }
+        } else if (startTime < pendingCutoff) {
+            traceIdToInfo.remove(traceId);
+            if (info.hasDataStatusOnly()) {
+                /*
+                 * This can happen somewhat commonly if a data storage operation
+                 * completes, the completed data storage info expires from
+                 * here, and then the data group is stored again, and the trace
+                 * ID hung around in the ignite cache that whole time.
+                 */
+                logger.info(
+                        "Expired data storage info only has data status: {}",
+                        info);
+            } else {
+                logger.warn("Expired data storage info never completed: {}",
+                        info);
+            }
+            return true;
+        }
+        return false;
     }
 
     public void registerDataStatusListener(IDataStorageAuditListener listener) {
@@ -360,6 +432,122 @@ public class DataStorageAuditer
         }
     }
 
+    /**
+     * Must be called while synchronized on {@link #traceIdToInfo}, or before
+     * any events are processed.
+     */
+    private void add(DataStorageInfo info) {
+        traceIdToInfo.put(info.getTraceId(), info);
+        expiryBuckets.add(info.getTraceId(), info.getStartTime());
+    }
+
+    /**
+     * Write the current state to {@link #PERSISTED_STATE_PATH}. Each info is
+     * written as its trace ID, start time and statuses followed by the thrift
+     * bytes of its identifiers, which avoids serializing and compressing the
+     * entire map as a single object. The infos are copied while synchronized
+     * so events are only held up for the copy and not the write. The state is
+     * written to a temporary file and moved into place so a crash never leaves
+     * a partial checkpoint.
+     */
+    private void checkpoint() {
+        List<DataStorageInfo> infos;
+        synchronized (traceIdToInfo) {
+            infos = new ArrayList<>(traceIdToInfo.size());
+            for (DataStorageInfo info : traceIdToInfo.values()) {
+                infos.add(copy(info));
+            }
+        }
+        Path persistedStatePath = Paths.get(PERSISTED_STATE_PATH);
+        Path tmpPath = Paths.get(PERSISTED_STATE_PATH + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+            out.writeInt(PERSISTED_STATE_VERSION);
+            for (DataStorageInfo info : infos) {
+                out.writeBoolean(true);
+                writeInfo(out, info);
+            }
+            out.writeBoolean(false);
+        } catch (Exception e) {
+            logger.error("Error persisting state to " + PERSISTED_STATE_PATH,
+                    e);
+            return;
+        }
+        try {
+            Files.move(tmpPath, persistedStatePath,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Persisted info for {} data storage operations",
+                    infos.size());
+        } catch (IOException e) {
+            logger.error("Error persisting state to " + PERSISTED_STATE_PATH,
+                    e);
+        }
+    }
+
+    private static DataStorageInfo copy(DataStorageInfo info) {
+        DataStorageInfo copy = new DataStorageInfo();
+        copy.setTraceId(info.getTraceId());
+        copy.setStartTime(info.getStartTime());
+        copy.setMetaId(info.getMetaId());
+        copy.setDataId(info.getDataId());
+        copy.setMetaStatus(info.getMetaStatus());
+        copy.setDataStatus(info.getDataStatus());
+        return copy;
+    }
+
+    static void writeInfo(DataOutputStream out, DataStorageInfo info)
+            throws IOException, SerializationException {
+        out.writeUTF(info.getTraceId());
+        out.writeLong(info.getStartTime());
+        MetadataStatus metaStatus = info.getMetaStatus();
+        out.writeUTF(metaStatus == null ? "" : metaStatus.name());
+        DataStatus dataStatus = info.getDataStatus();
+        out.writeUTF(dataStatus == null ? "" : dataStatus.name());
+        writeThrift(out, info.getMetaId());
+        writeThrift(out, info.getDataId());
+    }
+
+    private static void writeThrift(DataOutputStream out, Object obj)
+            throws IOException, SerializationException {
+        if (obj == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = SerializationUtil.transformToThrift(obj);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static DataStorageInfo readInfo(DataInputStream in)
+            throws IOException, SerializationException {
+        DataStorageInfo info = new DataStorageInfo();
+        info.setTraceId(in.readUTF());
+        info.setStartTime(in.readLong());
+        String metaStatus = in.readUTF();
+        if (!metaStatus.isEmpty()) {
+            info.setMetaStatus(MetadataStatus.valueOf(metaStatus));
+        }
+        String dataStatus = in.readUTF();
+        if (!dataStatus.isEmpty()) {
+            info.setDataStatus(DataStatus.valueOf(dataStatus));
+        }
+        info.setMetaId(readThrift(in, IMetadataIdentifier.class));
+        info.setDataId(readThrift(in, IDataIdentifier.class));
+        return info;
+    }
+
+    private static <T> T readThrift(DataInputStream in, Class<T> clazz)
+            throws IOException, SerializationException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return SerializationUtil.transformFromThrift(clazz, bytes);
+    }
+
     @Override
     public void preStart() {
         if (!enabled) {
@@ -377,25 +565,23 @@ public class DataStorageAuditer
         // Load state from disk
         Path persistedStatePath = Paths.get(PERSISTED_STATE_PATH);
         if (Files.isRegularFile(persistedStatePath)) {
-            try (FileInputStream fis = new FileInputStream(
-                    PERSISTED_STATE_PATH);
-                    GZIPInputStream gzis = new GZIPInputStream(fis)) {
-                @SuppressWarnings("unchecked")
-                Map<String, DataStorageInfo> persistedTraceIdToInfo = SerializationUtil
-                        .transformFromThrift(Map.class, gzis);
-                traceIdToInfo.putAll(persistedTraceIdToInfo);
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(
+                            Files.newInputStream(persistedStatePath)))) {
+                int version = in.readInt();
+                if (version != PERSISTED_STATE_VERSION) {
+                    throw new IOException(
+                            "Unsupported persisted state version: " + version);
+                }
+                while (in.readBoolean()) {
+                    add(readInfo(in));
+                }
                 logger.info("Loaded info for {} data storage operations",
                         traceIdToInfo.size());
             } catch (Exception e) {
                 logger.error("Error loading persisted state from "
                         + PERSISTED_STATE_PATH, e);
             }
-            try {
-                Files.delete(persistedStatePath);
-            } catch (Exception e) {
-                logger.error("Error deleting persisted state: "
-                        + PERSISTED_STATE_PATH, e);
-            }
         } else if (Files.exists(persistedStatePath)) {
             logger.error(
                     "Unable to load persisted state from non-regular file: "
@@ -403,6 +589,39 @@ public class DataStorageAuditer
         } else {
             logger.info("No persisted state to load");
         }
+
+        loadLegacyState();
+    }
+
+    private void loadLegacyState() {
+        Path legacyStatePath = Paths.get(LEGACY_PERSISTED_STATE_PATH);
+        if (!Files.isRegularFile(legacyStatePath)) {
+            return;
+        }
+        try (InputStream fis = new FileInputStream(
+                LEGACY_PERSISTED_STATE_PATH);
+                GZIPInputStream gzis = new GZIPInputStream(fis)) {
+            @SuppressWarnings("unchecked")
+            Map<String, DataStorageInfo> persistedTraceIdToInfo = SerializationUtil
+                    .transformFromThrift(Map.class, gzis);
+            for (DataStorageInfo info : persistedTraceIdToInfo.values()) {
+                if (!traceIdToInfo.containsKey(info.getTraceId())) {
+                    add(info);
+                }
+            }
+            logger.info("Loaded info for {} data storage operations from {}",
+                    persistedTraceIdToInfo.size(),
+                    LEGACY_PERSISTED_STATE_PATH);
+        } catch (Exception e) {
+            logger.error("Error loading persisted state from "
+                    + LEGACY_PERSISTED_STATE_PATH, e);
+        }
+        try {
+            Files.delete(legacyStatePath);
+        } catch (Exception e) {
+            logger.error("Error deleting persisted state: "
+                    + LEGACY_PERSISTED_STATE_PATH, e);
+        }
     }
 
     @Override
@@ -432,14 +651,5 @@ public class DataStorageAuditer
 
         // Persist state to disk
         cleanup();
-        logger.info("Persisting info for {} data storage operations",
-                traceIdToInfo.size());
-        try (FileOutputStream fos = new FileOutputStream(PERSISTED_STATE_PATH);
-                GZIPOutputStream gzos = new GZIPOutputStream(fos)) {
-            SerializationUtil.transformToThriftUsingStream(traceIdToInfo, gzos);
-        } catch (Exception e) {
-            logger.error("Error persisting state to " + PERSISTED_STATE_PATH,
-                    e);
-        }
     }
 }
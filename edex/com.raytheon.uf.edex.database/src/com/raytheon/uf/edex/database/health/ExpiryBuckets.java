@@ -0,0 +1,143 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract EA133W-17-CQ-0082 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     2120 South 72nd Street, Suite 900
+ *                         Omaha, NE 68124
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.health;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Trace IDs grouped into buckets by the time their data storage operation
+ * started, so cleanup only has to examine the operations that started long
+ * enough ago to have expired. Not thread safe, {@link DataStorageAuditer}
+ * guards it with the same lock as its infos.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+class ExpiryBuckets {
+
+    private final long bucketMillis;
+
+    /** bucket number to the trace IDs that started in it */
+    private final TreeMap<Long, List<String>> buckets = new TreeMap<>();
+
+    /** new trace IDs nearly always go in the latest bucket */
+    private long lastBucket = Long.MIN_VALUE;
+
+    private List<String> lastTraceIds;
+
+    /**
+     * @param bucketMillis
+     *            the length of time covered by each bucket
+     */
+    ExpiryBuckets(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * @param traceId
+     * @param startTime
+     *            the time the operation started
+     */
+    void add(String traceId, long startTime) {
+        long bucket = Math.floorDiv(startTime, bucketMillis);
+        if (bucket != lastBucket) {
+            lastBucket = bucket;
+            lastTraceIds = buckets.computeIfAbsent(bucket,
+                    k -> new ArrayList<>());
+        }
+        lastTraceIds.add(traceId);
+    }
+
+    /**
+     * Examine the trace IDs in every bucket that starts at or before the
+     * cutoff, later buckets are left alone.
+     *
+     * @param cutoff
+     *            no trace ID that started after the bucket containing this
+     *            time is examined
+     * @param expired
+     *            returns true if the trace ID no longer needs to be held
+     */
+    void expire(long cutoff, Predicate<String> expired) {
+        long lastExpiredBucket = Math.floorDiv(cutoff, bucketMillis);
+        Iterator<Entry<Long, List<String>>> iter = buckets
+                .headMap(lastExpiredBucket, true).entrySet().iterator();
+        while (iter.hasNext()) {
+            Entry<Long, List<String>> bucket = iter.next();
+            List<String> traceIds = bucket.getValue();
+            List<String> kept = new ArrayList<>(0);
+            for (String traceId : traceIds) {
+                if (!expired.test(traceId)) {
+                    kept.add(traceId);
+                }
+            }
+            if (kept.size() == traceIds.size()) {
+                continue;
+            }
+            if (kept.isEmpty()) {
+                iter.remove();
+                if (bucket.getKey() == lastBucket) {
+                    lastBucket = Long.MIN_VALUE;
+                    lastTraceIds = null;
+                }
+            } else {
+                traceIds.clear();
+                traceIds.addAll(kept);
+            }
+        }
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * @return the number of trace IDs in all the buckets
+     */
+    int size() {
+        int size = 0;
+        for (List<String> traceIds : buckets.values()) {
+            size += traceIds.size();
+        }
+        return size;
+    }
+
+    void clear() {
+        buckets.clear();
+        lastBucket = Long.MIN_VALUE;
+        lastTraceIds = null;
+    }
+}
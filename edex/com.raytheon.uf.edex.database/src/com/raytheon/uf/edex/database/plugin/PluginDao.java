@@ -39,6 +39,13 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import javax.persistence.PersistenceException;
@@ -149,6 +156,8 @@ import com.raytheon.uf.edex.database.query.DatabaseQuery;
  * Feb 17, 2022  8608     mapeters    Add auditMissingPiecesForDatabaseOnlyPdos()
  * Jun 22, 2022  8865     mapeters    Updates to hdf5 storage methods to audit missing pieces
  *                                    for PDOs that are filtered out
+ * Oct 19, 2026           kshrestha   Purge product key partitions in parallel and
+ *                                    count items and files purged
  *
  * </pre>
  *
@@ -172,6 +181,24 @@ public abstract class PluginDao extends CoreDao {
     // should match batch size in hibernate config
     protected static final int COMMIT_INTERVAL = 100;
 
+    /**
+     * Threads shared by all plugins for purging product key partitions in
+     * parallel, when all are busy partitions run on the purge job thread.
+     */
+    private static final ThreadPoolExecutor PURGE_PARTITION_POOL;
+
+    static {
+        int threads = Integer.getInteger("purge.partition.threads", 4);
+        AtomicInteger threadNumber = new AtomicInteger();
+        PURGE_PARTITION_POOL = new ThreadPoolExecutor(0, threads, 60,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "PurgePartition-"
+                            + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     protected static final ConcurrentMap<Class<?>, DuplicateCheckStat> pluginDupCheckRate = new ConcurrentHashMap<>();
 
     /**
@@ -884,11 +911,19 @@ public abstract class PluginDao extends CoreDao {
 
         public int itemsDeletedForKey;
 
+        public int filesPurgedForKey;
+
         public RuleResult(Set<Date> timesKept, Set<Date> timesPurged,
                 int itemsDeletedForKey) {
+            this(timesKept, timesPurged, itemsDeletedForKey, 0);
+        }
+
+        public RuleResult(Set<Date> timesKept, Set<Date> timesPurged,
+                int itemsDeletedForKey, int filesPurgedForKey) {
             this.timesKept = timesKept;
             this.timesPurged = timesPurged;
             this.itemsDeletedForKey = itemsDeletedForKey;
+            this.filesPurgedForKey = filesPurgedForKey;
         }
 
     }
@@ -910,6 +945,22 @@ public abstract class PluginDao extends CoreDao {
      *             If problems occur while interacting with data stores
      */
     public PurgeResults purgeExpiredDataWithResults() throws PluginException {
+        return purgeExpiredDataWithResults(1);
+    }
+
+    /**
+     * Purges data according to purge criteria specified by the owning plugin,
+     * splitting the distinct product keys into partitions that are purged in
+     * parallel. Each product key selects its own records and ref times so
+     * partitions never purge the same records.
+     *
+     * @param partitions
+     *            the most product key partitions to purge at once
+     * @throws PluginException
+     *             If problems occur while interacting with data stores
+     */
+    public PurgeResults purgeExpiredDataWithResults(int partitions)
+            throws PluginException {
         try {
             PurgeRuleSet ruleSet = getPurgeRulesForPlugin(pluginName);
             Map<String, Set<Date>> timesKept = new HashMap<>();
@@ -924,16 +975,21 @@ public abstract class PluginDao extends CoreDao {
             // Query the database to get all possible product keys for this data
             List<String> ruleKeys = ruleSet.getKeys();
             int totalItems = 0;
+            int totalFiles = 0;
 
             if (ruleKeys != null && !ruleKeys.isEmpty()) {
                 // Iterate through keys, fully purge each key set
                 String[][] distinctKeys = getDistinctProductKeyValues(
                         ruleSet.getKeys());
-                for (String[] key : distinctKeys) {
-                    RuleResult res = purgeExpiredKey(ruleSet, key);
-                    timesKept.put(Arrays.toString(key), res.timesKept);
-                    timesPurged.put(Arrays.toString(key), res.timesPurged);
+                RuleResult[] results = purgeExpiredKeys(ruleSet, distinctKeys,
+                        partitions);
+                for (int i = 0; i < distinctKeys.length; i++) {
+                    String key = Arrays.toString(distinctKeys[i]);
+                    RuleResult res = results[i];
+                    timesKept.put(key, res.timesKept);
+                    timesPurged.put(key, res.timesPurged);
                     totalItems += res.itemsDeletedForKey;
+                    totalFiles += res.filesPurgedForKey;
                 }
             } else {
                 // no rule keys defined, can only apply default rule
@@ -941,6 +997,7 @@ public abstract class PluginDao extends CoreDao {
                 timesKept.put("default", res.timesKept);
                 timesPurged.put("default", res.timesPurged);
                 totalItems += res.itemsDeletedForKey;
+                totalFiles += res.filesPurgedForKey;
             }
 
             StringBuilder messageBuffer = new StringBuilder();
@@ -952,12 +1009,133 @@ public abstract class PluginDao extends CoreDao {
 
             PurgeLogger.logInfo(messageBuffer.toString(), pluginName);
             postPurge();
-            return new PurgeResults(timesKept, timesPurged);
+            PurgeResults results = new PurgeResults(timesKept, timesPurged);
+            results.setItemsPurged(totalItems);
+            results.setFilesPurged(totalFiles);
+            return results;
         } catch (EdexException e) {
             throw new PluginException("Error applying purge rule!!", e);
         }
     }
 
+    /**
+     * Apply the purge rules to each product key, running up to partitions
+     * groups of keys at once. If any group fails the others stop at their next
+     * key and this does not return until all of them have stopped, so nothing
+     * is still purging once the caller gives up its purge lock.
+     *
+     * @param ruleSet
+     * @param distinctKeys
+     * @param partitions
+     * @return the result for each key in the same order as the keys
+     * @throws EdexException
+     */
+    private RuleResult[] purgeExpiredKeys(PurgeRuleSet ruleSet,
+            String[][] distinctKeys, int partitions) throws EdexException {
+        RuleResult[] results = new RuleResult[distinctKeys.length];
+        int partitionCount = Math.max(1,
+                Math.min(partitions, distinctKeys.length));
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>(partitionCount - 1);
+        boolean success = false;
+        try {
+            for (int p = 1; p < partitionCount; p++) {
+                final int partition = p;
+                futures.add(PURGE_PARTITION_POOL.submit(() -> {
+                    /*
+                     * Rules hold state while they are applied so each
+                     * partition needs its own copy.
+                     */
+                    PurgeRuleSet partitionRules = getPurgeRulesForPlugin(
+                            pluginName);
+                    if (partitionRules == null) {
+                        aborted.set(true);
+                        throw new EdexException(
+                                "Purge rules are no longer available");
+                    }
+                    purgeExpiredKeyPartition(partitionRules, distinctKeys,
+                            results, partition, partitionCount, aborted);
+                    return null;
+                }));
+            }
+            purgeExpiredKeyPartition(ruleSet, distinctKeys, results, 0,
+                    partitionCount, aborted);
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new EdexException(
+                            "Interrupted purging product keys for "
+                                    + pluginName,
+                            e);
+                } catch (ExecutionException e) {
+                    throw new EdexException(
+                            "Error purging product keys for " + pluginName,
+                            e.getCause());
+                }
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                abortPartitions(futures, aborted);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Stop the remaining partitions of a failed purge and wait for any that
+     * are already applying a rule to finish it.
+     *
+     * @param futures
+     * @param aborted
+     */
+    private void abortPartitions(List<Future<?>> futures,
+            AtomicBoolean aborted) {
+        aborted.set(true);
+        boolean interrupted = Thread.interrupted();
+        for (Future<?> future : futures) {
+            /*
+             * The pool hands each partition straight to a thread so every task
+             * has already started. Cancelling a started task does not stop it
+             * and get() would then stop waiting for it, so the partitions are
+             * stopped through the aborted flag and waited for instead.
+             */
+            while (!future.isDone()) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // already reported by the failure that aborted the purge
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void purgeExpiredKeyPartition(PurgeRuleSet ruleSet,
+            String[][] distinctKeys, RuleResult[] results, int partition,
+            int partitionCount, AtomicBoolean aborted)
+            throws DataAccessLayerException {
+        boolean success = false;
+        try {
+            for (int i = partition; i < distinctKeys.length
+                    && !aborted.get(); i += partitionCount) {
+                results[i] = purgeExpiredKey(ruleSet, distinctKeys[i]);
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                // stop the other partitions without waiting for the caller
+                aborted.set(true);
+            }
+        }
+    }
+
     /**
      * Takes the purgeKeys, looks up the associated purge rule, and applies it
      * to the data matched by purgeKeys.
@@ -1268,6 +1446,7 @@ public abstract class PluginDao extends CoreDao {
         }
 
         int itemsDeletedForKey = 0;
+        int filesPurgedForKey = 0;
         List<Date> orderedTimesPurged = new ArrayList<>(timesPurged);
         Collections.sort(orderedTimesPurged);
 
@@ -1298,6 +1477,7 @@ public abstract class PluginDao extends CoreDao {
                             ds.deleteGroups(
                                     uris.toArray(new String[uris.size()]));
                         }
+                        filesPurgedForKey++;
                     } catch (Exception e) {
                         PurgeLogger.logError(
                                 "Error occurred purging file: "
@@ -1323,6 +1503,7 @@ public abstract class PluginDao extends CoreDao {
                     } else {
                         ds.deleteGroups(uris.toArray(new String[uris.size()]));
                     }
+                    filesPurgedForKey++;
                 } catch (Exception e) {
                     PurgeLogger.logError("Error occurred purging file: "
                             + hdf5Entry.getKey(), this.pluginName, e);
@@ -1360,7 +1541,8 @@ public abstract class PluginDao extends CoreDao {
             }
         }
 
-        return new RuleResult(timesKept, timesPurged, itemsDeletedForKey);
+        return new RuleResult(timesKept, timesPurged, itemsDeletedForKey,
+                filesPurgedForKey);
     }
 
     /**
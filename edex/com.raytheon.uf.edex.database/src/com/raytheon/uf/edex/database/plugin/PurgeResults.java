@@ -15,6 +15,7 @@ import java.util.Set;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jun 12, 2013            bclement     Initial creation
+ * Oct 19, 2026            kshrestha    Added items and files purged
  * 
  * </pre>
  * 
@@ -27,6 +28,10 @@ public class PurgeResults {
 
     private Map<String, Set<Date>> timesPurged;
 
+    private int itemsPurged;
+
+    private int filesPurged;
+
     public PurgeResults() {
     }
 
@@ -82,4 +87,34 @@ public class PurgeResults {
         this.timesPurged = timesPurged;
     }
 
+    /**
+     * @return the number of database records purged
+     */
+    public int getItemsPurged() {
+        return itemsPurged;
+    }
+
+    /**
+     * @param itemsPurged
+     *            the itemsPurged to set
+     */
+    public void setItemsPurged(int itemsPurged) {
+        this.itemsPurged = itemsPurged;
+    }
+
+    /**
+     * @return the number of data store files deleted or purged of groups
+     */
+    public int getFilesPurged() {
+        return filesPurged;
+    }
+
+    /**
+     * @param filesPurged
+     *            the filesPurged to set
+     */
+    public void setFilesPurged(int filesPurged) {
+        this.filesPurged = filesPurged;
+    }
+
 }
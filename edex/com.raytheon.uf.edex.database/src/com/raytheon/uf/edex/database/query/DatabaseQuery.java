@@ -62,6 +62,8 @@ import com.raytheon.uf.edex.database.DataAccessLayerException;
  *                                     additional constraints
  * Nov 17, 2021 22854      jkelmer     Modified convertParameter to only pull
  *                                     a string out of a list for IN or NOTIN
+ * Oct 19, 2026            kshrestha   Reuse HQL and field types from a
+ *                                     QueryTemplate for each query shape
  *                                     
  * </pre>
  *
@@ -100,6 +102,12 @@ public class DatabaseQuery {
 
     private static final Pattern DOT_PATTERN = Pattern.compile("\\.");
 
+    private static final boolean TEMPLATES_ENABLED = Boolean.parseBoolean(
+            System.getProperty("hql.template.cache.enabled", "true"));
+
+    /** The template last used for this query */
+    private QueryTemplate template;
+
     /**
      * Constructs a new DatabaseQuery
      */
@@ -555,6 +563,95 @@ public class DatabaseQuery {
      * @return
      */
     public String createHQLQuery() {
+        QueryTemplate queryTemplate = getTemplate();
+        if (queryTemplate != null) {
+            return queryTemplate.getHql();
+        }
+        return buildHQLQuery();
+    }
+
+    /**
+     * Record the time taken to run this query in the statistics for its shape.
+     *
+     * @param nanos
+     *            the time taken in nanoseconds
+     * @param rows
+     *            the number of rows returned
+     */
+    public void recordExecution(long nanos, int rows) {
+        if (template != null) {
+            template.record(nanos, rows);
+        }
+    }
+
+    /**
+     * @return the template for the current shape of this query, or null if
+     *         templates are disabled or this is a subclass that may add
+     *         arbitrary constraints
+     */
+    QueryTemplate getTemplate() {
+        if (!TEMPLATES_ENABLED || getClass() != DatabaseQuery.class) {
+            return null;
+        }
+        List<Object> shape = createShape();
+        QueryTemplate current = template;
+        if (current == null || !current.getShape().equals(shape)) {
+            current = QueryTemplate.getTemplate(shape, this);
+            template = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return everything about this query that the HQL depends on, which
+     *         excludes the constraint values
+     */
+    private List<Object> createShape() {
+        List<Object> shape = new ArrayList<>(8 + 2 * joinedClasses.size()
+                + 3 * (returnedFields.size() + parameters.size()
+                        + orderFields.size())
+                + 4 * joinFields.size());
+        shape.add(entityName);
+        shape.add(isDistinct());
+        shape.add(joinedClasses.size());
+        for (Map.Entry<String, String> entry : joinedClasses.entrySet()) {
+            shape.add(entry.getKey());
+            shape.add(entry.getValue());
+        }
+        shape.add(returnedFields.size());
+        for (ReturnedField field : returnedFields) {
+            shape.add(field.getClassName());
+            shape.add(field.getField());
+            shape.add(field.getFunction());
+        }
+        shape.add(parameters.size());
+        for (QueryParam param : parameters) {
+            shape.add(param.getClassName());
+            shape.add(param.getField());
+            shape.add(param.getOperand());
+        }
+        shape.add(orderFields.size());
+        for (OrderField field : orderFields) {
+            shape.add(field.getClassName());
+            shape.add(field.getField());
+            shape.add(field.getOrder());
+        }
+        shape.add(joinFields.size());
+        for (JoinField field : joinFields) {
+            shape.add(field.getJoinClassOne());
+            shape.add(field.getJoinFieldOne());
+            shape.add(field.getJoinClassTwo());
+            shape.add(field.getJoinFieldTwo());
+        }
+        return shape;
+    }
+
+    /**
+     * Build the HQL query from the criteria specified by this class
+     *
+     * @return
+     */
+    String buildHQLQuery() {
         StringBuilder queryString = new StringBuilder();
 
         /*
@@ -812,6 +909,7 @@ public class DatabaseQuery {
             throws DataAccessLayerException {
 
         Object value = null;
+        QueryTemplate queryTemplate = getTemplate();
 
         int constraintIndex = 0;
         for (int i = 0; i < parameters.size(); i++) {
@@ -823,7 +921,11 @@ public class DatabaseQuery {
                 continue;
             }
             try {
-                value = convertParameter(param, sessionFactory);
+                Class<?> returnedClass = queryTemplate == null
+                        ? getFieldClass(param, sessionFactory)
+                        : queryTemplate.getFieldClass(i, param,
+                                sessionFactory);
+                value = convertParameter(param, returnedClass);
                 if ("between".equalsIgnoreCase(operand)) {
                     query.setParameter(
                             QueryUtil.QUERY_CONSTRAINT + constraintIndex,
@@ -857,25 +959,22 @@ public class DatabaseQuery {
     }
 
     /**
-     * Converts a parameter value from a string value to the necessary type
+     * Determine the type of the field a parameter constrains
      *
      * @param param
-     *            The parameter to be converted
+     *            The parameter
      * @param sessionFactory
      *            The session factory for determining the desired type
-     * @return The converted parameter
+     * @return The type of the field
      * @throws DataAccessLayerException
-     * @throws Exception
      *             If errors occur during reflection
      */
-    @SuppressWarnings("unchecked")
-    private Object convertParameter(QueryParam param,
+    static Class<?> getFieldClass(QueryParam param,
             SessionFactory sessionFactory) throws DataAccessLayerException {
 
         ClassMetadata metadata = sessionFactory
                 .getClassMetadata(param.getClassName());
         String field = param.getField();
-        Object value = param.getValue();
 
         Class<?> returnedClass = null;
         if (field.contains(".")) {
@@ -915,6 +1014,21 @@ public class DatabaseQuery {
         } else {
             returnedClass = metadata.getPropertyType(field).getReturnedClass();
         }
+        return returnedClass;
+    }
+
+    /**
+     * Converts a parameter value from a string value to the necessary type
+     *
+     * @param param
+     *            The parameter to be converted
+     * @param returnedClass
+     *            The type of the field the parameter constrains
+     * @return The converted parameter
+     */
+    @SuppressWarnings("unchecked")
+    private Object convertParameter(QueryParam param, Class<?> returnedClass) {
+        Object value = param.getValue();
         QueryOperand op = QueryParam.translateOperand(param.getOperand());
         if (value instanceof String) {
             switch (op) {
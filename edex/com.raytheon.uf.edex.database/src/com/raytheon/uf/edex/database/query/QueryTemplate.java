@@ -0,0 +1,189 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.SessionFactory;
+
+import com.raytheon.uf.common.dataquery.db.QueryParam;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.edex.database.DataAccessLayerException;
+
+/**
+ * The compiled form of every {@link DatabaseQuery} with the same shape, which
+ * is the entity, returned fields, constraint fields and operands, ordering and
+ * joins but not the constraint values. Holds the HQL text and the type each
+ * constraint value is converted to, so queries with a known shape do not have
+ * to build the HQL or look up the field types again. Execution statistics are
+ * kept for each shape and the most expensive shapes are logged periodically.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+final class QueryTemplate {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(QueryTemplate.class);
+
+    /** the cache is cleared if it grows past this many shapes */
+    private static final int MAX_TEMPLATES = Integer
+            .getInteger("hql.template.cache.size", 1024);
+
+    /** minutes between statistics logs, 0 to disable */
+    private static final long LOG_INTERVAL = TimeUnit.MINUTES.toMillis(
+            Long.getLong("hql.template.stats.interval", 60));
+
+    private static final int LOG_COUNT = 10;
+
+    private static final Map<List<Object>, QueryTemplate> templates = new ConcurrentHashMap<>();
+
+    private static final AtomicLong lastLog = new AtomicLong(
+            System.currentTimeMillis());
+
+    private final List<Object> shape;
+
+    private final String hql;
+
+    /** the type of each constraint value, filled in as they are needed */
+    private final Class<?>[] fieldClasses;
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    private QueryTemplate(List<Object> shape, String hql, int parameters) {
+        this.shape = shape;
+        this.hql = hql;
+        this.fieldClasses = new Class<?>[parameters];
+    }
+
+    /**
+     * @param shape
+     *            the shape of the query
+     * @param query
+     *            a query with the shape, used to build the template if it is
+     *            not cached
+     * @return the template for the shape
+     */
+    static QueryTemplate getTemplate(List<Object> shape, DatabaseQuery query) {
+        QueryTemplate template = templates.get(shape);
+        if (template == null) {
+            template = new QueryTemplate(shape, query.buildHQLQuery(),
+                    query.getParameters().size());
+            if (templates.size() >= MAX_TEMPLATES) {
+                templates.clear();
+            }
+            QueryTemplate existing = templates.putIfAbsent(shape, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+
+    List<Object> getShape() {
+        return shape;
+    }
+
+    String getHql() {
+        return hql;
+    }
+
+    /**
+     * @param index
+     *            the index of the constraint in the query parameters
+     * @param param
+     *            the constraint
+     * @param sessionFactory
+     * @return the type the constraint value must be converted to
+     * @throws DataAccessLayerException
+     */
+    Class<?> getFieldClass(int index, QueryParam param,
+            SessionFactory sessionFactory) throws DataAccessLayerException {
+        Class<?> fieldClass = fieldClasses[index];
+        if (fieldClass == null) {
+            fieldClass = DatabaseQuery.getFieldClass(param, sessionFactory);
+            fieldClasses[index] = fieldClass;
+        }
+        return fieldClass;
+    }
+
+    /**
+     * Record one execution of a query with this shape.
+     *
+     * @param elapsed
+     *            nanoseconds taken to run the query
+     * @param rowCount
+     *            rows returned
+     */
+    void record(long elapsed, int rowCount) {
+        executions.increment();
+        nanos.add(elapsed);
+        rows.add(rowCount);
+        long last = lastLog.get();
+        long now = System.currentTimeMillis();
+        if (LOG_INTERVAL > 0 && now - last > LOG_INTERVAL
+                && lastLog.compareAndSet(last, now)) {
+            logStatistics();
+        }
+    }
+
+    private static void logStatistics() {
+        List<QueryTemplate> sorted = new ArrayList<>(templates.values());
+        sorted.sort(Comparator
+                .comparingLong((QueryTemplate t) -> t.nanos.sum()).reversed());
+        StringBuilder msg = new StringBuilder("HQL query shapes: ")
+                .append(sorted.size()).append(", most expensive:");
+        for (QueryTemplate t : sorted.subList(0,
+                Math.min(LOG_COUNT, sorted.size()))) {
+            long count = t.executions.sum();
+            if (count == 0) {
+                break;
+            }
+            long totalMillis = TimeUnit.NANOSECONDS.toMillis(t.nanos.sum());
+            msg.append("\n    ").append(count).append(" executions, ")
+                    .append(totalMillis).append(" ms total, ")
+                    .append(totalMillis / count).append(" ms average, ")
+                    .append(t.rows.sum() / count).append(" rows average: ")
+                    .append(t.hql);
+        }
+        statusHandler.info(msg.toString());
+    }
+}
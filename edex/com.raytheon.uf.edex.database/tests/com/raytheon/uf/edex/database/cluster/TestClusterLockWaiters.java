@@ -0,0 +1,173 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.cluster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.raytheon.uf.edex.database.cluster.ClusterLockWaiters.Ticket;
+
+/**
+ * Unit tests for ClusterLockWaiters
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestClusterLockWaiters {
+
+    private static final AtomicInteger names = new AtomicInteger();
+
+    /** each test gets its own lock table so the shared instances don't mix */
+    private static ClusterLockWaiters newWaiters(long minBackoff) {
+        return ClusterLockWaiters.getInstance(
+                "test" + names.incrementAndGet(), minBackoff);
+    }
+
+    @Test
+    public void testInstancesAreSharedByName() {
+        ClusterLockWaiters waiters = ClusterLockWaiters.getInstance("shared",
+                5);
+        assertSame(waiters, ClusterLockWaiters.getInstance("shared", 50));
+        assertEquals(5, waiters.getMinBackoff());
+    }
+
+    @Test
+    public void testDefaultBackoffIsPreviousRetryInterval() {
+        ClusterLockWaiters waiters = newWaiters(0);
+        assertEquals(100, waiters.getMinBackoff());
+        assertEquals(200, waiters.nextBackoff(waiters.getMinBackoff()));
+    }
+
+    @Test
+    public void testBackoffDoublesUpToMax() {
+        ClusterLockWaiters waiters = newWaiters(10);
+        assertEquals(20, waiters.nextBackoff(10));
+        assertEquals(80, waiters.nextBackoff(40));
+        assertEquals(160, waiters.nextBackoff(80));
+        assertEquals(1000, waiters.nextBackoff(800));
+        assertEquals(1000, waiters.nextBackoff(1000));
+    }
+
+    @Test
+    public void testMaxBackoffIsNeverBelowMin() {
+        ClusterLockWaiters waiters = newWaiters(5000);
+        assertEquals(5000, waiters.nextBackoff(5000));
+    }
+
+    @Test
+    public void testAwaitTimesOutWithoutRelease() throws InterruptedException {
+        ClusterLockWaiters waiters = newWaiters(10);
+        try (Ticket ticket = waiters.enter("lock")) {
+            long t0 = System.currentTimeMillis();
+            assertFalse(ticket.await(50));
+            assertTrue("Waited for the timeout",
+                    System.currentTimeMillis() - t0 >= 45);
+        }
+    }
+
+    @Test
+    public void testReleaseBeforeAwaitIsNotMissed()
+            throws InterruptedException {
+        ClusterLockWaiters waiters = newWaiters(10);
+        try (Ticket ticket = waiters.enter("lock")) {
+            waiters.released("lock");
+            assertTrue(ticket.await(0));
+            // the release has been seen, so the next wait times out
+            assertFalse(ticket.await(10));
+        }
+    }
+
+    @Test
+    public void testReleaseWakesWaitingThread() throws Exception {
+        ClusterLockWaiters waiters = newWaiters(10);
+        CountDownLatch entered = new CountDownLatch(1);
+        AtomicBoolean woken = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            try (Ticket ticket = waiters.enter("lock")) {
+                entered.countDown();
+                woken.set(ticket.await(10_000));
+            } catch (InterruptedException e) {
+                // fails below
+            }
+        });
+        waiter.start();
+        entered.await();
+        long t0 = System.currentTimeMillis();
+        waiters.released("lock");
+        waiter.join(5_000);
+        assertTrue("Waiter was woken by the release", woken.get());
+        assertTrue("Waiter did not wait for the timeout",
+                System.currentTimeMillis() - t0 < 5_000);
+    }
+
+    @Test
+    public void testReleaseOfOtherLockDoesNotWake()
+            throws InterruptedException {
+        ClusterLockWaiters waiters = newWaiters(10);
+        try (Ticket ticket = waiters.enter("lock")) {
+            waiters.released("other");
+            assertFalse(ticket.await(10));
+        }
+    }
+
+    @Test
+    public void testReleaseWithoutWaitersIsIgnored()
+            throws InterruptedException {
+        ClusterLockWaiters waiters = newWaiters(10);
+        waiters.released("lock");
+        try (Ticket ticket = waiters.enter("lock")) {
+            assertFalse(ticket.await(10));
+        }
+    }
+
+    @Test
+    public void testAcquireLatencyHistogram() {
+        ClusterLockWaiters waiters = newWaiters(10);
+        waiters.recordAcquire(0);
+        waiters.recordAcquire(5);
+        waiters.recordAcquire(10);
+        waiters.recordAcquire(999);
+        waiters.recordAcquire(60_000);
+        waiters.recordAcquire(120_000);
+        assertArrayEquals(new long[] { 1, 1, 1, 1, 0, 0, 2 },
+                waiters.getAcquireLatencyHistogram());
+        assertEquals(
+                "<1ms=1, <10ms=1, <100ms=1, <1000ms=1, <10000ms=0, <60000ms=0, >=60000ms=2",
+                waiters.getAcquireLatencySummary());
+    }
+}
@@ -0,0 +1,369 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+import com.raytheon.uf.common.time.DataTime;
+
+/**
+ * Unit tests for AvailableTimesCache, using an in memory table in place of the
+ * plugin database table and comparing the cached answers with the answers of
+ * the equivalent queries.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestAvailableTimesCache {
+
+    private static final String PLUGIN = "grid";
+
+    private static final String OTHER_PLUGIN = "radar";
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private static final long BASE = 1_700_000_000_000L / HOUR * HOUR;
+
+    private AvailableTimesCache cache;
+
+    /** rows of the plugin tables as dataURI field maps */
+    private List<Map<String, Object>> table;
+
+    private int loads;
+
+    @Before
+    public void setUp() {
+        cache = new AvailableTimesCache();
+        table = new ArrayList<>();
+        loads = 0;
+    }
+
+    private static Map<String, Object> row(String pluginName,
+            String location, String parameter, long refTime, int fcstHour) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("pluginName", pluginName);
+        row.put("location", location);
+        row.put("parameter", parameter);
+        row.put("dataTime",
+                new DataTime(new Date(refTime), (int) (fcstHour * HOUR / 1000)));
+        return row;
+    }
+
+    private static Map<String, RequestConstraint> constraints(
+            String... keysAndValues) {
+        Map<String, RequestConstraint> constraints = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            constraints.put(keysAndValues[i],
+                    new RequestConstraint(keysAndValues[i + 1]));
+        }
+        return constraints;
+    }
+
+    private static boolean matches(Map<String, Object> row,
+            String pluginName, Map<String, RequestConstraint> constraints) {
+        if (!pluginName.equals(row.get("pluginName"))) {
+            return false;
+        }
+        for (Map.Entry<String, RequestConstraint> e : constraints
+                .entrySet()) {
+            if (!e.getValue().evaluate(row.get(e.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** store a row and send the notification the way ingest does */
+    private void store(Map<String, Object> row) {
+        table.add(row);
+        cache.dataArrived((String) row.get("pluginName"), row);
+    }
+
+    /** the distinct time query */
+    private List<DataTime> queryTimes(String pluginName,
+            Map<String, RequestConstraint> constraints, Date before) {
+        TreeSet<DataTime> times = new TreeSet<>();
+        for (Map<String, Object> row : table) {
+            DataTime time = (DataTime) row.get("dataTime");
+            if (matches(row, pluginName, constraints) && (before == null
+                    || time.getRefTime().before(before))) {
+                times.add(time);
+            }
+        }
+        return new ArrayList<>(times);
+    }
+
+    /** the max reference time query */
+    private Date queryLatestRefTime(String pluginName,
+            Map<String, RequestConstraint> constraints, Date before) {
+        Date latest = null;
+        for (DataTime time : queryTimes(pluginName, constraints, before)) {
+            if (latest == null || time.getRefTime().after(latest)) {
+                latest = time.getRefTime();
+            }
+        }
+        return latest;
+    }
+
+    private AvailableTimesCache.Entry getTimes(String pluginName,
+            Map<String, RequestConstraint> constraints) throws Exception {
+        return cache.getTimes(pluginName, constraints, () -> {
+            loads += 1;
+            return queryTimes(pluginName, constraints, null);
+        });
+    }
+
+    private void assertSameAnswers(String pluginName,
+            Map<String, RequestConstraint> constraints,
+            AvailableTimesCache.Entry entry) {
+        assertEquals(queryTimes(pluginName, constraints, null),
+                entry.getTimes(null));
+        assertEquals(queryLatestRefTime(pluginName, constraints, null),
+                entry.getLatestRefTime(null));
+        for (long t = BASE - HOUR; t < BASE + 30 * HOUR; t += 15 * 60 * 1000L) {
+            Date before = new Date(t);
+            assertEquals(queryTimes(pluginName, constraints, before),
+                    entry.getTimes(before));
+            assertEquals(queryLatestRefTime(pluginName, constraints, before),
+                    entry.getLatestRefTime(before));
+        }
+    }
+
+    private void fillTable(Random random, int rows) {
+        String[] locations = { "CONUS", "Alaska", "Hawaii" };
+        String[] parameters = { "T", "RH", "GH" };
+        for (int i = 0; i < rows; i += 1) {
+            long refTime = BASE + random.nextInt(24 * 4) * 15 * 60 * 1000L;
+            table.add(row(random.nextBoolean() ? PLUGIN : OTHER_PLUGIN,
+                    locations[random.nextInt(locations.length)],
+                    parameters[random.nextInt(parameters.length)], refTime,
+                    random.nextInt(4) * 3));
+        }
+    }
+
+    @Test
+    public void testLoadOnceThenHit() throws Exception {
+        fillTable(new Random(1), 500);
+        Map<String, RequestConstraint> constraints = constraints("location",
+                "CONUS", "parameter", "T");
+        AvailableTimesCache.Entry entry = getTimes(PLUGIN, constraints);
+        assertEquals(1, loads);
+        assertSameAnswers(PLUGIN, constraints, entry);
+
+        assertSame(entry, getTimes(PLUGIN, constraints(
+                "parameter", "T", "location", "CONUS")));
+        assertEquals(1, loads);
+        assertEquals(1, cache.getMisses(PLUGIN));
+        assertEquals(1, cache.getHits(PLUGIN));
+        assertEquals(1, cache.size());
+
+        getTimes(PLUGIN, constraints("location", "CONUS"));
+        getTimes(OTHER_PLUGIN, constraints);
+        assertEquals(3, loads);
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testDataArrivedAddsMatchingTimes() throws Exception {
+        Random random = new Random(2);
+        fillTable(random, 200);
+        Map<String, RequestConstraint> constraints = constraints("location",
+                "CONUS", "parameter", "T");
+        Map<String, RequestConstraint> inConstraints = new HashMap<>();
+        inConstraints.put("location", new RequestConstraint(
+                new String[] { "Alaska", "Hawaii" }));
+        AvailableTimesCache.Entry entry = getTimes(PLUGIN, constraints);
+        AvailableTimesCache.Entry inEntry = getTimes(PLUGIN, inConstraints);
+
+        String[] locations = { "CONUS", "Alaska", "Hawaii" };
+        for (int i = 0; i < 200; i += 1) {
+            store(row(random.nextBoolean() ? PLUGIN : OTHER_PLUGIN,
+                    locations[random.nextInt(locations.length)],
+                    random.nextBoolean() ? "T" : "RH",
+                    BASE + (24 + random.nextInt(6)) * HOUR,
+                    random.nextInt(4) * 3));
+        }
+        assertSame(entry, getTimes(PLUGIN, constraints));
+        assertSame(inEntry, getTimes(PLUGIN, inConstraints));
+        assertEquals(2, loads);
+        assertSameAnswers(PLUGIN, constraints, entry);
+        assertSameAnswers(PLUGIN, inConstraints, inEntry);
+    }
+
+    @Test
+    public void testDataArrivedDropsEntriesItCannotEvaluate()
+            throws Exception {
+        fillTable(new Random(3), 200);
+        Map<String, RequestConstraint> equals = constraints("location",
+                "CONUS");
+        Map<String, RequestConstraint> between = new HashMap<>();
+        between.put("parameter", new RequestConstraint("A", "S"));
+        Map<String, RequestConstraint> unknownField = constraints("level",
+                "500MB");
+        getTimes(PLUGIN, equals);
+        getTimes(PLUGIN, between);
+        getTimes(PLUGIN, unknownField);
+        assertEquals(3, cache.size());
+
+        store(row(PLUGIN, "CONUS", "RH", BASE + 30 * HOUR, 0));
+        assertEquals(1, cache.size());
+        assertEquals(3, loads);
+
+        assertSameAnswers(PLUGIN, between, getTimes(PLUGIN, between));
+        assertSameAnswers(PLUGIN, equals, getTimes(PLUGIN, equals));
+        assertEquals(4, loads);
+
+        Map<String, Object> noTime = row(PLUGIN, "CONUS", "T", BASE, 0);
+        noTime.remove("dataTime");
+        cache.dataArrived(PLUGIN, noTime);
+        assertEquals(0, cache.size());
+        getTimes(PLUGIN, equals);
+        assertEquals(5, loads);
+    }
+
+    @Test
+    public void testPluginPurgedReloads() throws Exception {
+        fillTable(new Random(4), 300);
+        Map<String, RequestConstraint> constraints = constraints("parameter",
+                "GH");
+        getTimes(PLUGIN, constraints);
+        getTimes(OTHER_PLUGIN, constraints);
+        assertEquals(2, cache.size());
+
+        table.removeIf(row -> PLUGIN.equals(row.get("pluginName"))
+                && ((DataTime) row.get("dataTime")).getRefTime()
+                        .before(new Date(BASE + 12 * HOUR)));
+        cache.pluginPurged(PLUGIN);
+        assertEquals(1, cache.size());
+
+        assertSameAnswers(PLUGIN, constraints,
+                getTimes(PLUGIN, constraints));
+        assertSameAnswers(OTHER_PLUGIN, constraints,
+                getTimes(OTHER_PLUGIN, constraints));
+        assertEquals(3, loads);
+    }
+
+    @Test
+    public void testBinnedTimesMatchMaxQueries() throws Exception {
+        fillTable(new Random(5), 1000);
+        Map<String, RequestConstraint> constraints = constraints("location",
+                "Alaska");
+        AvailableTimesCache.Entry entry = getTimes(PLUGIN, constraints);
+
+        for (long binSize : new long[] { HOUR, 3 * HOUR, 6 * HOUR }) {
+            List<Date> queried = new ArrayList<>();
+            Date latest = queryLatestRefTime(PLUGIN, constraints, null);
+            while (latest != null) {
+                Date binStart = new Date(
+                        latest.getTime() / binSize * binSize);
+                queried.add(binStart);
+                latest = queryLatestRefTime(PLUGIN, constraints, binStart);
+            }
+
+            List<Date> cached = new ArrayList<>();
+            latest = entry.getLatestRefTime(null);
+            while (latest != null) {
+                Date binStart = new Date(
+                        latest.getTime() / binSize * binSize);
+                cached.add(binStart);
+                latest = entry.getLatestRefTime(binStart);
+            }
+            assertEquals(queried, cached);
+        }
+    }
+
+    @Test
+    public void testEmptyTable() throws Exception {
+        Map<String, RequestConstraint> constraints = constraints("location",
+                "CONUS");
+        AvailableTimesCache.Entry entry = getTimes(PLUGIN, constraints);
+        assertEquals(Collections.emptyList(), entry.getTimes(null));
+        assertNull(entry.getLatestRefTime(null));
+
+        store(row(PLUGIN, "CONUS", "T", BASE, 6));
+        assertNotNull(entry.getLatestRefTime(null));
+        assertSameAnswers(PLUGIN, constraints, entry);
+        assertEquals(1, loads);
+    }
+
+    @Test
+    public void testSizeAfterFailedAndInterruptedLoads() throws Exception {
+        Map<String, RequestConstraint> constraints = constraints("location",
+                "CONUS");
+        try {
+            cache.getTimes(PLUGIN, constraints, () -> {
+                throw new IllegalStateException("database unavailable");
+            });
+            fail("Loader failure was not thrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(0, cache.size());
+
+        // the plugin is purged while the load is running
+        cache.getTimes(PLUGIN, constraints, () -> {
+            cache.pluginPurged(PLUGIN);
+            return queryTimes(PLUGIN, constraints, null);
+        });
+        assertEquals(0, cache.size());
+        getTimes(PLUGIN, constraints);
+        assertEquals(1, loads);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testClearedWhenFull() throws Exception {
+        int entries = 0;
+        for (int i = 0; i < 10_000 && cache.size() == entries; i += 1) {
+            getTimes(PLUGIN, constraints("location", "L" + i));
+            entries += 1;
+        }
+        assertEquals(0, cache.size());
+        getTimes(PLUGIN, constraints("location", "CONUS"));
+        assertEquals(1, cache.size());
+    }
+}
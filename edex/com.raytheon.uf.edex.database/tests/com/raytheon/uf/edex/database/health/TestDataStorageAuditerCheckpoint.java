@@ -0,0 +1,187 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract EA133W-17-CQ-0082 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     2120 South 72nd Street, Suite 900
+ *                         Omaha, NE 68124
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.health;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.datastorage.audit.DataStatus;
+import com.raytheon.uf.common.datastorage.audit.DataStorageInfo;
+import com.raytheon.uf.common.datastorage.audit.Hdf5DataIdentifier;
+import com.raytheon.uf.common.datastorage.audit.MetadataStatus;
+import com.raytheon.uf.common.datastorage.records.DataUriMetadataIdentifier;
+import com.raytheon.uf.common.datastorage.records.IMetadataIdentifier.MetadataSpecificity;
+
+/**
+ * Unit tests for the records DataStorageAuditer writes to its checkpoint,
+ * checking that every field of an info survives a write and read.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestDataStorageAuditerCheckpoint {
+
+    private static byte[] write(DataStorageInfo... infos) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (DataStorageInfo info : infos) {
+                DataStorageAuditer.writeInfo(out, info);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataStorageInfo[] read(byte[] bytes, int count)
+            throws Exception {
+        DataStorageInfo[] infos = new DataStorageInfo[count];
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bytes))) {
+            for (int i = 0; i < count; i++) {
+                infos[i] = DataStorageAuditer.readInfo(in);
+            }
+            assertEquals(-1, in.read());
+        }
+        return infos;
+    }
+
+    private static DataStorageInfo info(String traceId, long startTime) {
+        DataStorageInfo info = new DataStorageInfo(traceId);
+        info.setStartTime(startTime);
+        return info;
+    }
+
+    private static void assertInfoEquals(DataStorageInfo expected,
+            DataStorageInfo actual) {
+        assertEquals(expected.getTraceId(), actual.getTraceId());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getMetaStatus(), actual.getMetaStatus());
+        assertEquals(expected.getDataStatus(), actual.getDataStatus());
+        /* DataUriMetadataIdentifier implements equals */
+        assertEquals(expected.getMetaId(), actual.getMetaId());
+        Hdf5DataIdentifier expectedDataId = (Hdf5DataIdentifier) expected
+                .getDataId();
+        Hdf5DataIdentifier actualDataId = (Hdf5DataIdentifier) actual
+                .getDataId();
+        if (expectedDataId == null) {
+            assertNull(actualDataId);
+        } else {
+            assertEquals(expectedDataId.getTraceId(),
+                    actualDataId.getTraceId());
+            assertEquals(expectedDataId.getFile(), actualDataId.getFile());
+            assertEquals(expectedDataId.getGroup(), actualDataId.getGroup());
+            assertEquals(expectedDataId.getDatasets(),
+                    actualDataId.getDatasets());
+        }
+    }
+
+    @Test
+    public void testCompleteInfo() throws Exception {
+        DataStorageInfo info = info("trace-1", 1_700_000_000_123L);
+        info.setMetaId(new DataUriMetadataIdentifier(
+                "/grid/2023-11-14_22:00:00.0/GFS/TMP/2m", "trace-1"));
+        Hdf5DataIdentifier dataId = new Hdf5DataIdentifier("trace-1",
+                "/awips2/edex/data/hdf5/grid/GFS/GFS-2023-11-14-22.h5",
+                "/TMP/2m");
+        dataId.addDataset("Data");
+        info.setDataId(dataId);
+        info.setMetaStatus(MetadataStatus.SUCCESS);
+        info.setDataStatus(DataStatus.SUCCESS);
+        assertTrue(info.isComplete());
+
+        DataStorageInfo actual = read(write(info), 1)[0];
+        assertInfoEquals(info, actual);
+        assertTrue(actual.isComplete());
+    }
+
+    @Test
+    public void testNullIdsAndStatuses() throws Exception {
+        DataStorageInfo info = info("trace-2", 42L);
+        assertInfoEquals(info, read(write(info), 1)[0]);
+
+        info.setDataStatus(DataStatus.DUPLICATE_SYNC);
+        info.setMetaStatus(MetadataStatus.STORAGE_NOT_REACHED_FOR_DUPLICATE);
+        DataStorageInfo actual = read(write(info), 1)[0];
+        assertInfoEquals(info, actual);
+        assertNull(actual.getMetaId());
+        assertNull(actual.getDataId());
+    }
+
+    @Test
+    public void testNoMetadataSpecificity() throws Exception {
+        DataStorageInfo info = info("trace-3", 7L);
+        info.setMetaId(new DataUriMetadataIdentifier(null, "trace-3",
+                MetadataSpecificity.NO_METADATA));
+        info.setDataId(new Hdf5DataIdentifier("trace-3", "/tmp/a.h5", "/"));
+        info.setMetaStatus(MetadataStatus.NA);
+        DataStorageInfo actual = read(write(info), 1)[0];
+        assertInfoEquals(info, actual);
+        assertEquals(MetadataSpecificity.NO_METADATA,
+                actual.getMetaId().getSpecificity());
+    }
+
+    @Test
+    public void testEveryStatus() throws Exception {
+        MetadataStatus[] metaStatuses = MetadataStatus.values();
+        DataStatus[] dataStatuses = DataStatus.values();
+        int count = Math.max(metaStatuses.length, dataStatuses.length);
+        DataStorageInfo[] infos = new DataStorageInfo[count];
+        for (int i = 0; i < count; i++) {
+            infos[i] = info("trace-" + i, i * 1000L);
+            infos[i].setMetaStatus(metaStatuses[i % metaStatuses.length]);
+            infos[i].setDataStatus(dataStatuses[i % dataStatuses.length]);
+        }
+        DataStorageInfo[] actual = read(write(infos), count);
+        for (int i = 0; i < count; i++) {
+            assertInfoEquals(infos[i], actual[i]);
+        }
+    }
+
+    @Test
+    public void testTruncated() throws Exception {
+        DataStorageInfo info = info("trace-4", 1L);
+        info.setMetaId(new DataUriMetadataIdentifier("/a/b", "trace-4"));
+        byte[] bytes = write(info);
+        try {
+            read(Arrays.copyOf(bytes, bytes.length - 1), 1);
+            fail("Read a truncated info");
+        } catch (EOFException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract EA133W-17-CQ-0082 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     2120 South 72nd Street, Suite 900
+ *                         Omaha, NE 68124
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.health;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for ExpiryBuckets, checking that expiry only examines the buckets
+ * at or before the cutoff and drops buckets once they are empty.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestExpiryBuckets {
+
+    private static final long MINUTE = 60 * 1000L;
+
+    private static final long BASE = 1_700_000_000_000L / MINUTE * MINUTE;
+
+    private ExpiryBuckets buckets;
+
+    /** trace IDs passed to the predicate by the last expire */
+    private List<String> examined;
+
+    @Before
+    public void setUp() {
+        buckets = new ExpiryBuckets(MINUTE);
+        examined = new ArrayList<>();
+    }
+
+    private void expire(long cutoff, Set<String> expired) {
+        buckets.expire(cutoff, traceId -> {
+            examined.add(traceId);
+            return expired.contains(traceId);
+        });
+    }
+
+    private static Set<String> set(String... traceIds) {
+        return new HashSet<>(Arrays.asList(traceIds));
+    }
+
+    @Test
+    public void testAddGroupsByMinute() {
+        buckets.add("a", BASE);
+        buckets.add("b", BASE + MINUTE - 1);
+        buckets.add("c", BASE + MINUTE);
+        buckets.add("d", BASE + 5 * MINUTE + 30_000);
+        assertEquals(3, buckets.getBucketCount());
+        assertEquals(4, buckets.size());
+    }
+
+    @Test
+    public void testAddOutOfOrder() {
+        buckets.add("a", BASE + 2 * MINUTE);
+        buckets.add("b", BASE);
+        buckets.add("c", BASE + 2 * MINUTE + 1);
+        buckets.add("d", BASE + 1);
+        assertEquals(2, buckets.getBucketCount());
+        expire(BASE, set("b", "d"));
+        assertEquals(Arrays.asList("b", "d"), examined);
+        assertEquals(1, buckets.getBucketCount());
+        assertEquals(2, buckets.size());
+    }
+
+    @Test
+    public void testExpireOnlyExaminesOldBuckets() {
+        for (int minute = 0; minute < 10; minute++) {
+            buckets.add("t" + minute, BASE + minute * MINUTE + 1000);
+        }
+        expire(BASE + 3 * MINUTE, set("t0", "t1", "t2", "t3", "t4"));
+        /* the bucket holding the cutoff is examined, later ones are not */
+        assertEquals(Arrays.asList("t0", "t1", "t2", "t3"), examined);
+        assertEquals(6, buckets.getBucketCount());
+        assertEquals(6, buckets.size());
+    }
+
+    @Test
+    public void testExpireKeepsUnexpired() {
+        buckets.add("a", BASE);
+        buckets.add("b", BASE + 1);
+        buckets.add("c", BASE + 2);
+        expire(BASE + MINUTE, set("b"));
+        assertEquals(1, buckets.getBucketCount());
+        assertEquals(2, buckets.size());
+
+        examined.clear();
+        expire(BASE + MINUTE, set("a"));
+        assertEquals(Arrays.asList("a", "c"), examined);
+        assertEquals(1, buckets.size());
+
+        expire(BASE + MINUTE, set("c"));
+        assertEquals(0, buckets.getBucketCount());
+        assertEquals(0, buckets.size());
+    }
+
+    @Test
+    public void testAddAfterLatestBucketExpired() {
+        buckets.add("a", BASE);
+        expire(BASE, set("a"));
+        assertEquals(0, buckets.getBucketCount());
+
+        /* the same minute must get a new bucket rather than the dropped one */
+        buckets.add("b", BASE + 1);
+        assertEquals(1, buckets.getBucketCount());
+        examined.clear();
+        expire(BASE, set());
+        assertEquals(Arrays.asList("b"), examined);
+    }
+
+    @Test
+    public void testExpireBeforeAllBuckets() {
+        buckets.add("a", BASE + MINUTE);
+        expire(BASE, set("a"));
+        assertTrue(examined.isEmpty());
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    public void testClear() {
+        buckets.add("a", BASE);
+        buckets.add("b", BASE + MINUTE);
+        buckets.clear();
+        assertEquals(0, buckets.getBucketCount());
+        buckets.add("c", BASE);
+        assertEquals(1, buckets.size());
+    }
+}
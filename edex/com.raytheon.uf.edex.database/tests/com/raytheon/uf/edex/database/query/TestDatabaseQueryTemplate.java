@@ -0,0 +1,249 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.dataquery.db.ReturnedField;
+
+/**
+ * Unit tests for the HQL templates shared by DatabaseQuery instances with the
+ * same shape.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestDatabaseQueryTemplate {
+
+    private static final String RECORD = "test.query.Record";
+
+    private static final String LOCATION = "test.query.Location";
+
+    private static DatabaseQuery between(Object v1, Object v2) {
+        DatabaseQuery query = new DatabaseQuery(RECORD);
+        query.addQueryParam("dataTime.refTime", v1 + "--" + v2, "between");
+        query.addQueryParam("datasetId", v1);
+        return query;
+    }
+
+    private static DatabaseQuery in(Object v1, Object v2) {
+        DatabaseQuery query = new DatabaseQuery(RECORD);
+        query.addQueryParam("datasetId", Arrays.asList(v1, v2), "in");
+        query.addQueryParam("level", Arrays.asList(v2), "not in");
+        query.addOrder("dataTime.refTime", false);
+        return query;
+    }
+
+    private static DatabaseQuery nullAndLike(Object v1, Object v2) {
+        DatabaseQuery query = new DatabaseQuery(RECORD);
+        query.addQueryParam("secondaryId", null, "isnull");
+        query.addQueryParam("name", v1, "ilike");
+        query.addQueryParam("count", v2, "greater_than");
+        query.addQueryParam("ensembleId", null, "isnotnull");
+        return query;
+    }
+
+    private static DatabaseQuery joinWithFunction(Object v1, Object v2) {
+        DatabaseQuery query = new DatabaseQuery(RECORD);
+        ReturnedField latest = new ReturnedField("dataTime.refTime");
+        latest.setFunction("max");
+        query.addReturnedField(latest);
+        query.addReturnedField("name", LOCATION);
+        query.addJoinField(RECORD, LOCATION, "locationId", "id");
+        query.addQueryParam("stationId", v1, "=", LOCATION);
+        query.addQueryParam("count", v2, "<");
+        query.addOrder("name", true, LOCATION);
+        return query;
+    }
+
+    private static DatabaseQuery distinct(Object v1, Object v2) {
+        DatabaseQuery query = new DatabaseQuery(RECORD);
+        query.addDistinctParameter(Arrays.asList("datasetId", "level"));
+        query.addQueryParam("count", v1, "<=");
+        query.addQueryParam("name", v2, "like");
+        query.addOrder("datasetId", true);
+        query.addOrder("level", false);
+        return query;
+    }
+
+    private static DatabaseQuery unconstrained(Object v1, Object v2) {
+        return new DatabaseQuery(RECORD);
+    }
+
+    private static List<BiFunction<Object, Object, DatabaseQuery>> shapes() {
+        return Arrays.asList(TestDatabaseQueryTemplate::between,
+                TestDatabaseQueryTemplate::in,
+                TestDatabaseQueryTemplate::nullAndLike,
+                TestDatabaseQueryTemplate::joinWithFunction,
+                TestDatabaseQueryTemplate::distinct,
+                TestDatabaseQueryTemplate::unconstrained);
+    }
+
+    private static void assertSameShape(DatabaseQuery expected,
+            DatabaseQuery actual) {
+        assertNotNull(expected.getTemplate());
+        assertSame(expected.getTemplate(), actual.getTemplate());
+        assertEquals(actual.buildHQLQuery(), actual.createHQLQuery());
+    }
+
+    private static void assertDifferentShape(DatabaseQuery expected,
+            DatabaseQuery actual) {
+        assertNotSame(expected.getTemplate(), actual.getTemplate());
+        assertNotEquals(expected.createHQLQuery(), actual.createHQLQuery());
+        assertEquals(expected.buildHQLQuery(), expected.createHQLQuery());
+        assertEquals(actual.buildHQLQuery(), actual.createHQLQuery());
+    }
+
+    @Test
+    public void testTemplateMatchesBuiltQuery() {
+        for (BiFunction<Object, Object, DatabaseQuery> shape : shapes()) {
+            DatabaseQuery query = shape.apply("a", 1);
+            String hql = query.buildHQLQuery();
+            assertEquals(hql, query.createHQLQuery());
+            /* a second call and a second query are served from the template */
+            assertEquals(hql, query.createHQLQuery());
+            assertEquals(hql, shape.apply("b", 2).createHQLQuery());
+        }
+    }
+
+    @Test
+    public void testShapesHaveDistinctTemplates() {
+        List<BiFunction<Object, Object, DatabaseQuery>> shapes = shapes();
+        for (int i = 0; i < shapes.size(); i += 1) {
+            for (int j = i + 1; j < shapes.size(); j += 1) {
+                assertDifferentShape(shapes.get(i).apply("a", 1),
+                        shapes.get(j).apply("a", 1));
+            }
+        }
+    }
+
+    @Test
+    public void testChangingValuesReusesTemplate() {
+        for (BiFunction<Object, Object, DatabaseQuery> shape : shapes()) {
+            assertSameShape(shape.apply("a", 1), shape.apply("zzz", 99));
+        }
+
+        DatabaseQuery query = between("a", 1);
+        QueryTemplate template = query.getTemplate();
+        query.getParameters().get(1).setValue("b");
+        assertSame(template, query.getTemplate());
+    }
+
+    @Test
+    public void testChangingOperandChangesTemplate() {
+        DatabaseQuery query = joinWithFunction("a", 1);
+        DatabaseQuery changed = joinWithFunction("a", 1);
+        changed.getParameters().get(1).setOperand(">");
+        assertDifferentShape(query, changed);
+        assertTrue(changed.createHQLQuery().contains(".count > :"));
+
+        changed = nullAndLike("a", 1);
+        changed.getParameters().get(0).setOperand("isnotnull");
+        assertDifferentShape(nullAndLike("a", 1), changed);
+
+        changed = in("a", 1);
+        changed.getParameters().get(0).setOperand("not in");
+        assertDifferentShape(in("a", 1), changed);
+    }
+
+    @Test
+    public void testChangingOrderChangesTemplate() {
+        DatabaseQuery query = new DatabaseQuery(RECORD);
+        query.addOrder("datasetId", true);
+        query.addOrder("level", false);
+
+        DatabaseQuery descending = new DatabaseQuery(RECORD);
+        descending.addOrder("datasetId", false);
+        descending.addOrder("level", false);
+        assertDifferentShape(query, descending);
+
+        DatabaseQuery swapped = new DatabaseQuery(RECORD);
+        swapped.addOrder("level", false);
+        swapped.addOrder("datasetId", true);
+        assertDifferentShape(query, swapped);
+    }
+
+    @Test
+    public void testChangingFieldsChangesTemplate() {
+        DatabaseQuery query = new DatabaseQuery(RECORD);
+        query.addReturnedField("datasetId");
+        query.addQueryParam("level", 1);
+
+        DatabaseQuery returned = new DatabaseQuery(RECORD);
+        returned.addReturnedField("level");
+        returned.addQueryParam("level", 1);
+        assertDifferentShape(query, returned);
+
+        DatabaseQuery constrained = new DatabaseQuery(RECORD);
+        constrained.addReturnedField("datasetId");
+        constrained.addQueryParam("datasetId", 1);
+        assertDifferentShape(query, constrained);
+
+        DatabaseQuery function = new DatabaseQuery(RECORD);
+        ReturnedField max = new ReturnedField("datasetId");
+        max.setFunction("max");
+        function.addReturnedField(max);
+        function.addQueryParam("level", 1);
+        assertDifferentShape(query, function);
+
+        DatabaseQuery distinct = new DatabaseQuery(RECORD);
+        distinct.addReturnedField("datasetId");
+        distinct.addQueryParam("level", 1);
+        distinct.setDistinct(true);
+        assertDifferentShape(query, distinct);
+
+        DatabaseQuery joined = new DatabaseQuery(RECORD);
+        joined.addReturnedField("datasetId");
+        joined.addQueryParam("level", 1);
+        joined.addJoinField(RECORD, LOCATION, "locationId", "id");
+        assertDifferentShape(query, joined);
+    }
+
+    @Test
+    public void testAddingConstraintAfterQueryChangesTemplate() {
+        DatabaseQuery query = between("a", 1);
+        QueryTemplate template = query.getTemplate();
+        String hql = query.createHQLQuery();
+        query.addQueryParam("level", 2);
+        assertNotSame(template, query.getTemplate());
+        assertNotEquals(hql, query.createHQLQuery());
+        assertEquals(query.buildHQLQuery(), query.createHQLQuery());
+    }
+}
@@ -21,7 +21,11 @@ package com.raytheon.uf.edex.distribution;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -60,6 +64,7 @@ import org.slf4j.LoggerFactory;
  *                                  present
  * Oct 10, 2019  7724     randerso  Fix to be compatible with javax.jms
  * Mar  4, 2021  8326     tgurney   Fix for Camel 3 removal of fault API
+ * Oct 19, 2026           kshrestha Added registerFused for in JVM ingest
  *
  * </pre>
  *
@@ -75,8 +80,21 @@ public class DistributionSrv {
     protected Logger routeFailedLogger = LoggerFactory
             .getLogger("RouteFailedLog");
 
+    /**
+     * Plugins that are routed to their fused destination instead of their
+     * normal destination, "all" enables every plugin that has registered one.
+     */
+    private static final Set<String> FUSED_PLUGINS = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList(System
+                    .getProperty("distribution.fused.plugins", "").trim()
+                    .split("\\s*,\\s*"))));
+
+    private static final String ALL_PLUGINS = "all";
+
     private final ConcurrentMap<String, String> pluginRoutes = new ConcurrentHashMap<>();
 
+    private final ConcurrentMap<String, String> fusedRoutes = new ConcurrentHashMap<>();
+
     /**
      * Allows a plugin to register itself with this bean.
      *
@@ -118,6 +136,31 @@ public class DistributionSrv {
         return this;
     }
 
+    /**
+     * Allows a plugin to register a destination that decodes and persists in
+     * this JVM without going through a broker, normally a bean endpoint that
+     * submits to a FusedIngestPipeline. The destination is only used if the
+     * plugin is enabled by the distribution.fused.plugins system property,
+     * otherwise the destination from {@link #register(String, String)} is
+     * used.
+     *
+     * @param pluginName
+     *            the plugin name
+     * @param destination
+     *            the in JVM destination
+     * @return an instance of this bean
+     */
+    public DistributionSrv registerFused(String pluginName,
+            String destination) {
+        if (FUSED_PLUGINS.contains(pluginName)
+                || FUSED_PLUGINS.contains(ALL_PLUGINS)) {
+            logger.info("Plugin " + pluginName + " will use fused ingest via "
+                    + destination);
+            fusedRoutes.put(pluginName, destination);
+        }
+        return this;
+    }
+
     /**
      * Generates a list of destinations for this message based on the header (or
      * filename if the header is not available).
@@ -163,7 +206,10 @@ public class DistributionSrv {
         List<String> routes = new ArrayList<>(plugins.size());
         StringBuilder pluginNames = new StringBuilder(plugins.size() * 8);
         for (String plugin : plugins) {
-            String route = pluginRoutes.get(plugin);
+            String route = fusedRoutes.get(plugin);
+            if (route == null) {
+                route = pluginRoutes.get(plugin);
+            }
             if (route != null) {
                 if (pluginNames.length() != 0) {
                     pluginNames.append(",");
@@ -0,0 +1,512 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.esb.camel.pipeline;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.ProducerTemplate;
+
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.edex.core.IContextStateProcessor;
+
+/**
+ * Runs the ingest of a plugin as a series of in JVM stages instead of hopping
+ * through a JMS queue between distribution, decode and persist. Each stage has
+ * a bounded queue and its own worker threads, a worker takes up to the batch
+ * size of exchanges at once and sends them to the stage endpoint. A full queue
+ * blocks the stage feeding it, so a slow persist holds up decode which in turn
+ * holds up the distribution consumer and the products stay on the broker.
+ *
+ * A plugin enables fused ingest by registering the pipeline with the
+ * distribution service in addition to its usual JMS destination, the fused
+ * destination is only used for plugins named in the
+ * distribution.fused.plugins system property:
+ *
+ * <pre>
+ * &lt;bean id="gribFusedIngest" class="com.raytheon.uf.edex.esb.camel.pipeline.FusedIngestPipeline"&gt;
+ *     &lt;constructor-arg value="grib"/&gt;
+ *     &lt;constructor-arg&gt;
+ *         &lt;list&gt;
+ *             &lt;bean class="com.raytheon.uf.edex.esb.camel.pipeline.PipelineStage"&gt;
+ *                 &lt;property name="name" value="decode"/&gt;
+ *                 &lt;property name="uri" value="direct-vm:gribDecode"/&gt;
+ *                 &lt;property name="threads" value="4"/&gt;
+ *             &lt;/bean&gt;
+ *             &lt;bean class="com.raytheon.uf.edex.esb.camel.pipeline.PipelineStage"&gt;
+ *                 &lt;property name="name" value="persist"/&gt;
+ *                 &lt;property name="uri" value="direct-vm:persistIndexAlert"/&gt;
+ *                 &lt;property name="batchSize" value="16"/&gt;
+ *                 &lt;property name="aggregate" value="true"/&gt;
+ *             &lt;/bean&gt;
+ *         &lt;/list&gt;
+ *     &lt;/constructor-arg&gt;
+ * &lt;/bean&gt;
+ *
+ * &lt;bean factory-bean="distributionSrv" factory-method="registerFused"&gt;
+ *     &lt;constructor-arg value="grib"/&gt;
+ *     &lt;constructor-arg value="bean:gribFusedIngest?method=submit"/&gt;
+ * &lt;/bean&gt;
+ * </pre>
+ *
+ * Exchanges waiting in the pipeline are only held in memory, the pipeline
+ * should be registered as a context state processor of the distribution
+ * context so they are finished before shutdown.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class FusedIngestPipeline implements IContextStateProcessor {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(FusedIngestPipeline.class);
+
+    private static final long STATS_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private static final long DRAIN_TIMEOUT = Long
+            .getLong("fused.ingest.drain.timeout.ms", 60_000L);
+
+    private static final String PLUGIN_NAME_HEADER = "pluginName";
+
+    private static final String INGEST_FILE_NAME_HEADER = "ingestFileName";
+
+    private final String pluginName;
+
+    private final StageRunner[] stages;
+
+    /** exchanges submitted that have not yet completed their last stage */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Object drainLock = new Object();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    /** sends exchanges to the stage endpoints, null until started */
+    private volatile IStageSender sender;
+
+    /** the template the sender was created from, if it was not given */
+    private ProducerTemplate template;
+
+    /** true while the worker threads are running */
+    private volatile boolean started;
+
+    /** once false exchanges are run through the stages on the caller */
+    private volatile boolean running = true;
+
+    private long lastStatsTime = System.currentTimeMillis();
+
+    /**
+     * @param pluginName
+     *            the plugin being ingested, used to set the pluginName header
+     * @param stages
+     *            the stages in order
+     */
+    public FusedIngestPipeline(String pluginName, List<PipelineStage> stages) {
+        this(pluginName, stages, null);
+    }
+
+    /**
+     * @param pluginName
+     *            the plugin being ingested
+     * @param stages
+     *            the stages in order
+     * @param sender
+     *            sends exchanges to the stage endpoints, null to use a producer
+     *            template of the context of the first exchange
+     */
+    FusedIngestPipeline(String pluginName, List<PipelineStage> stages,
+            IStageSender sender) {
+        this.sender = sender;
+        if (stages == null || stages.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Fused ingest pipeline for " + pluginName
+                            + " must have at least one stage");
+        }
+        this.pluginName = pluginName;
+        this.stages = new StageRunner[stages.size()];
+        for (int i = 0; i < this.stages.length; i++) {
+            this.stages[i] = new StageRunner(i, stages.get(i));
+        }
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    /**
+     * Queue an exchange for the first stage, blocking while the stage is full.
+     * The exchange is copied so the caller is free to complete it as soon as
+     * this returns.
+     *
+     * @param exchange
+     * @throws InterruptedException
+     */
+    public void submit(Exchange exchange) throws InterruptedException {
+        if (!started) {
+            start(exchange.getContext());
+        }
+        Exchange copy = exchange.copy();
+        copy.getIn().setHeader(PLUGIN_NAME_HEADER, pluginName);
+        inFlight.incrementAndGet();
+        if (running) {
+            stages[0].queue.put(copy);
+        } else {
+            runInline(copy, 0);
+        }
+        logStats();
+    }
+
+    private synchronized void start(CamelContext context) {
+        if (started) {
+            return;
+        }
+        if (sender == null) {
+            template = context.createProducerTemplate();
+            sender = template::send;
+        }
+        for (StageRunner stage : stages) {
+            for (int i = 0; i < stage.config.getThreads(); i++) {
+                Thread t = new Thread(stage, "fusedIngest-" + pluginName + "-"
+                        + stage.config.getName() + "-" + (i + 1));
+                t.setDaemon(true);
+                t.start();
+                workers.add(t);
+            }
+        }
+        started = true;
+    }
+
+    /**
+     * Send an exchange to a stage.
+     *
+     * @return true if the exchange has a result that should go to the next
+     *         stage
+     */
+    private boolean invoke(StageRunner stage, Exchange exchange) {
+        long t0 = System.nanoTime();
+        sender.send(stage.config.getUri(), exchange);
+        stage.nanos.addAndGet(System.nanoTime() - t0);
+        stage.exchanges.incrementAndGet();
+
+        Exception e = exchange.getException();
+        if (e != null) {
+            stage.failures.incrementAndGet();
+            statusHandler.error(pluginName + " fused ingest stage "
+                    + stage.config.getName() + " failed for "
+                    + exchange.getIn().getHeader(INGEST_FILE_NAME_HEADER), e);
+            return false;
+        }
+        if (exchange.isRouteStop() || stage.index == stages.length - 1) {
+            return false;
+        }
+        Message result = exchange.getMessage();
+        if (result != exchange.getIn()) {
+            exchange.setIn(result);
+        }
+        return !isEmpty(result.getBody());
+    }
+
+    private void runInline(Exchange exchange, int from) {
+        try {
+            for (int i = from; i < stages.length; i++) {
+                if (!invoke(stages[i], exchange)) {
+                    break;
+                }
+            }
+        } finally {
+            complete(1);
+        }
+    }
+
+    private void forward(StageRunner from, Exchange exchange) {
+        int next = from.index + 1;
+        if (!running) {
+            runInline(exchange, next);
+            return;
+        }
+        try {
+            stages[next].queue.put(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            runInline(exchange, next);
+        }
+    }
+
+    private void complete(int count) {
+        if (inFlight.addAndGet(-count) == 0 && !running) {
+            synchronized (drainLock) {
+                drainLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Combine the bodies of a batch into one exchange if they are all arrays
+     * or all collections.
+     */
+    private List<Exchange> aggregate(List<Exchange> batch) {
+        Object first = batch.get(0).getIn().getBody();
+        int total = 0;
+        for (Exchange exchange : batch) {
+            Object body = exchange.getIn().getBody();
+            if (first instanceof Object[] && body != null
+                    && body.getClass() == first.getClass()) {
+                total += Array.getLength(body);
+            } else if (first instanceof Collection
+                    && body instanceof Collection) {
+                total += ((Collection<?>) body).size();
+            } else {
+                return batch;
+            }
+        }
+
+        Object combined;
+        if (first instanceof Object[]) {
+            combined = Array.newInstance(first.getClass().getComponentType(),
+                    total);
+            int pos = 0;
+            for (Exchange exchange : batch) {
+                Object body = exchange.getIn().getBody();
+                int length = Array.getLength(body);
+                System.arraycopy(body, 0, combined, pos, length);
+                pos += length;
+            }
+        } else {
+            List<Object> list = new ArrayList<>(total);
+            for (Exchange exchange : batch) {
+                list.addAll((Collection<?>) exchange.getIn().getBody());
+            }
+            combined = list;
+        }
+
+        Exchange merged = batch.get(0);
+        merged.getIn().setBody(combined);
+        complete(batch.size() - 1);
+        List<Exchange> result = new ArrayList<>(1);
+        result.add(merged);
+        return result;
+    }
+
+    private static boolean isEmpty(Object body) {
+        if (body == null) {
+            return true;
+        } else if (body.getClass().isArray()) {
+            return Array.getLength(body) == 0;
+        } else if (body instanceof Collection) {
+            return ((Collection<?>) body).isEmpty();
+        }
+        return false;
+    }
+
+    private void logStats() {
+        long now = System.currentTimeMillis();
+        if (now - lastStatsTime < STATS_INTERVAL) {
+            return;
+        }
+        synchronized (this) {
+            if (now - lastStatsTime < STATS_INTERVAL) {
+                return;
+            }
+            lastStatsTime = now;
+        }
+        if (!statusHandler.isPriorityEnabled(Priority.INFO)) {
+            return;
+        }
+        StringBuilder msg = new StringBuilder(128);
+        msg.append(pluginName).append(" fused ingest: ").append(inFlight.get())
+                .append(" in flight");
+        for (StageRunner stage : stages) {
+            long count = stage.exchanges.get();
+            long batches = stage.batches.get();
+            msg.append(", ").append(stage.config.getName()).append(" queued=")
+                    .append(stage.queue.size()).append(" exchanges=")
+                    .append(count).append(" failures=")
+                    .append(stage.failures.get()).append(" avgBatch=")
+                    .append(batches == 0 ? 0 : stage.taken.get() / batches)
+                    .append(" avgMs=").append(count == 0 ? 0
+                            : TimeUnit.NANOSECONDS
+                                    .toMillis(stage.nanos.get() / count));
+        }
+        statusHandler.info(msg.toString());
+    }
+
+    @Override
+    public void preStart() {
+        running = true;
+    }
+
+    @Override
+    public void postStart() {
+        // nothing to do
+    }
+
+    /**
+     * Stop queueing and wait for exchanges already in the pipeline to finish.
+     */
+    @Override
+    public void preStop() {
+        running = false;
+        long end = System.currentTimeMillis() + DRAIN_TIMEOUT;
+        synchronized (drainLock) {
+            long wait;
+            while (inFlight.get() > 0
+                    && (wait = end - System.currentTimeMillis()) > 0) {
+                try {
+                    drainLock.wait(Math.min(wait, 1000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        int remaining = inFlight.get();
+        if (remaining > 0) {
+            statusHandler.warn(remaining + " " + pluginName
+                    + " exchanges were still in the fused ingest pipeline at shutdown");
+        }
+    }
+
+    /**
+     * Stop the worker threads, they are started again by the next submit.
+     */
+    @Override
+    public void postStop() {
+        synchronized (this) {
+            for (Thread t : workers) {
+                t.interrupt();
+            }
+            workers.clear();
+            if (template != null) {
+                try {
+                    template.stop();
+                } catch (Exception e) {
+                    statusHandler.debug("Error stopping producer template",
+                            e);
+                }
+                template = null;
+                sender = null;
+            }
+            started = false;
+        }
+    }
+
+    /**
+     * @return the number of exchanges submitted that have not finished
+     */
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Sends an exchange to the endpoint of a stage.
+     */
+    @FunctionalInterface
+    interface IStageSender {
+        void send(String uri, Exchange exchange);
+    }
+
+    private class StageRunner implements Runnable {
+
+        private final int index;
+
+        private final PipelineStage config;
+
+        private final BlockingQueue<Exchange> queue;
+
+        private final AtomicLong exchanges = new AtomicLong();
+
+        private final AtomicLong taken = new AtomicLong();
+
+        private final AtomicLong batches = new AtomicLong();
+
+        private final AtomicLong failures = new AtomicLong();
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        private StageRunner(int index, PipelineStage config) {
+            this.index = index;
+            this.config = config;
+            this.queue = new ArrayBlockingQueue<>(
+                    Math.max(1, config.getQueueSize()));
+        }
+
+        @Override
+        public void run() {
+            int batchSize = Math.max(1, config.getBatchSize());
+            List<Exchange> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (batchSize > 1) {
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                taken.addAndGet(batch.size());
+                batches.incrementAndGet();
+                List<Exchange> work = batch;
+                if (config.isAggregate() && batch.size() > 1) {
+                    work = aggregate(batch);
+                }
+                for (Exchange exchange : work) {
+                    boolean forwarded = false;
+                    try {
+                        if (invoke(this, exchange)) {
+                            forward(this, exchange);
+                            forwarded = true;
+                        }
+                    } catch (Throwable t) {
+                        failures.incrementAndGet();
+                        statusHandler.error(pluginName
+                                + " fused ingest stage " + config.getName()
+                                + " failed", t);
+                    } finally {
+                        if (!forwarded) {
+                            complete(1);
+                        }
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+}
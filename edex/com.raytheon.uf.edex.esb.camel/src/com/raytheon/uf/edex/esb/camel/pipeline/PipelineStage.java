@@ -0,0 +1,130 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.esb.camel.pipeline;
+
+/**
+ * Configuration of a single stage of a {@link FusedIngestPipeline}. A stage
+ * sends each exchange it takes from its queue to an in JVM endpoint, normally a
+ * direct-vm route such as the plugin decoder or direct-vm:persistIndexAlert.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class PipelineStage {
+
+    private String name;
+
+    private String uri;
+
+    private int threads = 1;
+
+    private int queueSize = 64;
+
+    private int batchSize = 1;
+
+    private boolean aggregate = false;
+
+    public PipelineStage() {
+    }
+
+    public PipelineStage(String name, String uri) {
+        this.name = name;
+        this.uri = uri;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the uri exchanges are sent to, it must be an endpoint in this
+     *         JVM for the pipeline to avoid any broker hops
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @return the number of exchanges that may wait for this stage, once full
+     *         the previous stage blocks which pushes back all the way to the
+     *         distribution consumer
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * @return the most exchanges a worker takes from the queue at once
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return true if the array or collection bodies of a batch should be
+     *         combined into one exchange, so for example persist and notify
+     *         run once for all the records decoded from several files
+     */
+    public boolean isAggregate() {
+        return aggregate;
+    }
+
+    public void setAggregate(boolean aggregate) {
+        this.aggregate = aggregate;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + uri + "]";
+    }
+}
@@ -0,0 +1,328 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.esb.camel.pipeline;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.After;
+import org.junit.Test;
+
+import com.raytheon.uf.edex.esb.camel.pipeline.FusedIngestPipeline.IStageSender;
+
+/**
+ * Unit tests for FusedIngestPipeline, the stage endpoints are replaced by a
+ * sender that runs the stage in the test.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestFusedIngestPipeline {
+
+    private static final String DECODE = "direct-vm:testDecode";
+
+    private static final String PERSIST = "direct-vm:persistIndexAlert";
+
+    private final CamelContext context = new DefaultCamelContext();
+
+    private FusedIngestPipeline pipeline;
+
+    @After
+    public void tearDown() {
+        if (pipeline != null) {
+            pipeline.preStop();
+            pipeline.postStop();
+        }
+    }
+
+    private static PipelineStage stage(String name, String uri, int threads,
+            int queueSize, int batchSize, boolean aggregate) {
+        PipelineStage stage = new PipelineStage(name, uri);
+        stage.setThreads(threads);
+        stage.setQueueSize(queueSize);
+        stage.setBatchSize(batchSize);
+        stage.setAggregate(aggregate);
+        return stage;
+    }
+
+    private Exchange file(String name) {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(name);
+        exchange.getIn().setHeader("ingestFileName", name);
+        return exchange;
+    }
+
+    /** wait for everything submitted to finish, stopping the pipeline */
+    private void drain() {
+        pipeline.preStop();
+        assertEquals(0, pipeline.getInFlight());
+    }
+
+    /**
+     * Decodes each file into two records and persists them, recording what
+     * reached persist
+     */
+    private static class DecodePersist implements IStageSender {
+
+        private final List<Object> persisted = Collections
+                .synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger persistCalls = new AtomicInteger();
+
+        private final AtomicInteger decodeCalls = new AtomicInteger();
+
+        private volatile CountDownLatch decodeGate = new CountDownLatch(0);
+
+        private volatile CountDownLatch persistGate = new CountDownLatch(0);
+
+        private static void await(CountDownLatch gate) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private List<String> getPersisted() {
+            List<String> result = new ArrayList<>();
+            for (Object record : persisted) {
+                result.add((String) record);
+            }
+            Collections.sort(result);
+            return result;
+        }
+
+        @Override
+        public void send(String uri, Exchange exchange) {
+            Object body = exchange.getIn().getBody();
+            if (DECODE.equals(uri)) {
+                await(decodeGate);
+                decodeCalls.incrementAndGet();
+                if ("empty".equals(body)) {
+                    exchange.getIn().setBody(new String[0]);
+                } else if ("bad".equals(body)) {
+                    exchange.setException(
+                            new IllegalStateException("Undecodable file"));
+                } else {
+                    exchange.getIn().setBody(
+                            new String[] { body + "-1", body + "-2" });
+                }
+            } else if (PERSIST.equals(uri)) {
+                await(persistGate);
+                persistCalls.incrementAndGet();
+                if ("grib".equals(exchange.getIn().getHeader("pluginName"))) {
+                    persisted.addAll(Arrays.asList((String[]) body));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStagesRunInOrder() throws Exception {
+        DecodePersist sender = new DecodePersist();
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("decode", DECODE, 2, 4, 1, false),
+                        stage("persist", PERSIST, 1, 4, 1, false)),
+                sender);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pipeline.submit(file("f" + i));
+            expected.add("f" + i + "-1");
+            expected.add("f" + i + "-2");
+        }
+        drain();
+        List<String> persisted = sender.getPersisted();
+        Collections.sort(expected);
+        assertEquals(expected, persisted);
+        assertEquals(100, sender.persistCalls.get());
+    }
+
+    @Test
+    public void testSubmitCopiesTheExchange() throws Exception {
+        DecodePersist sender = new DecodePersist();
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("decode", DECODE, 1, 4, 1, false),
+                        stage("persist", PERSIST, 1, 4, 1, false)),
+                sender);
+        Exchange exchange = file("f");
+        pipeline.submit(exchange);
+        drain();
+        assertEquals("f", exchange.getIn().getBody());
+        assertEquals(Arrays.asList("f-1", "f-2"), sender.persisted);
+    }
+
+    @Test
+    public void testBatchesAreAggregated() throws Exception {
+        DecodePersist sender = new DecodePersist();
+        sender.persistGate = new CountDownLatch(1);
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("decode", DECODE, 4, 64, 1, false),
+                        stage("persist", PERSIST, 1, 64, 16, true)),
+                sender);
+        /* hold persist until everything is decoded so it gets batches */
+        for (int i = 0; i < 48; i++) {
+            pipeline.submit(file("f" + i));
+        }
+        long end = System.currentTimeMillis() + 5000;
+        while (sender.decodeCalls.get() < 48
+                && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        sender.persistGate.countDown();
+        drain();
+        assertEquals(96, sender.persisted.size());
+        /* batches of up to 16, the first may be taken before the rest */
+        assertTrue("persist ran " + sender.persistCalls.get() + " times",
+                sender.persistCalls.get() <= 4);
+    }
+
+    @Test
+    public void testFullQueueBlocksSubmit() throws Exception {
+        DecodePersist sender = new DecodePersist();
+        sender.decodeGate = new CountDownLatch(1);
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("decode", DECODE, 1, 2, 1, false),
+                        stage("persist", PERSIST, 1, 2, 1, false)),
+                sender);
+        AtomicInteger submitted = new AtomicInteger();
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 10; i++) {
+                    pipeline.submit(file("f" + i));
+                    submitted.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        /* one file being decoded and two queued, the fourth blocks */
+        long end = System.currentTimeMillis() + 5000;
+        while ((submitted.get() < 3
+                || producer.getState() != Thread.State.WAITING)
+                && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(Thread.State.WAITING, producer.getState());
+        assertEquals(3, submitted.get());
+
+        sender.decodeGate.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        assertEquals(10, submitted.get());
+        drain();
+        assertEquals(20, sender.persisted.size());
+    }
+
+    @Test
+    public void testFailuresAndEmptyResultsStopAtTheirStage()
+            throws Exception {
+        DecodePersist sender = new DecodePersist();
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("decode", DECODE, 2, 4, 1, false),
+                        stage("persist", PERSIST, 1, 4, 4, true)),
+                sender);
+        pipeline.submit(file("a"));
+        pipeline.submit(file("bad"));
+        pipeline.submit(file("empty"));
+        pipeline.submit(file("b"));
+        drain();
+        List<String> persisted = sender.getPersisted();
+        assertEquals(Arrays.asList("a-1", "a-2", "b-1", "b-2"), persisted);
+    }
+
+    @Test
+    public void testSenderExceptionsAreContained() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("persist", PERSIST, 1, 4, 1, false)),
+                (uri, exchange) -> {
+                    if (calls.incrementAndGet() == 1) {
+                        throw new IllegalStateException("Persist failed");
+                    }
+                });
+        pipeline.submit(file("a"));
+        pipeline.submit(file("b"));
+        drain();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testRunsOnCallerWhileStopping() throws Exception {
+        List<Thread> threads = Collections
+                .synchronizedList(new ArrayList<>());
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("decode", DECODE, 1, 4, 1, false),
+                        stage("persist", PERSIST, 1, 4, 1, false)),
+                (uri, exchange) -> threads.add(Thread.currentThread()));
+        pipeline.preStop();
+        pipeline.submit(file("a"));
+        assertEquals(0, pipeline.getInFlight());
+        assertEquals(2, threads.size());
+        assertSame(Thread.currentThread(), threads.get(0));
+        assertSame(Thread.currentThread(), threads.get(1));
+    }
+
+    @Test(timeout = 30_000)
+    public void testRestartsAfterStop() throws Exception {
+        DecodePersist sender = new DecodePersist();
+        pipeline = new FusedIngestPipeline("grib",
+                Arrays.asList(stage("decode", DECODE, 1, 2, 1, false),
+                        stage("persist", PERSIST, 1, 2, 1, false)),
+                sender);
+        pipeline.submit(file("a"));
+        drain();
+        pipeline.postStop();
+
+        pipeline.preStart();
+        pipeline.postStart();
+        for (int i = 0; i < 10; i++) {
+            pipeline.submit(file("f" + i));
+        }
+        drain();
+        assertEquals(22, sender.persisted.size());
+        assertArrayEquals(new Object[] { "a-1", "a-2" },
+                sender.persisted.subList(0, 2).toArray());
+    }
+}
@@ -22,13 +22,18 @@ package com.raytheon.uf.edex.ingest.notification;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.xml.bind.JAXBException;
@@ -67,6 +72,12 @@ import com.raytheon.uf.edex.ingest.notification.router.PdoRouter;
  * registration must occur before messages are being picked up. Otherwise
  * concurrency problems may occur.
  *
+ * The registered routes are held in an immutable {@link RoutingTable} that is
+ * replaced as a whole when configurations are reloaded, so notifying only waits
+ * for a reload while the new table is swapped in. PDOs that have the same
+ * values for every attribute the route constraints reference are matched with a
+ * single search of the decision tree.
+ *
  * <pre>
  *
  * SOFTWARE HISTORY
@@ -83,6 +94,9 @@ import com.raytheon.uf.edex.ingest.notification.router.PdoRouter;
  * May 22, 2017  6130     tjensen   Update notify to return the number of PDOs
  *                                  processed
  * Mar  4, 2021  8326     tgurney   Camel 3 method naming fix
+ * Oct 19, 2026           kshrestha Publish routes as an immutable snapshot and
+ *                                  search the tree once per distinct set of
+ *                                  constrained attributes.
  *
  * </pre>
  *
@@ -101,85 +115,95 @@ public class PluginNotifier implements IContextStateProcessor {
     private static final int DEFAULT_TIME_TO_LIVE = 300_000;
 
     /**
-     * Decision tree for plugin notification.
+     * Most distinct constrained attribute values to remember the matching
+     * routes of between batches.
      */
-    private DecisionTree<INotificationRouter> tree = new DecisionTree<>();
-
-    private List<INotificationRouter> receiveAllRoutes = new LinkedList<>();
-
-    private List<INotificationRouter> filteredRoutes = new LinkedList<>();
+    private static final int MATCH_CACHE_SIZE = Integer
+            .getInteger("plugin.notifier.match.cache.size", 4096);
 
     /**
-     * Set of loaded names. Used for duplicate detection.
+     * The routes currently in use, replaced as a whole on reload.
      */
-    private Set<String> loadedNames = new HashSet<>();
+    private volatile RoutingTable routing;
 
     /**
-     * ReadWriteLock to allow concurrent 'reads' in notify() and
-     * sendQueuedNotifications(), but block these methods when 'writing' while
-     * loading configurations. This class is predominantly reads.
+     * Read locked while routers are given data and write locked while
+     * {@link #routing} is replaced, so once a reload has replaced the table no
+     * notify can still give data to the old routers after they are flushed.
      */
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReadWriteLock routingLock = new ReentrantReadWriteLock();
 
-    private Map<String, Long> modifiedTimes = new HashMap<>();
+    /**
+     * Serializes loading and reloading of configurations.
+     */
+    private final Object configLock = new Object();
 
     public PluginNotifier() throws JAXBException {
-        loadConfigurations();
+        synchronized (configLock) {
+            routing = loadConfigurations();
+        }
     }
 
-    private void loadConfigurations() throws JAXBException {
-        lock.writeLock().lock();
-        try {
-            JAXBManager mgr = new JAXBManager(true,
-                    PluginNotifierConfigList.class, PluginNotifierConfig.class);
+    /**
+     * Create a notifier for an already loaded table, for testing.
+     *
+     * @param routing
+     */
+    PluginNotifier(RoutingTable routing) {
+        this.routing = routing;
+    }
 
-            IPathManager pathMgr = PathManagerFactory.getPathManager();
-            LocalizationFile[] files = pathMgr.listStaticFiles(CONFIG_DIR,
-                    new String[] { ".xml" }, false, true);
-            for (LocalizationFile lf : files) {
-                try {
-                    File f = lf.getFile(true);
-                    modifiedTimes.put(f.getName(), f.lastModified());
-                    if (f.length() > 0) {
-                        /*
-                         * empty files may be used to override base files to
-                         * remove functionality
-                         */
-
-                        try (InputStream is = lf.openInputStream()) {
-
-                            PluginNotifierConfigList confList = (PluginNotifierConfigList) mgr
-                                    .unmarshalFromInputStream(is);
-                            List<PluginNotifierConfig> configs = confList
-                                    .getNotificationConfigs();
-                            if ((configs != null) && !configs.isEmpty()) {
-                                for (PluginNotifierConfig conf : configs) {
-                                    register(conf, false);
-                                }
+    private RoutingTable loadConfigurations() throws JAXBException {
+        RoutingTable table = new RoutingTable();
+        JAXBManager mgr = new JAXBManager(true, PluginNotifierConfigList.class,
+                PluginNotifierConfig.class);
+
+        IPathManager pathMgr = PathManagerFactory.getPathManager();
+        LocalizationFile[] files = pathMgr.listStaticFiles(CONFIG_DIR,
+                new String[] { ".xml" }, false, true);
+        for (LocalizationFile lf : files) {
+            try {
+                File f = lf.getFile(true);
+                table.modifiedTimes.put(f.getName(), f.lastModified());
+                if (f.length() > 0) {
+                    /*
+                     * empty files may be used to override base files to remove
+                     * functionality
+                     */
+
+                    try (InputStream is = lf.openInputStream()) {
+
+                        PluginNotifierConfigList confList = (PluginNotifierConfigList) mgr
+                                .unmarshalFromInputStream(is);
+                        List<PluginNotifierConfig> configs = confList
+                                .getNotificationConfigs();
+                        if ((configs != null) && !configs.isEmpty()) {
+                            for (PluginNotifierConfig conf : configs) {
+                                register(table, conf);
                             }
-                        } catch (SerializationException e) {
-                            theHandler.handle(Priority.PROBLEM,
-                                    "Unable to deserialize " + f.getPath(), e);
-                        } catch (InvalidNotificationConfigException e) {
-                            theHandler.handle(Priority.PROBLEM,
-                                    "Unable to load plugin configuration "
-                                            + f.getPath(),
-                                    e);
-                        } catch (IOException e) {
-                            theHandler.handle(Priority.PROBLEM,
-                                    "Unable to open input stream to file "
-                                            + f.getPath(),
-                                    e);
                         }
+                    } catch (SerializationException e) {
+                        theHandler.handle(Priority.PROBLEM,
+                                "Unable to deserialize " + f.getPath(), e);
+                    } catch (InvalidNotificationConfigException e) {
+                        theHandler.handle(Priority.PROBLEM,
+                                "Unable to load plugin configuration "
+                                        + f.getPath(),
+                                e);
+                    } catch (IOException e) {
+                        theHandler.handle(Priority.PROBLEM,
+                                "Unable to open input stream to file "
+                                        + f.getPath(),
+                                e);
                     }
-                } catch (LocalizationException e) {
-                    theHandler.handle(Priority.PROBLEM,
-                            "Error occurred accessing file: " + lf, e);
                 }
+            } catch (LocalizationException e) {
+                theHandler.handle(Priority.PROBLEM,
+                        "Error occurred accessing file: " + lf, e);
             }
-        } finally {
-            lock.writeLock().unlock();
         }
+        table.complete();
+        return table;
     }
 
     /*
@@ -200,18 +224,15 @@ public class PluginNotifier implements IContextStateProcessor {
      */
 
     /**
-     * Register the given PluginNotifierConfig.
+     * Register the given PluginNotifierConfig in a table that is being loaded.
      *
+     * @param table
      * @param config
-     * @param rebuildTree
-     *            Whether or not to rebuild the internal tree. If many things
-     *            are being registered can improve performance to only build
-     *            tree once at the end.
      * @return
      */
-    private void register(PluginNotifierConfig config, boolean rebuildTree)
+    private void register(RoutingTable table, PluginNotifierConfig config)
             throws InvalidNotificationConfigException {
-        register(config, null, rebuildTree);
+        register(table, config, null);
     }
 
     /*
@@ -230,74 +251,62 @@ public class PluginNotifier implements IContextStateProcessor {
      */
 
     /**
-     * Register the given PluginNotifierConfig.
+     * Register the given PluginNotifierConfig in a table that is being loaded.
+     * The tree of the table is built once all configs are registered.
      *
+     * @param table
      * @param config
      * @param router
      *            The INotificationRouter to use for this config. If null, will
      *            use the default based on the config format.
-     * @param rebuildTree
-     *            Whether or not to rebuild the internal tree. If many things
-     *            are being registered can improve performance to only build
-     *            tree once at the end.
      * @return
      */
-    private void register(PluginNotifierConfig config,
-            INotificationRouter router, boolean rebuildTree)
+    private void register(RoutingTable table, PluginNotifierConfig config,
+            INotificationRouter router)
             throws InvalidNotificationConfigException {
-        this.lock.writeLock().lock();
-        try {
-            validate(config);
-
-            if (router == null) {
-                switch (config.getFormat()) {
-                case DATAURI:
-                    router = new DataUriRouter(config);
-                    break;
-                case PDO:
-                    router = new PdoRouter(config);
-                    break;
-                default:
-                    throw new InvalidNotificationConfigException(
-                            "No INotificationRouter registered for format: "
-                                    + config.getFormat());
-                }
-            }
-
-            Map<String, RequestConstraint>[] metadataMaps = config
-                    .getMetadataMap();
-            boolean receiveAll = (metadataMaps == null)
-                    || (metadataMaps.length == 0)
-                    || ((metadataMaps.length == 1) && ((metadataMaps[0] == null)
-                            || metadataMaps[0].isEmpty()));
-
-            if (receiveAll) {
-                // null or empty constraint map implies receive all data
-                receiveAllRoutes.add(router);
-            } else {
-                filteredRoutes.add(router);
-                for (Map<String, RequestConstraint> metadataMap : metadataMaps) {
-                    tree.insertCriteria(metadataMap, router);
-                }
-
-                if (rebuildTree) {
-                    tree.rebuildTree();
-                }
+        validate(table, config);
+
+        if (router == null) {
+            switch (config.getFormat()) {
+            case DATAURI:
+                router = new DataUriRouter(config);
+                break;
+            case PDO:
+                router = new PdoRouter(config);
+                break;
+            default:
+                throw new InvalidNotificationConfigException(
+                        "No INotificationRouter registered for format: "
+                                + config.getFormat());
             }
+        }
 
-            loadedNames.add(config.getEndpointName());
-        } finally {
-            this.lock.writeLock().unlock();
+        Map<String, RequestConstraint>[] metadataMaps = config
+                .getMetadataMap();
+        boolean receiveAll = (metadataMaps == null)
+                || (metadataMaps.length == 0)
+                || ((metadataMaps.length == 1) && ((metadataMaps[0] == null)
+                        || metadataMaps[0].isEmpty()));
+
+        if (receiveAll) {
+            // null or empty constraint map implies receive all data
+            table.addReceiveAllRoute(router);
+        } else {
+            table.addFilteredRoute(router, metadataMaps);
         }
+
+        table.loadedNames.add(config.getEndpointName());
     }
 
     /**
      * Validate the passed config
      *
+     * @param table
+     *            the table the config is being registered in
      * @param config
      * @return
      */
-    private void validate(PluginNotifierConfig config)
+    private void validate(RoutingTable table, PluginNotifierConfig config)
             throws InvalidNotificationConfigException {
         String endpoint = config.getEndpointName();
         if ((endpoint == null) || (endpoint.trim().length() == 0)) {
@@ -305,7 +314,7 @@ public class PluginNotifier implements IContextStateProcessor {
                     "endpointName is required");
         }
 
-        if (loadedNames.contains(endpoint)) {
+        if (table.loadedNames.contains(endpoint)) {
             throw new InvalidNotificationConfigException("PluginConfiguration "
                     + endpoint + ": endpointName is already in use");
         }
@@ -357,12 +366,7 @@ public class PluginNotifier implements IContextStateProcessor {
      * Rebuild the tree based on all register'd configurations.
      */
     public void rebuildTree() {
-        lock.writeLock().lock();
-        try {
-            tree.rebuildTree();
-        } finally {
-            lock.writeLock().unlock();
-        }
+        routing.tree.rebuildTree();
     }
 
     /**
@@ -378,66 +382,70 @@ public class PluginNotifier implements IContextStateProcessor {
      * from XML. Maybe due to name conflict with Object.notify()
      */
     public int notifyRoutes(PluginDataObject... pdos) {
-        lock.readLock().lock();
-        try {
-            if ((pdos != null) && (pdos.length > 0)) {
-                ITimer timer = TimeUtil.getTimer();
-                timer.start();
-                if (!receiveAllRoutes.isEmpty()) {
-                    for (PluginDataObject pdo : pdos) {
-                        for (INotificationRouter router : receiveAllRoutes) {
-                            router.process(pdo);
-                        }
-                    }
+        if ((pdos != null) && (pdos.length > 0)) {
+            routingLock.readLock().lock();
+            try {
+                notifyRoutes(routing, pdos);
+            } finally {
+                routingLock.readLock().unlock();
+            }
+        }
 
-                    for (INotificationRouter router : receiveAllRoutes) {
-                        try {
-                            router.sendImmediateData();
-                        } catch (EdexException e) {
-                            theHandler.handle(Priority.PROBLEM,
-                                    "Unable to send notification data to "
-                                            + router.getRoute(),
-                                    e);
-                        }
-                    }
+        return pdos.length;
+    }
+
+    private void notifyRoutes(RoutingTable table, PluginDataObject[] pdos) {
+        ITimer timer = TimeUtil.getTimer();
+        timer.start();
+        if (!table.receiveAllRoutes.isEmpty()) {
+            for (PluginDataObject pdo : pdos) {
+                for (INotificationRouter router : table.receiveAllRoutes) {
+                    router.process(pdo);
                 }
+            }
 
-                if (!filteredRoutes.isEmpty()) {
-                    Set<INotificationRouter> routesWithData = new HashSet<>();
-                    for (PluginDataObject pdo : pdos) {
-                        try {
-                            List<INotificationRouter> routers = tree.searchTree(
-                                    DataURIUtil.createDataURIMap(pdo));
-                            for (INotificationRouter router : routers) {
-                                router.process(pdo);
-                                routesWithData.add(router);
-                            }
-                        } catch (PluginException e) {
-                            theHandler.handle(Priority.PROBLEM,
-                                    e.getLocalizedMessage(), e);
-                        }
-                    }
+            send(table.receiveAllRoutes);
+        }
 
-                    for (INotificationRouter router : routesWithData) {
-                        try {
-                            router.sendImmediateData();
-                        } catch (EdexException e) {
-                            theHandler.handle(Priority.PROBLEM,
-                                    "Unable to send notification data to "
-                                            + router.getRoute(),
-                                    e);
-                        }
+        if (!table.filteredRoutes.isEmpty()) {
+            Set<INotificationRouter> routesWithData = new HashSet<>();
+            for (PluginDataObject pdo : pdos) {
+                try {
+                    List<INotificationRouter> routers = table
+                            .match(DataURIUtil.createDataURIMap(pdo));
+                    for (INotificationRouter router : routers) {
+                        router.process(pdo);
+                        routesWithData.add(router);
                     }
+                } catch (PluginException e) {
+                    theHandler.handle(Priority.PROBLEM,
+                            e.getLocalizedMessage(), e);
                 }
-                timer.stop();
-                perfLog.logDuration("Processed " + pdos.length + " pdos",
-                        timer.getElapsedTime());
             }
-        } finally {
-            lock.readLock().unlock();
+
+            send(routesWithData);
         }
+        timer.stop();
+        perfLog.logDuration("Processed " + pdos.length + " pdos",
+                timer.getElapsedTime());
+    }
 
-        return pdos.length;
+    /**
+     * Send the data processed by each router in a single message.
+     *
+     * @param routers
+     */
+    private static void send(Iterable<INotificationRouter> routers) {
+        for (INotificationRouter router : routers) {
+            try {
+                router.sendImmediateData();
+            } catch (EdexException e) {
+                theHandler.handle(Priority.PROBLEM,
+                        "Unable to send notification data to "
+                                + router.getRoute(),
+                        e);
+            }
+        }
     }
 
     /**
@@ -446,31 +454,21 @@ public class PluginNotifier implements IContextStateProcessor {
      * @return
      */
     public void sendQueuedNotifications() {
-        lock.readLock().lock();
-        try {
-            for (INotificationRouter router : receiveAllRoutes) {
-                try {
-                    router.sendQueuedData();
-                } catch (EdexException e) {
-                    theHandler.handle(Priority.PROBLEM,
-                            "Unable to send notification data to "
-                                    + router.getRoute(),
-                            e);
-                }
-            }
+        RoutingTable table = routing;
+        sendQueued(table.receiveAllRoutes);
+        sendQueued(table.filteredRoutes);
+    }
 
-            for (INotificationRouter router : filteredRoutes) {
-                try {
-                    router.sendQueuedData();
-                } catch (EdexException e) {
-                    theHandler.handle(Priority.PROBLEM,
-                            "Unable to send notification data to "
-                                    + router.getRoute(),
-                            e);
-                }
+    private static void sendQueued(Iterable<INotificationRouter> routers) {
+        for (INotificationRouter router : routers) {
+            try {
+                router.sendQueuedData();
+            } catch (EdexException e) {
+                theHandler.handle(Priority.PROBLEM,
+                        "Unable to send notification data to "
+                                + router.getRoute(),
+                        e);
             }
-        } finally {
-            lock.readLock().unlock();
         }
     }
 
@@ -500,41 +498,48 @@ public class PluginNotifier implements IContextStateProcessor {
      * used.
      */
     public void reloadConfigurations() {
-        if (!filesChanged()) {
-            return;
+        synchronized (configLock) {
+            if (!filesChanged()) {
+                return;
+            }
+
+            RoutingTable table;
+            try {
+                table = loadConfigurations();
+            } catch (Exception e) {
+                // keep using the previous configuration
+                theHandler.handle(Priority.PROBLEM,
+                        "Could not reload the localizations files due to an error. Using previously loaded configurations.",
+                        e);
+                return;
+            }
+            replaceRouting(table);
+            theHandler.handle(Priority.INFO, "Configurations were reloaded.");
         }
+    }
 
-        lock.writeLock().lock();
-        DecisionTree<INotificationRouter> treeBak = tree;
-        List<INotificationRouter> receiveAllRoutesBak = receiveAllRoutes;
-        List<INotificationRouter> filteredRoutesBak = filteredRoutes;
-        Set<String> loadedNamesBak = loadedNames;
-        Map<String, Long> modifiedTimesBak = modifiedTimes;
+    /**
+     * Start using a new table and send anything the routers of the previous
+     * table have queued, since the notification timer only sends for the
+     * current routers.
+     *
+     * @param table
+     */
+    void replaceRouting(RoutingTable table) {
+        RoutingTable previous;
+        routingLock.writeLock().lock();
         try {
-            tree = new DecisionTree<>();
-            receiveAllRoutes = new LinkedList<>();
-            filteredRoutes = new LinkedList<>();
-            loadedNames = new HashSet<>();
-            modifiedTimes = new HashMap<>();
-
-            loadConfigurations();
-
-            rebuildTree();
-
-            theHandler.handle(Priority.INFO, "Configurations were reloaded.");
-        } catch (Exception e) {
-            theHandler.handle(Priority.PROBLEM,
-                    "Could not reload the localizations files due to an error. Using previously loaded configurations.",
-                    e);
-            // fall back to previous configuration
-            tree = treeBak;
-            receiveAllRoutes = receiveAllRoutesBak;
-            filteredRoutes = filteredRoutesBak;
-            loadedNames = loadedNamesBak;
-            modifiedTimes = modifiedTimesBak;
+            previous = routing;
+            routing = table;
         } finally {
-            lock.writeLock().unlock();
+            routingLock.writeLock().unlock();
         }
+        /*
+         * Every notify that read the previous table has finished, so the
+         * previous routers will not be given any more data.
+         */
+        sendQueued(previous.receiveAllRoutes);
+        sendQueued(previous.filteredRoutes);
     }
 
     /**
@@ -544,14 +549,15 @@ public class PluginNotifier implements IContextStateProcessor {
      */
     private boolean filesChanged() {
         List<File> files = getNotificationFiles();
+        Map<String, Long> modifiedTimes = routing.modifiedTimes;
 
-        if (files.size() != this.modifiedTimes.size()) {
+        if (files.size() != modifiedTimes.size()) {
             return true;
         }
 
         Long lastTime;
         for (File file : files) {
-            lastTime = this.modifiedTimes.get(file.getName());
+            lastTime = modifiedTimes.get(file.getName());
             if ((lastTime == null) || !lastTime.equals(file.lastModified())) {
                 return true;
             }
@@ -575,4 +581,140 @@ public class PluginNotifier implements IContextStateProcessor {
         }
         return files;
     }
+
+    /**
+     * The routes loaded from the notification configurations. A table is only
+     * modified while it is loaded and is never modified once it is published
+     * to {@link PluginNotifier#routing}.
+     */
+    static class RoutingTable {
+
+        /** match key value for attributes that are not in a dataURI map */
+        private static final Object ABSENT = new Object();
+
+        /** match key value for attributes that are null in a dataURI map */
+        private static final Object NULL = new Object();
+
+        private final DecisionTree<INotificationRouter> tree = new DecisionTree<>();
+
+        private final List<INotificationRouter> receiveAllRoutes = new ArrayList<>();
+
+        private final List<INotificationRouter> filteredRoutes = new ArrayList<>();
+
+        /**
+         * Set of loaded names. Used for duplicate detection.
+         */
+        private final Set<String> loadedNames = new HashSet<>();
+
+        private final Map<String, Long> modifiedTimes = new HashMap<>();
+
+        /**
+         * Every attribute referenced by a constraint in the tree.
+         */
+        private final Set<String> decisionKeySet = new TreeSet<>();
+
+        private String[] decisionKeys;
+
+        /**
+         * Routes matched for previously seen values of the decision keys.
+         */
+        private final Map<List<Object>, List<INotificationRouter>> matches = new ConcurrentHashMap<>();
+
+        void addReceiveAllRoute(INotificationRouter router) {
+            receiveAllRoutes.add(router);
+        }
+
+        void addFilteredRoute(INotificationRouter router,
+                Map<String, RequestConstraint>[] metadataMaps) {
+            filteredRoutes.add(router);
+            for (Map<String, RequestConstraint> metadataMap : metadataMaps) {
+                tree.insertCriteria(metadataMap, router, false);
+                decisionKeySet.addAll(metadataMap.keySet());
+            }
+        }
+
+        void complete() {
+            decisionKeys = decisionKeySet.toArray(new String[0]);
+            tree.rebuildTree();
+        }
+
+        /**
+         * Find the filtered routes for a pdo. The tree can only distinguish
+         * pdos by the attributes its constraints reference so the result of
+         * searching the tree is shared by all pdos that have the same values
+         * for those attributes.
+         *
+         * @param dataURIMap
+         * @return the matching routes, must not be modified
+         */
+        List<INotificationRouter> match(Map<String, Object> dataURIMap) {
+            Object[] values = new Object[decisionKeys.length];
+            for (int i = 0; i < values.length; i++) {
+                Object value = dataURIMap.get(decisionKeys[i]);
+                if (value == null) {
+                    values[i] = dataURIMap.containsKey(decisionKeys[i]) ? NULL
+                            : ABSENT;
+                } else {
+                    values[i] = getMatchKey(value);
+                }
+            }
+            List<Object> key = Arrays.asList(values);
+            List<INotificationRouter> routers = matches.get(key);
+            if (routers == null) {
+                routers = search(dataURIMap);
+                if (matches.size() >= MATCH_CACHE_SIZE) {
+                    matches.clear();
+                }
+                matches.put(key, routers);
+            }
+            return routers;
+        }
+
+        /**
+         * Search the tree without checking the cached matches.
+         *
+         * @param dataURIMap
+         * @return the matching routes
+         */
+        List<INotificationRouter> search(Map<String, Object> dataURIMap) {
+            return tree.searchTree(dataURIMap);
+        }
+
+        /**
+         * @return the number of distinct values with cached matches
+         */
+        int getCachedMatchCount() {
+            return matches.size();
+        }
+
+        /**
+         * Get a key for a value that is equal for two values only if every
+         * constraint evaluates them the same way. Constraints compare most
+         * values by their string form, which equals does not always agree
+         * with, for example a Date equals a Timestamp of the same time. The
+         * string form is also a snapshot, so later changes to a mutable value
+         * can't change a cached key.
+         *
+         * @param value
+         *            a non null value
+         * @return the key
+         */
+        private static Object getMatchKey(Object value) {
+            if (value instanceof String || value instanceof Integer
+                    || value instanceof Long || value instanceof Double
+                    || value instanceof Float || value instanceof Short
+                    || value instanceof Byte || value instanceof Boolean
+                    || value instanceof Character || value instanceof Enum) {
+                /* immutable and equal only to values of the same class */
+                return value;
+            } else if (value instanceof Date) {
+                Date date = (Date) value;
+                int nanos = date instanceof Timestamp
+                        ? ((Timestamp) date).getNanos()
+                        : 0;
+                return Arrays.asList(date.getClass(), date.getTime(), nanos);
+            }
+            return Arrays.asList(value.getClass(), value.toString());
+        }
+    }
 }
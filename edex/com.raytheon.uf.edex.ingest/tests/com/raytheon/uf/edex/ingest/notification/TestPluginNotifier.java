@@ -0,0 +1,422 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.ingest.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.dataplugin.PluginDataObject;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+import com.raytheon.uf.edex.ingest.notification.PluginNotifier.RoutingTable;
+import com.raytheon.uf.edex.ingest.notification.router.INotificationRouter;
+
+/**
+ * Unit tests for PluginNotifier, covering the routes matched by a
+ * {@link RoutingTable} with and without its match cache and the flushing of
+ * the previous routers when the table is replaced.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestPluginNotifier {
+
+    /**
+     * Records the pdos it is given, queuing them until sendQueuedData is
+     * called.
+     */
+    private static class TestRouter implements INotificationRouter {
+
+        private final String route;
+
+        private final List<PluginDataObject> queued = new ArrayList<>();
+
+        private final List<PluginDataObject> sent = new ArrayList<>();
+
+        /** if set, process waits for this after being entered */
+        private volatile CountDownLatch processGate;
+
+        private final CountDownLatch processEntered = new CountDownLatch(1);
+
+        private TestRouter(String route) {
+            this.route = route;
+        }
+
+        @Override
+        public String getRoute() {
+            return route;
+        }
+
+        @Override
+        public void process(PluginDataObject pdo) {
+            processEntered.countDown();
+            CountDownLatch gate = processGate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this) {
+                queued.add(pdo);
+            }
+        }
+
+        @Override
+        public void sendImmediateData() {
+            // everything is queued
+        }
+
+        @Override
+        public synchronized void sendQueuedData() {
+            sent.addAll(queued);
+            queued.clear();
+        }
+
+        @Override
+        public String toString() {
+            return route;
+        }
+    }
+
+    private static class TestRecord extends PluginDataObject {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getPluginName() {
+            return "test";
+        }
+    }
+
+    /** equal by id but constraints see its name */
+    private static class Station {
+
+        private final int id;
+
+        private String name;
+
+        private Station(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Station && ((Station) obj).id == id;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, RequestConstraint>[] constraints(
+            Object... keysAndConstraints) {
+        Map<String, RequestConstraint> map = new HashMap<>();
+        for (int i = 0; i < keysAndConstraints.length; i += 2) {
+            map.put((String) keysAndConstraints[i],
+                    (RequestConstraint) keysAndConstraints[i + 1]);
+        }
+        return new Map[] { map };
+    }
+
+    private static Map<String, Object> uriMap(Object... keysAndValues) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static RoutingTable table(INotificationRouter router,
+            Map<String, RequestConstraint>[] constraints) {
+        RoutingTable table = new RoutingTable();
+        table.addFilteredRoute(router, constraints);
+        table.complete();
+        return table;
+    }
+
+    /**
+     * Match each map in order with a new table and check that every result
+     * agrees with searching the tree directly.
+     */
+    private static List<List<INotificationRouter>> matchInOrder(
+            INotificationRouter router,
+            Map<String, RequestConstraint>[] constraints,
+            List<Map<String, Object>> uriMaps) {
+        RoutingTable table = table(router, constraints);
+        List<List<INotificationRouter>> results = new ArrayList<>();
+        for (Map<String, Object> uriMap : uriMaps) {
+            List<INotificationRouter> matched = table.match(uriMap);
+            assertEquals(uriMap.toString(),
+                    new HashSet<>(table.search(uriMap)),
+                    new HashSet<>(matched));
+            results.add(matched);
+        }
+        return results;
+    }
+
+    private static void assertMatchedInEitherOrder(
+            Map<String, RequestConstraint>[] constraints,
+            Map<String, Object> matching, Map<String, Object> notMatching) {
+        TestRouter router = new TestRouter("r");
+        List<List<INotificationRouter>> results = matchInOrder(router,
+                constraints, List.of(matching, notMatching));
+        assertEquals(List.of(router), results.get(0));
+        assertTrue(results.get(1).isEmpty());
+
+        results = matchInOrder(router, constraints,
+                List.of(notMatching, matching));
+        assertTrue(results.get(0).isEmpty());
+        assertEquals(List.of(router), results.get(1));
+    }
+
+    @Test
+    public void testMatchAgreesWithTree() {
+        RoutingTable table = new RoutingTable();
+        List<TestRouter> routers = new ArrayList<>();
+        String[] sources = { "a", "b", "c", "d" };
+        for (int i = 0; i < 20; i++) {
+            TestRouter router = new TestRouter("route" + i);
+            routers.add(router);
+            Map<String, RequestConstraint> map = new HashMap<>();
+            map.put("pluginName", new RequestConstraint(
+                    i % 2 == 0 ? "grid" : "obs"));
+            if (i % 3 == 0) {
+                map.put("source", new RequestConstraint(sources[i % 4]));
+            } else if (i % 3 == 1) {
+                map.put("level", new RequestConstraint(
+                        Integer.toString(i * 10), ConstraintType.LESS_THAN));
+            }
+            if (i % 5 == 0) {
+                map.put("source",
+                        new RequestConstraint(new String[] { "a", "c" }));
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, RequestConstraint>[] maps = new Map[] { map };
+            table.addFilteredRoute(router, maps);
+        }
+        table.complete();
+
+        Random random = new Random(2170);
+        for (int n = 0; n < 2000; n++) {
+            Map<String, Object> uriMap = uriMap("pluginName",
+                    random.nextBoolean() ? "grid" : "obs", "source",
+                    sources[random.nextInt(4)], "level",
+                    random.nextInt(20) * 10, "ignored", random.nextInt());
+            List<INotificationRouter> matched = table.match(uriMap);
+            assertEquals(new HashSet<>(table.search(uriMap)),
+                    new HashSet<>(matched));
+        }
+        /* only the constrained attributes distinguish maps */
+        assertTrue(table.getCachedMatchCount() <= 2 * 4 * 20);
+    }
+
+    @Test
+    public void testMatchCachedForEqualValues() {
+        TestRouter router = new TestRouter("r");
+        RoutingTable table = table(router,
+                constraints("source", new RequestConstraint("KOMA")));
+        List<INotificationRouter> first = table
+                .match(uriMap("source", new String("KOMA"), "other", 1));
+        List<INotificationRouter> second = table
+                .match(uriMap("source", new String("KOMA"), "other", 2));
+        assertEquals(List.of(router), first);
+        assertSame(first, second);
+        assertEquals(1, table.getCachedMatchCount());
+    }
+
+    @Test
+    public void testAbsentAndNullValues() {
+        /* an absent attribute matches anything, a null one does not */
+        assertMatchedInEitherOrder(
+                constraints("source", new RequestConstraint("KOMA")),
+                uriMap(), uriMap("source", null));
+        assertMatchedInEitherOrder(
+                constraints("source",
+                        new RequestConstraint(null, ConstraintType.ISNULL)),
+                uriMap("source", null), uriMap("source", "KOMA"));
+    }
+
+    @Test
+    public void testDateAndTimestamp() {
+        /*
+         * A Date equals a Timestamp of the same time, but constraints that
+         * use the string form see different values.
+         */
+        Timestamp timestamp = Timestamp.valueOf("2023-11-14 22:13:20");
+        Date date = new Date(timestamp.getTime());
+        assertTrue(date.equals(timestamp));
+        assertMatchedInEitherOrder(
+                constraints("refTime",
+                        new RequestConstraint("2023-11-14%",
+                                ConstraintType.LIKE)),
+                uriMap("refTime", timestamp), uriMap("refTime", date));
+    }
+
+    @Test
+    public void testEqualValuesWithDifferentStrings() {
+        Station oma = new Station(1, "KOMA");
+        Station renamed = new Station(1, "KOFF");
+        assertTrue(oma.equals(renamed));
+        assertMatchedInEitherOrder(
+                constraints("location", new RequestConstraint("KOMA")),
+                uriMap("location", oma), uriMap("location", renamed));
+    }
+
+    @Test
+    public void testMutatedValue() {
+        TestRouter router = new TestRouter("r");
+        RoutingTable table = table(router,
+                constraints("location", new RequestConstraint("KOMA")));
+        Station station = new Station(1, "KOMA");
+        assertEquals(List.of(router),
+                table.match(uriMap("location", station)));
+        station.name = "KOFF";
+        assertTrue(table.match(uriMap("location", station)).isEmpty());
+        station.name = "KOMA";
+        assertEquals(List.of(router),
+                table.match(uriMap("location", station)));
+    }
+
+    @Test
+    public void testNumbers() {
+        TestRouter router = new TestRouter("r");
+        List<Map<String, Object>> uriMaps = List.of(uriMap("level", 5),
+                uriMap("level", 5L), uriMap("level", 5.0),
+                uriMap("level", 5.0f), uriMap("level", 5.5),
+                uriMap("level", (short) 5), uriMap("level", "5"),
+                uriMap("level", "5.0"));
+        List<List<INotificationRouter>> results = matchInOrder(router,
+                constraints("level", new RequestConstraint("5")), uriMaps);
+        for (int i = 0; i < uriMaps.size(); i++) {
+            boolean matches = i != 4 && i != 7;
+            assertEquals(uriMaps.get(i).toString(), matches,
+                    !results.get(i).isEmpty());
+        }
+    }
+
+    @Test
+    public void testMatchCacheBounded() {
+        TestRouter router = new TestRouter("r");
+        RoutingTable table = table(router, constraints("level",
+                new RequestConstraint("100", ConstraintType.LESS_THAN)));
+        int limit = Integer.getInteger("plugin.notifier.match.cache.size",
+                4096);
+        for (int i = 0; i < limit * 3; i++) {
+            assertEquals(i < 100, !table.match(uriMap("level", i)).isEmpty());
+            assertTrue(table.getCachedMatchCount() <= limit);
+        }
+    }
+
+    @Test
+    public void testReplaceRoutingSendsQueued() {
+        TestRouter oldRouter = new TestRouter("old");
+        RoutingTable oldTable = new RoutingTable();
+        oldTable.addReceiveAllRoute(oldRouter);
+        oldTable.complete();
+        PluginNotifier notifier = new PluginNotifier(oldTable);
+
+        TestRecord first = new TestRecord();
+        notifier.notifyRoutes(first);
+        assertEquals(List.of(first), oldRouter.queued);
+
+        TestRouter newRouter = new TestRouter("new");
+        RoutingTable newTable = new RoutingTable();
+        newTable.addReceiveAllRoute(newRouter);
+        newTable.complete();
+        notifier.replaceRouting(newTable);
+        assertEquals(List.of(first), oldRouter.sent);
+        assertTrue(oldRouter.queued.isEmpty());
+
+        TestRecord second = new TestRecord();
+        notifier.notifyRoutes(second);
+        assertTrue(oldRouter.queued.isEmpty());
+        assertEquals(List.of(second), newRouter.queued);
+    }
+
+    @Test(timeout = 30_000)
+    public void testReplaceRoutingWaitsForNotify() throws Exception {
+        TestRouter oldRouter = new TestRouter("old");
+        oldRouter.processGate = new CountDownLatch(1);
+        RoutingTable oldTable = new RoutingTable();
+        oldTable.addReceiveAllRoute(oldRouter);
+        oldTable.complete();
+        PluginNotifier notifier = new PluginNotifier(oldTable);
+
+        TestRecord record = new TestRecord();
+        Thread notifying = new Thread(() -> notifier.notifyRoutes(record));
+        notifying.start();
+        assertTrue(oldRouter.processEntered.await(10, TimeUnit.SECONDS));
+
+        /* the old table is in use so replacing it must wait */
+        RoutingTable newTable = new RoutingTable();
+        newTable.addReceiveAllRoute(new TestRouter("new"));
+        newTable.complete();
+        CountDownLatch replaced = new CountDownLatch(1);
+        Thread replacing = new Thread(() -> {
+            notifier.replaceRouting(newTable);
+            replaced.countDown();
+        });
+        replacing.start();
+        assertFalse(replaced.await(200, TimeUnit.MILLISECONDS));
+
+        oldRouter.processGate.countDown();
+        notifying.join();
+        replacing.join();
+        /* the pdo given to the old router while replacing was still sent */
+        assertEquals(Collections.singletonList(record), oldRouter.sent);
+        assertTrue(oldRouter.queued.isEmpty());
+    }
+}
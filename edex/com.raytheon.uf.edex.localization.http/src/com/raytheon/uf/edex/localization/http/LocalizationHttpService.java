@@ -45,6 +45,7 @@ import com.raytheon.uf.edex.localization.http.writer.ILocalizationResponseWriter
  * May 18, 2017  6242     randerso  Changed to use new roles and permissions
  *                                  framework
  * Aug 07, 2017  5731     bsteffen  Separate logic for each method into it's own class.
+ * Oct 19, 2026           kshrestha Added POST for bulk directory sync
  *
  * </pre>
  *
@@ -60,6 +61,8 @@ public class LocalizationHttpService {
 
     private final LocalizationHttpDelegate delete;
 
+    private final LocalizationHttpDelegate sync;
+
     /**
      * @param base
      *            portion of URL that is used for routing to this service
@@ -70,6 +73,7 @@ public class LocalizationHttpService {
         head = new LocalizationHttpHeadDelegate(basePath);
         put = new LocalizationHttpPutDelegate(basePath);
         delete = new LocalizationHttpDeleteDelegate(basePath);
+        sync = new LocalizationHttpSyncDelegate(basePath);
     }
 
     /**
@@ -97,6 +101,9 @@ public class LocalizationHttpService {
         case "DELETE":
             delete.handle(request, response);
             break;
+        case "POST":
+            sync.handle(request, response);
+            break;
         default:
             response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
         }
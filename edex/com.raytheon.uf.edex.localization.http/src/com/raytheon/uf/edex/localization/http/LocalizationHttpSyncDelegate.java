@@ -0,0 +1,184 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.localization.http;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.raytheon.uf.common.http.ProtectiveHttpOutputStream;
+import com.raytheon.uf.common.localization.IPathManager;
+import com.raytheon.uf.common.localization.LocalizationContext;
+import com.raytheon.uf.common.localization.LocalizationFile;
+import com.raytheon.uf.common.localization.PathManagerFactory;
+import com.raytheon.uf.common.util.stream.CountingOutputStream;
+import com.raytheon.uf.edex.localization.http.writer.zip.ZipArchiveResponseWriter;
+
+/**
+ * Handles POST http method for bulk synchronization of a localization
+ * directory. The request body is a manifest of the files the client already
+ * has, one per line in the form "checksum path" where the path is relative to
+ * the requested directory. The response is a zip archive containing only the
+ * files in the directory (recursively) whose checksum does not match the
+ * manifest, so a client can bring a whole directory up to date in a single
+ * request.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------
+ * Oct 19, 2026           kshrestha Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class LocalizationHttpSyncDelegate extends LocalizationHttpDelegate {
+
+    /** separator between the checksum and path in a manifest line */
+    public static final char MANIFEST_SEPARATOR = ' ';
+
+    public LocalizationHttpSyncDelegate(Path basePath) {
+        super(basePath);
+    }
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long t0 = System.currentTimeMillis();
+        String rawPath = request.getPathInfo();
+        Path fullPath = Paths.get(rawPath);
+
+        Path relative = basePath.relativize(fullPath);
+        if (!relative.toString().isEmpty()) {
+            relative = relative.normalize();
+        }
+
+        /*
+         * Never encode the response, the archive entries are already
+         * compressed.
+         */
+        ProtectiveHttpOutputStream out = new ProtectiveHttpOutputStream(
+                response, null, false);
+
+        try {
+            if (!rawPath.endsWith(DIRECTORY_SUFFIX)
+                    || LocalizationResolver.isContextQuery(relative)) {
+                throw new LocalizationHttpException(
+                        HttpServletResponse.SC_BAD_REQUEST,
+                        "Bulk sync is only supported for localization directories: "
+                                + rawPath);
+            }
+            validate(request, relative);
+
+            LocalizationContext context = LocalizationResolver
+                    .getContext(relative);
+            String path = LocalizationResolver.relativize(context, relative)
+                    .toString();
+
+            Map<String, String> manifest = readManifest(request);
+
+            IPathManager pathManager = PathManagerFactory.getPathManager();
+            LocalizationFile[] files = pathManager.listFiles(context, path,
+                    null, true, true);
+            Path base = Paths.get(path);
+            List<LocalizationFile> changed = new ArrayList<>();
+            for (LocalizationFile file : files) {
+                String entryName = base.relativize(Paths.get(file.getPath()))
+                        .toString();
+                if (!file.getCheckSum().equals(manifest.get(entryName))) {
+                    changed.add(file);
+                }
+            }
+
+            response.setContentType(
+                    ZipArchiveResponseWriter.CONTENT_TYPE.toString());
+            CountingOutputStream counter = new CountingOutputStream(out);
+            ZipArchiveResponseWriter.writeArchive(
+                    changed.toArray(new LocalizationFile[0]), path, counter);
+
+            log.info("Bulk sync of " + relative + ": " + changed.size()
+                    + " of " + files.length + " files sent ("
+                    + counter.getBytesWritten() + " bytes) in "
+                    + (System.currentTimeMillis() - t0) + "ms");
+        } catch (LocalizationHttpException e) {
+            sendError(e, out);
+        } catch (Throwable t) {
+            log.error("Problem handling localization sync request: "
+                    + fullPath, t);
+            sendError(new LocalizationHttpException(
+                    HttpServletResponse.SC_INTERNAL_SERVER_ERROR, SERVER_ERROR),
+                    out);
+        } finally {
+            out.flush();
+            out.setAllowClose(true);
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the client manifest from the request body
+     *
+     * @param request
+     * @return map of relative path to the checksum the client has
+     * @throws IOException
+     * @throws LocalizationHttpException
+     */
+    private Map<String, String> readManifest(HttpServletRequest request)
+            throws IOException, LocalizationHttpException {
+        Map<String, String> manifest = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                request.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int index = line.indexOf(MANIFEST_SEPARATOR);
+                if (index <= 0) {
+                    throw new LocalizationHttpException(
+                            HttpServletResponse.SC_BAD_REQUEST,
+                            "Malformed manifest entry: " + line);
+                }
+                manifest.put(line.substring(index + 1),
+                        line.substring(0, index));
+            }
+        }
+        return manifest;
+    }
+
+    @Override
+    protected String getOperation() {
+        return "read";
+    }
+
+}
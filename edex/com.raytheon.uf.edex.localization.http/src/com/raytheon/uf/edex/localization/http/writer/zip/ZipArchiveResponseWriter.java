@@ -49,6 +49,7 @@ import com.raytheon.uf.edex.localization.http.writer.ILocalizationResponseWriter
  * ------------ ---------- ----------- --------------------------
  * Jan 16, 2015 3978       bclement     Initial creation
  * Aug 14, 2017 5731       bsteffen     Handle wildcards in mimetype
+ * Oct 19, 2026            kshrestha    Extracted writeArchive() for bulk sync
  * 
  * </pre>
  * 
@@ -75,7 +76,23 @@ public class ZipArchiveResponseWriter implements ILocalizationResponseWriter {
         IPathManager pathManager = PathManagerFactory.getPathManager();
         LocalizationFile[] files = pathManager.listFiles(context, path, null,
                 true, true);
+        writeArchive(files, path, out);
+    }
 
+    /**
+     * Writes the files to a zip archive on the output stream. Entry names are
+     * relative to the given directory path. The output stream will be closed
+     * to finalize the archive.
+     *
+     * @param files
+     *            the localization files to include
+     * @param path
+     *            the directory the files are located in
+     * @param out
+     * @throws IOException
+     */
+    public static void writeArchive(LocalizationFile[] files, String path,
+            OutputStream out) throws IOException {
         Path base = Paths.get(path);
 
         ZipOutputStream zout = new ZipOutputStream(out);
@@ -32,8 +32,12 @@ import com.raytheon.edex.db.dao.DefaultPluginDao;
 import com.raytheon.uf.common.dataplugin.PluginException;
 import com.raytheon.uf.common.dataplugin.level.Level;
 import com.raytheon.uf.common.dataplugin.level.LevelContainer;
+import com.raytheon.uf.common.dataplugin.level.LevelFactory;
 import com.raytheon.uf.common.dataplugin.level.MasterLevel;
 import com.raytheon.uf.common.dataplugin.level.MasterLevelContainer;
+import com.raytheon.uf.common.serialization.SerializationException;
+import com.raytheon.uf.edex.core.EDEXUtil;
+import com.raytheon.uf.edex.core.EdexException;
 
 /**
  * The DAO implementation of the Level component
@@ -47,6 +51,7 @@ import com.raytheon.uf.common.dataplugin.level.MasterLevelContainer;
  * Sep 10, 2009             rjpeter     Initial creation
  * Sep 09, 2014 3356        njensen     Removed redundant logger
  * Jul 30, 2015 1574        nabowle     Override purgeOrphanedData to noop
+ * Oct 19, 2026             kshrestha   Notify level caches of new levels
  *
  * </pre>
  *
@@ -56,6 +61,9 @@ import com.raytheon.uf.common.dataplugin.level.MasterLevelContainer;
 
 public class LevelDao extends DefaultPluginDao {
 
+    private static final String LEVEL_CREATED_URI = "jms-generic:topic:"
+            + LevelFactory.LEVEL_CREATED_TOPIC + "?timeToLive=60000";
+
     public LevelDao() throws PluginException {
         this("level");
     }
@@ -81,6 +89,7 @@ public class LevelDao extends DefaultPluginDao {
 
     public MasterLevel lookupMasterLevel(MasterLevel level, boolean createLevel) {
         MasterLevel rval = null;
+        boolean created = false;
 
         Session sess = null;
         Transaction trans = null;
@@ -99,9 +108,13 @@ public class LevelDao extends DefaultPluginDao {
             } else if (createLevel) {
                 sess.saveOrUpdate(level);
                 rval = level;
+                created = true;
             }
 
             trans.commit();
+            if (created) {
+                notifyCreated(level.getName());
+            }
         } catch (Exception e) {
             logger.error(
                     "Error occurred looking up MasterLevel[" + level.getName()
@@ -149,13 +162,18 @@ public class LevelDao extends DefaultPluginDao {
                         Restrictions.and(lvl1Crit, lvl2Crit)));
                 List<?> vals = crit.list();
 
+                boolean created = false;
                 if (vals.size() > 0) {
                     rval = (Level) vals.get(0);
                 } else {
                     sess.saveOrUpdate(level);
                     rval = level;
+                    created = true;
                 }
                 trans.commit();
+                if (created) {
+                    notifyCreated(level.getMasterLevel().getName());
+                }
             } catch (Exception e) {
                 rval = null;
                 if (tries > 0) {
@@ -344,4 +362,21 @@ public class LevelDao extends DefaultPluginDao {
 
         return rval;
     }
+    /**
+     * Tell every {@link LevelFactory} in the cluster that a level was created
+     * so any cached misses are discarded.
+     *
+     * @param masterLevelName
+     *            name of the master level that was created or had a level
+     *            added to it
+     */
+    private void notifyCreated(String masterLevelName) {
+        try {
+            EDEXUtil.getMessageProducer().sendAsyncThriftUri(LEVEL_CREATED_URI,
+                    masterLevelName);
+        } catch (EdexException | SerializationException e) {
+            logger.error("Error sending level created notification for "
+                    + masterLevelName, e);
+        }
+    }
 }
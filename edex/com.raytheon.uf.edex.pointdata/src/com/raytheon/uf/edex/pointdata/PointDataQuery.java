@@ -29,6 +29,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.measure.UnitConverter;
 
@@ -69,6 +77,8 @@ import tec.uom.se.AbstractConverter;
  * Nov 16, 2017  6367     tgurney   Send timing information to log file
  * May 28, 2019  7689     randerso  Make query accessible so additional
  *                                  constraints can be added.
+ * Oct 19, 2026           kshrestha Retrieve files in parallel and merge them
+ *                                  in a single pass
  *
  * </pre>
  *
@@ -88,6 +98,29 @@ public class PointDataQuery {
     private static final IUFStatusHandler statusHandler = UFStatus
             .getHandler(PointDataQuery.class);
 
+    private static final int RETRIEVAL_THREADS = Integer
+            .getInteger("pointdata.query.retrieval.threads", 8);
+
+    /**
+     * Shared pool for retrieving point data files in parallel. When every
+     * thread is busy the requesting thread retrieves the file itself, so the
+     * total parallelism is bounded and a query is never slower than retrieving
+     * its files one at a time.
+     */
+    private static final ExecutorService RETRIEVAL_POOL;
+
+    static {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(RETRIEVAL_THREADS,
+                RETRIEVAL_THREADS, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "PointDataQueryRetrieval");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        RETRIEVAL_POOL = pool;
+    }
+
     public PointDataQuery(final String plugin)
             throws DataAccessLayerException, PluginException {
         try {
@@ -258,6 +291,7 @@ public class PointDataQuery {
             masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
         } else {
             List<String> files = new ArrayList<>();
+            Map<String, Integer> fileIndexes = new HashMap<>();
             List<List<Integer>> ids = new ArrayList<>();
             List<List<Integer>> indexes = new ArrayList<>();
 
@@ -268,10 +302,11 @@ public class PointDataQuery {
                 // Clone is needed because getPointDataFileName alters the map
                 workingMap = new HashMap<>(workingMap);
                 String fileName = dao.getPointDataFileName(workingMap);
-                int listIndex = files.indexOf(fileName);
-                if (listIndex == -1) {
+                Integer listIndex = fileIndexes.get(fileName);
+                if (listIndex == null) {
                     listIndex = files.size();
                     files.add(fileName);
+                    fileIndexes.put(fileName, listIndex);
                     ids.add(new ArrayList<Integer>());
                     indexes.add(new ArrayList<Integer>());
                     hdf5attribList.retainAll(Arrays
@@ -282,25 +317,44 @@ public class PointDataQuery {
                 indexes.get(listIndex).add(idx);
             }
             long t0 = System.currentTimeMillis();
+            String[] attribArr = hdf5attribList.toArray(new String[0]);
+            List<Future<PointDataContainer>> futures = new ArrayList<>(
+                    files.size());
             for (int i = 0; i < files.size(); i++) {
                 File file = new File(files.get(i));
-                List<String> attribSet = new ArrayList<>(hdf5attribList);
                 int[] idxArr = new int[indexes.get(i).size()];
                 int[] idArr = new int[ids.get(i).size()];
                 for (int j = 0; j < idArr.length; j++) {
                     idxArr[j] = indexes.get(i).get(j);
                     idArr[j] = ids.get(i).get(j);
                 }
-                PointDataContainer pdc = dao.getPointData(file, idxArr, idArr,
-                        attribSet.toArray(new String[0]), this.requestStyle);
-                if (masterPDC == null) {
-                    masterPDC = pdc;
-                    masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
+                LevelRequest request = this.requestStyle;
+                Callable<PointDataContainer> task = () -> dao.getPointData(
+                        file, idxArr, idArr, attribArr, request);
+                if (files.size() == 1) {
+                    futures.add(CompletableFuture.completedFuture(task.call()));
                 } else {
-                    masterPDC.combine(pdc);
-                    masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
+                    futures.add(RETRIEVAL_POOL.submit(task));
                 }
             }
+
+            List<PointDataContainer> pdcs = new ArrayList<>(futures.size());
+            for (Future<PointDataContainer> future : futures) {
+                try {
+                    pdcs.add(future.get());
+                } catch (ExecutionException e) {
+                    for (Future<PointDataContainer> f : futures) {
+                        f.cancel(true);
+                    }
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+            masterPDC = pdcs.get(0);
+            masterPDC.combine(pdcs.subList(1, pdcs.size()));
+            masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
             long t1 = System.currentTimeMillis();
             statusHandler
                     .info("Total time spent on pointdata hdf5 retrieval (all files): "
@@ -22,6 +22,7 @@ package com.raytheon.uf.edex.purgesrv;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
@@ -50,6 +51,7 @@ import com.raytheon.uf.edex.database.dao.DaoConfig;
  * 10/16/2014   3454       bphillip    Upgrading to Hibernate 4
  * 10/28/2014   3454       bphillip    Fix usage of getSession()
  * Aug 05, 2015 4486       rjpeter     Changed Timestamp to Date.
+ * Oct 19, 2026            kshrestha   Added getPurgeStartTimes()
  * </pre>
  * 
  * @author bphillip
@@ -267,6 +269,29 @@ public class PurgeDao extends CoreDao {
         });
     }
 
+    /**
+     * Retrieves the last start time of each plugin ordered by start time.
+     * 
+     * @return map of plugin to the time its last purge started
+     */
+    public Map<String, Date> getPurgeStartTimes() {
+        final String query = "select obj.id.plugin, obj.startTime from "
+                + daoClass.getName()
+                + " obj order by obj.startTime asc, obj.plugin asc";
+        return txTemplate.execute(new TransactionCallback<Map<String, Date>>() {
+            @Override
+            public Map<String, Date> doInTransaction(TransactionStatus status) {
+                Query hibQuery = getCurrentSession().createQuery(query);
+                Map<String, Date> result = new LinkedHashMap<>();
+                for (Object row : hibQuery.list()) {
+                    Object[] columns = (Object[]) row;
+                    result.put((String) columns[0], (Date) columns[1]);
+                }
+                return result;
+            }
+        });
+    }
+
     /**
      * Updates a purge job status object
      * 
@@ -34,6 +34,7 @@ import com.raytheon.uf.edex.database.cluster.ClusterLockUtils;
 import com.raytheon.uf.edex.database.cluster.ClusterTask;
 import com.raytheon.uf.edex.database.plugin.PluginDao;
 import com.raytheon.uf.edex.database.plugin.PluginFactory;
+import com.raytheon.uf.edex.database.plugin.PurgeResults;
 import com.raytheon.uf.edex.database.purge.PurgeLogger;
 
 /**
@@ -52,6 +53,8 @@ import com.raytheon.uf.edex.database.purge.PurgeLogger;
  * May 09, 2014  3138       ekladstr     Refactor dao purge calls to a method and notify waiting threads when purge is finished
  * Oct 15, 2015  4023       nabowle      Move stacktrace string into timeout
  *                                       error log. Log only once every 5 minutes.
+ * Oct 19, 2026             kshrestha    Purge in partitions and record
+ *                                       throughput.
  * </pre>
  *
  * @author bphillip
@@ -236,8 +239,21 @@ public class PurgeJob extends Thread {
     protected void doPurge(PluginDao dao) throws PluginException, EdexException {
         if (this.purgeType.equals(PURGE_JOB_TYPE.PURGE_ALL)) {
             dao.purgeAllData();
-        } else {
+        } else if (hasCustomPurger(dao)) {
             dao.purgeExpiredData();
+        } else {
+            int partitions = purgeManager.getPurgePartitions(pluginName);
+            if (partitions > 1) {
+                PurgeLogger.logInfo("Purging in " + partitions
+                        + " partitions, "
+                        + purgeManager.getStatistics().getSummary(pluginName),
+                        pluginName);
+            }
+            long start = System.currentTimeMillis();
+            PurgeResults results = dao.purgeExpiredDataWithResults(partitions);
+            purgeManager.getStatistics().record(pluginName,
+                    results.getItemsPurged(), results.getFilesPurged(),
+                    System.currentTimeMillis() - start, partitions);
         }
 
         PurgeLogger.logInfo("Data successfully Purged!", pluginName);
@@ -246,6 +262,28 @@ public class PurgeJob extends Thread {
                 pluginName);
     }
 
+    /**
+     * @param dao
+     * @return true if the dao overrides purgeExpiredData or either
+     *         purgeExpiredDataWithResults, in which case purgeExpiredData must
+     *         be called instead of the partitioned purge
+     */
+    private static boolean hasCustomPurger(PluginDao dao) {
+        return overrides(dao, "purgeExpiredData")
+                || overrides(dao, "purgeExpiredDataWithResults")
+                || overrides(dao, "purgeExpiredDataWithResults", int.class);
+    }
+
+    private static boolean overrides(PluginDao dao, String method,
+            Class<?>... parameterTypes) {
+        try {
+            return !dao.getClass().getMethod(method, parameterTypes)
+                    .getDeclaringClass().equals(PluginDao.class);
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
     public void printTimedOutMessage(int deadPurgeJobAge) {
         // only print message every 5 minutes
         if (System.currentTimeMillis() - lastTimeOutMessage > 300000) {
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import com.raytheon.uf.common.dataplugin.PluginException;
 import com.raytheon.uf.edex.core.EDEXUtil;
@@ -75,7 +76,14 @@ import com.raytheon.uf.edex.purgesrv.PurgeJob.PURGE_JOB_TYPE;
  * another cluster member at the next purge interval.<br>
  * · If the purge manager attempts to purge a plugin that has been running for
  * longer than the 20 minute threshold, it is considered a failure, and the
- * failure count is updated.
+ * failure count is updated.<br>
+ * · Plugins that are due are purged in order of the records they are estimated
+ * to have expired, from the throughput of earlier purges on this server, plus
+ * how overdue they are. Plugins without history are purged first in least
+ * recently purged order.<br>
+ * · A plugin whose purge is expected to take longer than slowPurgeSeconds has
+ * its product keys split into up to partitionLimit partitions that are purged
+ * in parallel.
  * <p>
  *
  *
@@ -90,6 +98,8 @@ import com.raytheon.uf.edex.purgesrv.PurgeJob.PURGE_JOB_TYPE;
  * Aug 18, 2013 #2280      dhladky     Made OGC method of only purging active plugins the standard practice
  * Jun 24, 2014 #3314      randerso    Purge least recently purged first.
  * Jul 30, 2015 #1574      nabowle     Add purging of orphan data.
+ * Oct 19, 2026            kshrestha   Rank plugins by estimated purge size and
+ *                                     partition slow purges.
  *
  * </pre>
  *
@@ -143,6 +153,20 @@ public class PurgeManager {
      */
     private boolean purgeEnabled = true;
 
+    /**
+     * The most product key partitions a single plugin purge may be split into
+     */
+    private int partitionLimit = 4;
+
+    /**
+     * A purge expected to take longer than this many seconds is split into
+     * partitions, one for each multiple of this time up to the partitionLimit
+     */
+    private int slowPurgeSeconds = 300;
+
+    /** Throughput of purges run on this server */
+    private final PurgeStatistics statistics = new PurgeStatistics();
+
     /** Map of purge jobs */
     private Map<String, PurgeJob> purgeJobs = new ConcurrentHashMap<String, PurgeJob>();
 
@@ -162,7 +186,8 @@ public class PurgeManager {
 
         // Gets the list of plugins in ascending order by the last time they
         // were purged
-        List<String> dbPluginList = dao.getPluginsByPurgeTime();
+        Map<String, Date> startTimes = dao.getPurgeStartTimes();
+        List<String> dbPluginList = new ArrayList<>(startTimes.keySet());
 
         // Get list of registered plugins
         Set<String> registeredPlugins = PluginRegistry.getInstance()
@@ -182,7 +207,40 @@ public class PurgeManager {
             dbPluginList = newPlugins;
         }
 
-        purgeRunner(dbPluginList);
+        purgeRunner(rankPlugins(dbPluginList, startTimes));
+    }
+
+    /**
+     * Order plugins so the purges expected to reclaim the most go first.
+     *
+     * @param plugins
+     *            the plugins in least recently purged order
+     * @param startTimes
+     *            the last start time of each plugin
+     * @return a new list of the plugins in purge order
+     * @see PurgeStatistics#rank(List, Map, long)
+     */
+    protected List<String> rankPlugins(List<String> plugins,
+            Map<String, Date> startTimes) {
+        return statistics.rank(plugins, startTimes,
+                TimeUnit.MINUTES.toMillis(purgeFrequency));
+    }
+
+    /**
+     * @param plugin
+     * @return the number of partitions to split the purge of a plugin into
+     *         based on how long it is expected to take
+     */
+    public int getPurgePartitions(String plugin) {
+        return statistics.getPartitions(plugin,
+                TimeUnit.SECONDS.toMillis(slowPurgeSeconds), partitionLimit);
+    }
+
+    /**
+     * @return the throughput of purges run on this server
+     */
+    public PurgeStatistics getStatistics() {
+        return statistics;
     }
 
     /**
@@ -524,4 +582,20 @@ public class PurgeManager {
     public boolean getPurgeEnabled() {
         return purgeEnabled;
     }
+
+    public int getPartitionLimit() {
+        return partitionLimit;
+    }
+
+    public void setPartitionLimit(int partitionLimit) {
+        this.partitionLimit = partitionLimit;
+    }
+
+    public int getSlowPurgeSeconds() {
+        return slowPurgeSeconds;
+    }
+
+    public void setSlowPurgeSeconds(int slowPurgeSeconds) {
+        this.slowPurgeSeconds = slowPurgeSeconds;
+    }
 }
@@ -0,0 +1,272 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.purgesrv;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the throughput of purge jobs run on this server so the purge manager
+ * can estimate how much each plugin has to purge and how long it will take.
+ * Throughput is smoothed over runs so one unusual purge does not swing the
+ * estimates. The estimates are used to order plugins and to decide how many
+ * partitions a purge is split into.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 19, 2026            kshrestha   Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class PurgeStatistics {
+
+    /** weight of the latest run in the smoothed rates */
+    private static final double SMOOTHING = 0.3;
+
+    private final Map<String, PluginStatistics> plugins = new ConcurrentHashMap<>();
+
+    /** source of the current time in milliseconds */
+    private final LongSupplier clock;
+
+    public PurgeStatistics() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock
+     *            source of the current time in milliseconds, so purges can be
+     *            simulated without waiting on the real clock
+     */
+    PurgeStatistics(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Record the outcome of a successful purge.
+     *
+     * @param plugin
+     * @param items
+     *            the number of records purged
+     * @param files
+     *            the number of data store files purged
+     * @param duration
+     *            how long the purge took in milliseconds
+     * @param partitions
+     *            the number of partitions the purge was split into
+     */
+    public void record(String plugin, int items, int files, long duration,
+            int partitions) {
+        long now = clock.getAsLong();
+        plugins.compute(plugin, (k, stats) -> {
+            if (stats == null) {
+                stats = new PluginStatistics();
+            }
+            stats.update(items, files, Math.max(duration, 1),
+                    Math.max(partitions, 1), now);
+            return stats;
+        });
+    }
+
+    /**
+     * Estimate the number of records a purge would remove now based on the
+     * rate records expired between earlier purges.
+     *
+     * @param plugin
+     * @return the estimated number of records or a negative number if there
+     *         is not enough history for an estimate
+     */
+    public double estimateItems(String plugin) {
+        PluginStatistics stats = plugins.get(plugin);
+        if (stats == null) {
+            return -1;
+        }
+        synchronized (stats) {
+            if (stats.itemsPerMilli < 0) {
+                return -1;
+            }
+            return stats.itemsPerMilli
+                    * (clock.getAsLong() - stats.lastCompleted);
+        }
+    }
+
+    /**
+     * Estimate how long a purge would take now in a single partition, based on
+     * the estimated number of records and the purge throughput of a partition
+     * or on the duration of the last purge if there is not enough history to
+     * estimate the records. Throughput is kept per partition so splitting a
+     * purge does not make the next one look fast enough to run unsplit.
+     *
+     * @param plugin
+     * @return the estimated time in milliseconds or a negative number if the
+     *         plugin has not been purged
+     */
+    public long estimateDuration(String plugin) {
+        double items = estimateItems(plugin);
+        PluginStatistics stats = plugins.get(plugin);
+        if (stats == null) {
+            return -1;
+        }
+        synchronized (stats) {
+            if (items < 0 || stats.itemsPerSecond <= 0) {
+                return stats.lastDuration * stats.lastPartitions;
+            }
+            return (long) (items / stats.itemsPerSecond * 1000);
+        }
+    }
+
+    /**
+     * Order plugins so the purges expected to reclaim the most go first. The
+     * score of a due plugin is the log of its estimated expired records plus
+     * the number of purge periods it is overdue, so a small plugin that keeps
+     * getting passed over eventually goes first. Plugins with no history keep
+     * their position at the front and plugins that are not due go last.
+     *
+     * @param plugins
+     *            the plugins in least recently purged order
+     * @param startTimes
+     *            the last start time of each plugin
+     * @param frequency
+     *            how often a plugin may be purged in milliseconds
+     * @return a new list of the plugins in purge order
+     */
+    public List<String> rank(List<String> plugins,
+            Map<String, Date> startTimes, long frequency) {
+        long now = clock.getAsLong();
+        frequency = Math.max(frequency, 1);
+        Map<String, Double> scores = new HashMap<>(plugins.size() * 2);
+        for (String plugin : plugins) {
+            Date startTime = startTimes.get(plugin);
+            long sinceLastPurge = startTime == null ? Long.MAX_VALUE
+                    : now - startTime.getTime();
+            double score;
+            if (sinceLastPurge < frequency) {
+                score = -1;
+            } else {
+                double items = estimateItems(plugin);
+                if (items < 0) {
+                    score = Double.MAX_VALUE;
+                } else {
+                    double overdue = (double) (sinceLastPurge - frequency)
+                            / frequency;
+                    score = Math.log1p(items) + overdue;
+                }
+            }
+            scores.put(plugin, score);
+        }
+        List<String> ranked = new ArrayList<>(plugins);
+        // stable sort keeps least recently purged order for equal scores
+        ranked.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        return ranked;
+    }
+
+    /**
+     * @param plugin
+     * @param slowPurge
+     *            a purge expected to take longer than this many milliseconds
+     *            is split into one partition for each multiple of it
+     * @param limit
+     *            the most partitions to split a purge into
+     * @return the number of partitions to split the purge of a plugin into
+     *         based on how long it is expected to take
+     */
+    public int getPartitions(String plugin, long slowPurge, int limit) {
+        long expected = estimateDuration(plugin);
+        if (expected <= slowPurge || slowPurge <= 0) {
+            return 1;
+        }
+        return (int) Math.max(1,
+                Math.min(limit, (expected + slowPurge - 1) / slowPurge));
+    }
+
+    /**
+     * @param plugin
+     * @return a description of the plugin throughput for logging
+     */
+    public String getSummary(String plugin) {
+        PluginStatistics stats = plugins.get(plugin);
+        if (stats == null) {
+            return "no purge history";
+        }
+        synchronized (stats) {
+            return String.format(
+                    "last purge %d items and %d files in %d ms with %d partitions, average %.1f items/s and %.1f files/s per partition",
+                    stats.lastItems, stats.lastFiles, stats.lastDuration,
+                    stats.lastPartitions, stats.itemsPerSecond,
+                    stats.filesPerSecond);
+        }
+    }
+
+    private static class PluginStatistics {
+
+        private int lastItems;
+
+        private int lastFiles;
+
+        private long lastDuration;
+
+        private int lastPartitions;
+
+        private long lastCompleted;
+
+        private double itemsPerSecond;
+
+        private double filesPerSecond;
+
+        /** rate records expire, negative until two purges have completed */
+        private double itemsPerMilli = -1;
+
+        private synchronized void update(int items, int files, long duration,
+                int partitions, long now) {
+            double itemRate = items * 1000.0 / duration / partitions;
+            double fileRate = files * 1000.0 / duration / partitions;
+            if (lastCompleted == 0) {
+                itemsPerSecond = itemRate;
+                filesPerSecond = fileRate;
+            } else {
+                itemsPerSecond = smooth(itemsPerSecond, itemRate);
+                filesPerSecond = smooth(filesPerSecond, fileRate);
+                double expireRate = (double) items
+                        / Math.max(now - lastCompleted, 1);
+                itemsPerMilli = itemsPerMilli < 0 ? expireRate
+                        : smooth(itemsPerMilli, expireRate);
+            }
+            lastItems = items;
+            lastFiles = files;
+            lastDuration = duration;
+            lastPartitions = partitions;
+            lastCompleted = now;
+        }
+
+        private static double smooth(double average, double latest) {
+            return average + SMOOTHING * (latest - average);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.purgesrv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for PurgeStatistics. Besides checking the estimates directly this
+ * simulates a purge manager working through synthetic plugin tables on a
+ * simulated clock, so the ordering and partitioning can be checked over many
+ * purge cycles without a database.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestPurgeStatistics {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private static final long FREQUENCY = 60 * MINUTE;
+
+    private static final long SLOW_PURGE = 5 * MINUTE;
+
+    private static final int PARTITION_LIMIT = 4;
+
+    /** A plugin table that expires records at a steady rate */
+    private static class SyntheticPlugin {
+
+        private final String name;
+
+        /** records that expire each minute */
+        private final long expiredPerMinute;
+
+        /** records a single partition purges each second */
+        private final double purgedPerSecond;
+
+        private long lastPurged;
+
+        private SyntheticPlugin(String name, long expiredPerMinute,
+                double purgedPerSecond) {
+            this.name = name;
+            this.expiredPerMinute = expiredPerMinute;
+            this.purgedPerSecond = purgedPerSecond;
+        }
+
+        private int expired(long now) {
+            return (int) ((now - lastPurged) / MINUTE * expiredPerMinute);
+        }
+    }
+
+    private long now;
+
+    private PurgeStatistics statistics;
+
+    private Map<String, SyntheticPlugin> plugins;
+
+    /** last start time of each plugin as the purge dao would report it */
+    private Map<String, Date> startTimes;
+
+    @Before
+    public void setUp() {
+        now = TimeUnit.DAYS.toMillis(1);
+        statistics = new PurgeStatistics(() -> now);
+        plugins = new LinkedHashMap<>();
+        startTimes = new HashMap<>();
+    }
+
+    private void addPlugin(String name, long expiredPerMinute,
+            double purgedPerSecond) {
+        SyntheticPlugin plugin = new SyntheticPlugin(name, expiredPerMinute,
+                purgedPerSecond);
+        plugin.lastPurged = now;
+        plugins.put(name, plugin);
+    }
+
+    /**
+     * Purge a plugin the way PurgeJob does, recording how long the simulated
+     * purge took with the partitions the statistics asked for.
+     *
+     * @return the number of partitions used
+     */
+    private int purge(String name) {
+        SyntheticPlugin plugin = plugins.get(name);
+        int partitions = statistics.getPartitions(name, SLOW_PURGE,
+                PARTITION_LIMIT);
+        int items = plugin.expired(now);
+        long duration = (long) (items / plugin.purgedPerSecond / partitions
+                * 1000);
+        startTimes.put(name, new Date(now));
+        plugin.lastPurged = now;
+        statistics.record(name, items, items / 10, duration, partitions);
+        return partitions;
+    }
+
+    /**
+     * @return the plugins in least recently purged order, as the purge dao
+     *         returns them
+     */
+    private List<String> leastRecentlyPurged() {
+        List<String> names = new ArrayList<>(plugins.keySet());
+        names.sort((a, b) -> Long.compare(startTime(a), startTime(b)));
+        return names;
+    }
+
+    private long startTime(String name) {
+        Date startTime = startTimes.get(name);
+        return startTime == null ? Long.MIN_VALUE : startTime.getTime();
+    }
+
+    @Test
+    public void testNoEstimateUntilTwoPurges() {
+        addPlugin("grid", 1000, 500);
+        assertEquals(-1, statistics.estimateItems("grid"), 0);
+        assertEquals(-1, statistics.estimateDuration("grid"));
+        assertEquals("no purge history", statistics.getSummary("grid"));
+
+        now += FREQUENCY;
+        purge("grid");
+        assertEquals(-1, statistics.estimateItems("grid"), 0);
+        // falls back to the duration of the only purge
+        assertEquals(120_000, statistics.estimateDuration("grid"));
+
+        now += FREQUENCY;
+        purge("grid");
+        now += FREQUENCY;
+        assertEquals(60_000, statistics.estimateItems("grid"), 1);
+        assertEquals(120_000, statistics.estimateDuration("grid"), 10);
+    }
+
+    @Test
+    public void testEstimatesTrackSteadyRate() {
+        addPlugin("obs", 200, 100);
+        for (int i = 0; i < 10; i++) {
+            now += FREQUENCY;
+            purge("obs");
+        }
+        now += 30 * MINUTE;
+        assertEquals(6000, statistics.estimateItems("obs"), 1);
+        assertEquals(60_000, statistics.estimateDuration("obs"), 10);
+    }
+
+    @Test
+    public void testUnpurgedPluginsRankFirst() {
+        addPlugin("grid", 1000, 500);
+        addPlugin("obs", 10, 500);
+        for (int i = 0; i < 3; i++) {
+            now += FREQUENCY;
+            purge("grid");
+            purge("obs");
+        }
+        addPlugin("radar", 1, 500);
+        now += FREQUENCY;
+        List<String> ranked = statistics.rank(leastRecentlyPurged(),
+                startTimes, FREQUENCY);
+        assertEquals(Arrays.asList("radar", "grid", "obs"), ranked);
+    }
+
+    @Test
+    public void testPluginsNotDueRankLast() {
+        addPlugin("grid", 1000, 500);
+        addPlugin("obs", 10, 500);
+        for (int i = 0; i < 3; i++) {
+            now += FREQUENCY;
+            purge("obs");
+            purge("grid");
+        }
+        // obs is due, grid was purged recently
+        now += FREQUENCY;
+        purge("grid");
+        now += MINUTE;
+        List<String> ranked = statistics.rank(leastRecentlyPurged(),
+                startTimes, FREQUENCY);
+        assertEquals(Arrays.asList("obs", "grid"), ranked);
+    }
+
+    @Test
+    public void testLargerPurgeRanksFirst() {
+        addPlugin("obs", 10, 500);
+        addPlugin("grid", 1000, 500);
+        for (int i = 0; i < 3; i++) {
+            now += FREQUENCY;
+            purge("obs");
+            purge("grid");
+        }
+        now += FREQUENCY;
+        List<String> ranked = statistics.rank(leastRecentlyPurged(),
+                startTimes, FREQUENCY);
+        assertEquals(Arrays.asList("grid", "obs"), ranked);
+    }
+
+    @Test
+    public void testSlowPurgesArePartitioned() {
+        addPlugin("obs", 10, 500);
+        addPlugin("grid", 20_000, 500);
+        addPlugin("satellite", 1_000_000, 500);
+        for (int i = 0; i < 3; i++) {
+            now += FREQUENCY;
+            purge("obs");
+            purge("grid");
+            purge("satellite");
+        }
+        now += FREQUENCY;
+        assertEquals(1, statistics.getPartitions("obs", SLOW_PURGE,
+                PARTITION_LIMIT));
+        assertEquals(1, statistics.getPartitions("unknown", SLOW_PURGE,
+                PARTITION_LIMIT));
+        // an hour of grid takes about 40 minutes in one partition
+        int gridPartitions = statistics.getPartitions("grid", SLOW_PURGE,
+                PARTITION_LIMIT);
+        assertTrue(gridPartitions > 1);
+        assertTrue(gridPartitions <= PARTITION_LIMIT);
+        assertEquals(PARTITION_LIMIT, statistics.getPartitions("satellite",
+                SLOW_PURGE, PARTITION_LIMIT));
+        assertEquals(1, statistics.getPartitions("satellite", 0,
+                PARTITION_LIMIT));
+    }
+
+    @Test
+    public void testPartitionsAreStable() {
+        addPlugin("grid", 10_000, 500);
+        now += FREQUENCY;
+        assertEquals(1, purge("grid"));
+        now += FREQUENCY;
+        // 20 minutes in one partition
+        assertEquals(4, purge("grid"));
+        for (int i = 0; i < 10; i++) {
+            now += FREQUENCY;
+            // a split purge is faster but must not look like it needs fewer
+            assertEquals(4, purge("grid"));
+        }
+    }
+
+    /**
+     * Run a day of purge cycles with fewer purge slots each cycle than there
+     * are due plugins. The large plugins must not starve the small ones and
+     * every purge must finish inside the slow purge time once partitioned.
+     */
+    @Test
+    public void testSimulatedDayDoesNotStarvePlugins() {
+        addPlugin("grid", 5000, 200);
+        addPlugin("satellite", 2000, 200);
+        addPlugin("radar", 800, 200);
+        addPlugin("obs", 50, 200);
+        addPlugin("text", 20, 200);
+        addPlugin("warning", 1, 200);
+        int slotsPerCycle = 2;
+        long cycle = 15 * MINUTE;
+        Map<String, Long> longestWait = new HashMap<>();
+        long end = now + TimeUnit.DAYS.toMillis(1);
+        while (now < end) {
+            now += cycle;
+            int slots = slotsPerCycle;
+            for (String name : statistics.rank(leastRecentlyPurged(),
+                    startTimes, FREQUENCY)) {
+                Date startTime = startTimes.get(name);
+                if (slots == 0 || (startTime != null
+                        && now - startTime.getTime() < FREQUENCY)) {
+                    break;
+                }
+                long waited = now - plugins.get(name).lastPurged;
+                longestWait.merge(name, waited, Math::max);
+                int partitions = purge(name);
+                assertTrue(partitions <= PARTITION_LIMIT);
+                slots--;
+            }
+        }
+        assertEquals(plugins.keySet(), longestWait.keySet());
+        for (Map.Entry<String, Long> wait : longestWait.entrySet()) {
+            assertTrue(wait.getKey() + " waited " + wait.getValue() / MINUTE
+                    + " minutes", wait.getValue() <= 3 * FREQUENCY);
+        }
+        for (String name : plugins.keySet()) {
+            assertTrue(name,
+                    statistics.estimateDuration(name) / statistics
+                            .getPartitions(name, SLOW_PURGE,
+                                    PARTITION_LIMIT) <= SLOW_PURGE * 2);
+        }
+    }
+}
@@ -35,6 +35,7 @@ import com.raytheon.uf.edex.auth.req.AbstractPrivilegedRequestHandler;
 import com.raytheon.uf.edex.auth.resp.AuthorizationResponse;
 import com.raytheon.uf.edex.auth.resp.ResponseFactory;
 import com.raytheon.uf.edex.requestsrv.logging.RequestLogger;
+import com.raytheon.uf.edex.requestsrv.metrics.RequestMetricsRegistry;
 
 /**
  * Class that handles the execution of {@link IServerRequest}s. Contains the
@@ -56,6 +57,7 @@ import com.raytheon.uf.edex.requestsrv.logging.RequestLogger;
  * Jul 18, 2017  6217     randerso  Removed support for old roles and
  *                                  permissions framework
  * Mar 09, 2020  dcs21885 brapp     Added request detail logging
+ * Oct 19, 2026           kshrestha Record metrics for each request
  *
  * </pre>
  *
@@ -76,6 +78,9 @@ public class RequestServiceExecutor {
     private final HandlerRegistry registry;
     private final RequestLogger reqLogger;
 
+    private final RequestMetricsRegistry metrics = RequestMetricsRegistry
+            .getInstance();
+
     public RequestServiceExecutor() {
         this(HandlerRegistry.getInstance(), RequestLogger.getInstance());
     }
@@ -98,6 +103,8 @@ public class RequestServiceExecutor {
     public Object execute(IServerRequest request) throws Exception {
         boolean subjectSet = false;
         String wsidPString = null;
+        String userName = null;
+        RequestMetricsRegistry.Timer timer = null;
 
         try {
             if (request instanceof RequestWrapper) {
@@ -109,13 +116,16 @@ public class RequestServiceExecutor {
 
                 request = wrapper.getRequest();
 
-                IUser user = new User(wsid.getUserName());
+                userName = wsid.getUserName();
+                IUser user = new User(userName);
 
                 AuthManagerFactory.getInstance().getPermissionsManager()
                         .setThreadSubject(user);
                 subjectSet = true;
             }
 
+            timer = metrics.start(request.getClass(), userName);
+
             String id = request.getClass().getCanonicalName();
             IRequestHandler handler = registry.getRequestHandler(id);
 
@@ -165,7 +175,15 @@ public class RequestServiceExecutor {
             reqLogger.logRequest(wsidPString, request);
 
             return handler.handleRequest(request);
+        } catch (Throwable t) {
+            if (timer != null) {
+                timer.failed();
+            }
+            throw t;
         } finally {
+            if (timer != null) {
+                timer.stop();
+            }
             if (subjectSet) {
                 AuthManagerFactory.getInstance().getPermissionsManager()
                         .removeThreadSubject();
@@ -0,0 +1,50 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.requestsrv.metrics;
+
+import com.raytheon.uf.common.serialization.comm.GetRequestMetricsRequest;
+import com.raytheon.uf.common.serialization.comm.IRequestHandler;
+
+/**
+ * Handler for {@link GetRequestMetricsRequest}, returns the metrics of the
+ * request service that handles it.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class GetRequestMetricsHandler
+        implements IRequestHandler<GetRequestMetricsRequest> {
+
+    @Override
+    public Object handleRequest(GetRequestMetricsRequest request)
+            throws Exception {
+        return RequestMetricsRegistry.getInstance()
+                .getMetrics(request.isIncludeUsers());
+    }
+}
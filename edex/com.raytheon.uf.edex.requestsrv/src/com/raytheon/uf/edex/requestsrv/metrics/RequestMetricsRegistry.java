@@ -0,0 +1,362 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.requestsrv.metrics;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.raytheon.uf.common.event.EventBus;
+import com.raytheon.uf.common.serialization.comm.IServerRequest;
+import com.raytheon.uf.common.serialization.comm.RequestWrapper;
+import com.raytheon.uf.common.serialization.comm.response.RequestMetrics;
+import com.raytheon.uf.common.serialization.comm.response.RequestMetricsResponse;
+import com.raytheon.uf.common.stats.RequestServiceEvent;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.common.util.SystemUtil;
+
+/**
+ * Latency, in flight and response size metrics for the requests handled by
+ * the request service, kept for each request class and each user. Recording
+ * only touches atomic counters so it adds little to a request.
+ *
+ * Every request.metrics.export.interval.ms (default 5 minutes) the metrics of
+ * each request class for the interval are published as a
+ * {@link RequestServiceEvent} so they are stored as stats records. The export
+ * is done by whichever request thread completes first after the interval ends.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class RequestMetricsRegistry {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(RequestMetricsRegistry.class);
+
+    private static final long EXPORT_INTERVAL = Long
+            .getLong("request.metrics.export.interval.ms", 300_000L);
+
+    /**
+     * Most users to keep separate metrics for, requests from any other users
+     * are combined under {@link #OTHER_USERS}.
+     */
+    private static final int MAX_USERS = Integer
+            .getInteger("request.metrics.max.users", 500);
+
+    private static final String OTHER_USERS = "other";
+
+    private static final RequestMetricsRegistry instance = new RequestMetricsRegistry();
+
+    public static RequestMetricsRegistry getInstance() {
+        return instance;
+    }
+
+    private final Map<Class<?>, Metrics> requestTypes = new ConcurrentHashMap<>();
+
+    private final Map<String, Metrics> users = new ConcurrentHashMap<>();
+
+    private final long startTime = System.currentTimeMillis();
+
+    private final AtomicLong nextExport = new AtomicLong(
+            System.currentTimeMillis() + EXPORT_INTERVAL);
+
+    /**
+     * Start timing a request.
+     *
+     * @param requestType
+     *            the class of the unwrapped request
+     * @param user
+     *            the user making the request, may be null
+     * @return a timer that must be stopped when the request completes
+     */
+    public Timer start(Class<?> requestType, String user) {
+        return new Timer(getMetrics(requestType), getUserMetrics(user));
+    }
+
+    /**
+     * Record the size of a serialized response.
+     *
+     * @param request
+     *            the request as received, which may be a
+     *            {@link RequestWrapper}
+     * @param bytes
+     */
+    public void recordResponseSize(IServerRequest request, long bytes) {
+        String user = null;
+        if (request instanceof RequestWrapper) {
+            RequestWrapper wrapper = (RequestWrapper) request;
+            if (wrapper.getWsId() != null) {
+                user = wrapper.getWsId().getUserName();
+            }
+            request = wrapper.getRequest();
+        }
+        if (request == null) {
+            return;
+        }
+        getMetrics(request.getClass()).responseSize.record(bytes);
+        Metrics userMetrics = getUserMetrics(user);
+        if (userMetrics != null) {
+            userMetrics.responseSize.record(bytes);
+        }
+    }
+
+    /**
+     * @param includeUsers
+     * @return the current metrics
+     */
+    public RequestMetricsResponse getMetrics(boolean includeUsers) {
+        RequestMetricsResponse response = new RequestMetricsResponse();
+        response.setServer(SystemUtil.getHostName());
+        response.setStartTime(startTime);
+        List<RequestMetrics> types = new ArrayList<>(requestTypes.size());
+        for (Metrics metrics : requestTypes.values()) {
+            types.add(metrics.snapshot());
+        }
+        response.setRequestTypes(types);
+        if (includeUsers) {
+            List<RequestMetrics> userList = new ArrayList<>(users.size());
+            for (Metrics metrics : users.values()) {
+                userList.add(metrics.snapshot());
+            }
+            response.setUsers(userList);
+        }
+        return response;
+    }
+
+    private Metrics getMetrics(Class<?> requestType) {
+        Metrics metrics = requestTypes.get(requestType);
+        if (metrics == null) {
+            metrics = requestTypes.computeIfAbsent(requestType,
+                    k -> new Metrics(k.getSimpleName()));
+        }
+        return metrics;
+    }
+
+    private Metrics getUserMetrics(String user) {
+        if (user == null) {
+            return null;
+        }
+        Metrics metrics = users.get(user);
+        if (metrics == null) {
+            if (users.size() >= MAX_USERS) {
+                user = OTHER_USERS;
+            }
+            metrics = users.computeIfAbsent(user, Metrics::new);
+        }
+        return metrics;
+    }
+
+    private void exportIfDue() {
+        if (EXPORT_INTERVAL <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long next = nextExport.get();
+        if (now < next
+                || !nextExport.compareAndSet(next, now + EXPORT_INTERVAL)) {
+            return;
+        }
+        String server = SystemUtil.getHostName();
+        Exception failure = null;
+        int failures = 0;
+        for (Metrics metrics : requestTypes.values()) {
+            RequestServiceEvent event = metrics.exportInterval();
+            if (event == null) {
+                continue;
+            }
+            event.setServer(server);
+            event.setDate(Calendar.getInstance());
+            /* one failure should not drop the statistics of the other types */
+            try {
+                EventBus.publish(event);
+            } catch (Exception e) {
+                failure = e;
+                failures += 1;
+            }
+        }
+        if (failure != null) {
+            statusHandler.handle(Priority.WARN,
+                    "Unable to publish request service statistics for "
+                            + failures + " request types",
+                    failure);
+        }
+    }
+
+    /**
+     * Times one request, created by {@link RequestMetricsRegistry#start}.
+     */
+    public class Timer {
+
+        private final long start = System.nanoTime();
+
+        private final Metrics typeMetrics;
+
+        private final Metrics userMetrics;
+
+        private boolean failed;
+
+        private Timer(Metrics typeMetrics, Metrics userMetrics) {
+            this.typeMetrics = typeMetrics;
+            this.userMetrics = userMetrics;
+            typeMetrics.inFlight.incrementAndGet();
+            if (userMetrics != null) {
+                userMetrics.inFlight.incrementAndGet();
+            }
+        }
+
+        /**
+         * Mark the request as having thrown an exception.
+         */
+        public void failed() {
+            failed = true;
+        }
+
+        /**
+         * Record the request as complete.
+         */
+        public void stop() {
+            long micros = TimeUnit.NANOSECONDS
+                    .toMicros(System.nanoTime() - start);
+            typeMetrics.complete(micros, failed);
+            if (userMetrics != null) {
+                userMetrics.complete(micros, failed);
+            }
+            exportIfDue();
+        }
+    }
+
+    private static class Metrics {
+
+        private final String name;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final LongAdder errors = new LongAdder();
+
+        /** request latency in microseconds */
+        private final LogLinearHistogram latency = new LogLinearHistogram();
+
+        /** serialized response size in bytes */
+        private final LogLinearHistogram responseSize = new LogLinearHistogram();
+
+        /** largest latency since the last export */
+        private final AtomicLong intervalMax = new AtomicLong();
+
+        /*
+         * totals as of the last export, only used by the thread doing an
+         * export
+         */
+        private long exportedCount;
+
+        private long exportedErrors;
+
+        private long exportedMicros;
+
+        private long exportedSizeCount;
+
+        private long exportedBytes;
+
+        private Metrics(String name) {
+            this.name = name;
+        }
+
+        private void complete(long micros, boolean failed) {
+            inFlight.decrementAndGet();
+            if (failed) {
+                errors.increment();
+            }
+            latency.record(micros);
+            long current = intervalMax.get();
+            while (micros > current
+                    && !intervalMax.compareAndSet(current, micros)) {
+                current = intervalMax.get();
+            }
+        }
+
+        private RequestMetrics snapshot() {
+            RequestMetrics metrics = new RequestMetrics();
+            metrics.setName(name);
+            metrics.setRequestCount(latency.getCount());
+            metrics.setErrorCount(errors.sum());
+            metrics.setInFlight(inFlight.get());
+            metrics.setMeanLatency(latency.getMean() / 1000.0);
+            metrics.setMedianLatency(
+                    latency.getValueAtPercentile(50) / 1000.0);
+            metrics.setLatency95(latency.getValueAtPercentile(95) / 1000.0);
+            metrics.setLatency99(latency.getValueAtPercentile(99) / 1000.0);
+            metrics.setMaxLatency(latency.getMax() / 1000.0);
+            metrics.setMeanResponseSize((long) responseSize.getMean());
+            metrics.setResponseSize95(responseSize.getValueAtPercentile(95));
+            metrics.setMaxResponseSize(responseSize.getMax());
+            return metrics;
+        }
+
+        /**
+         * @return an event for the requests since the last export or null if
+         *         there were none
+         */
+        private RequestServiceEvent exportInterval() {
+            long count = latency.getCount();
+            long micros = latency.getTotal();
+            long errorCount = errors.sum();
+            long sizeCount = responseSize.getCount();
+            long bytes = responseSize.getTotal();
+            long intervalCount = count - exportedCount;
+            if (intervalCount <= 0) {
+                return null;
+            }
+            RequestServiceEvent event = new RequestServiceEvent();
+            event.setRequestType(name);
+            event.setRequestCount(intervalCount);
+            event.setErrorCount(errorCount - exportedErrors);
+            event.setMeanLatency(
+                    (micros - exportedMicros) / intervalCount / 1000);
+            event.setMaxLatency(intervalMax.getAndSet(0) / 1000);
+            long intervalSizes = sizeCount - exportedSizeCount;
+            if (intervalSizes > 0) {
+                event.setMeanResponseSize(
+                        (bytes - exportedBytes) / intervalSizes);
+            }
+            exportedCount = count;
+            exportedErrors = errorCount;
+            exportedMicros = micros;
+            exportedSizeCount = sizeCount;
+            exportedBytes = bytes;
+            return event;
+        }
+    }
+}
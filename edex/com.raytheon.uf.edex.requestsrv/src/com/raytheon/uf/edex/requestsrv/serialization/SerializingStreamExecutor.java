@@ -36,6 +36,7 @@ import com.raytheon.uf.common.util.registry.GenericRegistry;
 import com.raytheon.uf.common.util.registry.RegistryException;
 import com.raytheon.uf.common.util.stream.CountingOutputStream;
 import com.raytheon.uf.edex.requestsrv.RequestServiceExecutor;
+import com.raytheon.uf.edex.requestsrv.metrics.RequestMetricsRegistry;
 
 /**
  * This executor executes the {@link IServerRequest} deserialized from an
@@ -53,6 +54,7 @@ import com.raytheon.uf.edex.requestsrv.RequestServiceExecutor;
  * Jan 06, 2015 3789       bclement    added getContentType(), execute throws UnsupportedFormatException
  * Jun 17, 2015 4561       njensen     Log serialization exception to two logs
  * Oct 24, 2016 5951       dgilling    Log all incoming requests.
+ * Oct 19, 2026            kshrestha   Record response size metrics.
  * 
  * </pre>
  * 
@@ -150,6 +152,10 @@ public class SerializingStreamExecutor
 
             // Perform serialization to stream
             outputSerializer.serialize(response, cout);
+            if (request != null) {
+                RequestMetricsRegistry.getInstance()
+                        .recordResponseSize(request, cout.getBytesWritten());
+            }
 
             if (success) {
                 // Log response size if request was successful
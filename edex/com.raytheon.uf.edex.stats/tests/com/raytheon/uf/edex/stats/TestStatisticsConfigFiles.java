@@ -0,0 +1,98 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.stats;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.serialization.JAXBManager;
+import com.raytheon.uf.common.stats.xml.StatisticsConfig;
+import com.raytheon.uf.common.stats.xml.StatisticsEventConfig;
+
+/**
+ * Unit tests that the statistics config files shipped in this bundle parse.
+ * A file that is not well formed is only logged when the stats are loaded, so
+ * without this its events are silently never aggregated.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer   Description
+ * ------------- -------- ---------- -----------------------------
+ * Oct 19, 2026           kshrestha  Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class TestStatisticsConfigFiles {
+
+    private static final File STATS_DIR = new File(
+            "utility/common_static/base/stats");
+
+    private static List<File> getConfigFiles() {
+        File[] files = STATS_DIR
+                .listFiles((dir, name) -> name.endsWith(".xml"));
+        assertNotNull(STATS_DIR.getAbsolutePath() + " not found", files);
+        assertTrue(files.length > 0);
+        List<File> sorted = new ArrayList<>(Arrays.asList(files));
+        sorted.sort(null);
+        return sorted;
+    }
+
+    @Test
+    public void testConfigFilesAreWellFormed() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        for (File file : getConfigFiles()) {
+            assertNotNull(file.getName(),
+                    factory.newDocumentBuilder().parse(file)
+                            .getDocumentElement());
+        }
+    }
+
+    @Test
+    public void testConfigFilesUnmarshal() throws Exception {
+        JAXBManager jaxbManager = new JAXBManager(StatisticsConfig.class);
+        for (File file : getConfigFiles()) {
+            StatisticsConfig config = jaxbManager
+                    .unmarshalFromXmlFile(StatisticsConfig.class, file);
+            assertNotNull(file.getName(), config);
+            assertFalse(file.getName() + " has no events",
+                    config.getEvents().isEmpty());
+            for (StatisticsEventConfig event : config.getEvents()) {
+                String name = file.getName() + " " + event.getType();
+                assertNotNull(name, Class.forName(event.getType()));
+                assertFalse(name + " has no aggregates",
+                        event.getAggregateList().isEmpty());
+            }
+        }
+    }
+}
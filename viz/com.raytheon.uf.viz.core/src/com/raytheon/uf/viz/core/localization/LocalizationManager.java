@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +45,7 @@ import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
 
 import com.raytheon.uf.common.comm.CommunicationException;
+import com.raytheon.uf.common.comm.HttpClient.HttpClientResponse;
 import com.raytheon.uf.common.jms.JMSConnectionInfo;
 import com.raytheon.uf.common.localization.Checksum;
 import com.raytheon.uf.common.localization.FileLocker;
@@ -121,6 +123,8 @@ import com.raytheon.uf.viz.core.requests.ThriftClient;
  *                                     {@link JMSConnectionInfo} object
  * Oct 24, 2022          srcarter@ucar Delete REGION and WORKSTATION levels
  * Apr 11, 2023          tiffanym@ucar Change how to retrieve hostname, fix for IPv6 
+ * Oct 19, 2026            kshrestha   Bulk sync directories with many changed
+ *                                     files in a single request
  *
  * </pre>
  *
@@ -141,6 +145,13 @@ public class LocalizationManager implements IPropertyChangeListener {
             + IPathManager.SEPARATOR
             + LocalizationLevel.BASE.toString().toLowerCase();
 
+    /**
+     * Minimum number of changed files in a directory before it is retrieved
+     * with a single bulk sync request instead of one request per file
+     */
+    private static final int BULK_SYNC_THRESHOLD = Integer
+            .getInteger("localization.bulk.sync.threshold", 8);
+
     /** The singleton instance */
     private static LocalizationManager instance;
 
@@ -655,16 +666,25 @@ public class LocalizationManager implements IPropertyChangeListener {
 
             List<GetUtilityCommand> commands = new ArrayList<>();
             List<Date> dates = new ArrayList<>();
+            Path dirPath = Paths.get(fileName);
+            Map<String, String> manifest = new HashMap<>();
+            Map<String, Date> timestamps = new HashMap<>();
             for (ListResponseEntry entry : entries) {
                 File file = buildFileLocation(entry.getContext(),
                         entry.getFileName(), false);
                 if (!entry.isDirectory()) {
                     available.add(file);
+                    String entryName = dirPath
+                            .relativize(Paths.get(entry.getFileName()))
+                            .toString();
+                    timestamps.put(entryName, entry.getDate());
                     if (this.needDownload(context, entry)) {
                         GetUtilityCommand getCommand = new GetUtilityCommand(
                                 context, entry.getFileName());
                         commands.add(getCommand);
                         dates.add(entry.getDate());
+                    } else {
+                        manifest.put(entryName, entry.getChecksum());
                     }
                 } else {
                     if (file != null) {
@@ -682,6 +702,10 @@ public class LocalizationManager implements IPropertyChangeListener {
                     }
                 }
             }
+            if (commands.size() >= BULK_SYNC_THRESHOLD && syncDir(context,
+                    fileName, manifest, timestamps, commands.size())) {
+                commands.clear();
+            }
             if (!commands.isEmpty()) {
                 retrieveFiles(commands.toArray(new GetUtilityCommand[0]),
                         dates.toArray(new Date[0]));
@@ -715,6 +739,57 @@ public class LocalizationManager implements IPropertyChangeListener {
         }
     }
 
+    /**
+     * Retrieves all changed files in a directory with a single request to the
+     * localization service.
+     *
+     * @param context
+     * @param fileName
+     *            the directory
+     * @param manifest
+     *            checksums of the up to date local files, keyed by path
+     *            relative to the directory
+     * @param timestamps
+     *            server modification time of every file, keyed by path
+     *            relative to the directory
+     * @param expected
+     *            the number of files expected to change
+     * @return true if the directory was synced, false if the files need to be
+     *         retrieved individually
+     */
+    private boolean syncDir(LocalizationContext context, String fileName,
+            Map<String, String> manifest, Map<String, Date> timestamps,
+            int expected) {
+        File dir = buildFileLocation(context, fileName, false);
+        if (dir == null) {
+            return false;
+        }
+        long t0 = System.currentTimeMillis();
+        SyncDirAsZipStreamHandler handler = new SyncDirAsZipStreamHandler(dir,
+                context.getLocalizationLevel().isSystemLevel(), timestamps,
+                this);
+        try {
+            HttpClientResponse resp = restConnect.restSyncDirectory(context,
+                    fileName, manifest, handler);
+            if (resp.code != 200) {
+                statusHandler.debug("Bulk sync of " + context + " "
+                        + fileName + " not available (" + resp.code
+                        + "), retrieving files individually");
+                return false;
+            }
+        } catch (CommunicationException e) {
+            statusHandler.handle(Priority.DEBUG, "Bulk sync of " + context
+                    + " " + fileName + " failed, retrieving files individually",
+                    e);
+            return false;
+        }
+        statusHandler.info("Synced " + handler.getFileCount() + " of "
+                + expected + " changed files in " + context + " " + fileName
+                + " (" + handler.getBytesRead() + " bytes) in "
+                + (System.currentTimeMillis() - t0) + "ms");
+        return true;
+    }
+
     private File buildFileLocation(LocalizationContext context,
             String fullFileName, boolean createDirectories) {
         File file = this.adapter.getPath(context, fullFileName);
@@ -22,12 +22,17 @@ package com.raytheon.uf.viz.core.localization;
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Map;
 
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.FileEntity;
 
 import com.raytheon.uf.common.comm.CommunicationException;
@@ -63,6 +68,7 @@ import com.raytheon.uf.viz.core.VizApp;
  *                                  LocalizationFile methods
  * Jun 13, 2016  4907     mapeters  Added GET support for downloading a file to
  *                                  a given file location
+ * Oct 19, 2026           kshrestha Added POST support for bulk directory sync
  * 
  * </pre>
  * 
@@ -79,6 +85,8 @@ public class LocalizationRestConnector {
 
     private static final String DIR_FORMAT = "application/zip";
 
+    private static final char MANIFEST_SEPARATOR = ' ';
+
     private static final String IF_MATCH = "If-Match";
 
     private static final String CONTENT_MD5 = "Content-MD5";
@@ -196,6 +204,43 @@ public class LocalizationRestConnector {
         return resp;
     }
 
+    /**
+     * Sends a POST request to the localization REST service to bring a
+     * directory up to date in a single request. The manifest lists the files
+     * the client already has and the server responds with an archive of only
+     * the files in the directory, recursively, whose checksum differs.
+     * 
+     * @param context
+     * @param dirname
+     * @param manifest
+     *            checksum of each local file keyed by its path relative to the
+     *            directory
+     * @param streamHandler
+     *            the handler that unpacks the archive
+     * @return the response
+     * @throws CommunicationException
+     *             if the http connection failed
+     */
+    public HttpClientResponse restSyncDirectory(LocalizationContext context,
+            String dirname, Map<String, String> manifest,
+            SyncDirAsZipStreamHandler streamHandler)
+            throws CommunicationException {
+        String url = buildRestAddress(context, dirname, true);
+        HttpPost request = new HttpPost(url);
+        request.addHeader(ACCEPT, DIR_FORMAT);
+
+        StringBuilder body = new StringBuilder(manifest.size() * 64);
+        for (Map.Entry<String, String> entry : manifest.entrySet()) {
+            body.append(entry.getValue()).append(MANIFEST_SEPARATOR)
+                    .append(entry.getKey()).append('\n');
+        }
+        request.setEntity(new ByteArrayEntity(
+                body.toString().getBytes(StandardCharsets.UTF_8),
+                ContentType.TEXT_PLAIN));
+
+        return HttpClient.getInstance().executeRequest(request, streamHandler);
+    }
+
     /**
      * Sends a GET request to the localization REST service for a file,
      * downloading it to the default location within localization.
@@ -0,0 +1,204 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.core.localization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.raytheon.uf.common.localization.FileLocker;
+import com.raytheon.uf.common.localization.FileLocker.Type;
+import com.raytheon.uf.common.util.stream.CountingInputStream;
+
+/**
+ * IStreamHandler for the response to a bulk localization sync. The zip archive
+ * is read sequentially from the stream but each entry is written to disk on a
+ * pool of threads, under a write lock on the file, so slow local disks do not
+ * stall the download. Timestamps are applied from the directory listing since
+ * zip entry times only have 2 second precision.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 19, 2026           kshrestha Initial creation
+ *
+ * </pre>
+ *
+ * @author kshrestha
+ */
+public class SyncDirAsZipStreamHandler extends DownloadDirAsZipStreamHandler {
+
+    private static final int WRITE_THREADS = Integer
+            .getInteger("localization.sync.write.threads", 4);
+
+    private static final ExecutorService WRITE_POOL = Executors
+            .newFixedThreadPool(WRITE_THREADS, r -> {
+                Thread t = new Thread(r, "LocalizationSyncWriter");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final Map<String, Date> timestamps;
+
+    private final Object lockOwner;
+
+    /** limits the number of entries held in memory waiting to be written */
+    private final Semaphore pending = new Semaphore(WRITE_THREADS * 4);
+
+    private long bytesRead;
+
+    private int fileCount;
+
+    /**
+     * Constructor
+     *
+     * @param localDir
+     *            the local directory that archive entries are relative to
+     * @param readOnly
+     *            true to mark the written files read only
+     * @param timestamps
+     *            the server modification times keyed by entry name
+     * @param lockOwner
+     *            the object that owns the file locks while writing
+     */
+    public SyncDirAsZipStreamHandler(File localDir, boolean readOnly,
+            Map<String, Date> timestamps, Object lockOwner) {
+        super(localDir, readOnly);
+        this.timestamps = timestamps;
+        this.lockOwner = lockOwner;
+    }
+
+    @Override
+    protected void unzipStreaming(String outputPath, InputStream is)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        List<Future<?>> writes = new ArrayList<>();
+        CountingInputStream counter = new CountingInputStream(is);
+        try (ZipInputStream zis = new ZipInputStream(counter)) {
+            ZipEntry ze = zis.getNextEntry();
+            while (ze != null) {
+                if (!ze.isDirectory()) {
+                    String name = ze.getName();
+                    ByteArrayOutputStream contents = new ByteArrayOutputStream(
+                            ze.getSize() > 0 ? (int) ze.getSize()
+                                    : BUFFER_SIZE);
+                    int n = 0;
+                    while ((n = zis.read(buffer)) != -1) {
+                        contents.write(buffer, 0, n);
+                    }
+                    File file = new File(outputPath + File.separator + name);
+                    Date timestamp = timestamps.get(name);
+                    long lastMod = timestamp != null ? timestamp.getTime()
+                            : ze.getTime();
+                    pending.acquireUninterruptibly();
+                    writes.add(WRITE_POOL.submit(() -> {
+                        try {
+                            write(file, contents, lastMod);
+                        } finally {
+                            pending.release();
+                        }
+                        return null;
+                    }));
+                    fileCount += 1;
+                }
+                zis.closeEntry();
+                ze = zis.getNextEntry();
+            }
+        } finally {
+            bytesRead = counter.getBytesRead();
+            waitForWrites(writes);
+        }
+    }
+
+    private void write(File file, ByteArrayOutputStream contents,
+            long lastMod) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        try {
+            FileLocker.lock(lockOwner, file, Type.WRITE);
+            file.delete();
+            try (FileOutputStream fos = new FileOutputStream(file)) {
+                contents.writeTo(fos);
+            }
+            if (lastMod > -1) {
+                file.setLastModified(lastMod);
+            }
+            if (readOnly) {
+                file.setReadOnly();
+            }
+        } finally {
+            FileLocker.unlock(lockOwner, file);
+        }
+    }
+
+    private static void waitForWrites(List<Future<?>> writes)
+            throws IOException {
+        IOException error = null;
+        for (Future<?> write : writes) {
+            try {
+                write.get();
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = new IOException("Error writing synced file",
+                            e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted writing synced files", e);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * @return the number of compressed bytes read from the stream
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return the number of files written
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+}